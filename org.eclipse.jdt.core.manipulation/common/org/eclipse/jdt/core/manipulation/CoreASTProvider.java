@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
@@ -56,6 +57,9 @@ public final class CoreASTProvider {
 
 	public static final String DEBUG_PREFIX= "ASTProvider > "; //$NON-NLS-1$
 
+	private static final Instrumentation.Timer AST_CREATE= Instrumentation.getTimer(Instrumentation.AST_CREATE);
+	private static final Instrumentation.Counter AST_CACHE_HITS= Instrumentation.getCounter(Instrumentation.AST_CACHE_HITS);
+
 	private volatile ITypeRoot fReconcilingJavaElement;
 	private ITypeRoot fActiveJavaElement;
 	private CompilationUnit fAST;
@@ -140,6 +144,7 @@ public final class CoreASTProvider {
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning cached AST:" + toString(fAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
+					AST_CACHE_HITS.increment();
 					return fAST;
 				}
 				if (waitFlag == CoreASTProvider.WAIT_NO) {
@@ -291,7 +296,9 @@ public final class CoreASTProvider {
 						return;
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 						System.err.println(getThreadName() + " - " + DEBUG_PREFIX + "creating AST for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$
-					root[0]= (CompilationUnit)parser.createAST(progressMonitor);
+					try (Instrumentation.Scope scope= AST_CREATE.start()) {
+						root[0]= (CompilationUnit)parser.createAST(progressMonitor);
+					}
 
 					//mark as unmodifiable
 					ASTNodes.setFlagsToAST(root[0], ASTNode.PROTECT);
@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named timers and counters for the hot paths of the Java tooling.
+ * <p>
+ * Instrumentation is disabled by default and is enabled with the
+ * <code>org.eclipse.jdt.core.manipulation/debug/instrumentation</code> debug option. While it is
+ * disabled, starting a timer returns a shared scope and updating a counter only reads a flag.
+ * While it is enabled, each timer keeps a histogram of its most recent durations and, if the
+ * <code>org.eclipse.jdt.core.manipulation/debug/instrumentation/jfr</code> debug option is set,
+ * emits a Java Flight Recorder event per measured operation.
+ * </p>
+ * <p>
+ * Timers are typically kept in constants and used with try-with-resources:
+ * </p>
+ * <pre>
+ * private static final Instrumentation.Timer RECONCILE= Instrumentation.getTimer(Instrumentation.RECONCILE);
+ * ...
+ * try (Instrumentation.Scope scope= RECONCILE.start()) {
+ * 	reconcile();
+ * }
+ * </pre>
+ *
+ * @since 1.16
+ */
+public final class Instrumentation {
+
+	/** Timer of the proposal computation of a content assist invocation */
+	public static final String CONTENT_ASSIST= "contentAssist"; //$NON-NLS-1$
+	/** Prefix of the timers of the single completion proposal computers */
+	public static final String CONTENT_ASSIST_COMPUTER= "contentAssist.computer."; //$NON-NLS-1$
+	/** Timer of the proposal computation of a quick fix or quick assist invocation */
+	public static final String QUICK_FIX= "quickFix"; //$NON-NLS-1$
+	/** Timer of the condition checking of a clean up */
+	public static final String CLEAN_UP_CHECK_CONDITIONS= "cleanUp.checkConditions"; //$NON-NLS-1$
+	/** Timer of the change creation of a clean up */
+	public static final String CLEAN_UP_CREATE_CHANGE= "cleanUp.createChange"; //$NON-NLS-1$
+	/** Timer of the clean ups that are run when a compilation unit is saved */
+	public static final String CLEAN_UP_ON_SAVE= "cleanUp.onSave"; //$NON-NLS-1$
+	/** Prefix of the timers of the single save participants */
+	public static final String SAVE_PARTICIPANT= "saveParticipant."; //$NON-NLS-1$
+	/** Timer of a reconcile of a Java editor */
+	public static final String RECONCILE= "reconcile"; //$NON-NLS-1$
+	/** Timer of the reconcile listeners of a Java editor */
+	public static final String RECONCILE_LISTENERS= "reconcile.listeners"; //$NON-NLS-1$
+	/** Timer of the creation of a shared AST */
+	public static final String AST_CREATE= "ast.create"; //$NON-NLS-1$
+	/** Counter of the requests for a shared AST that were answered from the cache */
+	public static final String AST_CACHE_HITS= "ast.cacheHits"; //$NON-NLS-1$
+	/** Timer of the condition checking of a refactoring */
+	public static final String REFACTORING_CHECK_CONDITIONS= "refactoring.checkConditions"; //$NON-NLS-1$
+	/** Timer of the change creation of a refactoring */
+	public static final String REFACTORING_CREATE_CHANGE= "refactoring.createChange"; //$NON-NLS-1$
+	/** Timer of the execution of the change of a refactoring */
+	public static final String REFACTORING_PERFORM_CHANGE= "refactoring.performChange"; //$NON-NLS-1$
+
+	/**
+	 * A measurement of a timer, which ends when the scope is closed.
+	 */
+	public interface Scope extends AutoCloseable {
+		@Override
+		void close();
+	}
+
+	private static final Scope NO_SCOPE= () -> {
+		// not measured
+	};
+
+	/**
+	 * A named timer.
+	 */
+	public static final class Timer {
+
+		private final String fName;
+		private final Histogram fHistogram= new Histogram();
+
+		private Timer(String name) {
+			fName= name;
+		}
+
+		/**
+		 * @return the name of this timer
+		 */
+		public String getName() {
+			return fName;
+		}
+
+		/**
+		 * Starts a measurement.
+		 *
+		 * @return the scope of the measurement, to be closed when the measured operation ends
+		 */
+		public Scope start() {
+			if (!fgEnabled)
+				return NO_SCOPE;
+			long start= System.nanoTime();
+			return () -> record(System.nanoTime() - start);
+		}
+
+		/**
+		 * Records the duration of an operation that has been measured by the caller.
+		 *
+		 * @param nanos the duration in nanoseconds
+		 */
+		public void record(long nanos) {
+			if (!fgEnabled)
+				return;
+			fHistogram.record(nanos);
+			if (fgJfrEnabled) {
+				try {
+					InstrumentationEvent.emit(fName, nanos);
+				} catch (LinkageError e) {
+					// the jdk.jfr module is not available
+					fgJfrEnabled= false;
+				}
+			}
+		}
+
+		/**
+		 * @return the number of measured operations
+		 */
+		public long getCount() {
+			return fHistogram.fCount.get();
+		}
+
+		@Override
+		public String toString() {
+			return fName + ": " + fHistogram; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * A named counter.
+	 */
+	public static final class Counter {
+
+		private final String fName;
+		private final LongAdder fValue= new LongAdder();
+
+		private Counter(String name) {
+			fName= name;
+		}
+
+		/**
+		 * @return the name of this counter
+		 */
+		public String getName() {
+			return fName;
+		}
+
+		/**
+		 * Increments this counter.
+		 */
+		public void increment() {
+			if (fgEnabled)
+				fValue.increment();
+		}
+
+		/**
+		 * Adds to this counter.
+		 *
+		 * @param value the value to add
+		 */
+		public void add(long value) {
+			if (fgEnabled)
+				fValue.add(value);
+		}
+
+		/**
+		 * @return the value of this counter
+		 */
+		public long get() {
+			return fValue.sum();
+		}
+
+		@Override
+		public String toString() {
+			return fName + ": " + get(); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * The total, maximum and count of all durations of a timer, and the most recent
+	 * {@link #WINDOW} durations, from which the percentiles are computed.
+	 */
+	private static final class Histogram {
+
+		static final int WINDOW= 1024;
+
+		final AtomicLong fCount= new AtomicLong();
+		final LongAdder fTotal= new LongAdder();
+		final AtomicLong fMax= new AtomicLong();
+		final AtomicLongArray fRecent= new AtomicLongArray(WINDOW);
+
+		void record(long nanos) {
+			long index= fCount.getAndIncrement();
+			fRecent.set((int) (index % WINDOW), nanos);
+			fTotal.add(nanos);
+			fMax.accumulateAndGet(nanos, Math::max);
+		}
+
+		void reset() {
+			fCount.set(0);
+			fTotal.reset();
+			fMax.set(0);
+		}
+
+		@Override
+		public String toString() {
+			long count= fCount.get();
+			int size= (int) Math.min(count, WINDOW);
+			long[] recent= new long[size];
+			for (int i= 0; i < size; i++) {
+				recent[i]= fRecent.get(i);
+			}
+			Arrays.sort(recent);
+			StringBuilder buffer= new StringBuilder();
+			buffer.append("count=").append(count); //$NON-NLS-1$
+			if (count > 0) {
+				buffer.append(", mean=").append(toMillis(fTotal.sum() / count)); //$NON-NLS-1$
+				buffer.append("ms, p50=").append(toMillis(percentile(recent, 50))); //$NON-NLS-1$
+				buffer.append("ms, p90=").append(toMillis(percentile(recent, 90))); //$NON-NLS-1$
+				buffer.append("ms, p99=").append(toMillis(percentile(recent, 99))); //$NON-NLS-1$
+				buffer.append("ms, max=").append(toMillis(fMax.get())).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return buffer.toString();
+		}
+
+		private static long percentile(long[] sorted, int percent) {
+			return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+		}
+
+		private static String toMillis(long nanos) {
+			return String.format(Locale.ROOT, "%.3f", Double.valueOf(nanos / 1e6)); //$NON-NLS-1$
+		}
+	}
+
+	private static volatile boolean fgEnabled;
+	private static volatile boolean fgJfrEnabled;
+
+	private static final Map<String, Timer> fgTimers= new ConcurrentHashMap<>();
+	private static final Map<String, Counter> fgCounters= new ConcurrentHashMap<>();
+
+	private Instrumentation() {
+	}
+
+	/**
+	 * Returns the timer with the given name, creating it if needed.
+	 *
+	 * @param name the name of the timer
+	 * @return the timer
+	 */
+	public static Timer getTimer(String name) {
+		return fgTimers.computeIfAbsent(name, Timer::new);
+	}
+
+	/**
+	 * Returns the counter with the given name, creating it if needed.
+	 *
+	 * @param name the name of the counter
+	 * @return the counter
+	 */
+	public static Counter getCounter(String name) {
+		return fgCounters.computeIfAbsent(name, Counter::new);
+	}
+
+	/**
+	 * @return <code>true</code> if instrumentation is enabled
+	 */
+	public static boolean isEnabled() {
+		return fgEnabled;
+	}
+
+	/**
+	 * Enables or disables instrumentation.
+	 *
+	 * @param enabled <code>true</code> to measure the timers and counters
+	 * @param jfr <code>true</code> to also emit Java Flight Recorder events
+	 */
+	public static void setEnabled(boolean enabled, boolean jfr) {
+		fgJfrEnabled= enabled && jfr;
+		fgEnabled= enabled;
+	}
+
+	/**
+	 * Resets all timers and counters.
+	 */
+	public static void reset() {
+		for (Timer timer : fgTimers.values()) {
+			timer.fHistogram.reset();
+		}
+		for (Counter counter : fgCounters.values()) {
+			counter.fValue.reset();
+		}
+	}
+
+	/**
+	 * Writes the timers and counters that have been used, sorted by name.
+	 *
+	 * @param writer the writer to write to
+	 */
+	public static void dump(PrintWriter writer) {
+		Map<String, Object> entries= new TreeMap<>();
+		for (Timer timer : fgTimers.values()) {
+			if (timer.getCount() > 0)
+				entries.put(timer.getName(), timer);
+		}
+		for (Counter counter : fgCounters.values()) {
+			if (counter.get() > 0)
+				entries.put(counter.getName(), counter);
+		}
+		for (Object entry : entries.values()) {
+			writer.println(entry);
+		}
+		writer.flush();
+	}
+
+	/**
+	 * @return the timers and counters that have been used, one per line
+	 * @see #dump(PrintWriter)
+	 */
+	public static String dump() {
+		StringWriter writer= new StringWriter();
+		dump(new PrintWriter(writer));
+		return writer.toString();
+	}
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The Java Flight Recorder event of an operation measured by an {@link Instrumentation.Timer}.
+ * This class is only loaded when events are enabled.
+ *
+ * @since 1.16
+ */
+@Name("org.eclipse.jdt.Operation")
+@Label("JDT Operation")
+@Category({ "Eclipse", "JDT" })
+@Description("An operation measured by the JDT instrumentation")
+final class InstrumentationEvent extends Event {
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Elapsed")
+	@Timespan(Timespan.NANOSECONDS)
+	long elapsed;
+
+	static void emit(String operation, long nanos) {
+		InstrumentationEvent event= new InstrumentationEvent();
+		if (event.isEnabled()) {
+			event.operation= operation;
+			event.elapsed= nanos;
+			event.commit();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -408,9 +408,14 @@ public class SemanticHighlightingPresenterCore {
 	protected int indexOf(List<? extends Position> positions, Position position) {
 		int index= computeIndexAtOffset(positions, position.getOffset());
 		int size= positions.size();
+		int offset= position.getOffset();
 		while (index < size) {
-			if (positions.get(index) == position)
+			Position current= positions.get(index);
+			if (current == position)
 				return index;
+			// ordered by offset: the position cannot follow
+			if (current.getOffset() > offset)
+				break;
 			index++;
 		}
 		return -1;
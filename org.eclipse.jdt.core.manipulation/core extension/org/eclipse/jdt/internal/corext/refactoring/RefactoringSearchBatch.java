@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.FieldReferenceMatch;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.MethodDeclarationMatch;
+import org.eclipse.jdt.core.search.MethodReferenceMatch;
+import org.eclipse.jdt.core.search.ReferenceMatch;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.corext.util.SearchUtils;
+
+/**
+ * Runs the searches of a refactoring that share a scope in a single pass.
+ * <p>
+ * Each search is added with its pattern, the requestor that would have been passed to
+ * {@link RefactoringSearchEngine#search(SearchPattern, IJavaSearchScope, CollectingSearchRequestor, IProgressMonitor, RefactoringStatus)}
+ * and a selector that tells which matches of the combined pattern belong to it.
+ * {@link #search(IJavaSearchScope, IProgressMonitor, RefactoringStatus)} searches for the
+ * disjunction of all patterns, hands every match to the requestors of the searches that
+ * select it and groups the results of each search by compilation unit. Requestors may modify
+ * the matches they are given, so a match selected by several searches is copied for each.
+ * </p>
+ * <p>
+ * The search engine does not tell which part of an or-pattern produced a match, so the
+ * selectors must partition the matches, e.g. by the name of the searched element.
+ * </p>
+ */
+public final class RefactoringSearchBatch {
+
+	/**
+	 * Decides whether a match of the combined search belongs to a search of the batch.
+	 */
+	public interface IMatchSelector {
+
+		/**
+		 * @param match a match of the combined search
+		 * @return <code>true</code> iff the match belongs to the search
+		 * @throws CoreException if the match could not be inspected
+		 */
+		boolean selects(SearchMatch match) throws CoreException;
+	}
+
+	private static final class Entry {
+
+		final SearchPattern fPattern;
+		final IMatchSelector fSelector;
+		final CollectingSearchRequestor fRequestor;
+		SearchResultGroup[] fResults;
+
+		Entry(SearchPattern pattern, IMatchSelector selector, CollectingSearchRequestor requestor) {
+			fPattern= pattern;
+			fSelector= selector;
+			fRequestor= requestor;
+		}
+	}
+
+	private final List<Entry> fEntries= new ArrayList<>(4);
+	private final WorkingCopyOwner fOwner;
+
+	/**
+	 * Creates a new batch that searches the primary working copies.
+	 */
+	public RefactoringSearchBatch() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new batch.
+	 *
+	 * @param owner the working copy owner, or <code>null</code> for the primary working copies
+	 */
+	public RefactoringSearchBatch(WorkingCopyOwner owner) {
+		fOwner= owner;
+	}
+
+	/**
+	 * Adds a search to this batch.
+	 *
+	 * @param pattern the search pattern
+	 * @param selector selects the matches of the combined search that belong to this search
+	 * @param requestor the requestor that collects the matches of this search
+	 * @return the index of the search, to be passed to {@link #getResults(int)}
+	 */
+	public int add(SearchPattern pattern, IMatchSelector selector, CollectingSearchRequestor requestor) {
+		Assert.isNotNull(pattern);
+		Assert.isNotNull(selector);
+		Assert.isNotNull(requestor);
+		fEntries.add(new Entry(pattern, selector, requestor));
+		return fEntries.size() - 1;
+	}
+
+	/**
+	 * Performs all searches of this batch in one pass.
+	 *
+	 * @param scope the scope shared by all searches
+	 * @param monitor the progress monitor
+	 * @param status an error is added here if inaccurate or non-cu matches have been found
+	 * @throws JavaModelException when the search failed
+	 */
+	public void search(IJavaSearchScope scope, IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
+		Assert.isTrue(!fEntries.isEmpty());
+		SearchPattern pattern= null;
+		for (Entry entry : fEntries) {
+			pattern= pattern == null ? entry.fPattern : SearchPattern.createOrPattern(pattern, entry.fPattern);
+		}
+		SearchRequestor requestor= new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				List<Entry> selecting= new ArrayList<>(1);
+				for (Entry entry : fEntries) {
+					if (entry.fSelector.selects(match))
+						selecting.add(entry);
+				}
+				for (int i= 0; i < selecting.size(); i++) {
+					selecting.get(i).fRequestor.acceptSearchMatch(i == selecting.size() - 1 ? match : copy(match));
+				}
+			}
+		};
+		try {
+			SearchEngine engine= fOwner != null ? new SearchEngine(fOwner) : new SearchEngine();
+			engine.search(pattern, SearchUtils.getDefaultSearchParticipants(), scope, requestor, monitor);
+		} catch (CoreException e) {
+			throw new JavaModelException(e);
+		}
+		for (Entry entry : fEntries) {
+			entry.fResults= RefactoringSearchEngine.groupByCu(entry.fRequestor.getResults(), status);
+		}
+	}
+
+	/**
+	 * @param index the index returned by {@link #add(SearchPattern, IMatchSelector, CollectingSearchRequestor)}
+	 * @return the matches of the search, grouped by compilation unit
+	 */
+	public SearchResultGroup[] getResults(int index) {
+		SearchResultGroup[] results= fEntries.get(index).fResults;
+		Assert.isNotNull(results, "Batch has not been searched yet"); //$NON-NLS-1$
+		return results;
+	}
+
+	/**
+	 * Returns a selector for the occurrences of elements with the given simple name. Matches in
+	 * compilation units are selected by their source text in front of the first parenthesis,
+	 * since the range of a method reference includes its arguments. Other matches are selected
+	 * by the name of their element.
+	 *
+	 * @param name the simple name of the searched element
+	 * @return the selector
+	 */
+	public static IMatchSelector occurrencesNamed(final String name) {
+		return match -> {
+			ICompilationUnit unit= SearchUtils.getCompilationUnit(match);
+			IBuffer buffer= unit != null ? unit.getBuffer() : null;
+			if (buffer == null || match.getLength() == 0) {
+				Object element= match.getElement();
+				return element instanceof IJavaElement && name.equals(((IJavaElement) element).getElementName());
+			}
+			String text= buffer.getText(match.getOffset(), match.getLength());
+			int paren= text.indexOf('(');
+			return containsIdentifier(paren != -1 ? text.substring(0, paren) : text, name);
+		};
+	}
+
+	private static SearchMatch copy(SearchMatch match) {
+		IJavaElement element= (IJavaElement) match.getElement();
+		SearchMatch result;
+		if (match instanceof MethodReferenceMatch) {
+			MethodReferenceMatch reference= (MethodReferenceMatch) match;
+			result= new MethodReferenceMatch(element, match.getAccuracy(), match.getOffset(), match.getLength(), reference.isConstructor(),
+					reference.isSynthetic(), reference.isSuperInvocation(), match.isInsideDocComment(), match.getParticipant(), match.getResource());
+		} else if (match instanceof FieldReferenceMatch) {
+			FieldReferenceMatch reference= (FieldReferenceMatch) match;
+			result= new FieldReferenceMatch(element, match.getAccuracy(), match.getOffset(), match.getLength(), reference.isReadAccess(),
+					reference.isWriteAccess(), match.isInsideDocComment(), match.getParticipant(), match.getResource());
+		} else if (match instanceof MethodDeclarationMatch) {
+			result= new MethodDeclarationMatch(element, match.getAccuracy(), match.getOffset(), match.getLength(), match.getParticipant(), match.getResource());
+		} else {
+			result= new SearchMatch(element, match.getAccuracy(), match.getOffset(), match.getLength(), match.getParticipant(), match.getResource());
+		}
+		if (match instanceof ReferenceMatch && result instanceof ReferenceMatch)
+			((ReferenceMatch) result).setLocalElement(((ReferenceMatch) match).getLocalElement());
+		result.setImplicit(match.isImplicit());
+		result.setRaw(match.isRaw());
+		return result;
+	}
+
+	private static boolean containsIdentifier(String text, String identifier) {
+		for (int index= text.indexOf(identifier); index != -1; index= text.indexOf(identifier, index + 1)) {
+			int end= index + identifier.length();
+			if ((index == 0 || !Character.isJavaIdentifierPart(text.charAt(index - 1)))
+					&& (end == text.length() || !Character.isJavaIdentifierPart(text.charAt(end))))
+				return true;
+		}
+		return false;
+	}
+}
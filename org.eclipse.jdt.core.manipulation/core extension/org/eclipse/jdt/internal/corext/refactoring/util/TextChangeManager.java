@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextChangeStore;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
@@ -31,10 +32,24 @@ import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
  */
 public class TextChangeManager {
 
+	/**
+	 * Number of managed changes above which a streaming manager starts to move the edits
+	 * of changes to a {@link TextChangeStore}.
+	 */
+	static final int STREAMING_THRESHOLD= 500;
+
+	/**
+	 * Number of changes whose edits a streaming manager keeps in memory.
+	 */
+	static final int MAX_RESIDENT_CHANGES= 200;
+
 	private Map<ICompilationUnit, TextChange> fMap= new HashMap<>(10);
 
 	private final boolean fKeepExecutedTextEdits;
 
+	private boolean fStreaming;
+	private TextChangeStore fStore;
+
 	public TextChangeManager() {
 		this(false);
 	}
@@ -43,6 +58,19 @@ public class TextChangeManager {
 		fKeepExecutedTextEdits= keepExecutedTextEdits;
 	}
 
+	/**
+	 * Sets whether this manager bounds the memory used by the edits of its changes. If set,
+	 * the edits of changes that have not been accessed recently are moved to a
+	 * {@link TextChangeStore} once more than {@value #STREAMING_THRESHOLD} changes are
+	 * managed. This is meant for refactorings that can touch a very large number of
+	 * compilation units. It has no effect on managers that keep executed text edits.
+	 *
+	 * @param streaming <code>true</code> to bound the memory used by the edits
+	 */
+	public void setStreaming(boolean streaming) {
+		fStreaming= streaming && !fKeepExecutedTextEdits;
+	}
+
 	/**
 	 * Adds an association between the given compilation unit and the passed
 	 * change to this manager.
@@ -52,6 +80,7 @@ public class TextChangeManager {
 	 */
 	public void manage(ICompilationUnit cu, TextChange change) {
 		fMap.put(cu, change);
+		stream(change);
 	}
 
 	/**
@@ -67,19 +96,45 @@ public class TextChangeManager {
 			result= new CompilationUnitChange(cu.getElementName(), cu);
 			result.setKeepPreviewEdits(fKeepExecutedTextEdits);
 			fMap.put(cu, result);
+			stream(result);
 		}
 		return result;
 	}
 
+	private void stream(TextChange change) {
+		if (!fStreaming || change.getStore() != null)
+			return;
+		if (fStore == null) {
+			if (fMap.size() <= STREAMING_THRESHOLD)
+				return;
+			fStore= new TextChangeStore(MAX_RESIDENT_CHANGES);
+			for (TextChange managed : fMap.values()) {
+				if (managed.getStore() == null)
+					fStore.add(managed);
+			}
+		} else {
+			fStore.add(change);
+		}
+	}
+
+	private void unstream(TextChange change) {
+		if (fStore != null && change.getStore() == fStore)
+			fStore.remove(change);
+	}
+
 	/**
 	 * Removes the <tt>TextChange</tt> managed under the given key
-	 * <code>unit<code>.
+	 * <code>unit<code>. The edits of the removed change are kept in memory
+	 * from now on.
 	 *
 	 * @param unit the key determining the <tt>TextChange</tt> to be removed.
 	 * @return the removed <tt>TextChange</tt>.
 	 */
 	public TextChange remove(ICompilationUnit unit) {
-		return fMap.remove(unit);
+		TextChange result= fMap.remove(unit);
+		if (result != null)
+			unstream(result);
+		return result;
 	}
 
 	/**
@@ -117,7 +172,11 @@ public class TextChangeManager {
 	 * Clears all associations between resources and text changes.
 	 */
 	public void clear() {
+		for (TextChange change : fMap.values()) {
+			unstream(change);
+		}
 		fMap.clear();
+		fStore= null;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ package org.eclipse.jdt.internal.corext.template.java;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -131,6 +132,18 @@ public class JavaContextCore extends CompilationUnitContext implements IJavaCont
 		fCompatibleContextTypeIds.add(contextTypeId);
 	}
 
+	/**
+	 * Returns the context types that are compatible in addition to the context type of this
+	 * context.
+	 *
+	 * @return the ids of the compatible context types, may be empty
+	 */
+	public Set<String> getCompatibleContextTypes() {
+		if (fCompatibleContextTypeIds == null)
+			return Collections.emptySet();
+		return Collections.unmodifiableSet(fCompatibleContextTypeIds);
+	}
+
 	/*
 	 * @see TemplateContext#evaluate(Template template)
 	 */
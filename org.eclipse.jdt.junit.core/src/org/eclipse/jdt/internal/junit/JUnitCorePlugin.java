@@ -38,6 +38,7 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
+import org.eclipse.jdt.internal.junit.launcher.TestDiscoveryCache;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
 
 /**
@@ -133,6 +134,7 @@ public class JUnitCorePlugin extends Plugin {
 		super.start(context);
 		fBundleContext= context;
 		fJUnitModel.start();
+		TestDiscoveryCache.getDefault().start();
 	}
 
 	/**
@@ -143,6 +145,7 @@ public class JUnitCorePlugin extends Plugin {
 		fIsStopped= true;
 		try {
 			InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID).flush();
+			TestDiscoveryCache.getDefault().stop();
 			fJUnitModel.stop();
 		} finally {
 			super.stop(context);
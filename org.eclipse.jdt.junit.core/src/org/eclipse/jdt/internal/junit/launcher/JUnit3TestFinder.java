@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.launcher;
 
+import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -60,11 +61,22 @@ public class JUnit3TestFinder implements ITestFinder {
 					}
 				}
 			} else {
-				findTestCases(element, result, new SubProgressMonitor(pm, 7));
+				TestDiscoveryCache cache= TestDiscoveryCache.getDefault();
+				if (cache.addCachedTests(TestKindRegistry.JUNIT3_TEST_KIND_ID, element, result)) {
+					return;
+				}
+				long start= System.nanoTime();
+				Set<IType> found= new HashSet<>();
+				findTestCases(element, found, new SubProgressMonitor(pm, 7));
 				if (pm.isCanceled()) {
+					result.addAll(found);
 					return;
 				}
-				CoreTestSearchEngine.findSuiteMethods(element, result, new SubProgressMonitor(pm, 3));
+				CoreTestSearchEngine.findSuiteMethods(element, found, new SubProgressMonitor(pm, 3));
+				result.addAll(found);
+				if (!pm.isCanceled()) {
+					cache.put(TestKindRegistry.JUNIT3_TEST_KIND_ID, element, found, System.nanoTime() - start);
+				}
 			}
 			if (pm.isCanceled()) {
 				return;
@@ -122,9 +122,15 @@ public class JUnit4TestFinder implements ITestFinder {
 			}
 		}
 
+		TestDiscoveryCache cache= TestDiscoveryCache.getDefault();
+		if (cache.addCachedTests(TestKindRegistry.JUNIT4_TEST_KIND_ID, element, result))
+			return;
+
 		if (pm == null)
 			pm= new NullProgressMonitor();
 
+		long start= System.nanoTime();
+		Set<IType> found= new HashSet<>();
 		try {
 			pm.beginTask(JUnitMessages.JUnit4TestFinder_searching_description, 4);
 
@@ -148,21 +154,25 @@ public class JUnit4TestFinder implements ITestFinder {
 			// find all classes in the region
 			for (IType curr : candidates) {
 				if (CoreTestSearchEngine.isAccessibleClass(curr) && !Flags.isAbstract(curr.getFlags()) && region.contains(curr)) {
-					result.add(curr);
+					found.add(curr);
 				}
 			}
 
 			// add all classes implementing JUnit 3.8's Test interface in the region
 			IType testInterface= element.getJavaProject().findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
 			if (testInterface != null) {
-				CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, result);
+				CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, found);
 			}
 
 			//JUnit 4.3 can also run JUnit-3.8-style public static Test suite() methods:
-			CoreTestSearchEngine.findSuiteMethods(element, result, new SubProgressMonitor(pm, 1));
+			CoreTestSearchEngine.findSuiteMethods(element, found, new SubProgressMonitor(pm, 1));
 		} finally {
+			result.addAll(found);
 			pm.done();
 		}
+		if (!pm.isCanceled()) {
+			cache.put(TestKindRegistry.JUNIT4_TEST_KIND_ID, element, found, System.nanoTime() - start);
+		}
 	}
 
 	private static class AnnotationSearchRequestor extends SearchRequestor {
@@ -211,9 +211,15 @@ public class JUnit5TestFinder implements ITestFinder {
 			}
 		}
 
+		TestDiscoveryCache cache= TestDiscoveryCache.getDefault();
+		if (cache.addCachedTests(TestKindRegistry.JUNIT5_TEST_KIND_ID, element, result))
+			return;
+
 		if (pm == null)
 			pm= new NullProgressMonitor();
 
+		long start= System.nanoTime();
+		Set<IType> found= new HashSet<>();
 		try {
 			pm.beginTask(JUnitMessages.JUnit5TestFinder_searching_description, 4);
 
@@ -224,21 +230,25 @@ public class JUnit5TestFinder implements ITestFinder {
 			// search for all types with references to RunWith and Test and all subclasses
 			for (IType type : allClasses) {
 				if (internalIsTest(type, pm) && region.contains(type)) {
-					addTypeAndSubtypes(type, result, hierarchy);
+					addTypeAndSubtypes(type, found, hierarchy);
 				}
 			}
 
 			// add all classes implementing JUnit 3.8's Test interface in the region
 			IType testInterface= element.getJavaProject().findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
 			if (testInterface != null) {
-				CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, result);
+				CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, found);
 			}
 
 			//JUnit 4.3 can also run JUnit-3.8-style public static Test suite() methods:
-			CoreTestSearchEngine.findSuiteMethods(element, result, new SubProgressMonitor(pm, 1));
+			CoreTestSearchEngine.findSuiteMethods(element, found, new SubProgressMonitor(pm, 1));
 		} finally {
+			result.addAll(found);
 			pm.done();
 		}
+		if (!pm.isCanceled()) {
+			cache.put(TestKindRegistry.JUNIT5_TEST_KIND_ID, element, found, System.nanoTime() - start);
+		}
 	}
 
 	private void addTypeAndSubtypes(IType type, Set<IType> result, ITypeHierarchy hierarchy) {
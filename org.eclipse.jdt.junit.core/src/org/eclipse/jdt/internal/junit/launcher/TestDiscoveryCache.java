@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Caches the test classes found in a container (project, source folder or package) by an
+ * {@link ITestFinder}, so that running the tests of a large project a second time does not
+ * recompute the type hierarchy of the whole region.
+ * <p>
+ * An entry is dropped as soon as a Java element delta touches the project of the container or
+ * one of the projects it requires. Single types and compilation units are never cached, since
+ * checking them directly is cheap.
+ * </p>
+ */
+public class TestDiscoveryCache implements IElementChangedListener {
+
+	private static final TestDiscoveryCache fgDefault= new TestDiscoveryCache();
+
+	private static class Entry {
+		final Set<IType> fTests;
+		/** Names of the projects whose changes invalidate this entry */
+		final Set<String> fDependencies;
+
+		Entry(Set<IType> tests, Set<String> dependencies) {
+			fTests= tests;
+			fDependencies= dependencies;
+		}
+	}
+
+	/**
+	 * Key: test kind id + '|' + handle identifier of the container.
+	 */
+	private final Map<String, Entry> fEntries= new ConcurrentHashMap<>();
+
+	private final AtomicLong fHits= new AtomicLong();
+	private final AtomicLong fMisses= new AtomicLong();
+	private final AtomicLong fHitNanos= new AtomicLong();
+	private final AtomicLong fScanNanos= new AtomicLong();
+
+	private boolean fListening;
+
+	public static TestDiscoveryCache getDefault() {
+		return fgDefault;
+	}
+
+	public synchronized void start() {
+		if (!fListening) {
+			JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+			fListening= true;
+		}
+	}
+
+	public synchronized void stop() {
+		if (fListening) {
+			JavaCore.removeElementChangedListener(this);
+			fListening= false;
+		}
+		fEntries.clear();
+	}
+
+	/**
+	 * @param element a container element
+	 * @return <code>true</code> iff test discovery results for the given element can be cached
+	 */
+	public boolean isCacheable(IJavaElement element) {
+		if (!fListening)
+			return false;
+		int type= element.getElementType();
+		return type == IJavaElement.JAVA_PROJECT || type == IJavaElement.PACKAGE_FRAGMENT_ROOT || type == IJavaElement.PACKAGE_FRAGMENT;
+	}
+
+	/**
+	 * Adds the cached tests of the given container to <code>result</code>.
+	 *
+	 * @param testKindId the id of the test kind whose finder performs the search
+	 * @param element the container
+	 * @param result the set to add the tests to
+	 * @return <code>true</code> if a fresh entry was found, <code>false</code> if the caller has
+	 *         to perform a full search
+	 */
+	public boolean addCachedTests(String testKindId, IJavaElement element, Set<IType> result) {
+		if (!isCacheable(element))
+			return false;
+		long start= System.nanoTime();
+		Entry entry= fEntries.get(getKey(testKindId, element));
+		if (entry == null) {
+			fMisses.incrementAndGet();
+			return false;
+		}
+		for (IType type : entry.fTests) {
+			if (!type.exists()) { // paranoia: a delta was missed
+				fEntries.remove(getKey(testKindId, element));
+				fMisses.incrementAndGet();
+				return false;
+			}
+		}
+		result.addAll(entry.fTests);
+		fHits.incrementAndGet();
+		fHitNanos.addAndGet(System.nanoTime() - start);
+		return true;
+	}
+
+	/**
+	 * Stores the result of a full search.
+	 *
+	 * @param testKindId the id of the test kind whose finder performed the search
+	 * @param element the container
+	 * @param tests the tests found in the container
+	 * @param scanNanos the time the full search took, in nanoseconds
+	 */
+	public void put(String testKindId, IJavaElement element, Set<IType> tests, long scanNanos) {
+		fScanNanos.addAndGet(scanNanos);
+		if (!isCacheable(element))
+			return;
+		IJavaProject project= element.getJavaProject();
+		Set<String> dependencies= new HashSet<>();
+		try {
+			collectRequiredProjects(project, dependencies);
+		} catch (JavaModelException e) {
+			return; // don't cache what we cannot invalidate
+		}
+		fEntries.put(getKey(testKindId, element), new Entry(Collections.unmodifiableSet(new LinkedHashSet<>(tests)), dependencies));
+	}
+
+	private static void collectRequiredProjects(IJavaProject project, Set<String> result) throws JavaModelException {
+		if (!result.add(project.getElementName()))
+			return;
+		for (String name : project.getRequiredProjectNames()) {
+			IJavaProject required= project.getJavaModel().getJavaProject(name);
+			if (required.exists()) {
+				collectRequiredProjects(required, result);
+			} else {
+				result.add(name);
+			}
+		}
+	}
+
+	private static String getKey(String testKindId, IJavaElement element) {
+		return testKindId + '|' + element.getHandleIdentifier();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (fEntries.isEmpty())
+			return;
+		IJavaElementDelta delta= event.getDelta();
+		List<String> changedProjects= new ArrayList<>();
+		if (delta.getElement().getElementType() == IJavaElement.JAVA_MODEL) {
+			if ((delta.getFlags() & IJavaElementDelta.F_CLASSPATH_CHANGED) != 0) {
+				fEntries.clear();
+				return;
+			}
+			for (IJavaElementDelta projectDelta : delta.getAffectedChildren()) {
+				if (isRelevant(projectDelta)) {
+					changedProjects.add(projectDelta.getElement().getElementName());
+				}
+			}
+		} else {
+			changedProjects.add(delta.getElement().getJavaProject().getElementName());
+		}
+		if (changedProjects.isEmpty())
+			return;
+		for (Iterator<Entry> iter= fEntries.values().iterator(); iter.hasNext();) {
+			Entry entry= iter.next();
+			for (String name : changedProjects) {
+				if (entry.fDependencies.contains(name)) {
+					iter.remove();
+					break;
+				}
+			}
+		}
+	}
+
+	private static boolean isRelevant(IJavaElementDelta projectDelta) {
+		// a content change without affected children only touches non-Java resources
+		return projectDelta.getKind() != IJavaElementDelta.CHANGED
+				|| projectDelta.getFlags() != IJavaElementDelta.F_CONTENT
+				|| projectDelta.getAffectedChildren().length > 0;
+	}
+
+	public long getHitCount() {
+		return fHits.get();
+	}
+
+	public long getMissCount() {
+		return fMisses.get();
+	}
+
+	/**
+	 * @return the accumulated time spent answering requests from the cache, in nanoseconds
+	 */
+	public long getHitNanos() {
+		return fHitNanos.get();
+	}
+
+	/**
+	 * @return the accumulated time spent in full searches, in nanoseconds
+	 */
+	public long getScanNanos() {
+		return fScanNanos.get();
+	}
+
+	@Override
+	public String toString() {
+		return "TestDiscoveryCache: " + fEntries.size() + " entries, " //$NON-NLS-1$ //$NON-NLS-2$
+				+ getHitCount() + " hits (" + getHitNanos() / 1000000 + " ms), " //$NON-NLS-1$ //$NON-NLS-2$
+				+ getMissCount() + " misses (full scans: " + getScanNanos() / 1000000 + " ms)"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -72,6 +72,12 @@ import org.eclipse.jdt.junit.ITestRunListener;
  */
 public final class JUnitModel {
 
+	/**
+	 * Size in bytes from which imported test run files keep their failure details on disk
+	 * (see {@link TestFailureDetailStore}) instead of in the test elements.
+	 */
+	private static final long DEFERRED_DETAILS_THRESHOLD= 16 * 1024 * 1024;
+
 	private final class JUnitLaunchListener implements ILaunchListener {
 
 		/**
@@ -384,12 +390,33 @@ public final class JUnitModel {
 	 * @throws CoreException if the import failed
 	 */
 	public static TestRunSession importTestRunSession(File file) throws CoreException {
+		return importTestRunSession(file, file.length() >= DEFERRED_DETAILS_THRESHOLD);
+	}
+
+	/**
+	 * Imports a test run session from the given file.
+	 *
+	 * @param file a file containing a test run session transcript
+	 * @param deferFailureDetails if <code>true</code>, failure traces and expected/actual values
+	 *            are spilled to a file in the history directory and only read when requested
+	 * @return the imported test run session
+	 * @throws CoreException if the import failed
+	 */
+	public static TestRunSession importTestRunSession(File file, boolean deferFailureDetails) throws CoreException {
+		TestFailureDetailStore detailStore= null;
 		try {
 			SAXParserFactory parserFactory= SAXParserFactory.newInstance();
 //			parserFactory.setValidating(true); // TODO: add DTD and debug flag
 			SAXParser parser= parserFactory.newSAXParser();
-			TestRunHandler handler= new TestRunHandler();
+			TestRunHandler handler;
+			if (deferFailureDetails) {
+				detailStore= createFailureDetailStore();
+				handler= new TestRunHandler(null, detailStore);
+			} else {
+				handler= new TestRunHandler();
+			}
 			parser.parse(file, handler);
+			detailStore= null;
 			TestRunSession session= handler.getTestRunSession();
 			JUnitCorePlugin.getModel().addTestRunSession(session);
 			return session;
@@ -400,10 +427,18 @@ public final class JUnitModel {
 		} catch (IllegalArgumentException e) {
 			// Bug in parser: can throw IAE even if file is not null
 			throwImportError(file, e);
+		} finally {
+			if (detailStore != null) // import failed
+				detailStore.dispose();
 		}
 		return null; // does not happen
 	}
 
+	private static TestFailureDetailStore createFailureDetailStore() throws IOException {
+		File detailFile= File.createTempFile("details", ".bin", JUnitCorePlugin.getHistoryDirectory()); //$NON-NLS-1$ //$NON-NLS-2$
+		return new TestFailureDetailStore(detailFile);
+	}
+
 	/**
 	 * Imports a test run session from the given URL.
 	 *
@@ -471,12 +506,20 @@ public final class JUnitModel {
 	}
 
 	public static void importIntoTestRunSession(File swapFile, TestRunSession testRunSession) throws CoreException {
+		TestFailureDetailStore detailStore= null;
 		try {
 			SAXParserFactory parserFactory= SAXParserFactory.newInstance();
 //			parserFactory.setValidating(true); // TODO: add DTD and debug flag
 			SAXParser parser= parserFactory.newSAXParser();
-			TestRunHandler handler= new TestRunHandler(testRunSession);
+			TestRunHandler handler;
+			if (swapFile.length() >= DEFERRED_DETAILS_THRESHOLD) {
+				detailStore= createFailureDetailStore();
+				handler= new TestRunHandler(testRunSession, detailStore);
+			} else {
+				handler= new TestRunHandler(testRunSession);
+			}
 			parser.parse(swapFile, handler);
+			detailStore= null;
 		} catch (ParserConfigurationException | SAXException e) {
 			throwImportError(swapFile, e);
 		} catch (IOException e) {
@@ -484,6 +527,9 @@ public final class JUnitModel {
 		} catch (IllegalArgumentException e) {
 			// Bug in parser: can throw IAE even if file is not null
 			throwImportError(swapFile, e);
+		} finally {
+			if (detailStore != null) // import failed
+				detailStore.dispose();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -194,6 +194,14 @@ public abstract class TestElement implements ITestElement {
 	private String fExpected;
 	private String fActual;
 
+	/**
+	 * Store holding the failure details of an imported test element, or <code>null</code> if
+	 * {@link #fTrace}, {@link #fExpected} and {@link #fActual} are held in memory.
+	 */
+	private TestFailureDetailStore fDetailStore;
+	private long fDetailHandle;
+	private boolean fComparisonFailure;
+
 	private boolean fAssumptionFailed;
 
 	/**
@@ -262,8 +270,8 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && hasTrace())) {
+			return new FailureTrace(getTrace(), getExpected(), getActual());
 		}
 		return null;
 	}
@@ -304,6 +312,7 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
+		materializeDetails();
 		if (trace != null && fTrace != null) {
 			//don't overwrite first trace if same test run logs multiple errors
 			fTrace= fTrace + trace;
@@ -315,23 +324,80 @@ public abstract class TestElement implements ITestElement {
 		setStatus(status);
 	}
 
+	/**
+	 * Sets the status of this element, with failure details that stay in the given store until
+	 * they are requested.
+	 *
+	 * @param status the new status
+	 * @param detailStore the store holding trace, expected and actual value
+	 * @param detailHandle the handle of the details in <code>detailStore</code>
+	 * @param comparisonFailure whether the stored details contain an expected and an actual value
+	 */
+	public void setStatus(Status status, TestFailureDetailStore detailStore, long detailHandle, boolean comparisonFailure) {
+		if (fTrace != null || fDetailStore != null) {
+			// multiple failures for the same element: fall back to in-memory concatenation
+			String[] details= detailStore.load(detailHandle);
+			if (details != null)
+				setStatus(status, details[0], details[1], details[2]);
+			else
+				setStatus(status); // keep the details of the first failure
+			return;
+		}
+		fDetailStore= detailStore;
+		fDetailHandle= detailHandle;
+		fComparisonFailure= comparisonFailure;
+		setStatus(status);
+	}
+
+	private void materializeDetails() {
+		if (fDetailStore == null)
+			return;
+		String[] details= fDetailStore.load(fDetailHandle);
+		fDetailStore= null;
+		if (details != null) {
+			fTrace= details[0];
+			fExpected= details[1];
+			fActual= details[2];
+		}
+	}
+
+	private String getDetail(int index) {
+		String[] details= fDetailStore.load(fDetailHandle);
+		if (details != null)
+			return details[index];
+		// the session that owned the store has been swapped out or removed
+		return index == 0 ? ModelMessages.TestElement_details_unavailable : null;
+	}
+
+	private boolean hasTrace() {
+		return fDetailStore != null || fTrace != null;
+	}
+
 	public Status getStatus() {
 		return fStatus;
 	}
 
 	public String getTrace() {
+		if (fDetailStore != null)
+			return getDetail(0);
 		return fTrace;
 	}
 
 	public String getExpected() {
+		if (fDetailStore != null)
+			return getDetail(1);
 		return fExpected;
 	}
 
 	public String getActual() {
+		if (fDetailStore != null)
+			return getDetail(2);
 		return fActual;
 	}
 
 	public boolean isComparisonFailure() {
+		if (fDetailStore != null)
+			return fComparisonFailure && ! fDetailStore.isDisposed();
 		return fExpected != null && fActual != null;
 	}
 
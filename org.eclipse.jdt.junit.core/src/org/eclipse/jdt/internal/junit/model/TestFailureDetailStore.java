@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Append-only store for failure traces and expected/actual values of imported test runs.
+ * <p>
+ * While a large test run file is parsed, failure details are streamed into a spill file
+ * and {@link TestElement}s only keep a handle. The details are read back on demand,
+ * e.g. when a failed test is selected in the JUnit view.
+ * </p>
+ */
+public class TestFailureDetailStore {
+
+	private static final int NO_VALUE= -1;
+
+	private final File fFile;
+	private DataOutputStream fOut;
+	private long fSize;
+
+	private RandomAccessFile fIn;
+	private boolean fDisposed;
+
+	/* single-entry cache: trace, expected and actual are usually requested together */
+	private long fCachedHandle= -1;
+	private String[] fCachedDetails;
+
+	public TestFailureDetailStore(File file) throws IOException {
+		fFile= file;
+		fOut= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+	}
+
+	/**
+	 * Appends the given failure details.
+	 *
+	 * @param trace the trace, can be <code>null</code>
+	 * @param expected the expected value, can be <code>null</code>
+	 * @param actual the actual value, can be <code>null</code>
+	 * @return the handle to pass to {@link #load(long)}
+	 * @throws IOException if the details could not be written
+	 */
+	public synchronized long store(String trace, String expected, String actual) throws IOException {
+		long handle= fSize;
+		write(trace);
+		write(expected);
+		write(actual);
+		return handle;
+	}
+
+	private void write(String value) throws IOException {
+		if (value == null) {
+			fOut.writeInt(NO_VALUE);
+			fSize+= 4;
+		} else {
+			byte[] bytes= value.getBytes(StandardCharsets.UTF_8);
+			fOut.writeInt(bytes.length);
+			fOut.write(bytes);
+			fSize+= 4 + bytes.length;
+		}
+	}
+
+	/**
+	 * Reads back the failure details stored under the given handle.
+	 *
+	 * @param handle a handle returned by {@link #store(String, String, String)}
+	 * @return an array of length 3 with trace, expected and actual value (each can be
+	 *         <code>null</code>), or <code>null</code> if the store is no longer readable
+	 */
+	public synchronized String[] load(long handle) {
+		if (fDisposed)
+			return null;
+		if (handle == fCachedHandle)
+			return fCachedDetails;
+		try {
+			if (fOut != null)
+				fOut.flush();
+			if (fIn == null)
+				fIn= new RandomAccessFile(fFile, "r"); //$NON-NLS-1$
+			fIn.seek(handle);
+			String[] details= { read(), read(), read() };
+			fCachedHandle= handle;
+			fCachedDetails= details;
+			return details;
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	private String read() throws IOException {
+		int length= fIn.readInt();
+		if (length == NO_VALUE)
+			return null;
+		byte[] bytes= new byte[length];
+		fIn.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Flushes pending details to disk. No more details can be stored afterwards.
+	 */
+	public synchronized void finishWriting() {
+		if (fOut == null)
+			return;
+		try {
+			fOut.close();
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+		}
+		fOut= null;
+	}
+
+	/**
+	 * Closes the store and deletes the spill file.
+	 */
+	public synchronized void dispose() {
+		finishWriting();
+		if (fIn != null) {
+			try {
+				fIn.close();
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+			}
+			fIn= null;
+		}
+		fCachedDetails= null;
+		fCachedHandle= -1;
+		fDisposed= true;
+		fFile.delete();
+	}
+
+	/**
+	 * @return <code>true</code> if the store has been disposed and its details are gone
+	 */
+	public synchronized boolean isDisposed() {
+		return fDisposed;
+	}
+
+	/**
+	 * @return the number of bytes spilled to disk
+	 */
+	public synchronized long getSize() {
+		return fSize;
+	}
+}
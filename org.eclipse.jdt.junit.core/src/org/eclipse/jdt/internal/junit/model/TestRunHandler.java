@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,8 +17,8 @@
 
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.IOException;
 import java.util.Arrays;
-import java.util.Stack;
 
 import org.xml.sax.Attributes;
 import org.xml.sax.Locator;
@@ -50,7 +50,12 @@ public class TestRunHandler extends DefaultHandler {
 	private TestRunSession fTestRunSession;
 	private TestSuiteElement fTestSuite;
 	private TestCaseElement fTestCase;
-	private Stack<Boolean> fNotRun= new Stack<>();
+	/**
+	 * Stack of "incomplete" flags for the currently open suites and test case. Kept as a
+	 * growable array to avoid boxing on every element of large result files.
+	 */
+	private boolean[] fNotRun= new boolean[16];
+	private int fNotRunDepth;
 
 	private StringBuffer fFailureBuffer;
 	private boolean fInExpected;
@@ -65,6 +70,12 @@ public class TestRunHandler extends DefaultHandler {
 	private IProgressMonitor fMonitor;
 	private int fLastReportedLine;
 
+	/**
+	 * If not <code>null</code>, failure details are spilled into this store instead of being kept
+	 * in the test elements.
+	 */
+	private TestFailureDetailStore fDetailStore;
+
 	public TestRunHandler() {
 
 	}
@@ -77,6 +88,18 @@ public class TestRunHandler extends DefaultHandler {
 		fTestRunSession= testRunSession;
 	}
 
+	/**
+	 * Creates a handler that spills failure traces and expected/actual values into the given
+	 * store while parsing, so that only the test tree and the status counts stay in memory.
+	 *
+	 * @param testRunSession the session to import into, or <code>null</code> to create a new one
+	 * @param detailStore the store for failure details
+	 */
+	public TestRunHandler(TestRunSession testRunSession, TestFailureDetailStore detailStore) {
+		fTestRunSession= testRunSession;
+		fDetailStore= detailStore;
+	}
+
 	@Override
 	public void setDocumentLocator(Locator locator) {
 		fLocator= locator;
@@ -152,7 +175,7 @@ public class TestRunHandler extends DefaultHandler {
 					uniqueId= null;
 				}	fTestSuite= (TestSuiteElement) fTestRunSession.createTestElement(fTestSuite, getNextId(), suiteName, true, 0, false, displayName, paramTypes, uniqueId);
 				readTime(fTestSuite, attributes);
-				fNotRun.push(Boolean.valueOf(attributes.getValue(IXMLTags.ATTR_INCOMPLETE)));
+				pushNotRun(Boolean.parseBoolean(attributes.getValue(IXMLTags.ATTR_INCOMPLETE)));
 				break;
 			}
 		// not interested
@@ -177,7 +200,7 @@ public class TestRunHandler extends DefaultHandler {
 				if (uniqueId != null && uniqueId.trim().isEmpty()) {
 					uniqueId= null;
 				}	fTestCase= (TestCaseElement) fTestRunSession.createTestElement(fTestSuite, getNextId(), testName, false, 0, isDynamicTest, displayName, paramTypes, uniqueId);
-				fNotRun.push(Boolean.parseBoolean(attributes.getValue(IXMLTags.ATTR_INCOMPLETE)));
+				pushNotRun(Boolean.parseBoolean(attributes.getValue(IXMLTags.ATTR_INCOMPLETE)));
 				fTestCase.setIgnored(Boolean.parseBoolean(attributes.getValue(IXMLTags.ATTR_IGNORED)));
 				readTime(fTestCase, attributes);
 				break;
@@ -311,14 +334,32 @@ public class TestRunHandler extends DefaultHandler {
 		}
 	}
 
+	private void pushNotRun(boolean notRun) {
+		if (fNotRunDepth == fNotRun.length)
+			fNotRun= Arrays.copyOf(fNotRun, fNotRunDepth * 2);
+		fNotRun[fNotRunDepth++]= notRun;
+	}
+
 	private void handleTestElementEnd(TestElement testElement) {
-		boolean completed= fNotRun.pop() != Boolean.TRUE;
+		boolean completed= !fNotRun[--fNotRunDepth];
 		fTestRunSession.registerTestEnded(testElement, completed);
 	}
 
-	private void handleFailure(TestElement testElement) {
+	private void handleFailure(TestElement testElement) throws SAXException {
 		if (fFailureBuffer != null) {
-			fTestRunSession.registerTestFailureStatus(testElement, fStatus, fFailureBuffer.toString(), toString(fExpectedBuffer), toString(fActualBuffer));
+			String trace= fFailureBuffer.toString();
+			String expected= toString(fExpectedBuffer);
+			String actual= toString(fActualBuffer);
+			if (fDetailStore != null) {
+				try {
+					long handle= fDetailStore.store(trace, expected, actual);
+					fTestRunSession.registerTestFailureStatus(testElement, fStatus, fDetailStore, handle, expected != null && actual != null);
+				} catch (IOException e) {
+					throw new SAXException(e);
+				}
+			} else {
+				fTestRunSession.registerTestFailureStatus(testElement, fStatus, trace, expected, actual);
+			}
 			fFailureBuffer= null;
 			fExpectedBuffer= null;
 			fActualBuffer= null;
@@ -353,6 +394,15 @@ public class TestRunHandler extends DefaultHandler {
 		return Integer.toString(fId++);
 	}
 
+	@Override
+	public void endDocument() throws SAXException {
+		if (fDetailStore != null) {
+			fDetailStore.finishWriting();
+			if (fTestRunSession != null)
+				fTestRunSession.setFailureDetailStore(fDetailStore);
+		}
+	}
+
 	/**
 	 * @return the parsed test run session, or <code>null</code>
 	 */
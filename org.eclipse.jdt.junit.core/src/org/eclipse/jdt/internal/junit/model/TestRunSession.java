@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -102,6 +102,12 @@ public class TestRunSession implements ITestRunSession {
 
 	private static final String EMPTY_STRING= ""; //$NON-NLS-1$
 
+	/**
+	 * Store for failure details of an imported test run, or <code>null</code> if all details are
+	 * held in memory.
+	 */
+	private TestFailureDetailStore fFailureDetailStore;
+
 	/**
 	 * Tags included in this test run.
 	 */
@@ -372,6 +378,7 @@ public class TestRunSession implements ITestRunSession {
 
 			JUnitModel.exportTestRunSession(this, swapFile);
 			fTestResult= fTestRoot.getTestResult(true);
+			disposeFailureDetailStore();
 			fTestRoot= null;
 			fTestRunnerClient= null;
 			fIdToTest= new HashMap<>();
@@ -393,6 +400,18 @@ public class TestRunSession implements ITestRunSession {
 		File swapFile= getSwapFile();
 		if (swapFile.exists())
 			swapFile.delete();
+		disposeFailureDetailStore();
+	}
+
+	/**
+	 * Disposes the failure detail store. The details are not read back into memory: test
+	 * elements that are still referenced by clients report them as unavailable.
+	 */
+	private void disposeFailureDetailStore() {
+		if (fFailureDetailStore == null)
+			return;
+		fFailureDetailStore.dispose();
+		fFailureDetailStore= null;
 	}
 
 	private File getSwapFile() throws IllegalStateException {
@@ -823,6 +842,36 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * Registers a failure whose details stay in the given store until they are requested.
+	 *
+	 * @param testElement the failed element
+	 * @param status the failure status
+	 * @param detailStore the store holding trace, expected and actual value
+	 * @param detailHandle the handle of the details in <code>detailStore</code>
+	 * @param comparisonFailure whether the stored details contain an expected and an actual value
+	 */
+	public void registerTestFailureStatus(TestElement testElement, Status status, TestFailureDetailStore detailStore, long detailHandle, boolean comparisonFailure) {
+		testElement.setStatus(status, detailStore, detailHandle, comparisonFailure);
+		if (!testElement.isAssumptionFailure()) {
+			if (status.isError()) {
+				fErrorCount++;
+			} else if (status.isFailure()) {
+				fFailureCount++;
+			}
+		}
+	}
+
+	/**
+	 * Sets the store that holds the failure details of this imported session. The store is
+	 * disposed together with the swap file of this session.
+	 *
+	 * @param detailStore the store, or <code>null</code>
+	 */
+	public void setFailureDetailStore(TestFailureDetailStore detailStore) {
+		fFailureDetailStore= detailStore;
+	}
+
 	public void registerTestEnded(TestElement testElement, boolean completed) {
 		if (testElement instanceof TestCaseElement) {
 			fTotalCount++;
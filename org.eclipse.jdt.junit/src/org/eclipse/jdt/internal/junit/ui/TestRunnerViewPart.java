@@ -877,7 +877,7 @@ public class TestRunnerViewPart extends ViewPart {
 		@Override
 		public IStatus runInUIThread(IProgressMonitor monitor) {
 			if (!isDisposed()) {
-				processChangesInUI();
+				processChangesInUI(true);
 			}
 			schedule(REFRESH_INTERVAL);
 			return Status.OK_STATUS;
@@ -1375,6 +1375,14 @@ public class TestRunnerViewPart extends ViewPart {
 	}
 
 	private void processChangesInUI() {
+		processChangesInUI(false);
+	}
+
+	/**
+	 * @param withinTimeBudget <code>true</code> for periodic updates, which may leave viewer
+	 *            updates for the next tick
+	 */
+	private void processChangesInUI(boolean withinTimeBudget) {
 		if (fSashForm.isDisposed())
 			return;
 
@@ -1388,7 +1396,7 @@ public class TestRunnerViewPart extends ViewPart {
 		}
 		updateNextPreviousActions();
 
-		fTestViewer.processChangesInUI();
+		fTestViewer.processChangesInUI(withinTimeBudget);
 	}
 
 	private void updateNextPreviousActions() {
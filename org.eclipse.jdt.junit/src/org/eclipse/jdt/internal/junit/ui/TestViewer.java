@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,13 +21,19 @@
 package org.eclipse.jdt.internal.junit.ui;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.junit.model.ITestElement;
@@ -40,7 +46,6 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Menu;
-import org.eclipse.swt.widgets.TableItem;
 
 import org.eclipse.core.runtime.CoreException;
 
@@ -216,9 +221,36 @@ public class TestViewer {
 
 	private TestRunSession fTestRunSession;
 
+	/**
+	 * Maximum time in nanoseconds that a periodic {@link #processChangesInUI(boolean)} spends on
+	 * element updates. Remaining updates are carried over to the next tick.
+	 */
+	private static final long UPDATE_BUDGET_NANOS= TimeUnit.MILLISECONDS.toNanos(TestRunnerViewPart.REFRESH_INTERVAL / 2);
+
+	/**
+	 * Number of elements updated in one viewer call before the time budget is checked again.
+	 */
+	private static final int UPDATE_CHUNK_SIZE= 500;
+
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
 	private HashSet<TestElement> fNeedUpdate;
+	/**
+	 * Elements added since the last tick, in the order they were added. Only used while the
+	 * viewers can be updated incrementally, i.e. while they do not need a full refresh.
+	 */
+	private LinkedHashSet<TestElement> fNeedAdd;
+	/**
+	 * Elements that the tree viewer has received, either from its content provider or through
+	 * {@link #processAddedElementsInUI()}. Only accessed in the UI thread.
+	 */
+	private final HashSet<Object> fTreeElements= new HashSet<>();
+	/**
+	 * Elements that the table viewer shows, i.e. the ones it has received from its content provider
+	 * or through {@link #processAddedElementsInUI()} and that pass its filters. The table is
+	 * virtual, so its items cannot tell which elements it holds. Only accessed in the UI thread.
+	 */
+	private final HashSet<Object> fTableElements= new HashSet<>();
 	private TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
@@ -238,19 +270,56 @@ public class TestViewer {
 		initContextMenu();
 	}
 
+	private static Object[] recordElements(HashSet<Object> known, Object[] elements) {
+		known.addAll(Arrays.asList(elements));
+		return elements;
+	}
+
 	private void createTestViewers(Composite parent) {
 		fViewerbook= new PageBook(parent, SWT.NULL);
 
 		fTreeViewer= new TreeViewer(fViewerbook, SWT.V_SCROLL | SWT.SINGLE);
 		fTreeViewer.setUseHashlookup(true);
-		fTreeContentProvider= new TestSessionTreeContentProvider();
+		fTreeContentProvider= new TestSessionTreeContentProvider() {
+			@Override
+			public Object[] getChildren(Object parentElement) {
+				return recordElements(fTreeElements, super.getChildren(parentElement));
+			}
+
+			@Override
+			public Object[] getElements(Object inputElement) {
+				return recordElements(fTreeElements, super.getElements(inputElement));
+			}
+
+			@Override
+			public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+				fTreeElements.clear();
+			}
+		};
 		fTreeViewer.setContentProvider(fTreeContentProvider);
 		fTreeLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
 		fTreeViewer.setLabelProvider(new ColoringLabelProvider(fTreeLabelProvider));
 
-		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE);
+		// virtual: the flat layout can hold hundreds of thousands of tests, only label visible rows
+		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTableViewer.setUseHashlookup(true);
-		fTableContentProvider= new TestSessionTableContentProvider();
+		fTableContentProvider= new TestSessionTableContentProvider() {
+			@Override
+			public Object[] getElements(Object inputElement) {
+				Object[] elements= super.getElements(inputElement);
+				fTableElements.clear();
+				for (Object element : elements) {
+					if (isShownInTable(element))
+						fTableElements.add(element);
+				}
+				return elements;
+			}
+
+			@Override
+			public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+				fTableElements.clear();
+			}
+		};
 		fTableViewer.setContentProvider(fTableContentProvider);
 		fTableLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_FLAT);
 		fTableViewer.setLabelProvider(new ColoringLabelProvider(fTableLabelProvider));
@@ -668,9 +737,19 @@ public class TestViewer {
 	}
 
 	/**
-	 * To be called periodically by the TestRunnerViewPart (in the UI thread).
+	 * To be called by the TestRunnerViewPart (in the UI thread). Processes all pending changes.
 	 */
 	public void processChangesInUI() {
+		processChangesInUI(false);
+	}
+
+	/**
+	 * To be called periodically by the TestRunnerViewPart (in the UI thread).
+	 *
+	 * @param withinTimeBudget if <code>true</code>, element updates that do not fit into the
+	 *            time budget of one tick are left for the next call
+	 */
+	public void processChangesInUI(boolean withinTimeBudget) {
 		TestRoot testRoot;
 		if (fTestRunSession == null) {
 			registerViewersRefresh();
@@ -685,41 +764,111 @@ public class TestViewer {
 
 		StructuredViewer viewer= getActiveViewer();
 		if (getActiveViewerNeedsRefresh()) {
-			clearUpdateAndExpansion();
-			setActiveViewerNeedsRefresh(false);
+			processAddedElementsInUI(); // for the inactive viewer
+			synchronized (this) {
+				clearUpdateAndExpansion();
+				setActiveViewerNeedsRefresh(false);
+			}
+			// adds that arrive from now on are skipped if the content provider already returned them
 			viewer.setInput(testRoot);
 
 		} else {
+			processAddedElementsInUI();
+			long deadline= System.nanoTime() + UPDATE_BUDGET_NANOS;
 			Object[] toUpdate;
-			synchronized (this) {
-				toUpdate= fNeedUpdate.toArray();
-				fNeedUpdate.clear();
+			while ((toUpdate= takeElementsToUpdate(withinTimeBudget ? UPDATE_CHUNK_SIZE : Integer.MAX_VALUE)).length > 0) {
+				updateElementsInUI(toUpdate);
+				if (withinTimeBudget && System.nanoTime() - deadline > 0)
+					break;
 			}
-			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
-				if (fTreeHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTree((TestElement) element);
-				else {
-					HashSet<Object> toUpdateWithParents= new HashSet<>(Arrays.asList(toUpdate));
-					for (Object element : toUpdate) {
-						TestElement parent= ((TestElement) element).getParent();
-						while (parent != null) {
-							toUpdateWithParents.add(parent);
-							parent= parent.getParent();
-						}
+		}
+		autoScrollInUI();
+	}
+
+	private synchronized Object[] takeElementsToUpdate(int maxCount) {
+		if (fNeedUpdate.size() <= maxCount) {
+			Object[] toUpdate= fNeedUpdate.toArray();
+			fNeedUpdate.clear();
+			return toUpdate;
+		}
+		Object[] toUpdate= new Object[maxCount];
+		Iterator<TestElement> iter= fNeedUpdate.iterator();
+		for (int i= 0; i < maxCount; i++) {
+			toUpdate[i]= iter.next();
+			iter.remove();
+		}
+		return toUpdate;
+	}
+
+	private void processAddedElementsInUI() {
+		TestElement[] added;
+		synchronized (this) {
+			if (fNeedAdd.isEmpty())
+				return;
+			added= fNeedAdd.toArray(new TestElement[fNeedAdd.size()]);
+			fNeedAdd.clear();
+		}
+		if (! fTreeNeedsRefresh) {
+			// one add(..) call per parent, parents before their children
+			Map<TestSuiteElement, List<TestElement>> byParent= new LinkedHashMap<>();
+			for (TestElement element : added) {
+				byParent.computeIfAbsent(element.getParent(), k -> new ArrayList<>()).add(element);
+			}
+			for (Entry<TestSuiteElement, List<TestElement>> entry : byParent.entrySet()) {
+				List<TestElement> children= entry.getValue();
+				children.removeIf(element -> ! fTreeElements.add(element));
+				if (! children.isEmpty())
+					fTreeViewer.add(entry.getKey(), children.toArray());
+			}
+		}
+		if (! fTableNeedsRefresh) {
+			ArrayList<TestElement> testCases= new ArrayList<>(added.length);
+			for (TestElement element : added) {
+				if (element instanceof TestCaseElement && isShownInTable(element) && fTableElements.add(element))
+					testCases.add(element);
+			}
+			fTableViewer.add(testCases.toArray());
+		}
+	}
+
+	private void updateElementsInUI(Object[] toUpdate) {
+		if (! fTreeNeedsRefresh && toUpdate.length > 0) {
+			if (fTreeHasFilter)
+				for (Object element : toUpdate)
+					updateElementInTree((TestElement) element);
+			else {
+				HashSet<Object> toUpdateWithParents= new HashSet<>(Arrays.asList(toUpdate));
+				for (Object element : toUpdate) {
+					TestElement parent= ((TestElement) element).getParent();
+					while (parent != null) {
+						toUpdateWithParents.add(parent);
+						parent= parent.getParent();
 					}
-					fTreeViewer.update(toUpdateWithParents.toArray(), null);
 				}
+				fTreeViewer.update(toUpdateWithParents.toArray(), null);
 			}
-			if (! fTableNeedsRefresh && toUpdate.length > 0) {
-				if (fTableHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTable((TestElement) element);
-				else
-					fTableViewer.update(toUpdate, null);
+		}
+		if (! fTableNeedsRefresh && toUpdate.length > 0) {
+			if (fTableHasFilter)
+				for (Object element : toUpdate)
+					updateElementInTable((TestElement) element);
+			else
+				updateElementsInUnfilteredTable(toUpdate);
+		}
+	}
+
+	private void updateElementsInUnfilteredTable(Object[] toUpdate) {
+		fTableViewer.update(toUpdate, null);
+		for (Object element : toUpdate) {
+			// failed suites are shown in the flat layout, but are not added incrementally
+			if (element instanceof TestSuiteElement && ((TestSuiteElement) element).getSuiteStatus().isErrorOrFailure()
+					&& ! fTableElements.contains(element)) {
+				synchronized (this) {
+					fTableNeedsRefresh= true;
+				}
+				return;
 			}
 		}
-		autoScrollInUI();
 	}
 
 	private void updateElementInTree(final TestElement testElement) {
@@ -728,8 +877,10 @@ public class TestViewer {
 		} else {
 			TestElement current= testElement;
 			do {
-				if (fTreeViewer.testFindItem(current) != null)
+				if (fTreeViewer.testFindItem(current) != null) {
 					fTreeViewer.remove(current);
+					fTreeElements.remove(current);
+				}
 				current= current.getParent();
 			} while (! (current instanceof TestRoot) && ! isShown(current));
 
@@ -748,6 +899,7 @@ public class TestViewer {
 		updateShownElementInTree(parent); // make sure parent is shown and up-to-date
 
 		if (fTreeViewer.testFindItem(testElement) == null) {
+			fTreeElements.add(testElement);
 			fTreeViewer.add(parent, testElement); // if not yet in tree: add
 		} else {
 			fTreeViewer.update(testElement, null); // if in tree: update
@@ -755,24 +907,47 @@ public class TestViewer {
 	}
 
 	private void updateElementInTable(TestElement element) {
-		if (isShown(element)) {
-			if (fTableViewer.testFindItem(element) == null) {
-				TestElement previous= getNextFailure(element, false);
-				int insertionIndex= -1;
-				if (previous != null) {
-					TableItem item= (TableItem) fTableViewer.testFindItem(previous);
-					if (item != null)
-						insertionIndex= fTableViewer.getTable().indexOf(item);
-				}
+		if (isShownInTable(element)) {
+			if (! fTableElements.contains(element)) {
+				int insertionIndex= getTableInsertionIndex(element);
+				fTableElements.add(element);
 				fTableViewer.insert(element, insertionIndex);
 			} else  {
 				fTableViewer.update(element, null);
 			}
-		} else {
+		} else if (fTableElements.remove(element)) {
 			fTableViewer.remove(element);
 		}
 	}
 
+	/**
+	 * Returns the number of shown elements that precede the given element in the model order of the
+	 * flat layout. The virtual table cannot be asked for the item of a row that has not been
+	 * materialized yet, so the index is not derived from table items.
+	 *
+	 * @param element the element to insert
+	 * @return the index at which the element belongs in the unsorted table
+	 */
+	private int getTableInsertionIndex(TestElement element) {
+		int index= 0;
+		for (Object current : new TestSessionTableContentProvider().getElements(fTableViewer.getInput())) {
+			if (current == element)
+				return index;
+			if (fTableElements.contains(current))
+				index++;
+		}
+		return -1;
+	}
+
+	private boolean isShownInTable(Object element) {
+		Object input= fTableViewer.getInput();
+		for (ViewerFilter filter : fTableViewer.getFilters()) {
+			if (! filter.select(fTableViewer, input, element))
+				return false;
+		}
+		return true;
+	}
+
 	private boolean isShown(TestElement current) {
 		return fFailuresOnlyFilter.select(current);
 	}
@@ -921,6 +1096,7 @@ public class TestViewer {
 
 	private void clearUpdateAndExpansion() {
 		fNeedUpdate= new LinkedHashSet<>();
+		fNeedAdd= new LinkedHashSet<>();
 		fAutoClose= new LinkedList<>();
 		fAutoExpand= new HashSet<>();
 	}
@@ -929,9 +1105,13 @@ public class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
-		fTableNeedsRefresh= true;
+		// filtered viewers insert elements at computed positions; keep it simple and refresh them
+		if (fTreeHasFilter)
+			fTreeNeedsRefresh= true;
+		if (fTableHasFilter)
+			fTableNeedsRefresh= true;
+		if (! fTreeNeedsRefresh || ! fTableNeedsRefresh)
+			fNeedAdd.add(testElement);
 	}
 
 	public synchronized void registerViewerUpdate(final TestElement testElement) {
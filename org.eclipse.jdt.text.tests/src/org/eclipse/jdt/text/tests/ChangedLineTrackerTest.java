@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+
+import org.eclipse.jdt.internal.ui.javaeditor.ChangedLineTracker;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+
+/**
+ * Compares the changed lines of a {@link ChangedLineTracker} with the changed lines that
+ * {@link EditorUtility#calculateChangedLineRegions} computes by comparing the buffer with its file.
+ * <p>
+ * Every line that an edit inserts contains a token that is unique to the edit, so the lines of
+ * the document stay unique and both comparisons must align them in the same way.
+ * </p>
+ */
+public class ChangedLineTrackerTest {
+
+	private static final int LINES= 60;
+
+	private IProject fProject;
+	private IPath fPath;
+	private ITextFileBuffer fBuffer;
+	private IDocument fDocument;
+	private ChangedLineTracker fTracker;
+	private String fOriginal;
+	private int fEdits;
+
+	/** The inverse edits: offset, length and text */
+	private final Deque<Object[]> fUndo= new ArrayDeque<>();
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourcesPlugin.getWorkspace().getRoot().getProject("ChangedLineTracker");
+		fProject.create(null);
+		fProject.open(null);
+		StringBuilder contents= new StringBuilder();
+		for (int i= 0; i < LINES; i++) {
+			contents.append("line ").append(i).append(" of the document\n");
+		}
+		fOriginal= contents.toString();
+		IFile file= fProject.getFile("A.java");
+		file.create(new ByteArrayInputStream(fOriginal.getBytes()), true, null);
+		fPath= file.getFullPath();
+
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connect(fPath, LocationKind.IFILE, null);
+		fBuffer= manager.getTextFileBuffer(fPath, LocationKind.IFILE);
+		fDocument= fBuffer.getDocument();
+		fTracker= new ChangedLineTracker(fBuffer);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fTracker != null)
+			fTracker.dispose();
+		FileBuffers.getTextFileBufferManager().disconnect(fPath, LocationKind.IFILE, null);
+		fProject.delete(true, true, null);
+	}
+
+	private void replace(int offset, int length, int lines) throws BadLocationException {
+		fEdits++;
+		StringBuilder text= new StringBuilder();
+		text.append('<').append(fEdits).append('>');
+		for (int i= 1; i < lines; i++) {
+			text.append("\n<").append(fEdits).append('.').append(i).append('>');
+		}
+		fUndo.push(new Object[] { Integer.valueOf(offset), Integer.valueOf(text.length()), fDocument.get(offset, length) });
+		fDocument.replace(offset, length, text.toString());
+	}
+
+	private void randomEdit(Random random) throws BadLocationException {
+		int offset= random.nextInt(fDocument.getLength() + 1);
+		// long enough to span line boundaries
+		int length= Math.min(random.nextInt(40), fDocument.getLength() - offset);
+		replace(offset, length, 1 + random.nextInt(3));
+	}
+
+	private void undo() throws BadLocationException {
+		Object[] edit= fUndo.pop();
+		fDocument.replace(((Integer) edit[0]).intValue(), ((Integer) edit[1]).intValue(), (String) edit[2]);
+	}
+
+	private static Set<Integer> getLines(IDocument document, IRegion[] regions) throws BadLocationException {
+		Set<Integer> lines= new TreeSet<>();
+		for (IRegion region : regions) {
+			int first= document.getLineOfOffset(region.getOffset());
+			int last= document.getLineOfOffset(region.getOffset() + region.getLength());
+			for (int line= first; line <= last; line++) {
+				lines.add(Integer.valueOf(line));
+			}
+		}
+		return lines;
+	}
+
+	private Set<Integer> assertSameChangedLines() throws Exception {
+		IRegion[] tracked= fTracker.getChangedLineRegions(fDocument);
+		assertNotNull(tracked);
+		IRegion[] compared= EditorUtility.calculateChangedLineRegions(fBuffer, new NullProgressMonitor());
+		Set<Integer> lines= getLines(fDocument, compared);
+		assertEquals(fDocument.get(), lines, getLines(fDocument, tracked));
+		return lines;
+	}
+
+	@Test
+	public void testRandomEdits() throws Exception {
+		Random random= new Random(4711);
+		for (int round= 0; round < 40; round++) {
+			int edits= 1 + random.nextInt(6);
+			for (int i= 0; i < edits; i++) {
+				randomEdit(random);
+			}
+			assertSameChangedLines();
+			if (round % 10 == 9) {
+				fBuffer.commit(null, true);
+				fUndo.clear();
+				assertEquals(Collections.emptySet(), assertSameChangedLines());
+			}
+		}
+	}
+
+	@Test
+	public void testUndo() throws Exception {
+		Random random= new Random(42);
+		for (int i= 0; i < 12; i++) {
+			randomEdit(random);
+		}
+		assertSameChangedLines();
+
+		// undo half of the edits, then all of them
+		for (int i= 0; i < 6; i++) {
+			undo();
+		}
+		assertSameChangedLines();
+		while (!fUndo.isEmpty()) {
+			undo();
+		}
+		assertEquals(fOriginal, fDocument.get());
+		assertEquals(Collections.emptySet(), assertSameChangedLines());
+	}
+
+	@Test
+	public void testRevert() throws Exception {
+		Random random= new Random(7);
+		for (int i= 0; i < 8; i++) {
+			randomEdit(random);
+		}
+		assertSameChangedLines();
+
+		fBuffer.revert(null);
+		fUndo.clear();
+		assertEquals(fOriginal, fDocument.get());
+		assertEquals(Collections.emptySet(), assertSameChangedLines());
+
+		for (int i= 0; i < 8; i++) {
+			randomEdit(random);
+		}
+		assertSameChangedLines();
+	}
+
+	@Test
+	public void testEditsAcrossLineBoundaries() throws Exception {
+		// join two lines
+		int offset= fDocument.getLineOffset(10) + fDocument.getLineLength(10) - 1;
+		fDocument.replace(offset, 1, "");
+		assertSameChangedLines();
+
+		// split a line
+		fDocument.replace(fDocument.getLineOffset(20) + 5, 0, "\n");
+		assertSameChangedLines();
+
+		// replace the end of one line, two full lines and the start of another by two lines
+		int start= fDocument.getLineOffset(30) + 7;
+		int end= fDocument.getLineOffset(33) + 4;
+		replace(start, end - start, 2);
+		assertSameChangedLines();
+
+		// delete whole lines, then edit the first and the last line
+		fDocument.replace(fDocument.getLineOffset(40), fDocument.getLineOffset(43) - fDocument.getLineOffset(40), "");
+		replace(0, 0, 1);
+		replace(fDocument.getLength(), 0, 2);
+		assertSameChangedLines();
+
+		// touching edits
+		int touching= fDocument.getLineOffset(50);
+		replace(touching, 3, 1);
+		replace(touching + 3, 2, 2);
+		assertSameChangedLines();
+	}
+
+	@Test
+	public void testDirtyOnCreation() throws Exception {
+		fTracker.dispose();
+		replace(0, 4, 1);
+		fTracker= new ChangedLineTracker(fBuffer);
+		// the edits before the tracker was created are unknown, so the whole document is compared
+		assertNull(fTracker.getChangedLineRegions(fDocument));
+
+		fBuffer.commit(null, true);
+		replace(fDocument.getLineOffset(5), 3, 1);
+		assertSameChangedLines();
+	}
+}
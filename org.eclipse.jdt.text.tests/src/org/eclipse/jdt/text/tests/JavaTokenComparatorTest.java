@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.eclipse.compare.contentmergeviewer.TokenComparator;
+
+import org.eclipse.jdt.internal.ui.compare.JavaTokenComparator;
+
+/**
+ * Tests the token hashes of {@link JavaTokenComparator} and the estimate from which it decides
+ * to skip a token comparison.
+ */
+public class JavaTokenComparatorTest {
+
+	/**
+	 * Returns <code>x0;x1;...</code> with the given number of identifiers, of which the first
+	 * <code>renamed</code> ones are called <code>y</code> instead of <code>x</code>. Every
+	 * identifier is unique, the semicolons are not.
+	 *
+	 * @param identifiers the number of identifiers
+	 * @param renamed the number of renamed identifiers
+	 * @return the text, with two tokens per identifier
+	 */
+	private static String createText(int identifiers, int renamed) {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < identifiers; i++) {
+			buffer.append(i < renamed ? 'y' : 'x').append(i).append(';');
+		}
+		return buffer.toString();
+	}
+
+	@Test
+	public void testRangesEqual() throws Exception {
+		JavaTokenComparator left= new JavaTokenComparator("foo(bar);");
+		JavaTokenComparator right= new JavaTokenComparator("foo(baz);");
+		assertEquals(5, left.getRangeCount());
+		assertEquals(5, right.getRangeCount());
+
+		assertTrue(left.rangesEqual(0, right, 0));
+		assertTrue(left.rangesEqual(1, right, 1));
+		assertFalse(left.rangesEqual(2, right, 2));
+		assertFalse(left.rangesEqual(0, right, 2));
+		assertTrue(left.rangesEqual(4, right, 4));
+	}
+
+	@Test
+	public void testRangesEqualWithDifferentLengths() throws Exception {
+		JavaTokenComparator left= new JavaTokenComparator("a;");
+		JavaTokenComparator right= new JavaTokenComparator("ab;");
+		assertFalse(left.rangesEqual(0, right, 0));
+		assertTrue(left.rangesEqual(1, right, 1));
+	}
+
+	@Test
+	public void testRangesEqualWithSameHash() throws Exception {
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		JavaTokenComparator left= new JavaTokenComparator("Aa;");
+		JavaTokenComparator right= new JavaTokenComparator("BB;");
+		assertFalse(left.rangesEqual(0, right, 0));
+		assertTrue(left.rangesEqual(0, new JavaTokenComparator("Aa"), 0));
+	}
+
+	@Test
+	public void testRangesEqualWithOtherComparator() throws Exception {
+		JavaTokenComparator left= new JavaTokenComparator("a;");
+		assertFalse(left.rangesEqual(0, new TokenComparator("a;"), 0));
+	}
+
+	@Test
+	public void testAnchoredTokensOfEqualTexts() throws Exception {
+		String text= createText(100, 0);
+		JavaTokenComparator left= new JavaTokenComparator(text);
+		assertEquals(200, left.getRangeCount());
+		assertEquals(200, left.countAnchoredTokens(new JavaTokenComparator(text)));
+	}
+
+	@Test
+	public void testAnchoredTokensWithoutUniqueTokens() throws Exception {
+		// no anchors: only the equal tokens at the start count
+		JavaTokenComparator left= new JavaTokenComparator("a;a;b;b;");
+		assertEquals(8, left.countAnchoredTokens(new JavaTokenComparator("a;a;b;b;")));
+		assertEquals(4, left.countAnchoredTokens(new JavaTokenComparator("a;a;a;a;")));
+	}
+
+	@Test
+	public void testAnchoredTokensOfCrossingAnchors() throws Exception {
+		// a and b are anchors, but only one of them is part of an increasing chain
+		JavaTokenComparator left= new JavaTokenComparator("a;b;");
+		assertEquals(2, left.countAnchoredTokens(new JavaTokenComparator("b;a;")));
+	}
+
+	@Test
+	public void testAnchoredTokensWithSameHash() throws Exception {
+		// tokens with the same hash are no anchors unless their text is equal
+		JavaTokenComparator left= new JavaTokenComparator("Aa;");
+		assertEquals(0, left.countAnchoredTokens(new JavaTokenComparator("BB;")));
+	}
+
+	@Test
+	public void testAnchoredTokensAroundChanges() throws Exception {
+		// the anchors x<r>...x999 extend over the semicolons between them and the one before x<r>
+		JavaTokenComparator left= new JavaTokenComparator(createText(1000, 0));
+		for (int renamed : new int[] { 1, 10, 500, 999 }) {
+			JavaTokenComparator right= new JavaTokenComparator(createText(1000, renamed));
+			assertEquals("renamed: " + renamed, 2001 - 2 * renamed, left.countAnchoredTokens(right));
+		}
+	}
+
+	@Test
+	public void testSkipRangeComparisonAtWorkBudget() throws Exception {
+		// 2000 tokens on each side and 4 * renamed - 2 differences
+		JavaTokenComparator left= new JavaTokenComparator(createText(1000, 0));
+		JavaTokenComparator withinBudget= new JavaTokenComparator(createText(1000, 500));
+		JavaTokenComparator overBudget= new JavaTokenComparator(createText(1000, 501));
+		assertTrue(4000L * 1998 <= JavaTokenComparator.MAX_WORK);
+		assertTrue(4000L * 2002 > JavaTokenComparator.MAX_WORK);
+		assertTrue(3000L * 3000 > JavaTokenComparator.MAX_WORK);
+
+		assertFalse(left.skipRangeComparison(3000, 3000, withinBudget));
+		assertTrue(left.skipRangeComparison(3000, 3000, overBudget));
+		// over the budget, the comparison is still done if the ranges are small enough
+		assertFalse(left.skipRangeComparison(2000, 2000, overBudget));
+	}
+
+	@Test
+	public void testSkipRangeComparisonOfSmallRanges() throws Exception {
+		JavaTokenComparator left= new JavaTokenComparator(createText(1000, 0));
+		JavaTokenComparator right= new JavaTokenComparator(createText(1000, 1000));
+		assertFalse(left.skipRangeComparison(99, 3000, right));
+		assertFalse(left.skipRangeComparison(3000, 99, right));
+		assertFalse(left.skipRangeComparison(3000, 3000, new JavaTokenComparator(createText(20, 0))));
+		assertTrue(left.skipRangeComparison(3000, 3000, right));
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.codemining;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaCodeMiningSearch;
+
+public class JavaCodeMiningSearchTest {
+
+	private IJavaProject fJavaProject;
+	private ICompilationUnit fUnit;
+	private IMethod fFoo;
+	private IMethod fBar;
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar(fJavaProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJavaProject, "src");
+		IPackageFragment pack= root.createPackageFragment("p", true, null);
+		String contents= "package p;\n" +
+				"public class A {\n" +
+				"	int bar() {\n" +
+				"		return 0;\n" +
+				"	}\n" +
+				"	void foo(int i) {\n" +
+				"	}\n" +
+				"	void use() {\n" +
+				"		foo(bar());\n" +
+				"		foo(1);\n" +
+				"	}\n" +
+				"}\n";
+		fUnit= pack.createCompilationUnit("A.java", contents, true, null);
+		IType type= fUnit.getType("A");
+		fFoo= type.getMethod("foo", new String[] { "I" });
+		fBar= type.getMethod("bar", new String[0]);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fUnit.isWorkingCopy())
+			fUnit.discardWorkingCopy();
+		JavaProjectHelper.delete(fJavaProject);
+	}
+
+	private long[] count() throws Exception {
+		JavaCodeMiningSearch search= new JavaCodeMiningSearch();
+		CompletableFuture<Long> foo= search.addReferenceCount(fFoo);
+		CompletableFuture<Long> bar= search.addReferenceCount(fBar);
+		search.run(new NullProgressMonitor());
+		return new long[] { foo.get().longValue(), bar.get().longValue() };
+	}
+
+	private void reconcile(String before, String inserted) throws Exception {
+		String source= fUnit.getSource();
+		fUnit.getBuffer().replace(source.indexOf(before), 0, inserted);
+		fUnit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	}
+
+	@Test
+	public void testCallInArgumentIsAttributed() throws Exception {
+		long searches= JavaCodeMiningSearch.getSearchCount();
+		long[] counts= count();
+		assertEquals(2, counts[0]);
+		assertEquals(1, counts[1]);
+		// both counts come from the batched search
+		assertEquals(1, JavaCodeMiningSearch.getSearchCount() - searches);
+	}
+
+	@Test
+	public void testReconcileOfMinedUnitUpdatesCounts() throws Exception {
+		fUnit.becomeWorkingCopy(null);
+		JavaCodeMiningSearch.addMinedUnit(fUnit);
+		try {
+			count();
+
+			// a reconcile without changes keeps the cached counts
+			long searches= JavaCodeMiningSearch.getSearchCount();
+			long hits= JavaCodeMiningSearch.getCacheHitCount();
+			fUnit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			long[] counts= count();
+			assertEquals(2, counts[0]);
+			assertEquals(1, counts[1]);
+			assertEquals(0, JavaCodeMiningSearch.getSearchCount() - searches);
+			assertEquals(2, JavaCodeMiningSearch.getCacheHitCount() - hits);
+
+			// a call added to a method body is counted before the unit is saved
+			reconcile("		foo(1);", "		foo(bar());\n");
+			counts= count();
+			assertEquals(3, counts[0]);
+			assertEquals(2, counts[1]);
+
+			// and so is a removed one
+			String source= fUnit.getSource();
+			String call= "		foo(1);\n";
+			fUnit.getBuffer().replace(source.indexOf(call), call.length(), "");
+			fUnit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			counts= count();
+			assertEquals(2, counts[0]);
+			assertEquals(2, counts[1]);
+		} finally {
+			JavaCodeMiningSearch.removeMinedUnit(fUnit);
+		}
+	}
+}
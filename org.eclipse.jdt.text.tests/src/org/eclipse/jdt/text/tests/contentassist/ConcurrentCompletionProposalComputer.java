@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.contentassist.ICompletionProposalExtension2;
+import org.eclipse.jface.text.contentassist.IContextInformation;
+
+import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
+
+/**
+ * A concurrent computer that holds back its proposal until the test releases it or the
+ * computation is canceled.
+ */
+public class ConcurrentCompletionProposalComputer implements IJavaCompletionProposalComputer {
+
+	/**
+	 * A proposal that stays valid while the typed prefix matches it.
+	 */
+	private static final class TriggerProposal implements ICompletionProposal, ICompletionProposalExtension2 {
+		private final int fOffset;
+
+		TriggerProposal(int offset) {
+			fOffset= offset;
+		}
+
+		@Override
+		public void apply(IDocument document) {
+			try {
+				document.replace(fOffset, 0, CONTENT_TRIGGER_STRING);
+			} catch (BadLocationException e) {
+				// ignore
+			}
+		}
+
+		@Override
+		public void apply(ITextViewer viewer, char trigger, int stateMask, int offset) {
+			try {
+				viewer.getDocument().replace(fOffset, offset - fOffset, CONTENT_TRIGGER_STRING);
+			} catch (BadLocationException e) {
+				// ignore
+			}
+		}
+
+		@Override
+		public boolean validate(IDocument document, int offset, DocumentEvent event) {
+			try {
+				return offset >= fOffset && CONTENT_TRIGGER_STRING.startsWith(document.get(fOffset, offset - fOffset));
+			} catch (BadLocationException e) {
+				return false;
+			}
+		}
+
+		@Override
+		public void selected(ITextViewer viewer, boolean smartToggle) {
+		}
+
+		@Override
+		public void unselected(ITextViewer viewer) {
+		}
+
+		@Override
+		public Point getSelection(IDocument document) {
+			return null;
+		}
+
+		@Override
+		public String getAdditionalProposalInfo() {
+			return null;
+		}
+
+		@Override
+		public String getDisplayString() {
+			return CONTENT_TRIGGER_STRING;
+		}
+
+		@Override
+		public Image getImage() {
+			return null;
+		}
+
+		@Override
+		public IContextInformation getContextInformation() {
+			return null;
+		}
+	}
+
+	public static final String CONTENT_TRIGGER_STRING= "concurrentCompletion";
+
+	private static final long MAX_WAIT= 10000;
+
+	private static volatile CountDownLatch fgRelease= new CountDownLatch(1);
+	private static final AtomicInteger fgComputations= new AtomicInteger();
+	private static final AtomicInteger fgSessionsEnded= new AtomicInteger();
+	private static volatile boolean fgComputing;
+	private static volatile boolean fgSessionEndedWhileComputing;
+	private static volatile boolean fgIgnoreCancel;
+
+	public static void reset() {
+		fgRelease= new CountDownLatch(1);
+		fgComputations.set(0);
+		fgSessionsEnded.set(0);
+		fgSessionEndedWhileComputing= false;
+		fgIgnoreCancel= false;
+	}
+
+	/**
+	 * Makes the computer ignore the cancellation of its computation, like a computer that does not
+	 * check its progress monitor.
+	 */
+	public static void ignoreCancel() {
+		fgIgnoreCancel= true;
+	}
+
+	public static void release() {
+		fgRelease.countDown();
+	}
+
+	public static int getComputations() {
+		return fgComputations.get();
+	}
+
+	public static int getSessionsEnded() {
+		return fgSessionsEnded.get();
+	}
+
+	public static boolean isComputing() {
+		return fgComputing;
+	}
+
+	public static boolean isSessionEndedWhileComputing() {
+		return fgSessionEndedWhileComputing;
+	}
+
+	@Override
+	public void sessionStarted() {
+	}
+
+	@Override
+	public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+		if (!context.getDocument().get().contains(CONTENT_TRIGGER_STRING))
+			return Collections.emptyList();
+
+		fgComputations.incrementAndGet();
+		fgComputing= true;
+		try {
+			long deadline= System.currentTimeMillis() + MAX_WAIT;
+			while (!fgRelease.await(10, TimeUnit.MILLISECONDS)) {
+				if ((monitor.isCanceled() && !fgIgnoreCancel) || System.currentTimeMillis() > deadline)
+					return Collections.emptyList();
+			}
+			return Collections.singletonList(new TriggerProposal(context.getInvocationOffset()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Collections.emptyList();
+		} finally {
+			fgComputing= false;
+		}
+	}
+
+	@Override
+	public List<IContextInformation> computeContextInformation(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public String getErrorMessage() {
+		return null;
+	}
+
+	@Override
+	public void sessionEnded() {
+		if (fgComputing)
+			fgSessionEndedWhileComputing= true;
+		fgSessionsEnded.incrementAndGet();
+	}
+}
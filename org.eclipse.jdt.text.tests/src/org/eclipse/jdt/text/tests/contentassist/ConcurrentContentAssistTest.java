@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.DisplayHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.contentassist.ContentAssistant;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.source.ISourceViewer;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProcessor;
+
+/**
+ * Tests the latency budget of the concurrent proposal computers and the merge of their late
+ * proposals, using {@link ConcurrentCompletionProposalComputer}.
+ */
+public class ConcurrentContentAssistTest {
+
+	private static final String TRIGGER= ConcurrentCompletionProposalComputer.CONTENT_TRIGGER_STRING;
+
+	private IJavaProject fProject;
+	private JavaEditor fEditor;
+	private ContentAssistant fAssistant;
+	private JavaCompletionProcessor fProcessor;
+	private int fOffset;
+
+	@Before
+	public void setUp() throws Exception {
+		ConcurrentCompletionProposalComputer.reset();
+		fProject= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment pack= sourceFolder.createPackageFragment("test1", false, null);
+		String contents= "package test1;\n" +
+				"public class Blah {\n" +
+				"	// " + TRIGGER + "\n" +
+				"	\n" +
+				"}\n";
+		ICompilationUnit cu= pack.createCompilationUnit("Blah.java", contents, true, null);
+		fOffset= contents.lastIndexOf("	\n") + 1;
+		fEditor= (JavaEditor) JavaUI.openInEditor(cu);
+
+		ISourceViewer viewer= fEditor.getViewer();
+		viewer.setSelectedRange(fOffset, 0);
+		fAssistant= new ContentAssistant();
+		fAssistant.setDocumentPartitioning(IJavaPartitions.JAVA_PARTITIONING);
+		fProcessor= new JavaCompletionProcessor(fEditor, fAssistant, IDocument.DEFAULT_CONTENT_TYPE);
+		fAssistant.setContentAssistProcessor(fProcessor, IDocument.DEFAULT_CONTENT_TYPE);
+		fAssistant.install(viewer);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ConcurrentCompletionProposalComputer.release();
+		if (fAssistant != null)
+			fAssistant.uninstall();
+		EditorTestHelper.closeAllEditors();
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private static boolean contains(ICompletionProposal[] proposals, String displayString) {
+		return Arrays.stream(proposals).map(ICompletionProposal::getDisplayString).anyMatch(displayString::equals);
+	}
+
+	private boolean isShownInPopup(String displayString) {
+		for (Shell shell : getDisplay().getShells()) {
+			if (!shell.isVisible())
+				continue;
+			Table table= findTable(shell);
+			if (table != null && Arrays.stream(table.getItems()).map(TableItem::getText).anyMatch(displayString::equals))
+				return true;
+		}
+		return false;
+	}
+
+	private static Table findTable(Control control) {
+		if (control instanceof Table)
+			return (Table) control;
+		if (control instanceof Composite) {
+			for (Control child : ((Composite) control).getChildren()) {
+				Table table= findTable(child);
+				if (table != null)
+					return table;
+			}
+		}
+		return null;
+	}
+
+	private Display getDisplay() {
+		return fEditor.getViewer().getTextWidget().getDisplay();
+	}
+
+	private boolean waitForComputing() {
+		return new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return ConcurrentCompletionProposalComputer.isComputing();
+			}
+		}.waitForCondition(getDisplay(), 5000);
+	}
+
+	@Test
+	public void testLatencyBudget() throws Exception {
+		long start= System.currentTimeMillis();
+		ICompletionProposal[] proposals= fProcessor.computeCompletionProposals(fEditor.getViewer(), fOffset);
+		long duration= System.currentTimeMillis() - start;
+
+		// the computer is held back, so the processor returned after the budget without it
+		assertTrue(ConcurrentCompletionProposalComputer.isComputing());
+		assertFalse(contains(proposals, TRIGGER));
+		assertTrue("Waited for " + duration, duration < 5000);
+
+		// without a content assist session, the late proposal does not open the proposal popup
+		ConcurrentCompletionProposalComputer.release();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !ConcurrentCompletionProposalComputer.isComputing();
+			}
+		}.waitForCondition(getDisplay(), 5000));
+		DisplayHelper.sleep(getDisplay(), 500);
+		assertEquals(1, ConcurrentCompletionProposalComputer.getComputations());
+		assertFalse(isShownInPopup(TRIGGER));
+	}
+
+	@Test
+	public void testLateProposalsAreMerged() throws Exception {
+		fAssistant.showPossibleCompletions();
+		assertTrue(waitForComputing());
+		assertFalse(isShownInPopup(TRIGGER));
+
+		ConcurrentCompletionProposalComputer.release();
+		assertTrue("Missing late completion proposal", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return isShownInPopup(TRIGGER);
+			}
+		}.waitForCondition(getDisplay(), 5000));
+		// the refresh takes the proposals of the computation instead of computing them again
+		assertEquals(1, ConcurrentCompletionProposalComputer.getComputations());
+	}
+
+	@Test
+	public void testLateProposalsAreMergedAfterTyping() throws Exception {
+		fAssistant.showPossibleCompletions();
+		assertTrue(waitForComputing());
+
+		ISourceViewer viewer= fEditor.getViewer();
+		viewer.getDocument().replace(fOffset, 0, "c");
+		viewer.setSelectedRange(fOffset + 1, 0);
+		DisplayHelper.sleep(getDisplay(), 200);
+
+		ConcurrentCompletionProposalComputer.release();
+		assertTrue("Missing late completion proposal", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return isShownInPopup(TRIGGER);
+			}
+		}.waitForCondition(getDisplay(), 5000));
+		// the late proposal is filtered with the proposals of the computation, not computed again
+		assertEquals(1, ConcurrentCompletionProposalComputer.getComputations());
+	}
+
+	@Test
+	public void testSessionEndsAfterComputation() throws Exception {
+		fAssistant.showPossibleCompletions();
+		assertTrue(waitForComputing());
+
+		// ending the session cancels the held back computer and waits for it
+		fAssistant.uninstall();
+		fAssistant= null;
+		assertFalse(ConcurrentCompletionProposalComputer.isComputing());
+		assertTrue(ConcurrentCompletionProposalComputer.getSessionsEnded() > 0);
+		assertFalse(ConcurrentCompletionProposalComputer.isSessionEndedWhileComputing());
+	}
+
+	@Test
+	public void testSessionEndIsDeferredForComputerIgnoringCancel() throws Exception {
+		ConcurrentCompletionProposalComputer.ignoreCancel();
+		fAssistant.showPossibleCompletions();
+		assertTrue(waitForComputing());
+
+		// ending the session does not wait for a computer that ignores the cancellation
+		long start= System.currentTimeMillis();
+		fAssistant.uninstall();
+		fAssistant= null;
+		long duration= System.currentTimeMillis() - start;
+		assertTrue("Waited for " + duration, duration < 5000);
+		assertTrue(ConcurrentCompletionProposalComputer.isComputing());
+		assertEquals(0, ConcurrentCompletionProposalComputer.getSessionsEnded());
+
+		// the computers end their session once the computer has returned
+		ConcurrentCompletionProposalComputer.release();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return ConcurrentCompletionProposalComputer.getSessionsEnded() > 0;
+			}
+		}.waitForCondition(getDisplay(), 5000));
+		assertFalse(ConcurrentCompletionProposalComputer.isSessionEndedWhileComputing());
+	}
+}
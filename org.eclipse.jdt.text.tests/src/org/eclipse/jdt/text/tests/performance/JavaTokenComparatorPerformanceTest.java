@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+import org.eclipse.jdt.internal.ui.compare.JavaTokenComparator;
+
+/**
+ * Measures the token comparison of a large Java file with a few changes, which is not skipped
+ * because the estimated work of {@link JavaTokenComparator} fits its budget.
+ *
+ * @since 3.27
+ */
+public class JavaTokenComparatorPerformanceTest extends TextPerformanceTestCase {
+
+	private static final int METHODS= 2000;
+	private static final int CHANGED_METHODS= 10;
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(JavaTokenComparatorPerformanceTest.class));
+	}
+
+	public static Test setUpTest(Test test) {
+		return new PerformanceTestSetup(test);
+	}
+
+	private String fLeft;
+	private String fRight;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(5);
+		setMeasuredRuns(10);
+		fLeft= createSource(-1);
+		fRight= createSource(METHODS / CHANGED_METHODS);
+	}
+
+	/**
+	 * Returns a class with {@link #METHODS} methods.
+	 *
+	 * @param changeInterval every how many methods the body is changed, or <code>-1</code>
+	 * @return the source
+	 */
+	private static String createSource(int changeInterval) {
+		StringBuilder buffer= new StringBuilder();
+		buffer.append("package p;\n\npublic class A {\n");
+		for (int i= 0; i < METHODS; i++) {
+			boolean changed= changeInterval > 0 && i % changeInterval == 0;
+			buffer.append("\t/**\n\t * Returns the value ").append(i).append(".\n\t */\n");
+			buffer.append("\tpublic int method").append(i).append("(int value) {\n");
+			buffer.append("\t\treturn value ").append(changed ? "- " : "+ ").append(i).append(";\n");
+			buffer.append("\t}\n\n");
+		}
+		buffer.append("}\n");
+		return buffer.toString();
+	}
+
+	public void testCompareLargeFile() throws Exception {
+		PerformanceMeter meter= getNullPerformanceMeter();
+		for (int run= 0; run < getWarmUpRuns(); run++)
+			measureCompare(meter);
+
+		meter= createPerformanceMeter();
+		for (int run= 0; run < getMeasuredRuns(); run++)
+			measureCompare(meter);
+
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measureCompare(PerformanceMeter meter) {
+		meter.start();
+		JavaTokenComparator left= new JavaTokenComparator(fLeft);
+		JavaTokenComparator right= new JavaTokenComparator(fRight);
+		int length= left.getRangeCount();
+		int maxLength= Math.max(length, right.getRangeCount());
+		boolean skipped= left.skipRangeComparison(length, maxLength, right);
+		RangeDifference[] differences= skipped ? null : RangeDifferencer.findDifferences(left, right);
+		meter.stop();
+
+		assertFalse("Skipped the comparison of " + length + " tokens", skipped);
+		assertEquals(CHANGED_METHODS, differences.length);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,9 @@ import org.eclipse.jface.action.IAction;
 
 import org.eclipse.ui.texteditor.AbstractTextEditor;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.template.contentassist.TemplateIndex;
+
 
 public class OpenJavaContentAssistTest extends OpenQuickControlTest {
 
@@ -51,4 +54,19 @@ public class OpenJavaContentAssistTest extends OpenQuickControlTest {
 		PerformanceMeter warmMeter= createPerformanceMeter("-warm");
 		measureOpenQuickControl(coldMeter, warmMeter);
 	}
+
+	public void testTemplateEvaluations() throws Exception {
+		long rebuilds= TemplateIndex.getRebuildCount();
+		long lookups= TemplateIndex.getLookupCount();
+		long candidates= TemplateIndex.getCandidateCount();
+		measureOpenQuickControl(getNullPerformanceMeter(), getNullPerformanceMeter());
+
+		long lookupCount= TemplateIndex.getLookupCount() - lookups;
+		long candidateCount= TemplateIndex.getCandidateCount() - candidates;
+		int templateCount= JavaPlugin.getDefault().getTemplateStore().getTemplates().length;
+		assertTrue("templates have not been looked up in the index", lookupCount > 0);
+		assertTrue("every template has been evaluated: " + candidateCount + " evaluations in " + lookupCount + " lookups of " + templateCount + " templates",
+				candidateCount < lookupCount * templateCount);
+		assertTrue("index has been rebuilt although the templates did not change", TemplateIndex.getRebuildCount() - rebuilds <= 1);
+	}
 }
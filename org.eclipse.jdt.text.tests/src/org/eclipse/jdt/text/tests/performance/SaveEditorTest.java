@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -68,6 +68,10 @@ public abstract class SaveEditorTest extends TextPerformanceTestCase {
 		fWasAutobuilding= CoreUtility.setAutoBuilding(false);
 	}
 
+	protected AbstractTextEditor getEditor(int index) {
+		return fEditors[index];
+	}
+
 	protected int getNumberOfEditors() {
 		return EDITORS;
 	}
@@ -109,7 +113,7 @@ public abstract class SaveEditorTest extends TextPerformanceTestCase {
 		}
 	}
 
-	private void dirtyEditor(ITextEditor editor) throws BadLocationException {
+	protected void dirtyEditor(ITextEditor editor) throws BadLocationException {
 		IDocument document= EditorTestHelper.getDocument(editor);
 		if (document.getLength() > 0 && document.getChar(0) == ' ')
 			document.replace(0, 1, "");
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,25 @@ package org.eclipse.jdt.text.tests.performance;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpPostSaveListener;
+import org.eclipse.jdt.internal.corext.fix.CleanUpPreferenceUtil;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+
+import org.eclipse.jdt.internal.ui.javaeditor.ChangedLineTracker;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+
 /**
  * @since 3.1
  */
@@ -32,4 +51,75 @@ public class SaveJavaEditorTest extends SaveEditorTest {
 	protected String getEditorId() {
 		return EditorTestHelper.COMPILATION_UNIT_EDITOR_ID;
 	}
+
+	/**
+	 * Measures saving with the save action that formats the edited lines, which needs the
+	 * changed regions of each saved editor.
+	 *
+	 * @throws Exception if something goes wrong
+	 * @since 3.27
+	 */
+	public void test2() throws Exception {
+		IEclipsePreferences node= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+		String participantKey= "editor_save_participant_" + CleanUpPostSaveListener.POSTSAVELISTENER_ID;
+		String formatKey= CleanUpPreferenceUtil.SAVE_PARTICIPANT_KEY_PREFIX + CleanUpConstants.FORMAT_SOURCE_CODE;
+		String changesOnlyKey= CleanUpPreferenceUtil.SAVE_PARTICIPANT_KEY_PREFIX + CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY;
+		node.putBoolean(participantKey, true);
+		node.put(formatKey, CleanUpOptions.TRUE);
+		node.put(changesOnlyKey, CleanUpOptions.TRUE);
+		try {
+			measureRevert(getNullPerformanceMeter(), getWarmUpRuns());
+			measureRevert(createPerformanceMeter(), getMeasuredRuns());
+			commitAllMeasurements();
+			assertAllPerformance();
+		} finally {
+			node.remove(participantKey);
+			node.remove(formatKey);
+			node.remove(changesOnlyKey);
+		}
+	}
+
+	/**
+	 * Measures computing the changed regions of the dirty editors from the tracked edits and, as
+	 * a second scenario, by comparing the documents with their files, which is the fallback when
+	 * the edits have not been tracked.
+	 *
+	 * @throws Exception if something goes wrong
+	 * @since 3.27
+	 */
+	public void test3() throws Exception {
+		int editors= getNumberOfEditors();
+		ITextFileBuffer[] buffers= new ITextFileBuffer[editors];
+		ChangedLineTracker[] trackers= new ChangedLineTracker[editors];
+		for (int j= 0; j < editors; j++) {
+			buffers[j]= FileBuffers.getTextFileBufferManager().getTextFileBuffer(EditorTestHelper.getDocument(getEditor(j)));
+			trackers[j]= new ChangedLineTracker(buffers[j]);
+		}
+		try {
+			measureChangedRegions(buffers, trackers, getNullPerformanceMeter(), getNullPerformanceMeter(), getWarmUpRuns());
+			measureChangedRegions(buffers, trackers, createPerformanceMeter("tracked"), createPerformanceMeter("diff"), getMeasuredRuns());
+			commitAllMeasurements();
+			assertAllPerformance();
+		} finally {
+			for (ChangedLineTracker tracker : trackers)
+				tracker.dispose();
+		}
+	}
+
+	private void measureChangedRegions(ITextFileBuffer[] buffers, ChangedLineTracker[] trackers, PerformanceMeter tracked, PerformanceMeter diff, int runs) throws Exception {
+		for (int i= 0; i < runs; i++) {
+			for (int j= 0; j < buffers.length; j++)
+				dirtyEditor(getEditor(j));
+			tracked.start();
+			for (int j= 0; j < buffers.length; j++)
+				assertNotNull(trackers[j].getChangedLineRegions(buffers[j].getDocument()));
+			tracked.stop();
+			diff.start();
+			for (int j= 0; j < buffers.length; j++)
+				EditorUtility.calculateChangedLineRegions(buffers[j], new NullProgressMonitor());
+			diff.stop();
+			for (int j= 0; j < buffers.length; j++)
+				EditorTestHelper.getActivePage().saveEditor(getEditor(j), false);
+		}
+	}
 }
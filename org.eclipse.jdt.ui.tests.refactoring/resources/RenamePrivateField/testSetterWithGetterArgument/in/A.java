@@ -0,0 +1,17 @@
+package p;
+class A{
+	private int fMe;
+	
+	public int getMe() {
+		return fMe;
+	}
+	
+	public void setMe(int me) {
+		fMe= me;
+	}
+	
+	void copy(A other) {
+		setMe(other.getMe());
+		other.setMe(getMe() + other.getMe());
+	}
+}
@@ -0,0 +1,17 @@
+package p;
+class A{
+	private int fYou;
+	
+	public int getYou() {
+		return fYou;
+	}
+	
+	public void setYou(int me) {
+		fYou= me;
+	}
+	
+	void copy(A other) {
+		setYou(other.getYou());
+		other.setYou(getYou() + other.getYou());
+	}
+}
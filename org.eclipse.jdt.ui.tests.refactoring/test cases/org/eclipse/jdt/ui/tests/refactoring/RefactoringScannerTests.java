@@ -14,6 +14,8 @@
 package org.eclipse.jdt.ui.tests.refactoring;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -88,6 +90,14 @@ public class RefactoringScannerTests extends GenericRefactoringTest {
 		assertEquals("results.length", 0, fScanner.getMatches().size());
 	}
 
+	@Test
+	public void testPrefilter() throws Exception{
+		assertFalse(fScanner.mayContainMatches("class A { /* TestPatter */ }".toCharArray()));
+		assertTrue(fScanner.mayContainMatches("class A { /* TestPattern */ }".toCharArray()));
+		fScanner.scan("class A { String s= \"TestPatter\"; }");
+		assertEquals("results.length", 0, fScanner.getMatches().size());
+	}
+
 	@Test
 	public void test1() throws Exception{
 		helper("A.java", 8);
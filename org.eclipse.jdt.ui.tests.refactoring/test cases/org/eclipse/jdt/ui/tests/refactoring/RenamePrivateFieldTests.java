@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -294,6 +294,12 @@ public class RenamePrivateFieldTests extends GenericRefactoringTest {
 		helper2("fList", "fElements", true, false, true, true, true, true);
 	}
 
+	@Test
+	public void testSetterWithGetterArgument() throws Exception{
+		// the range of the setter reference includes the getter call in its argument
+		helper2("fMe", "fYou", true, false, true, true, true, true);
+	}
+
 	@Test
 	public void testUnicode01() throws Exception{
 		//regression test for 180331
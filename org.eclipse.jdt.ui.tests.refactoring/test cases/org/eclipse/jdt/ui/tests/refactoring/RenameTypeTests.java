@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -36,6 +38,7 @@ import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 
 import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
@@ -62,6 +65,7 @@ import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatur
 import org.eclipse.jdt.internal.corext.refactoring.rename.RenameTypeProcessor;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RenamingNameSuggestor;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.INameUpdating;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameIndex;
 
 import org.eclipse.jdt.ui.tests.refactoring.infra.DebugUtils;
 import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
@@ -1383,6 +1387,38 @@ public class RenameTypeTests extends GenericRefactoringTest {
 		helperQualifiedName("Transient", "TransientEquipment", "mapping.hbm.xml", "*.xml");
 	}
 
+	@Test
+	public void testQualifiedNameIndex() throws Exception {
+		IProject project= getPackageP().getJavaProject().getProject();
+		IFile referencing= project.getFile("referencing.xml");
+		referencing.create(new ByteArrayInputStream("<bean class=\"p.A.Inner\"/>".getBytes()), true, null);
+		IFile other= project.getFile("other.xml");
+		other.create(new ByteArrayInputStream("<bean class=\"p.AB\"/><value>q.p.A</value>".getBytes()), true, null);
+		try {
+			QualifiedNameIndex index= QualifiedNameIndex.getInstance();
+			IResource[] roots= { project };
+			Pattern xmlFiles= Pattern.compile(".*\\.xml");
+			List<IFile> candidates= Arrays.asList(index.findCandidates(roots, xmlFiles, "p.A", new NullProgressMonitor()));
+			assertTrue(candidates.contains(referencing));
+			assertFalse(candidates.contains(other));
+
+			long indexed= index.getFilesIndexed();
+			candidates= Arrays.asList(index.findCandidates(roots, xmlFiles, "p.A", new NullProgressMonitor()));
+			assertTrue(candidates.contains(referencing));
+			assertEquals(indexed, index.getFilesIndexed());
+
+			other.setContents(new ByteArrayInputStream("<bean class=\"p.A\"/>".getBytes()), true, false, null);
+			candidates= Arrays.asList(index.findCandidates(roots, xmlFiles, "p.A", new NullProgressMonitor()));
+			assertTrue(candidates.contains(other));
+			assertEquals(indexed + 1, index.getFilesIndexed());
+
+			assertNull(index.findCandidates(roots, xmlFiles, "p.*", new NullProgressMonitor()));
+		} finally {
+			referencing.delete(true, null);
+			other.delete(true, null);
+		}
+	}
+
 	private void helperQualifiedName(String oldName, String newName, String textFileName, String filePatterns) throws Exception {
 		ICompilationUnit cu= createCUfromTestFile(getPackageP(), oldName);
 		IType classA= getType(cu, oldName);
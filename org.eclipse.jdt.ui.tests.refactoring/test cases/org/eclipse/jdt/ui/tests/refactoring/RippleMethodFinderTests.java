@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 import org.junit.Rule;
@@ -31,6 +33,7 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragment;
 
+import org.eclipse.jdt.internal.corext.refactoring.rename.RippleMethodCache;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RippleMethodFinder2;
 
 import org.eclipse.jdt.ui.tests.refactoring.infra.AbstractJunit4CUTestCase;
@@ -81,10 +84,30 @@ public class RippleMethodFinderTests extends AbstractJunit4CUTestCase {
 			start++;
 		}
 
-		for (IMethod method : RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null)) {
+		IMethod[] related= RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null);
+		for (IMethod method : related) {
 			assertTrue("method not found: " + method, rippleMethods.remove(method));
 		}
 		assertEquals("found wrong ripple methods: " + rippleMethods, 0, rippleMethods.size());
+
+		// unchanged model: the second computation must come from the session cache
+		RippleMethodCache cache= RippleMethodCache.getInstance();
+		long reused= cache.getResultsReused();
+		IMethod[] relatedAgain= RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null);
+		assertEquals(new HashSet<>(Arrays.asList(related)), new HashSet<>(Arrays.asList(relatedAgain)));
+		assertEquals(reused + 1, cache.getResultsReused());
+
+		// a reconcile that only changes a comment keeps the cached ripple sets
+		cu.becomeWorkingCopy(null);
+		try {
+			cu.getBuffer().append("\n// comment\n");
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			reused= cache.getResultsReused();
+			RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null);
+			assertEquals(reused + 1, cache.getResultsReused());
+		} finally {
+			cu.discardWorkingCopy();
+		}
 	}
 
 	@Test
@@ -30,9 +30,18 @@ public abstract class AbstractRenameTypePerfTest extends RepeatingRefactoringPer
 		IType type= cunit.findPrimaryType();
 		RenameTypeProcessor processor= new RenameTypeProcessor(type);
 		processor.setNewElementName("B");
+		processor.setUpdateTextualMatches(isUpdateTextualMatches());
 		executeRefactoring(new RenameRefactoring(processor), measure);
 	}
 
+	/**
+	 * @return whether the measured refactoring also updates textual occurrences in comments and
+	 *         strings
+	 */
+	protected boolean isUpdateTextualMatches() {
+		return false;
+	}
+
 	private ICompilationUnit generateSources(int numberOfCus, int numberOfRefs) throws Exception {
 		IPackageFragment definition= fTestProject.getSourceFolder().createPackageFragment("def", false, null);
 		StringBuilder buf= new StringBuilder();
@@ -24,6 +24,7 @@ import org.junit.runners.Suite;
 	RenameTypePerfAcceptanceTests.class,
 	RenameTypePerfTests1.class,
 	RenameTypePerfTests2.class,
+	RenameTypeTextualMatchesPerfTests.class,
 
 	RenameMethodPerfTests1.class,
 	RenameMethodPerfTests2.class,
@@ -35,7 +36,9 @@ import org.junit.runners.Suite;
 	MoveStaticMembersPerfTests1.class,
 	MoveStaticMembersPerfTests2.class,
 
-	IntroduceIndirectionPerfAcceptanceTests.class
+	IntroduceIndirectionPerfAcceptanceTests.class,
+
+	InferTypeArgumentsPerfTests.class
 })
 public class AllReorgPerformanceTests {
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.reorg;
+
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.internal.corext.refactoring.generics.InferTypeArgumentsRefactoring;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringPerformanceTestSetup;
+
+/**
+ * Measures Infer Generic Type Arguments on generated code that passes raw collections between
+ * compilation units.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class InferTypeArgumentsPerfTests extends RepeatingRefactoringPerformanceTestCaseCommon {
+
+	@Rule
+	public RefactoringPerformanceTestSetup rpts= new RefactoringPerformanceTestSetup();
+
+	@Test
+	public void testACold_10_10() throws Exception {
+		executeRefactoring(10, 10, false, 3);
+	}
+
+	@Test
+	public void testB_100_10() throws Exception {
+		executeRefactoring(100, 10, true, 10);
+	}
+
+	@Test
+	public void testC_500_10() throws Exception {
+		tagAsSummary("Infer Generic Type Arguments - 500 CUs, 10 raw collections", Dimension.ELAPSED_PROCESS);
+		executeRefactoring(500, 10, true, 5);
+	}
+
+	@Override
+	protected void doExecuteRefactoring(int numberOfCus, int numberOfCollections, boolean measure) throws Exception {
+		IPackageFragment pack= fTestProject.getSourceFolder().createPackageFragment("gen", false, null);
+		for (int i= 0; i < numberOfCus; i++) {
+			createCu(pack, i, numberOfCollections);
+		}
+		InferTypeArgumentsRefactoring refactoring= new InferTypeArgumentsRefactoring(new IJavaElement[] { fTestProject.getProject() });
+		executeRefactoring(refactoring, measure);
+	}
+
+	private void createCu(IPackageFragment pack, int index, int numberOfCollections) throws Exception {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package " + pack.getElementName() + ";\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("import java.util.Iterator;\n");
+		buf.append("import java.util.List;\n");
+		buf.append("public class Gen" + index + " {\n");
+		for (int i= 0; i < numberOfCollections; i++) {
+			buf.append("    public List list" + i + "= new ArrayList();\n");
+		}
+		buf.append("    public void fill() {\n");
+		for (int i= 0; i < numberOfCollections; i++) {
+			buf.append("        list" + i + ".add(" + (i % 2 == 0 ? "\"s" + i + "\"" : "Integer.valueOf(" + i + ")") + ");\n");
+		}
+		if (index > 0) {
+			buf.append("        Gen" + (index - 1) + " prev= new Gen" + (index - 1) + "();\n");
+			for (int i= 0; i < numberOfCollections; i++) {
+				buf.append("        list" + i + ".addAll(prev.list" + i + ");\n");
+			}
+		}
+		buf.append("    }\n");
+		buf.append("    public int count() {\n");
+		buf.append("        int result= 0;\n");
+		for (int i= 0; i < numberOfCollections; i++) {
+			buf.append("        for (Iterator iter= list" + i + ".iterator(); iter.hasNext();) {\n");
+			buf.append("            result+= iter.next().hashCode();\n");
+			buf.append("        }\n");
+		}
+		buf.append("        return result;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		pack.createCompilationUnit("Gen" + index + ".java", buf.toString(), false, null);
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.typeconstraints;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironment;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets.EnumeratedTypeSet;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets.TypeSet;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets.TypeSetEnvironment;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * The type constraint solver picks the first suitable member of a type estimate, so
+ * {@link EnumeratedTypeSet} must iterate in insertion order and not in the order in which the
+ * {@link TypeSetEnvironment} numbers its types.
+ */
+public class EnumeratedTypeSetTests {
+
+	@Rule
+	public RefactoringTestSetup rts= new RefactoringTestSetup();
+
+	private TypeSetEnvironment fEnvironment;
+	private TType fObject;
+	private TType fSerializable;
+	private TType fComparable;
+	private TType fNumber;
+	private TType fInteger;
+	private TType fString;
+
+	@Before
+	public void setUp() throws Exception {
+		String source= "package p;\n"
+				+ "public class A {\n"
+				+ "	Object f0;\n"
+				+ "	java.io.Serializable f1;\n"
+				+ "	Comparable f2;\n"
+				+ "	Number f3;\n"
+				+ "	Integer f4;\n"
+				+ "	String f5;\n"
+				+ "}\n";
+		ICompilationUnit unit= rts.getPackageP().createCompilationUnit("A.java", source, true, null);
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setProject(rts.getProject());
+		parser.setResolveBindings(true);
+		parser.setSource(unit);
+		CompilationUnit root= (CompilationUnit) parser.createAST(null);
+
+		TypeEnvironment typeEnvironment= new TypeEnvironment();
+		List<TType> types= new ArrayList<>();
+		for (FieldDeclaration field : ((TypeDeclaration) root.types().get(0)).getFields()) {
+			types.add(typeEnvironment.create(field.getType().resolveBinding()));
+		}
+		fObject= types.get(0);
+		fSerializable= types.get(1);
+		fComparable= types.get(2);
+		fNumber= types.get(3);
+		fInteger= types.get(4);
+		fString= types.get(5);
+
+		fEnvironment= new TypeSetEnvironment(typeEnvironment);
+		// number the types in declaration order, so that id order differs from the orders below
+		createSet(fObject, fSerializable, fComparable, fNumber, fInteger, fString);
+	}
+
+	private EnumeratedTypeSet createSet(TType... types) {
+		return new EnumeratedTypeSet(Arrays.asList(types).iterator(), fEnvironment);
+	}
+
+	private static void assertOrder(TypeSet set, TType... expected) {
+		List<TType> actual= new ArrayList<>();
+		for (Iterator<TType> iter= set.iterator(); iter.hasNext();) {
+			actual.add(iter.next());
+		}
+		assertEquals(Arrays.asList(expected), actual);
+	}
+
+	@Test
+	public void testInsertionOrder() throws Exception {
+		EnumeratedTypeSet set= createSet(fString, fInteger, fNumber);
+		assertOrder(set, fString, fInteger, fNumber);
+		assertSame(fString, set.anyMember());
+		assertArrayEquals(new TType[] { fString, fInteger, fNumber }, set.toArray());
+		assertOrder(set.makeClone(), fString, fInteger, fNumber);
+	}
+
+	@Test
+	public void testRemoveAndAddAgain() throws Exception {
+		EnumeratedTypeSet set= createSet(fString, fInteger, fNumber);
+		set.remove(fString);
+		assertOrder(set, fInteger, fNumber);
+		assertSame(fInteger, set.anyMember());
+		set.add(fString);
+		assertOrder(set, fInteger, fNumber, fString);
+	}
+
+	@Test
+	public void testAddAll() throws Exception {
+		EnumeratedTypeSet set= createSet(fString, fObject);
+		set.addAll(createSet(fNumber, fString, fInteger));
+		assertOrder(set, fString, fObject, fNumber, fInteger);
+	}
+
+	@Test
+	public void testIntersection() throws Exception {
+		EnumeratedTypeSet set= createSet(fString, fInteger, fNumber);
+		assertOrder(set.intersectedWith(createSet(fNumber, fObject, fString)), fString, fNumber);
+
+		set.retainAll(createSet(fNumber, fInteger));
+		assertOrder(set, fInteger, fNumber);
+	}
+
+	@Test
+	public void testLowerBound() throws Exception {
+		assertOrder(createSet(fObject, fSerializable, fComparable).lowerBound(), fSerializable, fComparable);
+		assertOrder(createSet(fComparable, fObject, fSerializable).lowerBound(), fComparable, fSerializable);
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+/**
+ * Compares the import of a large JUnit result file that keeps the failure details in the test
+ * elements with one that spills them to disk. Besides the elapsed time, the heap that is still
+ * used by the imported session is measured.
+ */
+public class JUnitImportPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int CLASSES= 200;
+	private static final int METHODS= 50;
+	private static final int TRACE_LINES= 60;
+
+	private static final int WARM_UP_RUNS= 2;
+	private static final int MEASURED_RUNS= 5;
+
+	private static class MyTestSetup extends ExternalResource {
+		public static File fResultFile;
+
+		@Override
+		public void before() throws Throwable {
+			fResultFile= File.createTempFile("junitImport", ".xml");
+			try (Writer writer= new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fResultFile), StandardCharsets.UTF_8))) {
+				writeTestRun(writer);
+			}
+		}
+
+		@Override
+		public void after() {
+			if (fResultFile != null)
+				fResultFile.delete();
+		}
+
+		private static void writeTestRun(Writer writer) throws IOException {
+			int tests= CLASSES * METHODS;
+			int failures= tests / 2;
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			writer.write("<testrun name=\"JUnitImportPerfTest\" project=\"p\" tests=\"" + tests + "\" started=\"" + tests
+					+ "\" failures=\"" + failures + "\" errors=\"0\" ignored=\"0\">\n");
+			for (int c= 0; c < CLASSES; c++) {
+				String className= "p.Test" + c;
+				writer.write("<testsuite name=\"" + className + "\" time=\"1.0\">\n");
+				for (int m= 0; m < METHODS; m++) {
+					writer.write("<testcase name=\"test" + m + "\" classname=\"" + className + "\" time=\"0.01\"");
+					if (m % 2 == 0) {
+						writer.write("/>\n");
+						continue;
+					}
+					writer.write(">\n<failure>org.junit.ComparisonFailure: expected:&lt;" + m + "&gt; but was:&lt;" + (m + 1) + "&gt;\n");
+					for (int l= 0; l < TRACE_LINES; l++) {
+						writer.write("\tat " + className + ".helper" + l + "(Test" + c + ".java:" + (l + 10) + ")\n");
+					}
+					writer.write("<expected>" + m + "</expected>\n<actual>" + (m + 1) + "</actual>\n</failure>\n</testcase>\n");
+				}
+				writer.write("</testsuite>\n");
+			}
+			writer.write("</testrun>\n");
+		}
+	}
+
+	@Rule
+	public MyTestSetup stup= new MyTestSetup();
+
+	@Test
+	public void testImportWithDetailsInMemory() throws Exception {
+		measureImport(false);
+	}
+
+	@Test
+	public void testImportWithDeferredDetails() throws Exception {
+		tagAsSummary("Import large JUnit result file", Dimension.ELAPSED_PROCESS);
+		measureImport(true);
+	}
+
+	private void measureImport(boolean deferFailureDetails) throws Exception {
+		for (int i= 0; i < WARM_UP_RUNS + MEASURED_RUNS; i++) {
+			boolean measure= i >= WARM_UP_RUNS;
+			System.gc();
+			if (measure)
+				startMeasuring();
+			TestRunSession session= JUnitModel.importTestRunSession(MyTestSetup.fResultFile, deferFailureDetails);
+			if (measure)
+				stopMeasuring(); // the session is still referenced, so the used heap includes its model
+			assertEquals(CLASSES * METHODS, session.getTotalCount());
+			JUnitCorePlugin.getModel().removeTestRunSession(session);
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+		assertPerformanceInRelativeBand(Dimension.USED_JAVA_HEAP, -100, +10);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.performance.views;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import org.junit.FixMethodOrder;
@@ -29,6 +30,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Shell;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.ui.dialogs.ISelectionStatusValidator;
@@ -36,6 +38,8 @@ import org.eclipse.ui.dialogs.SelectionDialog;
 
 import org.eclipse.jdt.core.search.SearchEngine;
 
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
+
 import org.eclipse.jdt.ui.IJavaElementSearchConstants;
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.dialogs.TypeSelectionExtension;
@@ -166,6 +170,36 @@ public class OpenTypePerfTest extends JdtPerformanceTestCaseCommon {
 		}
 	}
 
+	@Test
+	public void testGColdIndexCamelCase() throws Exception {
+		//cold, type name index is built by the first query
+		joinBackgroudActivities();
+		TypeNameIndex.getDefault().reset();
+		try {
+			measureOpenType("NPE");
+		} finally {
+			commitMeasurements();
+			assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+		}
+	}
+
+	@Test
+	public void testHWarmIndexCamelCase10() throws Exception {
+		//warm, repeated, type name index answers every query
+		joinBackgroudActivities();
+		TypeNameIndex.getDefault().update(new NullProgressMonitor());
+		long builds= TypeNameIndex.getDefault().getBuildCount();
+		try {
+			for (int i= 0; i < 10; i++) {
+				measureOpenType("NPE");
+			}
+		} finally {
+			commitMeasurements();
+			assertEquals("index rebuilt", builds, TypeNameIndex.getDefault().getBuildCount());
+			assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+		}
+	}
+
 	//---
 
 	private void measureOpenType(String pattern) throws Exception {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,7 +58,9 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.ModelMessages;
 import org.eclipse.jdt.internal.junit.model.TestRunSession;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
@@ -110,6 +112,7 @@ public class AbstractTestRunSessionSerializationTests {
 		assertEqualXML(expectedXML, serializationResult.fSerialized);
 
 		IFile resultFile= JUnitWorkspaceTestSetup.getJavaProject().getProject().getFile("testresult.xml");
+		TestRunSession importedDeferred= null;
 		try {
 			resultFile.create(new ByteArrayInputStream(serializationResult.fSerialized.getBytes()), true, null);
 			TestRunSession imported= JUnitModel.importTestRunSession(resultFile.getLocation().toFile());
@@ -117,7 +120,18 @@ public class AbstractTestRunSessionSerializationTests {
 			// due to lingering TestRunnerViewPart$TestSessionListeners
 			serializationResult.fTestRunSession.swapOut();
 			assertEqualSessions(serializationResult.fTestRunSession, imported);
+
+			importedDeferred= JUnitModel.importTestRunSession(resultFile.getLocation().toFile(), true);
+			assertEqualSessions(serializationResult.fTestRunSession, importedDeferred);
+
+			// elements that outlive the session report their spilled failure details as unavailable
+			ITestSuiteElement deferredRoot= importedDeferred.getTestRoot();
+			JUnitCorePlugin.getModel().removeTestRunSession(importedDeferred);
+			importedDeferred= null;
+			assertDetailsUnavailable(deferredRoot);
 		} finally {
+			if (importedDeferred != null)
+				JUnitCorePlugin.getModel().removeTestRunSession(importedDeferred);
 			if (resultFile.exists())
 				try {
 					resultFile.delete(true, null);
@@ -231,6 +245,20 @@ public class AbstractTestRunSessionSerializationTests {
 		}
 	}
 
+	private void assertDetailsUnavailable(ITestElement element) {
+		FailureTrace failure= element.getFailureTrace();
+		if (failure != null && failure.getTrace() != null) { // suites only inherit the result of failed children
+			assertEquals(ModelMessages.TestElement_details_unavailable, failure.getTrace());
+			assertNull(failure.getExpected());
+			assertNull(failure.getActual());
+		}
+		if (element instanceof ITestSuiteElement) {
+			for (ITestElement child : ((ITestSuiteElement) element).getChildren()) {
+				assertDetailsUnavailable(child);
+			}
+		}
+	}
+
 	public static String getContents(InputStream in) throws IOException {
 		InputStreamReader reader= new InputStreamReader(in);
 		StringBuilder sb= new StringBuilder(8192);
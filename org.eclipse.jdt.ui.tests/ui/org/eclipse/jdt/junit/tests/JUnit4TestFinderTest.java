@@ -41,6 +41,7 @@ import org.eclipse.jdt.core.JavaCore;
 
 import org.eclipse.jdt.internal.junit.launcher.ITestFinder;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
+import org.eclipse.jdt.internal.junit.launcher.TestDiscoveryCache;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
 
 
@@ -447,6 +448,39 @@ public class JUnit4TestFinderTest {
 		assertTestFound(validTest1.getCompilationUnit(), new String[] { "p.Test1" });
 	}
 
+	@Test
+	public void testCachedDiscovery() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class Test1 {\n");
+		buf.append("        @Test public void testFoo() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test1.java", buf.toString(), false, null);
+
+		TestDiscoveryCache cache= TestDiscoveryCache.getDefault();
+		assertTestFound(fRoot, new String[] { "p.Test1" });
+		long hits= cache.getHitCount();
+		assertTestFound(fRoot, new String[] { "p.Test1" });
+		assertEquals(hits + 1, cache.getHitCount());
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.Test;\n");
+		buf.append("\n");
+		buf.append("public class Test2 {\n");
+		buf.append("        @Test public void testFoo() {\n");
+		buf.append("        }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test2.java", buf.toString(), false, null);
+
+		// the delta must have invalidated the cached result
+		assertTestFound(fRoot, new String[] { "p.Test1", "p.Test2" });
+		assertTestFound(fProject, new String[] { "p.Test1", "p.Test2" });
+	}
 
 	private void assertTestFound(IJavaElement container, String[] expectedTypes) throws CoreException {
 		ITestKind testKind= TestKindRegistry.getContainerTestKind(container);
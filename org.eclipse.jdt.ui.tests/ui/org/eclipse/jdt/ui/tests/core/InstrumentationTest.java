@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
+
+public class InstrumentationTest {
+
+	private static final String TIMER= "test.timer";
+	private static final String COUNTER= "test.counter";
+
+	@After
+	public void tearDown() {
+		Instrumentation.setEnabled(false, false);
+		Instrumentation.reset();
+	}
+
+	@Test
+	public void disabled() {
+		Instrumentation.setEnabled(false, false);
+		Instrumentation.Timer timer= Instrumentation.getTimer(TIMER);
+		try (Instrumentation.Scope scope= timer.start()) {
+			// measured nothing
+		}
+		timer.record(1000);
+		Instrumentation.getCounter(COUNTER).increment();
+
+		assertEquals(0, timer.getCount());
+		assertEquals(0, Instrumentation.getCounter(COUNTER).get());
+		assertEquals("", Instrumentation.dump());
+	}
+
+	@Test
+	public void enabled() {
+		Instrumentation.setEnabled(true, false);
+		Instrumentation.Timer timer= Instrumentation.getTimer(TIMER);
+		assertSame(timer, Instrumentation.getTimer(TIMER));
+		for (int i= 1; i <= 2000; i++) {
+			timer.record(i * 1000000L);
+		}
+		try (Instrumentation.Scope scope= timer.start()) {
+			// measured once more
+		}
+		Instrumentation.getCounter(COUNTER).add(3);
+
+		assertEquals(2001, timer.getCount());
+		assertEquals(3, Instrumentation.getCounter(COUNTER).get());
+		String dump= Instrumentation.dump();
+		assertTrue(dump, dump.contains(COUNTER + ": 3"));
+		assertTrue(dump, dump.contains(TIMER + ": count=2001"));
+		assertTrue(dump, dump.contains("max=2000.000ms"));
+
+		Instrumentation.reset();
+		assertEquals(0, timer.getCount());
+		assertEquals("", Instrumentation.dump());
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemSeverityTree;
+
+public class ProblemSeverityTreeTest {
+
+	private final IProblemChangedListener fListener= (changedResources, isMarkerChange) -> {
+		// keeps the severity tree of the manager up to date
+	};
+
+	private ProblemMarkerManager fManager;
+	private ProblemSeverityTree fTree;
+	private IWorkspaceRoot fRoot;
+	private IProject fProject;
+	private IFile fFile;
+	private int fRootSeverity;
+
+	@Before
+	public void setUp() throws Exception {
+		fManager= JavaPlugin.getDefault().getProblemMarkerManager();
+		fManager.addListener(fListener);
+		fTree= fManager.getSeverityTree();
+		assertNotNull(fTree);
+		fRoot= ResourcesPlugin.getWorkspace().getRoot();
+		fRootSeverity= fTree.getMaxSeverity(fRoot, IResource.DEPTH_INFINITE);
+
+		fProject= fRoot.getProject("SeverityTree");
+		fProject.create(null);
+		fProject.open(null);
+		fFile= fProject.getFile("a.txt");
+		fFile.create(new ByteArrayInputStream(new byte[0]), true, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fManager.removeListener(fListener);
+		for (IProject project : fRoot.getProjects()) {
+			if (project.getName().startsWith("SeverityTree"))
+				project.delete(true, true, null);
+		}
+	}
+
+	private static IMarker createProblem(IResource resource, int severity) throws CoreException {
+		IMarker marker= resource.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		return marker;
+	}
+
+	private int getRootSeverity() throws CoreException {
+		return fTree.getMaxSeverity(fRoot, IResource.DEPTH_INFINITE);
+	}
+
+	@Test
+	public void testLoadedMarkers() throws Exception {
+		createProblem(fFile, IMarker.SEVERITY_WARNING);
+		createProblem(fProject, IMarker.SEVERITY_INFO);
+
+		assertEquals(IMarker.SEVERITY_WARNING, fTree.getMaxSeverity(fFile, IResource.DEPTH_ZERO));
+		assertEquals(IMarker.SEVERITY_INFO, fTree.getMaxSeverity(fProject, IResource.DEPTH_ZERO));
+		assertEquals(IMarker.SEVERITY_WARNING, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+		assertEquals(-1, fTree.getMaxSeverity(fProject.getFile("b.txt"), IResource.DEPTH_INFINITE));
+	}
+
+	@Test
+	public void testMarkerDeltas() throws Exception {
+		assertEquals(-1, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+
+		IMarker marker= createProblem(fFile, IMarker.SEVERITY_WARNING);
+		assertEquals(IMarker.SEVERITY_WARNING, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+
+		marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		assertEquals(IMarker.SEVERITY_ERROR, fTree.getMaxSeverity(fFile, IResource.DEPTH_ZERO));
+		assertEquals(IMarker.SEVERITY_ERROR, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+		assertEquals(IMarker.SEVERITY_ERROR, getRootSeverity());
+
+		marker.delete();
+		assertEquals(-1, fTree.getMaxSeverity(fFile, IResource.DEPTH_ZERO));
+		assertEquals(-1, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+		assertEquals(fRootSeverity, getRootSeverity());
+	}
+
+	@Test
+	public void testClosedProject() throws Exception {
+		createProblem(fFile, IMarker.SEVERITY_ERROR);
+		assertEquals(IMarker.SEVERITY_ERROR, getRootSeverity());
+
+		fProject.close(null);
+		assertEquals(fRootSeverity, getRootSeverity());
+
+		fProject.open(null);
+		assertEquals(IMarker.SEVERITY_ERROR, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+	}
+
+	@Test
+	public void testRenamedProject() throws Exception {
+		createProblem(fFile, IMarker.SEVERITY_ERROR);
+		assertEquals(IMarker.SEVERITY_ERROR, getRootSeverity());
+
+		IPath newPath= new Path("SeverityTreeRenamed");
+		fProject.move(newPath, true, null);
+		IProject renamed= fRoot.getProject(newPath.lastSegment());
+		IFile file= renamed.getFile(fFile.getName());
+		assertEquals(-1, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+		assertEquals(IMarker.SEVERITY_ERROR, fTree.getMaxSeverity(file, IResource.DEPTH_ZERO));
+		assertEquals(IMarker.SEVERITY_ERROR, getRootSeverity());
+
+		// the error is not counted again for the old name
+		file.deleteMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		assertEquals(-1, fTree.getMaxSeverity(renamed, IResource.DEPTH_INFINITE));
+		assertEquals(fRootSeverity, getRootSeverity());
+	}
+}
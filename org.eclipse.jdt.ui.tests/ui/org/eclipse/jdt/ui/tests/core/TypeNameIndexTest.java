@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
+
+public class TypeNameIndexTest {
+
+	private IJavaProject fProject;
+	private IPackageFragmentRoot fSourceFolder;
+	private IPackageFragment fPack;
+	private ICompilationUnit fUnit;
+	private TypeNameIndex fIndex;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		assertNotNull("jre is null", JavaProjectHelper.addRTJar(fProject));
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fProject, "src");
+		fPack= fSourceFolder.createPackageFragment("p", false, null);
+		String contents= "package p;\n" +
+				"public class Alpha {\n" +
+				"	static class AlphaInner {\n" +
+				"	}\n" +
+				"}\n" +
+				"class AlphaSecondary {\n" +
+				"}\n";
+		fUnit= fPack.createCompilationUnit("Alpha.java", contents, true, null);
+
+		fIndex= TypeNameIndex.getDefault();
+		fIndex.reset();
+		fIndex.update(new NullProgressMonitor());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fIndex.reset();
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private static TypeInfoFilter createFilter(String text) {
+		return new TypeInfoFilter(text, SearchEngine.createWorkspaceScope(), IJavaSearchConstants.TYPE, null);
+	}
+
+	private List<TypeNameMatch> search(String text) throws Exception {
+		List<TypeNameMatch> matches= new ArrayList<>();
+		fIndex.search(createFilter(text), new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				matches.add(match);
+			}
+		}, new NullProgressMonitor());
+		return matches;
+	}
+
+	private List<String> searchNames(String text) throws Exception {
+		List<String> names= new ArrayList<>();
+		for (TypeNameMatch match : search(text)) {
+			names.add(match.getFullyQualifiedName());
+		}
+		return names;
+	}
+
+	private TypeNameMatch searchOne(String text) throws Exception {
+		List<TypeNameMatch> matches= search(text);
+		assertEquals(matches.toString(), 1, matches.size());
+		return matches.get(0);
+	}
+
+	@Test
+	public void testNamePrefix() throws Exception {
+		assertEquals("", createFilter("").getNamePrefix());
+		// prefix match
+		assertEquals("hashm", createFilter("hashm").getNamePrefix());
+		// camel case match, only the first character is fixed
+		assertEquals("h", createFilter("HMap").getNamePrefix());
+		assertEquals("h", createFilter("HashMap<").getNamePrefix());
+		// exact match
+		assertEquals("hashmap", createFilter("hashmap<").getNamePrefix());
+		// pattern match, the part in front of the first wildcard
+		assertEquals("has", createFilter("Has*Map").getNamePrefix());
+		assertEquals("h", createFilter("H?sh").getNamePrefix());
+		assertEquals("", createFilter("*Map").getNamePrefix());
+		// qualified names only take the simple name
+		assertEquals("ma", createFilter("java.util.ma").getNamePrefix());
+		assertEquals("", createFilter("java.util.").getNamePrefix());
+	}
+
+	@Test
+	public void testSourceTypes() throws Exception {
+		IType alpha= fUnit.getType("Alpha");
+		TypeNameMatch match= searchOne("Alpha<");
+		assertEquals(alpha, match.getType());
+		assertEquals(Flags.AccPublic, match.getModifiers());
+
+		IType inner= alpha.getType("AlphaInner");
+		match= searchOne("AlphaInner");
+		assertEquals(inner, match.getType());
+		assertTrue(match.getType().exists());
+		assertEquals("p.Alpha.AlphaInner", match.getFullyQualifiedName());
+		assertEquals(inner.getFlags(), fIndex.getModifiers(inner));
+
+		IType secondary= fUnit.getType("AlphaSecondary");
+		match= searchOne("AlphaSec");
+		assertEquals(secondary, match.getType());
+		assertTrue(match.getType().exists());
+		assertEquals(secondary.getFlags(), fIndex.getModifiers(secondary));
+
+		assertEquals(TypeNameIndex.NOT_FOUND, fIndex.getModifiers(fUnit.getType("Missing")));
+	}
+
+	@Test
+	public void testBinaryTypes() throws Exception {
+		TypeNameMatch match= searchOne("java.util.ArrayList<");
+		assertTrue(match.getType().exists());
+		assertTrue(match.getType().isBinary());
+
+		List<TypeNameMatch> matches= search("java.util.Entry<");
+		assertFalse(matches.isEmpty());
+		for (TypeNameMatch entry : matches) {
+			assertTrue(entry.getFullyQualifiedName(), entry.getType().exists());
+			assertTrue(entry.getFullyQualifiedName(), entry.getType().isMember());
+		}
+		assertTrue(searchNames("java.util.Entry<").contains("java.util.Map.Entry"));
+	}
+
+	@Test
+	public void testChangedUnits() throws Exception {
+		long builds= fIndex.getBuildCount();
+
+		fPack.createCompilationUnit("Beta.java", "package p;\npublic class Beta {\n}\n", true, null);
+		assertEquals(List.of("p.Beta"), searchNames("Beta<"));
+
+		IFile file= (IFile) fUnit.getResource();
+		String contents= "package p;\npublic class Alpha {\n}\nclass Gamma {\n}\n";
+		file.setContents(new ByteArrayInputStream(contents.getBytes()), true, false, null);
+		assertEquals(List.of("p.Alpha"), searchNames("Alpha<"));
+		assertEquals(List.of(), searchNames("AlphaInner<"));
+		assertEquals(List.of("p.Gamma"), searchNames("Gamma<"));
+		assertEquals(TypeNameIndex.NOT_FOUND, fIndex.getModifiers(fUnit.getType("AlphaSecondary")));
+
+		fUnit.delete(true, null);
+		assertEquals(List.of(), searchNames("Alpha<"));
+		assertEquals(List.of(), searchNames("Gamma<"));
+
+		assertEquals(builds, fIndex.getBuildCount());
+	}
+
+	@Test
+	public void testAddedAndRemovedPackage() throws Exception {
+		long builds= fIndex.getBuildCount();
+
+		IPackageFragment pack= fSourceFolder.createPackageFragment("q", false, null);
+		pack.createCompilationUnit("Delta.java", "package q;\npublic class Delta {\n}\n", true, null);
+		pack.createCompilationUnit("Epsilon.java", "package q;\npublic class Epsilon {\n}\n", true, null);
+		assertEquals(List.of("q.Delta"), searchNames("Delta<"));
+		assertEquals(List.of("q.Epsilon"), searchNames("Epsilon<"));
+
+		pack.getCompilationUnit("Delta.java").delete(true, null);
+		assertEquals(List.of(), searchNames("Delta<"));
+		assertEquals(List.of("q.Epsilon"), searchNames("Epsilon<"));
+
+		pack.delete(true, null);
+		assertEquals(List.of(), searchNames("Epsilon<"));
+		assertEquals(List.of("p.Alpha"), searchNames("Alpha<"));
+
+		// the index was kept across the package changes
+		assertEquals(builds, fIndex.getBuildCount());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2020 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,8 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IWorkspaceDescription;
 import org.eclipse.core.resources.ResourcesPlugin;
 
+import org.eclipse.swt.widgets.Display;
+
 import org.eclipse.jface.viewers.ITreeContentProvider;
 
 import org.eclipse.ui.IViewPart;
@@ -179,6 +181,41 @@ public class ContentProviderTests6 {
 		assertFalse("Project not refreshed", fMyPart.wasObjectRefreshed(fJProject)); //$NON-NLS-1$
 	}
 
+	@Test
+	public void testProjectRefreshSubsumesPendingChildRefresh() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("pack1", false, null);
+		ICompilationUnit cu= pack1.createCompilationUnit("A.java", "hello", false, null);
+
+		JavaElementDelta cuDelta= new JavaElementDelta(sourceFolder.getJavaModel());
+		cuDelta.changed(cu, IJavaElementDelta.F_CHILDREN);
+		JavaElementDelta projectDelta= new JavaElementDelta(sourceFolder.getJavaModel());
+		projectDelta.changed(fJProject, IJavaElementDelta.F_CLASSPATH_CHANGED);
+
+		PackageExplorerContentProvider provider= (PackageExplorerContentProvider)fProvider;
+		long collapsedBefore= provider.getCollapsedUpdateCount();
+
+		// post both deltas from outside the UI thread, so that the updates are queued together
+		IElementChangedListener listener= (IElementChangedListener)fProvider;
+		Thread thread= new Thread(() -> {
+			listener.elementChanged(new ElementChangedEvent(cuDelta, ElementChangedEvent.POST_CHANGE));
+			listener.elementChanged(new ElementChangedEvent(projectDelta, ElementChangedEvent.POST_CHANGE));
+		});
+		thread.start();
+		thread.join();
+
+		Display display= fMyPart.getTreeViewer().getControl().getDisplay();
+		long end= System.currentTimeMillis() + 10000;
+		while (!fMyPart.hasRefreshHappened() && System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch())
+				Thread.sleep(10);
+		}
+
+		assertTrue("Project refreshed", fMyPart.wasObjectRefreshed(fJProject)); //$NON-NLS-1$
+		assertFalse("CU not refreshed", fMyPart.wasObjectRefreshed(cu)); //$NON-NLS-1$
+		assertEquals("Collapsed updates", 1, provider.getCollapsedUpdateCount() - collapsedBefore); //$NON-NLS-1$
+	}
+
 	private void assertions() {
 		assertTrue("Refresh happened", fMyPart.hasRefreshHappened()); //$NON-NLS-1$
 		assertTrue("LibraryContainer Refreshed", fMyPart.wasObjectRefreshed(new LibraryContainer(fJProject))); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,13 +14,20 @@
 package org.eclipse.jdt.ui.tests.quickfix;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Hashtable;
 
 import org.junit.Rule;
 import org.junit.Test;
 
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.widgets.Display;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
@@ -42,8 +49,11 @@ import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.BackgroundSaveActions;
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.AbstractSaveParticipantPreferenceConfiguration;
 
 public class SaveParticipantTest extends CleanUpTestCase {
 	@Rule
@@ -75,6 +85,17 @@ public class SaveParticipantTest extends CleanUpTestCase {
 		editor.doSave(null);
 	}
 
+	private static void waitForSaveActions() {
+		// the save actions apply their changes in the UI thread, so it must not be blocked
+		boolean done= new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return Job.getJobManager().find(BackgroundSaveActions.FAMILY).length == 0;
+			}
+		}.waitForCondition(Display.getDefault(), 10000);
+		assertTrue("Save actions did not finish", done);
+	}
+
 	@Test
 	public void testFormatAll01() throws Exception {
 		// Given
@@ -152,6 +173,282 @@ public class SaveParticipantTest extends CleanUpTestCase {
 		assertEquals(expected1, cu1.getBuffer().getContents());
 	}
 
+	@Test
+	public void testFormatChangesInBackground01() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s= (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s    = (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		String expected1= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s = (String) o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE);
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY);
+
+		IEclipsePreferences node= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+		node.putBoolean(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND, true);
+		try {
+			// When
+			editCUInEditor(cu1, fileOnEditor);
+			waitForSaveActions();
+
+			// Then
+			assertEquals(expected1, cu1.getBuffer().getContents());
+			assertFalse(cu1.hasUnsavedChanges());
+		} finally {
+			node.remove(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND);
+		}
+	}
+
+	@Test
+	public void testFormatChangesInBackgroundRebase() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s= (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s    = (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		String expected1= "" //
+				+ "// edited\n" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s = (String) o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE);
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY);
+
+		IEclipsePreferences node= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+		node.putBoolean(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND, true);
+		try {
+			// When
+			Job.getJobManager().suspend();
+			try {
+				editCUInEditor(cu1, fileOnEditor);
+				// an edit in front of the changes of the save actions
+				cu1.getBuffer().replace(0, 0, "// edited\n");
+			} finally {
+				Job.getJobManager().resume();
+			}
+			waitForSaveActions();
+
+			// Then
+			assertEquals(expected1, cu1.getBuffer().getContents());
+			// the changes are applied to the dirty editor without writing them
+			assertTrue(cu1.hasUnsavedChanges());
+		} finally {
+			// discard the dirty editor
+			JavaPlugin.getActivePage().closeAllEditors(false);
+			node.remove(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND);
+		}
+	}
+
+	@Test
+	public void testFormatChangesInBackgroundRecompute() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s= (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s    = (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		String expected1= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String t = (String) o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE);
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY);
+
+		IEclipsePreferences node= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+		node.putBoolean(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND, true);
+		try {
+			// When
+			Job.getJobManager().suspend();
+			try {
+				editCUInEditor(cu1, fileOnEditor);
+				// an edit in the line that the save actions change
+				String contents= cu1.getBuffer().getContents();
+				cu1.getBuffer().replace(contents.indexOf("String s") + 7, 1, "t");
+			} finally {
+				Job.getJobManager().resume();
+			}
+			waitForSaveActions();
+
+			// Then
+			assertEquals(expected1, cu1.getBuffer().getContents());
+			assertTrue(cu1.hasUnsavedChanges());
+		} finally {
+			// discard the dirty editor
+			JavaPlugin.getActivePage().closeAllEditors(false);
+			node.remove(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND);
+		}
+	}
+
+	@Test
+	public void testFormatChangesInBackgroundCanceledOnSave() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s= (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s    = (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		String expected1= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo(Object o) {\n" //
+				+ "        String s = (String) o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE);
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY);
+
+		IEclipsePreferences node= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+		node.putBoolean(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND, true);
+		try {
+			// When
+			Job.getJobManager().suspend();
+			try {
+				editCUInEditor(cu1, fileOnEditor);
+				// save another change before the save actions ran
+				String contents= cu1.getBuffer().getContents();
+				cu1.getBuffer().replace(contents.indexOf("Object o") + 6, 0, " ");
+				JavaEditor editor= (JavaEditor) EditorUtility.openInEditor(cu1);
+				editor.doSave(null);
+				// the second save canceled the save actions of the first one
+				assertEquals(1, Job.getJobManager().find(BackgroundSaveActions.FAMILY).length);
+			} finally {
+				Job.getJobManager().resume();
+			}
+			waitForSaveActions();
+
+			// Then
+			// the changes of both saves are computed
+			assertEquals(expected1, cu1.getBuffer().getContents());
+			assertFalse(cu1.hasUnsavedChanges());
+		} finally {
+			node.remove(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND);
+		}
+	}
+
+	@Test
+	public void testFormatChangesInBackgroundEditorClosed() throws Exception {
+		// Given
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s= (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s    = (String)o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		String expected1= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    public void foo( Object o ) {\n" //
+				+ "        String s = (String) o;\n" //
+				+ "    }\n" //
+				+ "}";
+
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE);
+		enable(CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY);
+
+		IEclipsePreferences node= InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN);
+		node.putBoolean(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND, true);
+		try {
+			// When
+			Job.getJobManager().suspend();
+			try {
+				editCUInEditor(cu1, fileOnEditor);
+				JavaPlugin.getActivePage().closeAllEditors(false);
+			} finally {
+				Job.getJobManager().resume();
+			}
+			waitForSaveActions();
+
+			// Then
+			// the save actions wrote their changes after the editor was closed
+			assertFalse(cu1.isWorkingCopy());
+			assertEquals(expected1, cu1.getBuffer().getContents());
+		} finally {
+			node.remove(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND);
+		}
+	}
+
 	@Test
 	public void testFormatChanges02() throws Exception {
 		// Given
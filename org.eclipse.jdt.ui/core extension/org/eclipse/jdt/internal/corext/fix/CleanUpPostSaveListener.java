@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -66,6 +66,7 @@ import org.eclipse.jface.window.Window;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
@@ -92,6 +93,7 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring.CleanUpChange;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.util.Messages;
@@ -107,11 +109,11 @@ import org.eclipse.jdt.internal.ui.actions.ActionUtil;
 import org.eclipse.jdt.internal.ui.dialogs.OptionalMessageDialog;
 import org.eclipse.jdt.internal.ui.fix.IMultiLineCleanUp.MultiLineCleanUpContext;
 import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
-import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.IPostSaveListener;
+import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.IBackgroundPostSaveListener;
 import org.eclipse.jdt.internal.ui.preferences.BulletListBlock;
 import org.eclipse.jdt.internal.ui.preferences.SaveParticipantPreferencePage;
 
-public class CleanUpPostSaveListener implements IPostSaveListener {
+public class CleanUpPostSaveListener implements IBackgroundPostSaveListener {
 
 	private static class CleanUpSaveUndo extends TextFileChange {
 
@@ -301,7 +303,39 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		}
 	}
 
+	/**
+	 * Checks the conditions of the clean ups and applies their changes to the compilation unit,
+	 * for {@link CleanUpPostSaveListener#saved(ICompilationUnit, IRegion[], IProgressMonitor)} and
+	 * {@link CleanUpPostSaveListener#computeChanges(ICompilationUnit, IRegion[], IProgressMonitor)}.
+	 */
+	private interface ICleanUpChangeHandler {
+
+		/**
+		 * Handles the result of checking the conditions of the clean ups.
+		 *
+		 * @param status the status of the checked conditions
+		 * @return <code>true</code> to continue, <code>false</code> to stop without applying
+		 *         further changes
+		 * @throws CoreException if the clean ups must fail
+		 */
+		boolean checkStatus(RefactoringStatus status) throws CoreException;
+
+		/**
+		 * Applies the change of the clean ups to the compilation unit.
+		 *
+		 * @param change the change to apply
+		 * @param changedRegions the changed regions to move over the change, or <code>null</code>
+		 *            if they are not needed anymore
+		 * @param monitor the progress monitor
+		 * @return the moved changed regions, or <code>null</code> if none were given
+		 * @throws CoreException if the change could not be applied
+		 */
+		IRegion[] apply(CleanUpChange change, IRegion[] changedRegions, IProgressMonitor monitor) throws CoreException;
+	}
+
 	public static final String POSTSAVELISTENER_ID= "org.eclipse.jdt.ui.postsavelistener.cleanup"; //$NON-NLS-1$
+
+	private static final Instrumentation.Timer CLEAN_UP_ON_SAVE= Instrumentation.getTimer(Instrumentation.CLEAN_UP_ON_SAVE);
 	private static final String WARNING_VALUE= "warning"; //$NON-NLS-1$
 	private static final String ERROR_VALUE= "error"; //$NON-NLS-1$
 	private static final String CHANGED_REGION_POSITION_CATEGORY= "changed_region_position_category"; //$NON-NLS-1$
@@ -315,12 +349,13 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 	}
 
 	@Override
-	public void saved(ICompilationUnit unit, IRegion[] changedRegions, IProgressMonitor monitor) throws CoreException {
+	public void saved(final ICompilationUnit unit, IRegion[] changedRegions, IProgressMonitor monitor) throws CoreException {
 		if (monitor == null)
 			monitor= new NullProgressMonitor();
 
 		monitor.beginTask(getName(), IProgressMonitor.UNKNOWN);
 
+		Instrumentation.Scope scope= CLEAN_UP_ON_SAVE.start();
 		try {
 			if (!ActionUtil.isOnBuildPath(unit))
 				return;
@@ -330,8 +365,8 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 			long oldFileValue= unit.getResource().getModificationStamp();
 			long oldDocValue= getDocumentStamp((IFile)unit.getResource(), new SubProgressMonitor(monitor, 2));
 
-			CompositeChange result= new CompositeChange(FixMessages.CleanUpPostSaveListener_SaveAction_ChangeName);
-			LinkedList<UndoEdit> undoEdits= new LinkedList<>();
+			final CompositeChange result= new CompositeChange(FixMessages.CleanUpPostSaveListener_SaveAction_ChangeName);
+			final LinkedList<UndoEdit> undoEdits= new LinkedList<>();
 
 			if (FIRST_CALL && !FIRST_CALL_DONE) {
 				FIRST_CALL= false;
@@ -349,87 +384,177 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 
 			boolean success= false;
 			try {
-    			manager.aboutToPerformChange(result);
-
-    			do {
-    				RefactoringStatus preCondition= new RefactoringStatus();
-					for (ICleanUp cleanUp : cleanUps) {
-						RefactoringStatus conditions= cleanUp.checkPreConditions(unit.getJavaProject(), new ICompilationUnit[] {unit}, new SubProgressMonitor(monitor, 5));
-						preCondition.merge(conditions);
-					}
-    				if (showStatus(preCondition) != Window.OK)
-    					return;
-
-    				Map<String, String> options= new HashMap<>();
-					for (ICleanUp cleanUp : cleanUps) {
-						Map<String, String> map= cleanUp.getRequirements().getCompilerOptions();
-						if (map != null) {
-							options.putAll(map);
-						}
-					}
+				manager.aboutToPerformChange(result);
 
-    				CompilationUnit ast= null;
-    				if (requiresAST(cleanUps)) {
-    					ast= createAst(unit, options, new SubProgressMonitor(monitor, 10));
-    				}
-
-    				CleanUpContext context;
-    				if (changedRegions == null) {
-    					context= new CleanUpContext(unit, ast);
-    				} else {
-    					context= new MultiLineCleanUpContext(unit, ast, changedRegions);
-    				}
-
-    				ArrayList<ICleanUp> undoneCleanUps= new ArrayList<>();
-					CleanUpChange change= CleanUpRefactoring.calculateChange(context, cleanUps, undoneCleanUps, slowCleanUps);
-
-    				RefactoringStatus postCondition= new RefactoringStatus();
-					for (ICleanUp cleanUp : cleanUps) {
-						RefactoringStatus conditions= cleanUp.checkPostConditions(new SubProgressMonitor(monitor, 1));
-						postCondition.merge(conditions);
+				boolean performed= performCleanUps(unit, cleanUps, changedRegions, slowCleanUps, new ICleanUpChangeHandler() {
+					@Override
+					public boolean checkStatus(RefactoringStatus status) {
+						return showStatus(status) == Window.OK;
 					}
-    				if (showStatus(postCondition) != Window.OK)
-    					return;
 
-    				cleanUps= undoneCleanUps.toArray(new ICleanUp[undoneCleanUps.size()]);
-    				if (change != null) {
-    					result.add(change);
+					@Override
+					public IRegion[] apply(CleanUpChange change, IRegion[] regions, IProgressMonitor pm) throws CoreException {
+						result.add(change);
 
-    					change.setSaveMode(TextFileChange.LEAVE_DIRTY);
-    					change.initializeValidationData(new NullProgressMonitor());
+						change.setSaveMode(TextFileChange.LEAVE_DIRTY);
+						change.initializeValidationData(new NullProgressMonitor());
 
-    					PerformChangeOperation performChangeOperation= new PerformChangeOperation(change);
-    					performChangeOperation.setSchedulingRule(unit.getSchedulingRule());
+						PerformChangeOperation performChangeOperation= new PerformChangeOperation(change);
+						performChangeOperation.setSchedulingRule(unit.getSchedulingRule());
 
-    					if (changedRegions != null && changedRegions.length > 0 && requiresChangedRegions(cleanUps)) {
-							changedRegions= performWithChangedRegionUpdate(performChangeOperation, changedRegions, unit, new SubProgressMonitor(monitor, 5));
+						IRegion[] updatedRegions= null;
+						if (regions != null) {
+							updatedRegions= performWithChangedRegionUpdate(performChangeOperation, regions, unit, new SubProgressMonitor(pm, 5));
 						} else {
-							performChangeOperation.run(new SubProgressMonitor(monitor, 5));
+							performChangeOperation.run(new SubProgressMonitor(pm, 5));
 						}
 
-    					performChangeOperation.getUndoChange();
-    					undoEdits.addFirst(change.getUndoEdit());
-    				}
-    			} while (cleanUps.length > 0);
-    			success= true;
+						performChangeOperation.getUndoChange();
+						undoEdits.addFirst(change.getUndoEdit());
+						return updatedRegions;
+					}
+				}, monitor);
+				if (!performed)
+					return;
+				success= true;
 			} finally {
 				manager.changePerformed(result, success);
 			}
 
 			if (undoEdits.size() > 0) {
-    			UndoEdit[] undoEditArray= undoEdits.toArray(new UndoEdit[undoEdits.size()]);
-    			CleanUpSaveUndo undo= new CleanUpSaveUndo(result.getName(), (IFile)unit.getResource(), undoEditArray, oldDocValue, oldFileValue);
-    			undo.initializeValidationData(new NullProgressMonitor());
-    			manager.addUndo(result.getName(), undo);
+				UndoEdit[] undoEditArray= undoEdits.toArray(new UndoEdit[undoEdits.size()]);
+				CleanUpSaveUndo undo= new CleanUpSaveUndo(result.getName(), (IFile)unit.getResource(), undoEditArray, oldDocValue, oldFileValue);
+				undo.initializeValidationData(new NullProgressMonitor());
+				manager.addUndo(result.getName(), undo);
 			}
 
 			if (slowCleanUps != null && slowCleanUps.size() > 0)
 				showSlowCleanUpsWarning(slowCleanUps);
 		} finally {
+			scope.close();
+			monitor.done();
+		}
+	}
+
+	@Override
+	public void computeChanges(final ICompilationUnit workingCopy, IRegion[] changedRegions, IProgressMonitor monitor) throws CoreException {
+		if (monitor == null)
+			monitor= new NullProgressMonitor();
+
+		monitor.beginTask(getName(), IProgressMonitor.UNKNOWN);
+
+		Instrumentation.Scope scope= CLEAN_UP_ON_SAVE.start();
+		try {
+			if (!ActionUtil.isOnBuildPath(workingCopy))
+				return;
+
+			ICleanUp[] cleanUps= getCleanUps(workingCopy.getJavaProject().getProject());
+			performCleanUps(workingCopy, cleanUps, changedRegions, null, new ICleanUpChangeHandler() {
+				@Override
+				public boolean checkStatus(RefactoringStatus status) throws CoreException {
+					// no dialog can be shown in the background
+					if (status.hasError())
+						throw new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, status.getMessageMatchingSeverity(RefactoringStatus.ERROR)));
+					return true;
+				}
+
+				@Override
+				public IRegion[] apply(CleanUpChange change, IRegion[] regions, IProgressMonitor pm) throws CoreException {
+					// apply the edit to the private working copy instead of performing the change, which would run in the UI thread
+					IDocument document= new Document(workingCopy.getSource());
+					IRegion[] updatedRegions= null;
+					if (regions != null) {
+						addChangedRegionPositions(document);
+						Position[] positions= createChangedRegionPositions(document, regions);
+						applyEdit(change.getEdit(), document);
+						updatedRegions= getChangedRegions(positions);
+					} else {
+						applyEdit(change.getEdit(), document);
+					}
+					workingCopy.getBuffer().setContents(document.get());
+					return updatedRegions;
+				}
+			}, monitor);
+		} finally {
+			scope.close();
 			monitor.done();
 		}
 	}
 
+	/**
+	 * Runs the clean ups on the given compilation unit until none is left.
+	 *
+	 * @param unit the compilation unit
+	 * @param cleanUps the clean ups to run
+	 * @param changedRegions the changed regions, or <code>null</code>
+	 * @param slowCleanUps the set to collect the slow clean ups in, or <code>null</code>
+	 * @param handler the handler of the conditions and the changes
+	 * @param monitor the progress monitor
+	 * @return <code>false</code> if the handler stopped the clean ups, <code>true</code>
+	 *         otherwise
+	 * @throws CoreException if a clean up failed
+	 */
+	private boolean performCleanUps(ICompilationUnit unit, ICleanUp[] cleanUps, IRegion[] changedRegions, HashSet<ICleanUp> slowCleanUps, ICleanUpChangeHandler handler, IProgressMonitor monitor) throws CoreException {
+		do {
+			RefactoringStatus preCondition= new RefactoringStatus();
+			for (ICleanUp cleanUp : cleanUps) {
+				RefactoringStatus conditions= cleanUp.checkPreConditions(unit.getJavaProject(), new ICompilationUnit[] {unit}, new SubProgressMonitor(monitor, 5));
+				preCondition.merge(conditions);
+			}
+			if (!handler.checkStatus(preCondition))
+				return false;
+
+			Map<String, String> options= new HashMap<>();
+			for (ICleanUp cleanUp : cleanUps) {
+				Map<String, String> map= cleanUp.getRequirements().getCompilerOptions();
+				if (map != null) {
+					options.putAll(map);
+				}
+			}
+
+			CompilationUnit ast= null;
+			if (requiresAST(cleanUps)) {
+				ast= createAst(unit, options, new SubProgressMonitor(monitor, 10));
+			}
+
+			CleanUpContext context;
+			if (changedRegions == null) {
+				context= new CleanUpContext(unit, ast);
+			} else {
+				context= new MultiLineCleanUpContext(unit, ast, changedRegions);
+			}
+
+			ArrayList<ICleanUp> undoneCleanUps= new ArrayList<>();
+			CleanUpChange change= CleanUpRefactoring.calculateChange(context, cleanUps, undoneCleanUps, slowCleanUps);
+
+			RefactoringStatus postCondition= new RefactoringStatus();
+			for (ICleanUp cleanUp : cleanUps) {
+				RefactoringStatus conditions= cleanUp.checkPostConditions(new SubProgressMonitor(monitor, 1));
+				postCondition.merge(conditions);
+			}
+			if (!handler.checkStatus(postCondition))
+				return false;
+
+			cleanUps= undoneCleanUps.toArray(new ICleanUp[undoneCleanUps.size()]);
+			if (change != null) {
+				if (changedRegions != null && changedRegions.length > 0 && requiresChangedRegions(cleanUps)) {
+					changedRegions= handler.apply(change, changedRegions, monitor);
+				} else {
+					handler.apply(change, null, monitor);
+				}
+			}
+		} while (cleanUps.length > 0);
+		return true;
+	}
+
+	private static void applyEdit(TextEdit edit, IDocument document) throws CoreException {
+		try {
+			edit.apply(document, TextEdit.NONE);
+		} catch (BadLocationException e) {
+			throw wrapBadLocationException(e);
+		}
+	}
+
 	private static ICleanUp[] getCleanUps(IProject project) throws CoreException {
 		ICleanUp[] cleanUps;
 		Map<String, String> settings= CleanUpPreferenceUtil.loadSaveParticipantOptions(new ProjectScope(project));
@@ -515,41 +640,15 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 			buffer= manager.getTextFileBuffer(path, LocationKind.IFILE);
 			IDocument document= buffer.getDocument();
 
-			document.addPositionCategory(CHANGED_REGION_POSITION_CATEGORY);
-			DefaultPositionUpdater updater= new DefaultPositionUpdater(CHANGED_REGION_POSITION_CATEGORY);
+			DefaultPositionUpdater updater= addChangedRegionPositions(document);
 			try {
-				document.addPositionUpdater(updater);
-
-				Position[] positions= new Position[changedRegions.length];
-				for (int i= 0; i < changedRegions.length; i++) {
-					try {
-						Position position= new Position(changedRegions[i].getOffset(), changedRegions[i].getLength());
-						document.addPosition(CHANGED_REGION_POSITION_CATEGORY, position);
-
-						positions[i]= position;
-					} catch (BadLocationException e) {
-						throw wrapBadLocationException(e);
-					} catch (BadPositionCategoryException e) {
-						throw wrapBadPositionCategoryException(e);
-					}
-				}
+				Position[] positions= createChangedRegionPositions(document, changedRegions);
 
 				performChangeOperation.run(new SubProgressMonitor(monitor, 5));
 
-				ArrayList<Region> result= new ArrayList<>();
-				for (Position position : positions) {
-					if (!position.isDeleted())
-						result.add(new Region(position.getOffset(), position.getLength()));
-				}
-
-				return result.toArray(new IRegion[result.size()]);
+				return getChangedRegions(positions);
 			} finally {
-				document.removePositionUpdater(updater);
-				try {
-					document.removePositionCategory(CHANGED_REGION_POSITION_CATEGORY);
-				} catch (BadPositionCategoryException e) {
-					throw wrapBadPositionCategoryException(e);
-				}
+				removeChangedRegionPositions(document, updater);
 			}
 		} finally {
 			if (buffer != null)
@@ -558,6 +657,49 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		}
 	}
 
+	private static DefaultPositionUpdater addChangedRegionPositions(IDocument document) {
+		document.addPositionCategory(CHANGED_REGION_POSITION_CATEGORY);
+		DefaultPositionUpdater updater= new DefaultPositionUpdater(CHANGED_REGION_POSITION_CATEGORY);
+		document.addPositionUpdater(updater);
+		return updater;
+	}
+
+	private static Position[] createChangedRegionPositions(IDocument document, IRegion[] changedRegions) throws CoreException {
+		Position[] positions= new Position[changedRegions.length];
+		for (int i= 0; i < changedRegions.length; i++) {
+			try {
+				Position position= new Position(changedRegions[i].getOffset(), changedRegions[i].getLength());
+				document.addPosition(CHANGED_REGION_POSITION_CATEGORY, position);
+
+				positions[i]= position;
+			} catch (BadLocationException e) {
+				throw wrapBadLocationException(e);
+			} catch (BadPositionCategoryException e) {
+				throw wrapBadPositionCategoryException(e);
+			}
+		}
+		return positions;
+	}
+
+	private static IRegion[] getChangedRegions(Position[] positions) {
+		ArrayList<Region> result= new ArrayList<>();
+		for (Position position : positions) {
+			if (!position.isDeleted())
+				result.add(new Region(position.getOffset(), position.getLength()));
+		}
+
+		return result.toArray(new IRegion[result.size()]);
+	}
+
+	private static void removeChangedRegionPositions(IDocument document, DefaultPositionUpdater updater) throws CoreException {
+		document.removePositionUpdater(updater);
+		try {
+			document.removePositionCategory(CHANGED_REGION_POSITION_CATEGORY);
+		} catch (BadPositionCategoryException e) {
+			throw wrapBadPositionCategoryException(e);
+		}
+	}
+
 	private boolean requiresAST(ICleanUp[] cleanUps) {
 		for (ICleanUp cleanUp : cleanUps) {
 			if (cleanUp.getRequirements().requiresAST()) {
@@ -643,7 +785,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		return new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IRefactoringCoreStatusCodes.BAD_LOCATION, message, e));
 	}
 
-	private CoreException wrapBadPositionCategoryException(BadPositionCategoryException e) {
+	private static CoreException wrapBadPositionCategoryException(BadPositionCategoryException e) {
 		String message= e.getMessage();
 		if (message == null)
 			message= "BadPositionCategoryException"; //$NON-NLS-1$
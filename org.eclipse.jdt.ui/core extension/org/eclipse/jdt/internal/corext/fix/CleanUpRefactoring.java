@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -69,6 +69,7 @@ import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
@@ -501,6 +502,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	private static final Instrumentation.Timer CLEAN_UP_CHECK_CONDITIONS= Instrumentation.getTimer(Instrumentation.CLEAN_UP_CHECK_CONDITIONS);
+	private static final Instrumentation.Timer CLEAN_UP_CREATE_CHANGE= Instrumentation.getTimer(Instrumentation.CLEAN_UP_CREATE_CHANGE);
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -636,11 +640,18 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 					if (result.hasFatalError())
 						return result;
 				}
-				result.merge(checkPreConditions(project, targets, new SubProgressMonitor(pm, 3 * cleanUps.length)));
+				try (Instrumentation.Scope scope= CLEAN_UP_CHECK_CONDITIONS.start()) {
+					result.merge(checkPreConditions(project, targets, new SubProgressMonitor(pm, 3 * cleanUps.length)));
+				}
 				if (result.hasFatalError())
 					return result;
-				Change[] changes= cleanUpProject(project, targets, cleanUps, pm);
-				result.merge(checkPostConditions(new SubProgressMonitor(pm, cleanUps.length)));
+				Change[] changes;
+				try (Instrumentation.Scope scope= CLEAN_UP_CREATE_CHANGE.start()) {
+					changes= cleanUpProject(project, targets, cleanUps, pm);
+				}
+				try (Instrumentation.Scope scope= CLEAN_UP_CHECK_CONDITIONS.start()) {
+					result.merge(checkPostConditions(new SubProgressMonitor(pm, cleanUps.length)));
+				}
 				if (result.hasFatalError())
 					return result;
 				for (Change c : changes) {
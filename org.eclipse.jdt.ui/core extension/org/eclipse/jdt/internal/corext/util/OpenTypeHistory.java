@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -298,6 +298,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		// markAsInconsistent isn't synchronized.
 		fNeedsConsistencyCheck= true;
 		List<TypeNameMatch> typesToCheck= new ArrayList<>(getKeys());
+		TypeNameIndex index= TypeNameIndex.getDefault();
 		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
 		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
 		for (TypeNameMatch type : typesToCheck) {
@@ -307,11 +308,14 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 				continue;
 			try {
 				IType jType= type.getType();
-				if (jType == null || !jType.exists()) {
+				// the type name index knows the modifiers of existing types without opening them
+				int modifiers= jType == null ? TypeNameIndex.NOT_FOUND : index.getModifiers(jType);
+				if (modifiers == TypeNameIndex.NOT_AVAILABLE)
+					modifiers= jType.exists() ? jType.getFlags() : TypeNameIndex.NOT_FOUND;
+				if (modifiers == TypeNameIndex.NOT_FOUND) {
 					remove(type);
 				} else {
 					// copy over the modifiers since they may have changed
-					int modifiers= jType.getFlags();
 					if (modifiers != type.getModifiers()) {
 						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
 					} else {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -264,6 +264,72 @@ public class TypeInfoFilter {
 		return matchesName(type);
 	}
 
+	/**
+	 * Returns whether the given type matches the package, element kind and scope of this filter.
+	 * The simple name and the filter extension are not checked.
+	 *
+	 * @param type the type
+	 * @return <code>true</code> if the type matches
+	 * @since 3.27
+	 */
+	public boolean matchesIndexElement(TypeNameMatch type) {
+		return matchesPackage(type) && matchesModifiers(type) && matchesScope(type);
+	}
+
+	/**
+	 * Returns whether the given simple type name matches the name pattern of this filter.
+	 *
+	 * @param simpleTypeName the simple name of a type
+	 * @return <code>true</code> if the name matches
+	 * @since 3.27
+	 */
+	public boolean matchesSimpleName(String simpleTypeName) {
+		if (fText.length() == 0) {
+			return true; //empty pattern matches all names
+		}
+		return fNameMatcher.matches(simpleTypeName);
+	}
+
+	/**
+	 * Returns a lower case prefix of all simple type names matched by this filter.
+	 *
+	 * @return the prefix, possibly empty
+	 * @since 3.27
+	 */
+	public String getNamePrefix() {
+		if (fText.length() == 0)
+			return ""; //$NON-NLS-1$
+		String pattern= fNameMatcher.getPattern();
+		int length;
+		switch (fNameMatcher.getMatchKind()) {
+			case SearchPattern.R_PATTERN_MATCH:
+				length= 0;
+				while (length < pattern.length() && pattern.charAt(length) != '*' && pattern.charAt(length) != '?')
+					length++;
+				break;
+			case SearchPattern.R_CAMELCASE_MATCH:
+			case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH:
+				// only the first character of a camel case pattern is fixed
+				length= Math.min(1, pattern.length());
+				break;
+			default:
+				length= pattern.length();
+		}
+		char[] prefix= new char[length];
+		for (int i= 0; i < length; i++) {
+			prefix[i]= Character.toLowerCase(pattern.charAt(i));
+		}
+		return new String(prefix);
+	}
+
+	/**
+	 * @return <code>true</code> if the scope of this filter is the workspace
+	 * @since 3.27
+	 */
+	public boolean isWorkspaceScope() {
+		return fIsWorkspaceScope;
+	}
+
 	public boolean matchesFilterExtension(TypeNameMatch type) {
 		if (fFilterExtension == null)
 			return true;
@@ -272,10 +338,7 @@ public class TypeInfoFilter {
 	}
 
 	private boolean matchesName(TypeNameMatch type) {
-		if (fText.length() == 0) {
-			return true; //empty pattern matches all names
-		}
-		return fNameMatcher.matches(type.getSimpleTypeName());
+		return matchesSimpleName(type.getSimpleTypeName());
 	}
 
 	private boolean matchesPackage(TypeNameMatch type) {
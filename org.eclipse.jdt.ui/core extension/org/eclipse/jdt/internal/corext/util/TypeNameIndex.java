@@ -0,0 +1,737 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IOrdinaryClassFile;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import org.eclipse.jdt.internal.corext.CorextMessages;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * In-memory index of the names of all types of the workspace, used by the open type dialog
+ * and the open type history instead of searching the type names for every pattern.
+ * <p>
+ * The index is built by one search over the workspace the first time it is queried and then
+ * kept for the session. It does not keep the search matches: the type qualified names are packed
+ * into one character array sorted by the lower case simple names, next to the modifiers and an
+ * index into the shared package fragments. The types whose names start with a prefix are found by
+ * binary search, and only for the candidates that pass the name pattern are the type handles and
+ * matches created and tested against the rest of a {@link TypeInfoFilter}. Only the matches of
+ * types with access restrictions are kept as they are.
+ * </p>
+ * <p>
+ * The index follows the Java element deltas: the types of changed primary compilation units and
+ * of added or removed packages are read again when the index is next queried, also if they
+ * change while the index is built, and the index is rebuilt in the background after classpath,
+ * project and library changes.
+ * </p>
+ *
+ * @since 3.27
+ */
+public final class TypeNameIndex {
+
+	/**
+	 * Returned by {@link #getModifiers(IType)} if the index is not built.
+	 */
+	public static final int NOT_AVAILABLE= -2;
+
+	/**
+	 * Returned by {@link #getModifiers(IType)} if the type is not in the index.
+	 */
+	public static final int NOT_FOUND= -1;
+
+	/**
+	 * The number of changed elements after which the table is rebuilt from the table and the
+	 * changed elements, without searching.
+	 */
+	private static final int MAX_CHANGED_ELEMENTS= 256;
+
+	private static final String CLASS_FILE_SUFFIX= ".class"; //$NON-NLS-1$
+
+	/**
+	 * A type of the index, used while a table is built.
+	 */
+	private static final class Entry {
+		/** The type qualified name, with '.' separating the names of nested types */
+		final String fQualifiedName;
+		final IPackageFragment fPackage;
+		final boolean fBinary;
+		/** The name of the compilation unit if it is not named after the top level type, or <code>null</code> */
+		final String fUnitName;
+		final int fModifiers;
+		/** The match of a type with access restrictions, or <code>null</code> */
+		final TypeNameMatch fRestrictedMatch;
+
+		Entry(String qualifiedName, IPackageFragment pack, boolean binary, String unitName, int modifiers, TypeNameMatch restrictedMatch) {
+			fQualifiedName= qualifiedName;
+			fPackage= pack;
+			fBinary= binary;
+			fUnitName= unitName;
+			fModifiers= modifiers;
+			fRestrictedMatch= restrictedMatch;
+		}
+
+		static Entry create(TypeNameMatch match) {
+			IType type= match.getType();
+			String qualifiedName= type.getTypeQualifiedName('.');
+			String unitName= null;
+			ICompilationUnit unit= type.getCompilationUnit();
+			if (unit != null && !unit.getElementName().equals(getTopLevelName(qualifiedName) + JavaModelUtil.DEFAULT_CU_SUFFIX))
+				unitName= unit.getElementName();
+			TypeNameMatch restrictedMatch= match.getAccessibility() != IAccessRule.K_ACCESSIBLE ? match : null;
+			return new Entry(qualifiedName, type.getPackageFragment(), type.isBinary(), unitName, match.getModifiers(), restrictedMatch);
+		}
+
+		String getSimpleName() {
+			return fQualifiedName.substring(fQualifiedName.lastIndexOf('.') + 1);
+		}
+	}
+
+	/**
+	 * An immutable table of types sorted by their lower case simple names.
+	 */
+	private static final class Table {
+
+		private final char[] fNames;
+		private final int[] fOffsets;
+		private final int[] fSimpleNameOffsets;
+		private final int[] fModifiers;
+		private final int[] fPackageIndices;
+		private final IPackageFragment[] fPackages;
+		private final boolean[] fBinaryPackages;
+		private final Map<Integer, String> fUnitNames= new HashMap<>();
+		private final Map<Integer, TypeNameMatch> fRestrictedMatches= new HashMap<>();
+
+		Table(List<Entry> entries) {
+			Entry[] sorted= entries.toArray(new Entry[entries.size()]);
+			String[] keys= new String[sorted.length];
+			Integer[] order= new Integer[sorted.length];
+			int length= 0;
+			for (int i= 0; i < sorted.length; i++) {
+				keys[i]= toLowerCase(sorted[i].getSimpleName());
+				order[i]= Integer.valueOf(i);
+				length+= sorted[i].fQualifiedName.length();
+			}
+			Arrays.sort(order, (i1, i2) -> keys[i1.intValue()].compareTo(keys[i2.intValue()]));
+
+			fNames= new char[length];
+			fOffsets= new int[sorted.length + 1];
+			fSimpleNameOffsets= new int[sorted.length];
+			fModifiers= new int[sorted.length];
+			fPackageIndices= new int[sorted.length];
+			Map<IPackageFragment, Integer> packageIndices= new HashMap<>();
+			List<IPackageFragment> packages= new ArrayList<>();
+			List<Boolean> binaryPackages= new ArrayList<>();
+			int offset= 0;
+			for (int i= 0; i < sorted.length; i++) {
+				Entry entry= sorted[order[i].intValue()];
+				String name= entry.fQualifiedName;
+				name.getChars(0, name.length(), fNames, offset);
+				fOffsets[i]= offset;
+				fSimpleNameOffsets[i]= offset + name.lastIndexOf('.') + 1;
+				offset+= name.length();
+				fModifiers[i]= entry.fModifiers;
+				Integer packageIndex= packageIndices.get(entry.fPackage);
+				if (packageIndex == null) {
+					packageIndex= Integer.valueOf(packages.size());
+					packageIndices.put(entry.fPackage, packageIndex);
+					packages.add(entry.fPackage);
+					binaryPackages.add(Boolean.valueOf(entry.fBinary));
+				}
+				fPackageIndices[i]= packageIndex.intValue();
+				if (entry.fUnitName != null)
+					fUnitNames.put(Integer.valueOf(i), entry.fUnitName);
+				if (entry.fRestrictedMatch != null)
+					fRestrictedMatches.put(Integer.valueOf(i), entry.fRestrictedMatch);
+			}
+			fOffsets[sorted.length]= offset;
+			fPackages= packages.toArray(new IPackageFragment[packages.size()]);
+			fBinaryPackages= new boolean[fPackages.length];
+			for (int i= 0; i < fBinaryPackages.length; i++) {
+				fBinaryPackages[i]= binaryPackages.get(i).booleanValue();
+			}
+		}
+
+		int size() {
+			return fModifiers.length;
+		}
+
+		String getName(int index) {
+			return new String(fNames, fSimpleNameOffsets[index], fOffsets[index + 1] - fSimpleNameOffsets[index]);
+		}
+
+		private String getQualifiedName(int index) {
+			return new String(fNames, fOffsets[index], fOffsets[index + 1] - fOffsets[index]);
+		}
+
+		private IPackageFragment getPackage(int index) {
+			return fPackages[fPackageIndices[index]];
+		}
+
+		private boolean isBinary(int index) {
+			return fBinaryPackages[fPackageIndices[index]];
+		}
+
+		private String getUnitName(int index, String qualifiedName) {
+			String unitName= fUnitNames.get(Integer.valueOf(index));
+			return unitName != null ? unitName : getTopLevelName(qualifiedName) + JavaModelUtil.DEFAULT_CU_SUFFIX;
+		}
+
+		/**
+		 * Compares the lower case simple name at the given index with the given lower case prefix.
+		 *
+		 * @param index the index of the name
+		 * @param prefix the lower case prefix
+		 * @return a negative number, zero or a positive number if the name sorts before, starts
+		 *         with or sorts after the prefix
+		 */
+		int compare(int index, String prefix) {
+			int start= fSimpleNameOffsets[index];
+			int length= fOffsets[index + 1] - start;
+			for (int i= 0; i < prefix.length(); i++) {
+				if (i == length)
+					return -1;
+				int diff= Character.toLowerCase(fNames[start + i]) - prefix.charAt(i);
+				if (diff != 0)
+					return diff;
+			}
+			return 0;
+		}
+
+		int lowerBound(String prefix) {
+			int low= 0;
+			int high= size();
+			while (low < high) {
+				int middle= (low + high) >>> 1;
+				if (compare(middle, prefix) < 0)
+					low= middle + 1;
+				else
+					high= middle;
+			}
+			return low;
+		}
+
+		/**
+		 * Creates the handle of the type at the given index.
+		 *
+		 * @param index the index of the type
+		 * @return the type
+		 */
+		IType getType(int index) {
+			TypeNameMatch restrictedMatch= fRestrictedMatches.get(Integer.valueOf(index));
+			if (restrictedMatch != null)
+				return restrictedMatch.getType();
+			IPackageFragment pack= getPackage(index);
+			String qualifiedName= getQualifiedName(index);
+			if (isBinary(index))
+				return pack.getOrdinaryClassFile(qualifiedName.replace('.', '$') + CLASS_FILE_SUFFIX).getType();
+			String topLevelName= getTopLevelName(qualifiedName);
+			IType type= pack.getCompilationUnit(getUnitName(index, qualifiedName)).getType(topLevelName);
+			int start= topLevelName.length() + 1;
+			while (start < qualifiedName.length()) {
+				int end= qualifiedName.indexOf('.', start);
+				if (end == -1)
+					end= qualifiedName.length();
+				type= type.getType(qualifiedName.substring(start, end));
+				start= end + 1;
+			}
+			return type;
+		}
+
+		/**
+		 * Creates the match of the type at the given index.
+		 *
+		 * @param index the index of the type
+		 * @return the match
+		 */
+		TypeNameMatch getMatch(int index) {
+			TypeNameMatch restrictedMatch= fRestrictedMatches.get(Integer.valueOf(index));
+			if (restrictedMatch != null)
+				return restrictedMatch;
+			return SearchEngine.createTypeNameMatch(getType(index), fModifiers[index]);
+		}
+
+		/**
+		 * Tells whether the type at the given index is in one of the given changed elements.
+		 *
+		 * @param index the index of the type
+		 * @param changedElements the changed compilation units and packages
+		 * @return <code>true</code> if the type is in a changed element
+		 */
+		boolean isChanged(int index, Map<IJavaElement, ?> changedElements) {
+			IPackageFragment pack= getPackage(index);
+			if (changedElements.containsKey(pack))
+				return true;
+			return !isBinary(index) && changedElements.containsKey(pack.getCompilationUnit(getUnitName(index, getQualifiedName(index))));
+		}
+
+		/**
+		 * Returns the entries of the types that are not in the given changed elements.
+		 *
+		 * @param changedElements the changed compilation units and packages
+		 * @return the entries
+		 */
+		List<Entry> getEntries(Map<IJavaElement, ?> changedElements) {
+			// only the types of the packages with changes need their compilation unit handles
+			Set<IJavaElement> changedPackages= new HashSet<>();
+			for (IJavaElement element : changedElements.keySet()) {
+				changedPackages.add(element instanceof IPackageFragment ? element : element.getParent());
+			}
+			List<Entry> entries= new ArrayList<>(size());
+			for (int i= 0; i < size(); i++) {
+				if (changedPackages.contains(getPackage(i)) && isChanged(i, changedElements))
+					continue;
+				entries.add(new Entry(getQualifiedName(i), getPackage(i), isBinary(i), fUnitNames.get(Integer.valueOf(i)), fModifiers[i],
+						fRestrictedMatches.get(Integer.valueOf(i))));
+			}
+			return entries;
+		}
+	}
+
+	private class DeltaListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			processDelta(event.getDelta());
+		}
+
+		private void processDelta(IJavaElementDelta delta) {
+			IJavaElement element= delta.getElement();
+			int kind= delta.getKind();
+			int flags= delta.getFlags();
+			switch (element.getElementType()) {
+				case IJavaElement.JAVA_MODEL:
+					processChildrenDelta(delta);
+					return;
+				case IJavaElement.JAVA_PROJECT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+							| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+						invalidate();
+						return;
+					}
+					processChildrenDelta(delta);
+					return;
+				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+							| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+						invalidate();
+						return;
+					}
+					processChildrenDelta(delta);
+					return;
+				case IJavaElement.PACKAGE_FRAGMENT:
+					if (kind != IJavaElementDelta.CHANGED) {
+						// the types of an added or removed package are read again like changed units
+						packageChanged((IPackageFragment) element);
+						return;
+					}
+					processChildrenDelta(delta);
+					return;
+				case IJavaElement.CLASS_FILE:
+					if (kind != IJavaElementDelta.CHANGED) {
+						invalidate();
+						return;
+					}
+					processChildrenDelta(delta);
+					return;
+				case IJavaElement.COMPILATION_UNIT:
+					ICompilationUnit unit= (ICompilationUnit) element;
+					if (!JavaModelUtil.isPrimary(unit))
+						return;
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN
+							| IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0) {
+						unitChanged(unit);
+					}
+					return;
+				default:
+					return;
+			}
+		}
+
+		private void processChildrenDelta(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				processDelta(child);
+			}
+		}
+	}
+
+	private class UpdateJob extends Job {
+
+		public UpdateJob() {
+			super(CorextMessages.TypeNameIndex_update_job);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				getTable(monitor);
+			} catch (JavaModelException e) {
+				return e.getStatus();
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	private static TypeNameIndex fgDefault;
+
+	private final IElementChangedListener fDeltaListener= new DeltaListener();
+	private final Job fUpdateJob= new UpdateJob();
+
+	/** The table, or <code>null</code> if the index is not built */
+	private volatile Table fTable;
+	/**
+	 * Changed compilation units and packages to their types, or to <code>null</code> if not read
+	 * yet. A compilation unit is not recorded if its package is.
+	 */
+	private final Map<IJavaElement, TypeNameMatch[]> fChangedElements= new HashMap<>();
+	/** Incremented whenever the table becomes invalid */
+	private int fGeneration;
+	/** The number of builds in progress, during which changed elements are recorded */
+	private int fBuilds;
+	/** Whether the index has been queried, i.e. is rebuilt after it became invalid */
+	private boolean fInUse;
+
+	private long fBuildCount;
+	private long fBuildTime;
+
+	private TypeNameIndex() {
+		JavaCore.addElementChangedListener(fDeltaListener);
+	}
+
+	public static synchronized TypeNameIndex getDefault() {
+		if (fgDefault == null)
+			fgDefault= new TypeNameIndex();
+		return fgDefault;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgDefault == null)
+			return;
+		JavaCore.removeElementChangedListener(fgDefault.fDeltaListener);
+		fgDefault.fUpdateJob.cancel();
+		fgDefault= null;
+	}
+
+	/**
+	 * Passes the types of the workspace that match the given filter to the requestor. The filter
+	 * extension of the filter is not checked. The index is built first if necessary.
+	 *
+	 * @param filter the filter
+	 * @param requestor the requestor
+	 * @param monitor the progress monitor
+	 * @throws JavaModelException if the index cannot be built
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public void search(TypeInfoFilter filter, TypeNameMatchRequestor requestor, IProgressMonitor monitor) throws JavaModelException {
+		Table table= getTable(monitor);
+		Map<IJavaElement, TypeNameMatch[]> changedElements= getChangedElements();
+		String prefix= filter.getNamePrefix();
+		for (int i= table.lowerBound(prefix); i < table.size() && table.compare(i, prefix) == 0; i++) {
+			if ((i & 0x3ff) == 0 && monitor.isCanceled())
+				throw new OperationCanceledException();
+			if (!filter.matchesSimpleName(table.getName(i)))
+				continue;
+			if (!changedElements.isEmpty() && table.isChanged(i, changedElements))
+				continue;
+			TypeNameMatch match= table.getMatch(i);
+			if (filter.matchesIndexElement(match))
+				requestor.acceptTypeNameMatch(match);
+		}
+		for (TypeNameMatch[] matches : changedElements.values()) {
+			for (TypeNameMatch match : matches) {
+				String name= match.getSimpleTypeName();
+				if (toLowerCase(name).startsWith(prefix) && filter.matchesSimpleName(name) && filter.matchesIndexElement(match))
+					requestor.acceptTypeNameMatch(match);
+			}
+		}
+	}
+
+	/**
+	 * Returns the modifiers of the given type as recorded in the index.
+	 *
+	 * @param type the type
+	 * @return the modifiers, {@link #NOT_FOUND} if the type is not in the index or
+	 *         {@link #NOT_AVAILABLE} if the index is not built
+	 */
+	public int getModifiers(IType type) {
+		Table table= fTable;
+		if (table == null)
+			return NOT_AVAILABLE;
+		Map<IJavaElement, TypeNameMatch[]> changedElements= getChangedElements();
+		for (TypeNameMatch[] matches : changedElements.values()) {
+			for (TypeNameMatch match : matches) {
+				if (type.equals(match.getType()))
+					return match.getModifiers();
+			}
+		}
+		String name= toLowerCase(type.getElementName());
+		for (int i= table.lowerBound(name); i < table.size() && table.compare(i, name) == 0; i++) {
+			if (name.length() == table.getName(i).length() && type.equals(table.getType(i)))
+				return table.isChanged(i, changedElements) ? NOT_FOUND : table.fModifiers[i];
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Builds the index if it is not built yet.
+	 *
+	 * @param monitor the progress monitor
+	 * @throws JavaModelException if the index cannot be built
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public void update(IProgressMonitor monitor) throws JavaModelException {
+		getTable(monitor);
+	}
+
+	/**
+	 * Drops the index. It is built again when it is next queried.
+	 */
+	public synchronized void reset() {
+		fTable= null;
+		fChangedElements.clear();
+		fGeneration++;
+		fInUse= false;
+	}
+
+	/**
+	 * @return the number of times the index was built by searching the workspace
+	 */
+	public synchronized long getBuildCount() {
+		return fBuildCount;
+	}
+
+	/**
+	 * @return the time spent building the index, in milliseconds
+	 */
+	public synchronized long getBuildTime() {
+		return fBuildTime;
+	}
+
+	private synchronized void invalidate() {
+		if (fTable == null && fChangedElements.isEmpty() && fBuilds == 0)
+			return;
+		fTable= null;
+		fChangedElements.clear();
+		fGeneration++;
+		if (fInUse) {
+			fUpdateJob.cancel();
+			fUpdateJob.schedule(1000);
+		}
+	}
+
+	private synchronized void unitChanged(ICompilationUnit unit) {
+		// without a table and a build, the next build reads the unit anyway
+		if (fTable == null && fBuilds == 0)
+			return;
+		IJavaElement pack= unit.getParent();
+		if (fChangedElements.containsKey(pack))
+			fChangedElements.put(pack, null);
+		else
+			fChangedElements.put(unit, null);
+	}
+
+	private synchronized void packageChanged(IPackageFragment pack) {
+		if (fTable == null && fBuilds == 0)
+			return;
+		fChangedElements.keySet().removeIf(element -> pack.equals(element.getParent()));
+		fChangedElements.put(pack, null);
+	}
+
+	private Table getTable(IProgressMonitor monitor) throws JavaModelException {
+		Table table;
+		int generation;
+		synchronized (this) {
+			fInUse= true;
+			table= fTable;
+			if (table != null && fChangedElements.size() <= MAX_CHANGED_ELEMENTS)
+				return table;
+			generation= fGeneration;
+			if (table == null)
+				fBuilds++;
+		}
+		if (table != null)
+			return fold(table, generation);
+
+		try {
+			long start= System.currentTimeMillis();
+			List<Entry> entries= new ArrayList<>();
+			new SearchEngine().searchAllTypeNames(
+					null,
+					0,
+					null,
+					0,
+					IJavaSearchConstants.TYPE,
+					SearchEngine.createWorkspaceScope(),
+					new TypeNameMatchRequestor() {
+						@Override
+						public void acceptTypeNameMatch(TypeNameMatch match) {
+							entries.add(Entry.create(match));
+						}
+					},
+					IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+					monitor);
+			table= new Table(entries);
+
+			synchronized (this) {
+				fBuildCount++;
+				fBuildTime+= System.currentTimeMillis() - start;
+				// keep the table only if nothing invalidated it during the search; the elements that
+				// changed during the search stay recorded and are read again
+				if (generation == fGeneration && fTable == null)
+					fTable= table;
+			}
+			return table;
+		} finally {
+			synchronized (this) {
+				fBuilds--;
+				if (fTable == null && fBuilds == 0)
+					fChangedElements.clear();
+			}
+		}
+	}
+
+	/**
+	 * Folds the changed elements into a new table. The changed elements are read and the table is
+	 * built outside of the lock of the index.
+	 *
+	 * @param table the current table
+	 * @param generation the generation of the table
+	 * @return the new table
+	 */
+	private Table fold(Table table, int generation) {
+		Map<IJavaElement, TypeNameMatch[]> changedElements= getChangedElements();
+		List<Entry> entries= table.getEntries(changedElements);
+		for (TypeNameMatch[] matches : changedElements.values()) {
+			for (TypeNameMatch match : matches) {
+				entries.add(Entry.create(match));
+			}
+		}
+		Table folded= new Table(entries);
+		synchronized (this) {
+			if (generation == fGeneration && fTable == table) {
+				fTable= folded;
+				for (Map.Entry<IJavaElement, TypeNameMatch[]> entry : changedElements.entrySet()) {
+					// keep the elements that changed again while they were folded
+					fChangedElements.remove(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		return folded;
+	}
+
+	/**
+	 * Returns the changed elements with their current types. The types are read outside of the
+	 * lock of the index.
+	 *
+	 * @return a copy of the changed elements
+	 */
+	private Map<IJavaElement, TypeNameMatch[]> getChangedElements() {
+		Map<IJavaElement, TypeNameMatch[]> changedElements;
+		synchronized (this) {
+			if (fChangedElements.isEmpty())
+				return Collections.emptyMap();
+			changedElements= new HashMap<>(fChangedElements);
+		}
+		for (Map.Entry<IJavaElement, TypeNameMatch[]> entry : changedElements.entrySet()) {
+			if (entry.getValue() == null)
+				entry.setValue(readTypes(entry.getKey()));
+		}
+		synchronized (this) {
+			for (Map.Entry<IJavaElement, TypeNameMatch[]> entry : changedElements.entrySet()) {
+				// do not overwrite elements that changed again while they were read
+				fChangedElements.replace(entry.getKey(), null, entry.getValue());
+			}
+		}
+		return changedElements;
+	}
+
+	private static TypeNameMatch[] readTypes(IJavaElement element) {
+		if (!element.exists())
+			return new TypeNameMatch[0];
+		try {
+			List<TypeNameMatch> matches= new ArrayList<>();
+			if (element instanceof ICompilationUnit) {
+				addTypes((ICompilationUnit) element, matches);
+			} else {
+				IPackageFragment pack= (IPackageFragment) element;
+				for (ICompilationUnit unit : pack.getCompilationUnits()) {
+					addTypes(unit, matches);
+				}
+				for (IOrdinaryClassFile classFile : pack.getOrdinaryClassFiles()) {
+					IType type= classFile.getType();
+					if (!type.isAnonymous() && !type.isLocal())
+						matches.add(SearchEngine.createTypeNameMatch(type, type.getFlags()));
+				}
+			}
+			return matches.toArray(new TypeNameMatch[matches.size()]);
+		} catch (JavaModelException e) {
+			if (!e.isDoesNotExist())
+				JavaPlugin.log(e);
+			return new TypeNameMatch[0];
+		}
+	}
+
+	private static void addTypes(ICompilationUnit unit, List<TypeNameMatch> matches) throws JavaModelException {
+		for (IType type : unit.getAllTypes()) {
+			matches.add(SearchEngine.createTypeNameMatch(type, type.getFlags()));
+		}
+	}
+
+	private static String getTopLevelName(String qualifiedName) {
+		int index= qualifiedName.indexOf('.');
+		return index == -1 ? qualifiedName : qualifiedName.substring(0, index);
+	}
+
+	private static String toLowerCase(String name) {
+		char[] chars= name.toCharArray();
+		for (int i= 0; i < chars.length; i++) {
+			chars[i]= Character.toLowerCase(chars[i]);
+		}
+		return new String(chars);
+	}
+}
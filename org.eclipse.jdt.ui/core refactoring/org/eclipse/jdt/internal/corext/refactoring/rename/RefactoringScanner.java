@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.IScanner;
 import org.eclipse.jdt.core.compiler.ITerminalSymbols;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
@@ -54,25 +55,30 @@ public class RefactoringScanner {
 		}
 	}
 
-	private final String fName;
+	private final char[] fNameChars;
 	private final String fQualifier;
 
 	private IScanner fScanner;
+	private char[] fSource;
 	private Set<TextMatch> fMatches; //Set<TextMatch>
 
 
+	/**
+	 * Creates a scanner. A scanner instance is not thread-safe, but several instances can scan
+	 * different sources concurrently.
+	 *
+	 * @param name the simple name to search for
+	 * @param qualifier the qualifier of the name
+	 */
 	public RefactoringScanner(String name, String qualifier) {
 		Assert.isNotNull(name);
 		Assert.isNotNull(qualifier);
-		fName= name;
+		fNameChars= name.toCharArray();
 		fQualifier= qualifier;
 	}
 
 	public void scan(ICompilationUnit cu)	throws JavaModelException {
 		char[] chars= cu.getBuffer().getCharacters();
-		fMatches= new HashSet<>();
-		fScanner= ToolFactory.createScanner(true, true, false, true);
-		fScanner.setSource(chars);
 
 //		IImportContainer importContainer= cu.getImportContainer();
 //		if (importContainer.exists())
@@ -80,8 +86,36 @@ public class RefactoringScanner {
 //		else
 //			fNoFlyZone= null;
 
+		scan(chars);
+	}
+
+	/**
+	 * Tells whether the given source can contain matches at all. This is a plain text search
+	 * that is much cheaper than {@link #scan(char[])}.
+	 *
+	 * @param source the source
+	 * @return <code>false</code> iff the source cannot contain a match
+	 */
+	public boolean mayContainMatches(char[] source) {
+		return source != null && CharOperation.indexOf(fNameChars, source, true) != -1;
+	}
+
+	/**
+	 * Scans the given source. Sources that do not contain the name are skipped without
+	 * tokenizing them.
+	 *
+	 * @param source the source
+	 */
+	public void scan(char[] source) {
+		fMatches= new HashSet<>();
+		if (!mayContainMatches(source))
+			return;
+		fSource= source;
+		fScanner= ToolFactory.createScanner(true, true, false, true);
+		fScanner.setSource(source);
 		doScan();
 		fScanner= null;
+		fSource= null;
 	}
 
 	/**
@@ -93,12 +127,7 @@ public class RefactoringScanner {
 	 * @param text the text
 	 */
 	public void scan(String text) {
-		char[] chars= text.toCharArray();
-		fMatches= new HashSet<>();
-		fScanner= ToolFactory.createScanner(true, true, false, true);
-		fScanner.setSource(chars);
-		doScan();
-		fScanner= null;
+		scan(text.toCharArray());
 	}
 
 	private void doScan() {
@@ -119,15 +148,15 @@ public class RefactoringScanner {
 		}
 	}
 
-	private static boolean isWholeWord(String value, int from, int to){
-		if (from > 0) {
-			char ch= value.charAt(from - 1);
+	private boolean isWholeWord(int tokenStart, int tokenEnd, int from, int to){
+		if (from > tokenStart) {
+			char ch= fSource[from - 1];
 			if (Character.isLetterOrDigit(ch) || ch == '_') {
 				return false;
 			}
 		}
-		if (to < value.length()) {
-			char ch= value.charAt(to);
+		if (to < tokenEnd) {
+			char ch= fSource[to];
 			if (Character.isLetterOrDigit(ch) || ch == '_' ) {
 				return false;
 			}
@@ -137,27 +166,47 @@ public class RefactoringScanner {
 
 	private void parseCurrentToken() {
 		// only works for references without whitespace
-		String value = new String(fScanner.getRawTokenSource());
-		int start= fScanner.getCurrentTokenStartPosition();
-		int index= value.indexOf(fName);
+		// works directly on the source to avoid copying the raw token
+		int tokenStart= fScanner.getCurrentTokenStartPosition();
+		int tokenEnd= fScanner.getCurrentTokenEndPosition() + 1;
+		int nameLength= fNameChars.length;
+		int index= indexOfName(tokenStart, tokenEnd);
 		while (index != -1) {
-			if (isWholeWord(value, index, index + fName.length())) {
-				int ok= isQualifierOK(value, index);
+			if (isWholeWord(tokenStart, tokenEnd, index, index + nameLength)) {
+				int ok= isQualifierOK(tokenStart, index);
 				if (ok > NO_MATCH)
-					addMatch(start + index, ok);
+					addMatch(index, ok);
+			}
+			index= indexOfName(index + 1, tokenEnd);
+		}
+	}
+
+	private int indexOfName(int from, int to) {
+		char[] name= fNameChars;
+		if (name.length == 0)
+			return -1;
+		int last= to - name.length;
+		char first= name[0];
+		next: for (int i= from; i <= last; i++) {
+			if (fSource[i] != first)
+				continue;
+			for (int j= 1; j < name.length; j++) {
+				if (fSource[i + j] != name[j])
+					continue next;
 			}
-			index= value.indexOf(fName, index + 1);
+			return i;
 		}
+		return -1;
 	}
 
-	private int isQualifierOK(String value, int nameStart) {
+	private int isQualifierOK(int tokenStart, int nameStart) {
 		// only works for references without whitespace
 		int qualifierAfter= nameStart - 1;
-		if (qualifierAfter < 0)
+		if (qualifierAfter < tokenStart)
 			// there is absolutely nothing before the name itself in the string
 			return MATCH_UNQUALIFIED;
 
-		char charBeforeName= value.charAt(qualifierAfter);
+		char charBeforeName= fSource[qualifierAfter];
 		if (! isQualifierSeparator(charBeforeName))
 			// the char before the name is not a # or . - should not get here anyway
 			return MATCH_UNQUALIFIED; // NO_MATCH ?
@@ -166,11 +215,11 @@ public class RefactoringScanner {
 		// work through the qualifier from back to front
 		for (int i= 0; i < fQualifier.length() ; i++) {
 			int qualifierCharPos= qualifierAfter - 1 - i;
-			if (qualifierCharPos < 0)
+			if (qualifierCharPos < tokenStart)
 				// the position does not exist, return OK if last read char was a non-separator
 				return canFinish ? MATCH_UNQUALIFIED : NO_MATCH;
 
-			char qualifierChar= value.charAt(qualifierCharPos);
+			char qualifierChar= fSource[qualifierCharPos];
 			char goalQualifierChar= fQualifier.charAt(fQualifier.length() - 1 - i);
 			if (qualifierChar != goalQualifierChar)
 				// the chars do not match. return OK if last read char was a non-separator and the current one a non-qualifier
@@ -179,19 +228,19 @@ public class RefactoringScanner {
 			canFinish= ! isQualifierSeparator(qualifierChar);
 		}
 		int beforeQualifierPos= qualifierAfter - fQualifier.length() - 1;
-		if (beforeQualifierPos >= 0) {
-			char beforeQualifierChar= value.charAt(beforeQualifierPos);
+		if (beforeQualifierPos >= tokenStart) {
+			char beforeQualifierChar= fSource[beforeQualifierPos];
 			if (Character.isJavaIdentifierPart(beforeQualifierChar)) {
 				return NO_MATCH;
 			}
 			if (isQualifierSeparator(beforeQualifierChar)) {
-				if (beforeQualifierPos > 0) {
+				if (beforeQualifierPos > tokenStart) {
 					/*
 					 * https://bugs.eclipse.org/bugs/show_bug.cgi?id=142508 :
 					 * If the character before the qualifier separator is not
 					 * an identifier part, then accept the match.
 					 */
-					char precedingOne= value.charAt(beforeQualifierPos - 1);
+					char precedingOne= fSource[beforeQualifierPos - 1];
 					if (Character.isJavaIdentifierPart(precedingOne)) {
 						return NO_MATCH;
 					}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,7 @@ import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.ILocalVariable;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
@@ -78,6 +79,7 @@ import org.eclipse.jdt.internal.corext.refactoring.JavaRefactoringDescriptorUtil
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityTester;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchBatch;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine;
 import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
 import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContext;
@@ -842,16 +844,22 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 			pm.worked(3);
 		}
 
-		if (getGetter() != null && fRenameGetter) {
-			addGetterOccurrences(new SubProgressMonitor(pm, 1), result);
+		boolean renameGetter= getGetter() != null && fRenameGetter;
+		boolean renameSetter= getSetter() != null && fRenameSetter;
+		if (renameGetter && renameSetter) {
+			addGetterAndSetterOccurrences(new SubProgressMonitor(pm, 2), result);
 		} else {
-			pm.worked(1);
-		}
+			if (renameGetter) {
+				addGetterOccurrences(new SubProgressMonitor(pm, 1), result);
+			} else {
+				pm.worked(1);
+			}
 
-		if (getSetter() != null && fRenameSetter) {
-			addSetterOccurrences(new SubProgressMonitor(pm, 1), result);
-		} else {
-			pm.worked(1);
+			if (renameSetter) {
+				addSetterOccurrences(new SubProgressMonitor(pm, 1), result);
+			} else {
+				pm.worked(1);
+			}
 		}
 
 		if (fIsRecordComponent) {
@@ -977,6 +985,30 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		}
 	}
 
+	/*
+	 * Getter and setter have different names, so their occurrences can be found in one search pass.
+	 */
+	private void addGetterAndSetterOccurrences(IProgressMonitor pm, RefactoringStatus status) throws CoreException {
+		IMethod getter= getGetter();
+		IMethod setter= getSetter();
+		Assert.isTrue(getter.exists() && setter.exists());
+		SearchPattern getterPattern= SearchPattern.createPattern(getter, IJavaSearchConstants.ALL_OCCURRENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+		SearchPattern setterPattern= SearchPattern.createPattern(setter, IJavaSearchConstants.ALL_OCCURRENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+		if (getterPattern == null || setterPattern == null || getter.getElementName().equals(setter.getElementName())) {
+			pm.beginTask("", 2); //$NON-NLS-1$
+			addGetterOccurrences(new SubProgressMonitor(pm, 1), status);
+			addSetterOccurrences(new SubProgressMonitor(pm, 1), status);
+			pm.done();
+			return;
+		}
+		RefactoringSearchBatch batch= new RefactoringSearchBatch();
+		int getterIndex= batch.add(getterPattern, RefactoringSearchBatch.occurrencesNamed(getter.getElementName()), new MethodOccurenceCollector(getter.getElementName()));
+		int setterIndex= batch.add(setterPattern, RefactoringSearchBatch.occurrencesNamed(setter.getElementName()), new MethodOccurenceCollector(setter.getElementName()));
+		batch.search(RefactoringScopeFactory.create(new IMember[] { getter, setter }), pm, status);
+		addAccessorOccurrences(batch.getResults(getterIndex), RefactoringCoreMessages.RenameFieldRefactoring_Update_getter_occurrence, getNewGetterName());
+		addAccessorOccurrences(batch.getResults(setterIndex), RefactoringCoreMessages.RenameFieldRefactoring_Update_setter_occurrence, getNewSetterName());
+	}
+
 	private void addAccessorOccurrences(IProgressMonitor pm, IMethod accessor, String editName, String newAccessorName, RefactoringStatus status) throws CoreException {
 		Assert.isTrue(accessor.exists());
 
@@ -987,7 +1019,10 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		}
 		SearchResultGroup[] groupedResults= RefactoringSearchEngine.search(
 			pattern, scope, new MethodOccurenceCollector(accessor.getElementName()), pm, status);
+		addAccessorOccurrences(groupedResults, editName, newAccessorName);
+	}
 
+	private void addAccessorOccurrences(SearchResultGroup[] groupedResults, String editName, String newAccessorName) {
 		for (SearchResultGroup groupedResult : groupedResults) {
 			ICompilationUnit cu= groupedResult.getCompilationUnit();
 			if (cu == null)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -424,6 +424,7 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 				return result;
 
 			fChangeManager= new TextChangeManager();
+			fChangeManager.setStreaming(true);
 			fImportsManager= new ImportsManager();
 
 			SubProgressMonitor subPm= new SubProgressMonitor(pm, 16);
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.rename;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.SearchMatch;
+
+/**
+ * Session cache for {@link RippleMethodFinder2}.
+ * <p>
+ * Change Signature and Rename Method compute the ripple methods of the same method several
+ * times while the wizard is open, and the ripple computations of methods declared in the
+ * same type need the same type hierarchies. This cache keeps the type hierarchies, the
+ * hierarchies of declaration regions and the final ripple sets until the Java model changes.
+ * Structural changes clear the cache. Reconciles and saves that only change method bodies,
+ * initializers or comments keep it.
+ * </p>
+ * <p>
+ * A computation that started before the cache was cleared does not store its result, see
+ * {@link #getGeneration()}.
+ * </p>
+ * <p>
+ * Only computations on primary working copies (<code>owner == null</code>) are cached.
+ * </p>
+ */
+public final class RippleMethodCache implements IElementChangedListener {
+
+	private static final int MAX_TYPE_HIERARCHIES= 64;
+	private static final int MAX_REGION_HIERARCHIES= 16;
+	private static final int MAX_RESULTS= 128;
+
+	private static RippleMethodCache fgInstance;
+
+	public static synchronized RippleMethodCache getInstance() {
+		if (fgInstance == null)
+			fgInstance= new RippleMethodCache();
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		JavaCore.removeElementChangedListener(fgInstance);
+		fgInstance.clear();
+		fgInstance= null;
+	}
+
+	/**
+	 * The ripple methods of a method, before binary declarations are filtered out.
+	 */
+	static final class Result {
+		final IMethod[] fMethods;
+		/** Binary declarations and their search matches, only used when binary references are collected */
+		final Map<IMethod, SearchMatch> fBinaryMatches;
+
+		Result(IMethod[] methods, Map<IMethod, SearchMatch> binaryMatches) {
+			fMethods= methods;
+			fBinaryMatches= binaryMatches;
+		}
+	}
+
+	private final Map<IType, ITypeHierarchy> fTypeHierarchies= new LruMap<>(MAX_TYPE_HIERARCHIES);
+	private final Map<String, ITypeHierarchy> fRegionHierarchies= new LruMap<>(MAX_REGION_HIERARCHIES);
+	private final Map<String, Result> fResults= new LruMap<>(MAX_RESULTS);
+
+	/** Incremented whenever the cache is cleared */
+	private long fGeneration;
+
+	private long fHierarchiesComputed;
+	private long fHierarchiesReused;
+	private long fResultsComputed;
+	private long fResultsReused;
+
+	private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+		private static final long serialVersionUID= 1L;
+		private final int fMaxSize;
+
+		LruMap(int maxSize) {
+			super(16, 0.75f, true);
+			fMaxSize= maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > fMaxSize;
+		}
+	}
+
+	private RippleMethodCache() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (isStructuralChange(event.getDelta()))
+			clear();
+	}
+
+	/**
+	 * Tells whether the given delta can change declarations or type hierarchies. Changes of the
+	 * content of members, as reported by reconciles and saves of working copies, cannot.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if the delta can change a ripple set
+	 */
+	private static boolean isStructuralChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+
+		int flags= delta.getFlags();
+		int contentFlags= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED
+				| IJavaElementDelta.F_AST_AFFECTED | IJavaElementDelta.F_PRIMARY_RESOURCE;
+		if ((flags & ~contentFlags) != 0)
+			return true;
+		// a content change without fine-grained children can hide any change in a compilation unit
+		if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0
+				&& delta.getElement().getElementType() <= IJavaElement.COMPILATION_UNIT)
+			return true;
+
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isStructuralChange(child))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Drops all cached hierarchies and ripple sets. Counters are kept.
+	 */
+	public synchronized void clear() {
+		fGeneration++;
+		fTypeHierarchies.clear();
+		fRegionHierarchies.clear();
+		fResults.clear();
+	}
+
+	/**
+	 * Returns the generation of the cache, which changes whenever the cache is cleared. Callers
+	 * take the generation before they start a computation and pass it when they store the result.
+	 *
+	 * @return the current generation
+	 */
+	public synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Returns the type hierarchy of the given type, reusing a previously computed one if the
+	 * Java model did not change in between.
+	 *
+	 * @param type the focus type
+	 * @param pm the progress monitor
+	 * @return the type hierarchy
+	 * @throws JavaModelException if the hierarchy could not be computed
+	 */
+	public ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor pm) throws JavaModelException {
+		long generation;
+		synchronized (this) {
+			generation= fGeneration;
+			ITypeHierarchy hierarchy= fTypeHierarchies.get(type);
+			if (hierarchy != null) {
+				fHierarchiesReused++;
+				return hierarchy;
+			}
+		}
+		ITypeHierarchy hierarchy= type.newTypeHierarchy(pm);
+		synchronized (this) {
+			fHierarchiesComputed++;
+			if (generation == fGeneration)
+				fTypeHierarchies.put(type, hierarchy);
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * Returns the hierarchy of a region consisting of the given types.
+	 *
+	 * @param types the types of the region
+	 * @param pm the progress monitor
+	 * @return the region hierarchy
+	 * @throws JavaModelException if the hierarchy could not be computed
+	 */
+	public ITypeHierarchy getRegionHierarchy(IType[] types, IProgressMonitor pm) throws JavaModelException {
+		String key= getRegionKey(types);
+		long generation;
+		synchronized (this) {
+			generation= fGeneration;
+			ITypeHierarchy hierarchy= fRegionHierarchies.get(key);
+			if (hierarchy != null) {
+				fHierarchiesReused++;
+				return hierarchy;
+			}
+		}
+		IRegion region= JavaCore.newRegion();
+		for (IType type : types) {
+			region.add(type);
+		}
+		ITypeHierarchy hierarchy= JavaCore.newTypeHierarchy(region, null, pm);
+		synchronized (this) {
+			fHierarchiesComputed++;
+			if (generation == fGeneration)
+				fRegionHierarchies.put(key, hierarchy);
+		}
+		return hierarchy;
+	}
+
+	private static String getRegionKey(IType[] types) {
+		String[] handles= new String[types.length];
+		for (int i= 0; i < types.length; i++) {
+			handles[i]= types[i].getHandleIdentifier();
+		}
+		Arrays.sort(handles);
+		return String.join("\n", handles); //$NON-NLS-1$
+	}
+
+	synchronized Result getResult(String key) {
+		Result result= fResults.get(key);
+		if (result != null)
+			fResultsReused++;
+		return result;
+	}
+
+	/**
+	 * Stores a ripple set, unless the cache has been cleared since the computation started.
+	 *
+	 * @param key the key of the ripple set
+	 * @param generation the generation of the cache when the computation started
+	 * @param methods the ripple methods
+	 * @param binaryMatches the binary declarations and their matches, or <code>null</code>
+	 */
+	synchronized void putResult(String key, long generation, IMethod[] methods, Map<IMethod, SearchMatch> binaryMatches) {
+		fResultsComputed++;
+		if (generation != fGeneration)
+			return;
+		Map<IMethod, SearchMatch> matches= binaryMatches == null ? null : Collections.unmodifiableMap(new HashMap<>(binaryMatches));
+		fResults.put(key, new Result(methods.clone(), matches));
+	}
+
+	/**
+	 * @return the number of type and region hierarchies that had to be computed
+	 */
+	public synchronized long getHierarchiesComputed() {
+		return fHierarchiesComputed;
+	}
+
+	/**
+	 * @return the number of type and region hierarchies that were served from the cache
+	 */
+	public synchronized long getHierarchiesReused() {
+		return fHierarchiesReused;
+	}
+
+	/**
+	 * @return the number of ripple sets that had to be computed
+	 */
+	public synchronized long getResultsComputed() {
+		return fResultsComputed;
+	}
+
+	/**
+	 * @return the number of ripple sets that were served from the cache, each of which saved
+	 *         a declaration search and all hierarchy computations for that method
+	 */
+	public synchronized long getResultsReused() {
+		return fResultsReused;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "RippleMethodCache: hierarchies computed=" + fHierarchiesComputed + ", reused=" + fHierarchiesReused //$NON-NLS-1$ //$NON-NLS-2$
+				+ "; ripple sets computed=" + fResultsComputed + ", reused=" + fResultsReused; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
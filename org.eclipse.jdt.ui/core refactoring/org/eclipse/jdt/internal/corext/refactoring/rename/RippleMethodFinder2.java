@@ -184,7 +184,23 @@ public class RippleMethodFinder2 {
 	}
 
 	private IMethod[] getAllRippleMethods(IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
-		IMethod[] rippleMethods= findAllRippleMethods(pm, owner);
+		IMethod[] rippleMethods;
+		if (owner == null) {
+			RippleMethodCache cache= RippleMethodCache.getInstance();
+			long generation= cache.getGeneration();
+			String key= getCacheKey();
+			RippleMethodCache.Result cached= cache.getResult(key);
+			if (cached != null) {
+				rippleMethods= cached.fMethods.clone();
+				if (fDeclarationToMatch != null)
+					fDeclarationToMatch.putAll(cached.fBinaryMatches);
+			} else {
+				rippleMethods= findAllRippleMethods(pm, owner);
+				cache.putResult(key, generation, rippleMethods, fDeclarationToMatch);
+			}
+		} else {
+			rippleMethods= findAllRippleMethods(pm, owner);
+		}
 		if (fDeclarationToMatch == null)
 			return rippleMethods;
 
@@ -201,6 +217,12 @@ public class RippleMethodFinder2 {
 		return toArray(filteredMethods);
 	}
 
+	private String getCacheKey() {
+		StringBuilder key= new StringBuilder(fMethod.getHandleIdentifier());
+		key.append('|').append(fExcludeBinaries).append('|').append(fSearchOnlyInCompilationUnit).append('|').append(fBinaryRefs != null);
+		return key.toString();
+	}
+
 	private IMethod[] findAllRippleMethods(IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
 		pm.beginTask("", 4); //$NON-NLS-1$
 
@@ -357,7 +379,7 @@ public class RippleMethodFinder2 {
 
 		for (IType methodTypeSubtype : methodTypeSubtypes) {
 			checkCanceled(pm);
-			ITypeHierarchy subtypeHierarchy= methodTypeSubtype.newTypeHierarchy(owner, pm);
+			ITypeHierarchy subtypeHierarchy= newTypeHierarchy(methodTypeSubtype, owner, pm);
 			IType[] subtypeSuperTypes= subtypeHierarchy.getAllSupertypes(methodTypeSubtype);
 			for (IType subtypeSuperType : subtypeSuperTypes) {
 				checkCanceled(pm);
@@ -403,10 +425,16 @@ public class RippleMethodFinder2 {
 			throws JavaModelException {
 		ITypeHierarchy hierarchy= getCachedHierarchy(type, owner, new SubProgressMonitor(pm, 1));
 		if (hierarchy == null)
-			hierarchy= type.newTypeHierarchy(owner, new SubProgressMonitor(pm, 1));
+			hierarchy= newTypeHierarchy(type, owner, new SubProgressMonitor(pm, 1));
 		return hierarchy;
 	}
 
+	private static ITypeHierarchy newTypeHierarchy(IType type, WorkingCopyOwner owner, IProgressMonitor pm) throws JavaModelException {
+		if (owner == null)
+			return RippleMethodCache.getInstance().getTypeHierarchy(type, pm);
+		return type.newTypeHierarchy(owner, pm);
+	}
+
 	private void addMissedSuperTypes() throws JavaModelException {
 		Set<IMethod> newDeclarations = new HashSet<>();
 		for (IMethod method : fDeclarations) {
@@ -423,7 +451,7 @@ public class RippleMethodFinder2 {
 			for (IType root : fRootReps.get(rep)) {
 				ITypeHierarchy hierarchy= fRootHierarchies.get(root);
 				if (hierarchy == null) {
-					hierarchy= root.newTypeHierarchy(owner, new SubProgressMonitor(monitor, 1));
+					hierarchy= newTypeHierarchy(root, owner, new SubProgressMonitor(monitor, 1));
 					fRootHierarchies.put(root, hierarchy);
 				}
 				if (hierarchy.contains(type))
@@ -480,6 +508,8 @@ public class RippleMethodFinder2 {
 	}
 
 	private static ITypeHierarchy createHierarchyOfTypes(IProgressMonitor pm, WorkingCopyOwner owner, Stream<IType> types) throws JavaModelException {
+		if (owner == null)
+			return RippleMethodCache.getInstance().getRegionHierarchy(types.distinct().toArray(IType[]::new), pm);
 		IRegion region= JavaCore.newRegion();
 		for (Iterator<IType> iter= types.iterator(); iter.hasNext(); ) {
 			IType type= iter.next();
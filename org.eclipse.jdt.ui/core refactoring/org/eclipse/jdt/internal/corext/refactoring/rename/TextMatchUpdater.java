@@ -15,9 +15,13 @@ package org.eclipse.jdt.internal.corext.refactoring.rename;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -61,27 +65,45 @@ class TextMatchUpdater {
 			RefactoringCoreMessages.TextMatchUpdater_textualMatches_name,
 			RefactoringCoreMessages.TextMatchUpdater_textualMatches_description));
 
+	/**
+	 * Number of candidate compilation units whose contents are held in memory and scanned
+	 * concurrently before their matches are merged into the text change manager.
+	 */
+	private static final int SCAN_BATCH_SIZE= 256;
+
 	private final IJavaSearchScope fScope;
 	private final TextChangeManager fManager;
-	private final SearchResultGroup[] fReferences;
+	private final Map<ICompilationUnit, List<SearchResultGroup>> fReferences;
 	private final boolean fOnlyQualified;
 
-	private final RefactoringScanner fScanner;
+	private final RefactoringScanner fPrefilter;
+	private final String fCurrentName;
+	private final String fCurrentQualifier;
 	private final String fNewName;
 	private final int fCurrentNameLength;
 
+	private final List<ICompilationUnit> fCandidates= new ArrayList<>();
+	private final List<char[]> fCandidateContents= new ArrayList<>();
+
 	private TextMatchUpdater(TextChangeManager manager, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, SearchResultGroup[] references, boolean onlyQualified){
 		Assert.isNotNull(manager);
 		Assert.isNotNull(scope);
 		Assert.isNotNull(references);
 		fManager= manager;
 		fScope= scope;
-		fReferences= references;
+		fReferences= new HashMap<>();
+		for (SearchResultGroup group : references) {
+			ICompilationUnit cu= group.getCompilationUnit();
+			if (cu != null)
+				fReferences.computeIfAbsent(cu, k -> new ArrayList<>()).add(group);
+		}
 		fOnlyQualified= onlyQualified;
 
+		fCurrentName= currentName;
+		fCurrentQualifier= currentQualifier;
 		fNewName= newName;
 		fCurrentNameLength= currentName.length();
-		fScanner= new RefactoringScanner(currentName, currentQualifier);
+		fPrefilter= new RefactoringScanner(currentName, currentQualifier);
 	}
 
 	static void perform(IProgressMonitor pm, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, TextChangeManager manager, SearchResultGroup[] references, boolean onlyQualified) throws JavaModelException{
@@ -102,6 +124,7 @@ class TextMatchUpdater {
 					throw new OperationCanceledException();
 				addTextMatches(project, new SubProgressMonitor(pm, 1));
 			}
+			scanCandidates();
 		} finally{
 			pm.done();
 		}
@@ -154,34 +177,61 @@ class TextMatchUpdater {
 	}
 
 	private void addCuTextMatches(ICompilationUnit cu) throws JavaModelException{
-		fScanner.scan(cu);
-		Set<TextMatch> matches= fScanner.getMatches(); //Set of TextMatch
-		if (matches.isEmpty())
+		char[] contents= cu.getBuffer().getCharacters();
+		// cheap textual prefilter: most compilation units cannot contain the name at all
+		if (!fPrefilter.mayContainMatches(contents))
 			return;
 
-		removeReferences(cu, matches);
-		if (!matches.isEmpty())
-			addTextUpdates(cu, matches);
+		fCandidates.add(cu);
+		fCandidateContents.add(contents);
+		if (fCandidates.size() >= SCAN_BATCH_SIZE)
+			scanCandidates();
 	}
 
-	private void removeReferences(ICompilationUnit cu, Set<TextMatch> matches) {
-		for (SearchResultGroup group : fReferences) {
-			if (cu.equals(group.getCompilationUnit())) {
-				removeReferences(matches, group);
-			}
+	/**
+	 * Tokenizes the collected candidates concurrently and merges their matches into the text
+	 * change manager in the order in which the candidates were found.
+	 */
+	private void scanCandidates() {
+		if (fCandidates.isEmpty())
+			return;
+		List<Set<TextMatch>> allMatches= fCandidateContents.parallelStream()
+				.map(contents -> {
+					RefactoringScanner scanner= new RefactoringScanner(fCurrentName, fCurrentQualifier);
+					scanner.scan(contents);
+					return scanner.getMatches();
+				})
+				.collect(Collectors.toList());
+
+		for (int i= 0; i < fCandidates.size(); i++) {
+			Set<TextMatch> matches= allMatches.get(i);
+			if (matches.isEmpty())
+				continue;
+			ICompilationUnit cu= fCandidates.get(i);
+			removeReferences(cu, matches);
+			if (!matches.isEmpty())
+				addTextUpdates(cu, matches);
 		}
+		fCandidates.clear();
+		fCandidateContents.clear();
 	}
 
-	private void removeReferences(Set<TextMatch> matches, SearchResultGroup group) {
-		for (SearchMatch searchResult : group.getSearchResults()) {
-			//int start= searchResults[r].getStart(); // doesn't work for pack.ReferencedType
-			int unqualifiedStart= searchResult.getOffset() + searchResult.getLength() - fCurrentNameLength;
-			for (Iterator<TextMatch> iter= matches.iterator(); iter.hasNext();) {
-				TextMatch element= iter.next();
-				if (element.getStartPosition() == unqualifiedStart)
-					iter.remove();
+	private void removeReferences(ICompilationUnit cu, Set<TextMatch> matches) {
+		List<SearchResultGroup> groups= fReferences.get(cu);
+		if (groups == null)
+			return;
+		Set<Integer> referenceStarts= new HashSet<>();
+		for (SearchResultGroup group : groups) {
+			for (SearchMatch searchResult : group.getSearchResults()) {
+				//int start= searchResults[r].getStart(); // doesn't work for pack.ReferencedType
+				referenceStarts.add(Integer.valueOf(searchResult.getOffset() + searchResult.getLength() - fCurrentNameLength));
 			}
 		}
+		for (Iterator<TextMatch> iter= matches.iterator(); iter.hasNext();) {
+			TextMatch element= iter.next();
+			if (referenceStarts.contains(Integer.valueOf(element.getStartPosition())))
+				iter.remove();
+		}
 	}
 
 	private void addTextUpdates(ICompilationUnit cu, Set<TextMatch> matches) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -97,6 +97,7 @@ public class MoveCuUpdateCreator {
 		pm.beginTask("", 5); //$NON-NLS-1$
 		try{
 			TextChangeManager changeManager= new TextChangeManager();
+			changeManager.setStreaming(true);
 			addUpdates(changeManager, new SubProgressMonitor(pm, 4), status);
 			addImportRewriteUpdates(changeManager);
 			return changeManager;
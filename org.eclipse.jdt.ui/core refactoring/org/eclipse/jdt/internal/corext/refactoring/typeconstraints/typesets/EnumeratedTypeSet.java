@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.NoSuchElementException;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -24,8 +25,15 @@ import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints2.TTypes;
 
 /**
- * A type-safe wrapper for {@code Set<TType>} that also adds {@code TType}-specific
+ * A set of {@code TType}s that also adds {@code TType}-specific
  * functionality, e.g. subTypes() and superTypes().
+ * <p>
+ * Members are stored as a bit set over the dense type numbering of the
+ * {@link TypeSetEnvironment}, so that intersections, unions and subset tests
+ * work word-wise instead of hashing every member. The set iterates over its
+ * members in insertion order, like the <code>LinkedHashSet</code> it replaces,
+ * because the constraint solver picks the first suitable member of an estimate.
+ * </p>
  */
 public class EnumeratedTypeSet extends TypeSet {
 	static private int sCount= 0;
@@ -39,9 +47,18 @@ public class EnumeratedTypeSet extends TypeSet {
 	}
 
 	/**
-	 * Set containing the TTypes in this EnumeratedTypeSet.
+	 * Ids of the TTypes in this EnumeratedTypeSet, see {@link TypeSetEnvironment#getTypeId(TType)}.
 	 */
-	Set<TType> fMembers= new LinkedHashSet<>();
+	BitSet fMembers= new BitSet();
+
+	/**
+	 * Ids of the members in insertion order, in <code>fOrder[0..fOrderSize)</code>. If
+	 * {@link #fOrderStale} is set, the array may still hold ids of removed members, see
+	 * {@link #compactOrder()}.
+	 */
+	private int[] fOrder= new int[4];
+	private int fOrderSize= 0;
+	private boolean fOrderStale= false;
 
 	/**
 	 * Constructs a new EnumeratedTypeSet with the members of Set s in it.
@@ -53,7 +70,7 @@ public class EnumeratedTypeSet extends TypeSet {
 	public EnumeratedTypeSet(Iterator<TType> types, TypeSetEnvironment typeSetEnvironment) {
 		super(typeSetEnvironment);
 		while (types.hasNext()) {
-			fMembers.add(types.next());
+			add(types.next());
 		}
 		sCount++;
 	}
@@ -77,7 +94,7 @@ public class EnumeratedTypeSet extends TypeSet {
 	public EnumeratedTypeSet(TType t, TypeSetEnvironment typeSetEnvironment) {
 		super(typeSetEnvironment);
 		Assert.isNotNull(t);
-		fMembers.add(t);
+		add(t);
 		sCount++;
 	}
 
@@ -99,16 +116,16 @@ public class EnumeratedTypeSet extends TypeSet {
 		} else if (o instanceof SingletonTypeSet) {
 			SingletonTypeSet other= (SingletonTypeSet) o;
 
-			return (fMembers.size() == 1) && fMembers.contains(other.anyMember());
+			return (size() == 1) && contains(other.anyMember());
 		} else if (o instanceof TypeSet) {
 			TypeSet other= (TypeSet) o;
 
 			for(Iterator<TType> otherIter= other.iterator(); otherIter.hasNext(); ) {
-				if (!fMembers.contains(otherIter.next()))
+				if (!contains(otherIter.next()))
 					return false;
 			}
-			for (TType tType : fMembers) {
-				if (!other.contains(tType))
+			for (Iterator<TType> iter= iterator(); iter.hasNext(); ) {
+				if (!other.contains(iter.next()))
 					return false;
 			}
 			return true;
@@ -131,9 +148,9 @@ public class EnumeratedTypeSet extends TypeSet {
 		if (s2 instanceof EnumeratedTypeSet) {
 			EnumeratedTypeSet result= new EnumeratedTypeSet(getTypeSetEnvironment());
 
-			result.addAll(this); // copy first since retainAll() modifies in-place
+			result.copyMembers(this); // copy first since retainAll() modifies in-place
 			result.retainAll(s2);
-			if (result.size() > 0)
+			if (!result.fMembers.isEmpty())
 				return result;
 			else
 				return getTypeSetEnvironment().getEmptyTypeSet();
@@ -152,8 +169,7 @@ public class EnumeratedTypeSet extends TypeSet {
 			// More than an optimization: the universe never contains array types, so
 			// if s2 has array types, the following will retain them, as it should.
 			EnumeratedTypeSet ets2= (EnumeratedTypeSet) s2;
-			fMembers= new LinkedHashSet<>();
-			fMembers.addAll(ets2.fMembers);
+			copyMembers(ets2);
 		} else
 			retainAll(s2);
 	}
@@ -167,7 +183,7 @@ public class EnumeratedTypeSet extends TypeSet {
 		if (isUniverse())
 			return makeClone(); // subtypes(universe) = universe
 
-		if (fMembers.contains(getJavaLangObject()))
+		if (contains(getJavaLangObject()))
 			return getTypeSetEnvironment().getUniverseTypeSet();
 
 		return getTypeSetEnvironment().createSubTypesSet(this);
@@ -200,20 +216,22 @@ public class EnumeratedTypeSet extends TypeSet {
 	public TypeSet makeClone() {
 		EnumeratedTypeSet result= new EnumeratedTypeSet(getTypeSetEnvironment());
 
-		result.fMembers.addAll(fMembers);
+		result.copyMembers(this);
 		result.initComplete();
 		return result;
 	}
 
 	public int size() {
-		return fMembers.size();
+		return fMembers.cardinality();
 	}
 
 	public void clear() {
 		if (isUniverse())
-			fMembers= new LinkedHashSet<>();
+			fMembers= new BitSet();
 		else
 			fMembers.clear();
+		fOrderSize= 0;
+		fOrderStale= false;
 	}
 
 	@Override
@@ -222,42 +240,63 @@ public class EnumeratedTypeSet extends TypeSet {
 	}
 
 	public TType[] toArray() {
-		return fMembers.toArray(new TType[fMembers.size()]);
+		compactOrder();
+		TType[] result= new TType[fOrderSize];
+		for (int i= 0; i < fOrderSize; i++) {
+			result[i]= getTypeSetEnvironment().getType(fOrder[i]);
+		}
+		return result;
 	}
 
 	public boolean add(TType t) {
 		// Doesn't make sense to do here what other methods do (copy-and-modify)
 		Assert.isTrue(!isUniverse(), "Someone's trying to expand the universe!"); //$NON-NLS-1$
-		return fMembers.add(t);
+		int id= getTypeSetEnvironment().getTypeId(t);
+		if (fMembers.get(id))
+			return false;
+		compactOrder();
+		fMembers.set(id);
+		appendToOrder(id);
+		return true;
 	}
 
 	@Override
 	public boolean contains(TType t) {
 		if (isUniverse())
 			return true;
-		return fMembers.contains(t);
+		int id= getTypeSetEnvironment().findTypeId(t);
+		return id >= 0 && fMembers.get(id);
 	}
 
 	public boolean remove(TType t) {
 		if (isUniverse())
-			fMembers= cloneSet(fMembers);
-		return fMembers.remove(t);
-	}
-
-	private Set<TType> cloneSet(Set<TType> members) {
-		return new LinkedHashSet<>(members);
+			fMembers= (BitSet) fMembers.clone();
+		int id= getTypeSetEnvironment().findTypeId(t);
+		if (id < 0 || !fMembers.get(id))
+			return false;
+		fMembers.clear(id);
+		fOrderStale= true;
+		return true;
 	}
 
 	public boolean addAll(TypeSet s) {
-		if (s instanceof EnumeratedTypeSet) {
-			EnumeratedTypeSet ets= (EnumeratedTypeSet) s;
-
-			return fMembers.addAll(ets.fMembers);
-		} else {
-			EnumeratedTypeSet ets= s.enumerate();
-
-			return fMembers.addAll(ets.fMembers);
+		EnumeratedTypeSet ets= s instanceof EnumeratedTypeSet ? (EnumeratedTypeSet) s : s.enumerate();
+		if (fMembers.isEmpty()) {
+			copyMembers(ets);
+			return !fMembers.isEmpty();
 		}
+		compactOrder();
+		ets.compactOrder();
+		boolean changed= false;
+		for (int i= 0; i < ets.fOrderSize; i++) {
+			int id= ets.fOrder[i];
+			if (!fMembers.get(id)) {
+				fMembers.set(id);
+				appendToOrder(id);
+				changed= true;
+			}
+		}
+		return changed;
 	}
 
 	@Override
@@ -278,13 +317,18 @@ public class EnumeratedTypeSet extends TypeSet {
 			return false;
 		EnumeratedTypeSet ets= s.enumerate();
 
-		return fMembers.containsAll(ets.fMembers);
+		BitSet missing= (BitSet) ets.fMembers.clone();
+		missing.andNot(fMembers);
+		return missing.isEmpty();
 	}
 
 	public boolean removeAll(EnumeratedTypeSet s) {
 		if (isUniverse())
-			fMembers= cloneSet(fMembers);
-		return fMembers.removeAll(s.fMembers);
+			fMembers= (BitSet) fMembers.clone();
+		boolean changed= fMembers.intersects(s.fMembers);
+		fMembers.andNot(s.fMembers);
+		fOrderStale|= changed;
+		return changed;
 	}
 
 	public boolean retainAll(TypeSet s) {
@@ -293,43 +337,52 @@ public class EnumeratedTypeSet extends TypeSet {
 		EnumeratedTypeSet ets= (EnumeratedTypeSet) s;
 
 		if (isUniverse()) {
-			fMembers= cloneSet(ets.fMembers);
+			copyMembers(ets);
 			return true;
-		} else
-			return fMembers.retainAll(ets.fMembers);
+		} else {
+			int oldSize= size();
+			fMembers.and(ets.fMembers);
+			boolean changed= size() != oldSize;
+			fOrderStale|= changed;
+			return changed;
+		}
 	}
 
 	@Override
 	public boolean isSingleton() {
-		return fMembers.size() == 1;
+		return size() == 1;
 	}
 
 	@Override
 	public TType anyMember() {
-		return fMembers.iterator().next();
+		compactOrder();
+		if (fOrderSize == 0)
+			throw new NoSuchElementException();
+		return getTypeSetEnvironment().getType(fOrder[0]);
 	}
 
 	@Override
 	public TypeSet upperBound() {
-		if (fMembers.size() == 1)
-			return new SingletonTypeSet(fMembers.iterator().next(), getTypeSetEnvironment());
-		if (fMembers.contains(getJavaLangObject()))
+		if (size() == 1)
+			return new SingletonTypeSet(anyMember(), getTypeSetEnvironment());
+		if (contains(getJavaLangObject()))
 			return new SingletonTypeSet(getJavaLangObject(), getTypeSetEnvironment());
 
 		EnumeratedTypeSet result= new EnumeratedTypeSet(getTypeSetEnvironment());
 
 		// Add to result each element of fMembers that has no proper supertype in fMembers
-		result.fMembers.addAll(fMembers);
-		for (TType t : fMembers) {
+		result.copyMembers(this);
+		for (Iterator<TType> iter= iterator(); iter.hasNext(); ) {
+			TType t= iter.next();
 			if (t.isArrayType()) {
 				ArrayType at= (ArrayType) t;
 				int numDims= at.getDimensions();
 				for(Iterator<TType> subIter=TTypes.getAllSubTypesIterator(at.getElementType()); subIter.hasNext(); ) {
-					result.fMembers.remove(TTypes.createArrayType(subIter.next(), numDims));
+					result.remove(TTypes.createArrayType(subIter.next(), numDims));
 				}
 			} else {
 				for (Iterator<TType> iterator= TTypes.getAllSubTypesIterator(t); iterator.hasNext();) {
-					result.fMembers.remove(iterator.next());
+					result.remove(iterator.next());
 				}
 			}
 		}
@@ -339,19 +392,20 @@ public class EnumeratedTypeSet extends TypeSet {
 
 	@Override
 	public TypeSet lowerBound() {
-		if (fMembers.size() == 1)
-			return new SingletonTypeSet(fMembers.iterator().next(), getTypeSetEnvironment());
+		if (size() == 1)
+			return new SingletonTypeSet(anyMember(), getTypeSetEnvironment());
 
 		EnumeratedTypeSet result= new EnumeratedTypeSet(getTypeSetEnvironment());
 
 		// Add to result each element of fMembers that has no proper subtype in fMembers
-		result.fMembers.addAll(fMembers);
+		result.copyMembers(this);
 
-		for (TType t : fMembers) {
+		for (Iterator<TType> iter= iterator(); iter.hasNext(); ) {
+			TType t= iter.next();
 			// java.lang.Object is only in the lower bound if fMembers consists
 			// of only java.lang.Object, but that case is handled above.
 			if (t.equals(getJavaLangObject())) {
-				result.fMembers.remove(t);
+				result.remove(t);
 				continue;
 			}
 
@@ -359,11 +413,11 @@ public class EnumeratedTypeSet extends TypeSet {
 				ArrayType at= (ArrayType) t;
 				int numDims= at.getDimensions();
 				for(Iterator<TType> superIter=TTypes.getAllSuperTypesIterator(at.getElementType()); superIter.hasNext(); ) {
-					result.fMembers.remove(TTypes.createArrayType(superIter.next(), numDims));
+					result.remove(TTypes.createArrayType(superIter.next(), numDims));
 				}
 			} else {
 				for (Iterator<TType> iterator= TTypes.getAllSuperTypesIterator(t); iterator.hasNext();) {
-					result.fMembers.remove(iterator.next());
+					result.remove(iterator.next());
 				}
 			}
 		}
@@ -375,31 +429,83 @@ public class EnumeratedTypeSet extends TypeSet {
 
 	@Override
 	public boolean hasUniqueLowerBound() {
-		return fMembers.size() == 1;
+		return size() == 1;
 	}
 
 	@Override
 	public boolean hasUniqueUpperBound() {
-		return fMembers.size() == 1;
+		return size() == 1;
 	}
 
 	@Override
 	public TType uniqueLowerBound() {
-		if (fMembers.size() == 1)
-			return fMembers.iterator().next();
+		if (size() == 1)
+			return anyMember();
 		return null;
 	}
 
 	@Override
 	public TType uniqueUpperBound() {
-		if (fMembers.size() == 1)
-			return fMembers.iterator().next();
+		if (size() == 1)
+			return anyMember();
 		return null;
 	}
 
 	@Override
 	public Iterator<TType> iterator() {
-		return fMembers.iterator();
+		compactOrder();
+		final int[] order= fOrder;
+		final int size= fOrderSize;
+		return new Iterator<TType>() {
+			private int fNext= 0;
+
+			@Override
+			public boolean hasNext() {
+				return fNext < size;
+			}
+
+			@Override
+			public TType next() {
+				if (fNext >= size)
+					throw new NoSuchElementException();
+				return getTypeSetEnvironment().getType(order[fNext++]);
+			}
+		};
+	}
+
+	/**
+	 * Makes the receiver, which must be empty, hold the members of the given set in the same order.
+	 *
+	 * @param other the set to copy
+	 */
+	private void copyMembers(EnumeratedTypeSet other) {
+		other.compactOrder();
+		fMembers= (BitSet) other.fMembers.clone();
+		fOrder= Arrays.copyOf(other.fOrder, Math.max(other.fOrderSize, 4));
+		fOrderSize= other.fOrderSize;
+		fOrderStale= false;
+	}
+
+	private void appendToOrder(int id) {
+		if (fOrderSize == fOrder.length)
+			fOrder= Arrays.copyOf(fOrder, fOrderSize * 2);
+		fOrder[fOrderSize++]= id;
+	}
+
+	/**
+	 * Drops the ids of removed members from {@link #fOrder}, keeping the order of the others.
+	 */
+	private void compactOrder() {
+		if (!fOrderStale)
+			return;
+		int j= 0;
+		for (int i= 0; i < fOrderSize; i++) {
+			int id= fOrder[i];
+			if (fMembers.get(id))
+				fOrder[j++]= id;
+		}
+		fOrderSize= j;
+		fOrderStale= false;
 	}
 
 	/**
@@ -14,7 +14,10 @@
 
 package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
@@ -33,6 +36,12 @@ public class TypeSetEnvironment {
 	private final Map<TType, SuperTypesOfSingleton> fSuperTypesOfSingletons= new LinkedHashMap<>();//@perf
 	private final Map<Object, SuperTypesSet> fSuperTypesSets= new LinkedHashMap<>();//@perf
 
+	/**
+	 * Dense numbering of the types that occur in {@link EnumeratedTypeSet}s of this environment.
+	 */
+	private final Map<TType, Integer> fTypeIds= new HashMap<>();
+	private final List<TType> fTypes= new ArrayList<>();
+
 	private int fgCommonExprHits= 0;
 	private int fgCommonExprMisses= 0;
 
@@ -54,6 +63,35 @@ public class TypeSetEnvironment {
 		return fEmptyTypeSet;
 	}
 
+	/**
+	 * Returns the id of the given type, assigning the next free one if the type has none yet.
+	 *
+	 * @param type the type
+	 * @return the id of the type, a small non-negative integer
+	 */
+	int getTypeId(TType type) {
+		Integer id= fTypeIds.get(type);
+		if (id == null) {
+			id= Integer.valueOf(fTypes.size());
+			fTypeIds.put(type, id);
+			fTypes.add(type);
+		}
+		return id.intValue();
+	}
+
+	/**
+	 * @param type the type
+	 * @return the id of the type, or <code>-1</code> if no id has been assigned to it yet
+	 */
+	int findTypeId(TType type) {
+		Integer id= fTypeIds.get(type);
+		return id == null ? -1 : id.intValue();
+	}
+
+	TType getType(int id) {
+		return fTypes.get(id);
+	}
+
 	public SubTypesOfSingleton createSubTypesOfSingleton(TType superType) {
 		if (superType.isJavaLangObject())
 			return this.getUniverseTypeSet();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -48,6 +49,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.util.PatternConstructor;
 
 public class QualifiedNameFinder {
@@ -144,17 +146,31 @@ public class QualifiedNameFinder {
 		TextSearchEngine engine= TextSearchEngine.create();
 		Pattern searchPattern= PatternConstructor.createPattern(pattern, true, false);
 
-		engine.search(createScope(filePatterns, root), collector, searchPattern, monitor);
+		IResource[] roots= getRoots(root);
+		Pattern filePattern= getFilePattern(filePatterns);
+		monitor.beginTask("", 10); //$NON-NLS-1$
+		try {
+			IFile[] candidates= null;
+			try {
+				candidates= QualifiedNameIndex.getInstance().findCandidates(roots, filePattern, pattern, new SubProgressMonitor(monitor, 3));
+			} catch (CoreException e) {
+				JavaPlugin.log(e);
+			}
+			if (candidates == null) {
+				engine.search(TextSearchScope.newSearchScope(roots, filePattern, false), collector, searchPattern, new SubProgressMonitor(monitor, 7));
+			} else if (candidates.length > 0) {
+				engine.search(TextSearchScope.newSearchScope(candidates, filePattern, false), collector, searchPattern, new SubProgressMonitor(monitor, 7));
+			}
+		} finally {
+			monitor.done();
+		}
 	}
 
-	private static TextSearchScope createScope(String filePatterns, IProject root) {
+	private static IResource[] getRoots(IProject root) {
 		HashSet<IProject> res= new HashSet<>();
 		res.add(root);
 		addReferencingProjects(root, res);
-		IResource[] resArr= res.toArray(new IResource[res.size()]);
-		Pattern filePattern= getFilePattern(filePatterns);
-
-		return TextSearchScope.newSearchScope(resArr, filePattern, false);
+		return res.toArray(new IResource[res.size()]);
 	}
 
 	private static Pattern getFilePattern(String filePatterns) {
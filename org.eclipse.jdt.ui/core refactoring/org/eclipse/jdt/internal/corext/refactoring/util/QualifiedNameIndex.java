@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Index of the dotted names that occur in the non-Java text files of the workspace.
+ * <p>
+ * {@link QualifiedNameFinder} asks the index for the files that can contain a qualified
+ * name before running its regular expression search, so that only those files are searched.
+ * For every file the index keeps the sorted set of maximal runs of Java identifier characters
+ * and dots. A file can only contain an occurrence of a qualified name that the finder accepts
+ * if one of its runs starts with the name.
+ * </p>
+ * <p>
+ * Files are indexed lazily when they are first queried. Resource deltas drop the entries of
+ * changed and removed files, and the modification stamp of each entry is checked on every
+ * query. Files with unsaved changes in a file buffer are always candidates.
+ * </p>
+ */
+public final class QualifiedNameIndex implements IResourceChangeListener {
+
+	private static QualifiedNameIndex fgInstance;
+
+	public static synchronized QualifiedNameIndex getInstance() {
+		if (fgInstance == null)
+			fgInstance= new QualifiedNameIndex();
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgInstance);
+		fgInstance.fEntries.clear();
+		fgInstance= null;
+	}
+
+	private static final class Entry {
+		final long fModificationStamp;
+		/** The sorted dotted names of the file */
+		final String[] fNames;
+
+		Entry(long modificationStamp, String[] names) {
+			fModificationStamp= modificationStamp;
+			fNames= names;
+		}
+
+		boolean contains(String qualifiedName) {
+			int index= Arrays.binarySearch(fNames, qualifiedName);
+			if (index >= 0)
+				return true;
+			// all names that start with the qualified name follow it in sort order
+			for (int i= -index - 1; i < fNames.length && fNames[i].startsWith(qualifiedName); i++) {
+				if (fNames[i].charAt(qualifiedName.length()) == '.')
+					return true;
+			}
+			return false;
+		}
+	}
+
+	private final Map<IFile, Entry> fEntries= new ConcurrentHashMap<>();
+
+	private final AtomicLong fFilesIndexed= new AtomicLong();
+	private final AtomicLong fFilesReused= new AtomicLong();
+
+	private QualifiedNameIndex() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getType() != IResourceChangeEvent.POST_CHANGE) {
+			IResource project= event.getResource();
+			if (project != null)
+				removeEntries((IProject) project);
+			return;
+		}
+		IResourceDelta delta= event.getDelta();
+		if (delta == null)
+			return;
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				if (resource.getType() == IResource.FILE) {
+					if (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0)
+						fEntries.remove(resource);
+					return false;
+				}
+				if (resource.getType() == IResource.PROJECT && (child.getFlags() & IResourceDelta.OPEN) != 0) {
+					removeEntries((IProject) resource);
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+			fEntries.clear();
+		}
+	}
+
+	private void removeEntries(IProject project) {
+		for (Iterator<IFile> iterator= fEntries.keySet().iterator(); iterator.hasNext();) {
+			if (project.equals(iterator.next().getProject()))
+				iterator.remove();
+		}
+	}
+
+	/**
+	 * Returns the files that can contain the given qualified name.
+	 *
+	 * @param roots the resources to search
+	 * @param fileNamePattern the pattern the names of the searched files have to match
+	 * @param qualifiedName the qualified name
+	 * @param monitor the progress monitor
+	 * @return the candidate files, or <code>null</code> if the name cannot be looked up in the
+	 *         index, e.g. because it contains wildcards
+	 * @throws CoreException if the files could not be visited
+	 */
+	public IFile[] findCandidates(IResource[] roots, Pattern fileNamePattern, String qualifiedName, IProgressMonitor monitor) throws CoreException {
+		if (!isIndexable(qualifiedName))
+			return null;
+		List<IFile> files= new ArrayList<>();
+		for (IResource root : roots) {
+			if (!root.isAccessible())
+				continue;
+			root.accept((IResourceProxy proxy) -> {
+				if (proxy.isDerived())
+					return false;
+				if (proxy.getType() == IResource.FILE) {
+					if (fileNamePattern.matcher(proxy.getName()).matches())
+						files.add((IFile) proxy.requestResource());
+					return false;
+				}
+				return true;
+			}, IResource.NONE);
+		}
+		monitor.beginTask("", files.size()); //$NON-NLS-1$
+		try {
+			ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+			List<IFile> result= new ArrayList<>();
+			for (IFile file : files) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				ITextFileBuffer buffer= manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+				if (buffer != null && buffer.isDirty()) {
+					result.add(file);
+				} else {
+					Entry entry= getEntry(file, manager);
+					if (entry != null && entry.contains(qualifiedName))
+						result.add(file);
+				}
+				monitor.worked(1);
+			}
+			return result.toArray(new IFile[result.size()]);
+		} finally {
+			monitor.done();
+		}
+	}
+
+	private static boolean isIndexable(String qualifiedName) {
+		if (qualifiedName.isEmpty())
+			return false;
+		for (int i= 0; i < qualifiedName.length(); i++) {
+			char ch= qualifiedName.charAt(i);
+			if (ch != '.' && !Character.isJavaIdentifierPart(ch))
+				return false;
+		}
+		return true;
+	}
+
+	private Entry getEntry(IFile file, ITextFileBufferManager manager) throws CoreException {
+		long stamp= file.getModificationStamp();
+		Entry entry= fEntries.get(file);
+		if (entry != null && entry.fModificationStamp == stamp) {
+			fFilesReused.incrementAndGet();
+			return entry;
+		}
+		// the finder only searches text files
+		if (!manager.isTextFileLocation(file.getFullPath(), false))
+			return null;
+		try (Reader reader= new BufferedReader(new InputStreamReader(file.getContents(true), file.getCharset()))) {
+			entry= new Entry(stamp, tokenize(reader));
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), e.getMessage(), e));
+		}
+		fEntries.put(file, entry);
+		fFilesIndexed.incrementAndGet();
+		return entry;
+	}
+
+	/*
+	 * Returns the sorted maximal runs of Java identifier characters and dots.
+	 */
+	static String[] tokenize(Reader reader) throws IOException {
+		Set<String> names= new HashSet<>();
+		StringBuilder name= new StringBuilder();
+		int ch;
+		while ((ch= reader.read()) != -1) {
+			if (ch == '.' || Character.isJavaIdentifierPart((char) ch)) {
+				name.append((char) ch);
+			} else if (name.length() > 0) {
+				names.add(name.toString());
+				name.setLength(0);
+			}
+		}
+		if (name.length() > 0)
+			names.add(name.toString());
+		String[] result= names.toArray(new String[names.size()]);
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * @return the number of files that have been read to build index entries
+	 */
+	public long getFilesIndexed() {
+		return fFilesIndexed.get();
+	}
+
+	/**
+	 * @return the number of queries answered from existing index entries
+	 */
+	public long getFilesReused() {
+		return fFilesReused.get();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,7 @@ import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.ui.refactoring.RefactoringUI;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.refactoring.RefactoringSaveHelper;
@@ -58,6 +59,10 @@ import org.eclipse.jdt.internal.ui.actions.WorkbenchRunnableAdapter;
  */
 public class RefactoringExecutionHelper {
 
+	private static final Instrumentation.Timer CHECK_CONDITIONS= Instrumentation.getTimer(Instrumentation.REFACTORING_CHECK_CONDITIONS);
+	private static final Instrumentation.Timer CREATE_CHANGE= Instrumentation.getTimer(Instrumentation.REFACTORING_CREATE_CHANGE);
+	private static final Instrumentation.Timer PERFORM_CHANGE= Instrumentation.getTimer(Instrumentation.REFACTORING_PERFORM_CHANGE);
+
 	private final Refactoring fRefactoring;
 	private final Shell fParent;
 	private final IRunnableContext fExecContext;
@@ -81,7 +86,10 @@ public class RefactoringExecutionHelper {
 				pm.beginTask("", fForked && !fForkChangeExecution ? 7 : 11); //$NON-NLS-1$
 				pm.subTask(""); //$NON-NLS-1$
 
-				final RefactoringStatus status= fRefactoring.checkAllConditions(new SubProgressMonitor(pm, 4, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
+				final RefactoringStatus status;
+				try (Instrumentation.Scope scope= CHECK_CONDITIONS.start()) {
+					status= fRefactoring.checkAllConditions(new SubProgressMonitor(pm, 4, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
+				}
 				if (status.getSeverity() >= fStopSeverity) {
 					final boolean[] canceled= { false };
 					if (fForked) {
@@ -94,16 +102,21 @@ public class RefactoringExecutionHelper {
 					}
 				}
 
-				fChange= fRefactoring.createChange(new SubProgressMonitor(pm, 2, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
-				fChange.initializeValidationData(new SubProgressMonitor(pm, 1, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
+				try (Instrumentation.Scope scope= CREATE_CHANGE.start()) {
+					fChange= fRefactoring.createChange(new SubProgressMonitor(pm, 2, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
+					fChange.initializeValidationData(new SubProgressMonitor(pm, 1, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
+				}
 
 				fPerformChangeOperation= new PerformChangeOperation(fChange);//RefactoringUI.createUIAwareChangeOperation(fChange);
 				fPerformChangeOperation.setUndoManager(RefactoringCore.getUndoManager(), fRefactoring.getName());
 				if (fRefactoring instanceof IScheduledRefactoring)
 					fPerformChangeOperation.setSchedulingRule(((IScheduledRefactoring)fRefactoring).getSchedulingRule());
 
-				if (!fForked || fForkChangeExecution)
-					fPerformChangeOperation.run(new SubProgressMonitor(pm, 4, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
+				if (!fForked || fForkChangeExecution) {
+					try (Instrumentation.Scope scope= PERFORM_CHANGE.start()) {
+						fPerformChangeOperation.run(new SubProgressMonitor(pm, 4, SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
+					}
+				}
 			} finally {
 				pm.done();
 			}
@@ -185,8 +198,11 @@ public class RefactoringExecutionHelper {
 			fRefactoring.setValidationContext(fParent);
 			try{
 				fExecContext.run(fork, cancelable, new WorkbenchRunnableAdapter(op, rule, true));
-				if (fork && !forkChangeExecution && op.fPerformChangeOperation != null)
-					fExecContext.run(false, false, new WorkbenchRunnableAdapter(op.fPerformChangeOperation, rule, true));
+				if (fork && !forkChangeExecution && op.fPerformChangeOperation != null) {
+					try (Instrumentation.Scope scope= PERFORM_CHANGE.start()) {
+						fExecContext.run(false, false, new WorkbenchRunnableAdapter(op.fPerformChangeOperation, rule, true));
+					}
+				}
 
 				if (op.fPerformChangeOperation != null) {
 					RefactoringStatus validationStatus= op.fPerformChangeOperation.getValidationStatus();
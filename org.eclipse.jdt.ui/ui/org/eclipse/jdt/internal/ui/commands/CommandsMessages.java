@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Google, Inc. and others.
+ * Copyright (c) 2016, 2026 Google, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,9 @@ import org.eclipse.osgi.util.NLS;
 final class CommandsMessages extends NLS {
 
 	public static String RebuildIndexHandler_jobName;
+	public static String ExportInstrumentationHandler_title;
+	public static String ExportInstrumentationHandler_disabled;
+	public static String ExportInstrumentationHandler_error;
 
 	static {
 		// Initialize resource bundle
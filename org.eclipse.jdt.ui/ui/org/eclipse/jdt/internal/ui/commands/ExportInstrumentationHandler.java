@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.commands;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+
+import org.eclipse.jface.dialogs.MessageDialog;
+
+import org.eclipse.ui.handlers.HandlerUtil;
+
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+/**
+ * Handler for the Export Java Tooling Timings command, which writes the timers and counters of
+ * the {@link Instrumentation} to a file.
+ *
+ * @since 3.27
+ */
+public class ExportInstrumentationHandler extends AbstractHandler {
+
+	private static final String FILE_NAME= "jdt-timings.txt"; //$NON-NLS-1$
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		Shell shell= HandlerUtil.getActiveShell(event);
+		String dump= Instrumentation.dump();
+		if (dump.isEmpty()) {
+			MessageDialog.openInformation(shell, CommandsMessages.ExportInstrumentationHandler_title, CommandsMessages.ExportInstrumentationHandler_disabled);
+			return null;
+		}
+
+		FileDialog dialog= new FileDialog(shell, SWT.SAVE);
+		dialog.setText(CommandsMessages.ExportInstrumentationHandler_title);
+		dialog.setFileName(FILE_NAME);
+		dialog.setOverwrite(true);
+		String path= dialog.open();
+		if (path == null)
+			return null;
+
+		try {
+			Files.write(Paths.get(path), dump.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new ExecutionException(Messages.format(CommandsMessages.ExportInstrumentationHandler_error, path), e);
+		}
+		return null;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ public final class CompareMessages extends NLS {
 	public static String JavaReplaceWithEditionActionImpl_0;
 	public static String PropertiesFileMergeViewer_title;
 	public static String JavaStructureViewer_title;
+	public static String JavaStructureCreator_prebuild_job;
 	public static String JavaNode_compilationUnit;
 	public static String JavaNode_importDeclarations;
 	public static String JavaNode_initializer;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -116,6 +116,7 @@ class JavaReplaceWithEditionActionImpl extends JavaHistoryActionImpl {
 				ExceptionHandler.handle(e, shell, errorTitle, errorMessage);
 			}
 		} else {
+			JavaStructureCreator.prebuildStructures(file);
 			JavaElementHistoryPageSource pageSource = JavaElementHistoryPageSource.getInstance();
 			CompareConfiguration cc = new CompareConfiguration();
 			cc.setLeftEditable(false);
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.compare;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Cache of the Java structures computed by {@link JavaStructureCreator}, keyed by the source
+ * and by the compiler options that affect parsing.
+ * <p>
+ * The {@link JavaNode} trees are bound to the document of their input, so the cache keeps a
+ * flat recording of each tree, from which the tree is rebuilt for another document with the
+ * same contents without parsing it again. Comparing many local history editions of a file thus
+ * parses every edition only once. The least recently used structures are evicted when the cache
+ * grows beyond {@link #MAX_ENTRIES} structures or {@link #MAX_CHARACTERS} source characters.
+ * </p>
+ */
+final class JavaStructureCache {
+
+	private static final int MAX_ENTRIES= 200;
+
+	private static final int MAX_CHARACTERS= 8 * 1024 * 1024;
+
+	/**
+	 * The recorded nodes of a structure in pre-order, without the root node.
+	 */
+	static final class Structure {
+
+		private final int[] fParents;
+		private final int[] fTypes;
+		private final String[] fNames;
+		private final int[] fStarts;
+		private final int[] fLengths;
+		private final int[] fAppendPositions;
+
+		private Structure(int size) {
+			fParents= new int[size];
+			fTypes= new int[size];
+			fNames= new String[size];
+			fStarts= new int[size];
+			fLengths= new int[size];
+			fAppendPositions= new int[size];
+		}
+
+		/**
+		 * Records the descendants of a freshly built root node.
+		 *
+		 * @param root the root node
+		 * @return the recorded structure
+		 */
+		static Structure record(JavaNode root) {
+			List<JavaNode> nodes= new ArrayList<>();
+			List<Integer> parents= new ArrayList<>();
+			collect(root, -1, nodes, parents);
+			Structure structure= new Structure(nodes.size());
+			for (int i= 0; i < nodes.size(); i++) {
+				JavaNode node= nodes.get(i);
+				String id= node.getId();
+				Position range= node.getRange();
+				Position appendPosition= node.getAppendPosition();
+				structure.fParents[i]= parents.get(i).intValue();
+				structure.fTypes[i]= node.getTypeCode();
+				// all ids are the type character followed by the name, if any
+				structure.fNames[i]= id.length() > 1 ? id.substring(1) : null;
+				structure.fStarts[i]= range.getOffset();
+				structure.fLengths[i]= range.getLength();
+				structure.fAppendPositions[i]= appendPosition != null ? appendPosition.getOffset() : -1;
+			}
+			return structure;
+		}
+
+		private static void collect(JavaNode parent, int parentIndex, List<JavaNode> nodes, List<Integer> parents) {
+			Object[] children= parent.getChildren();
+			if (children == null)
+				return;
+			for (Object child : children) {
+				int index= nodes.size();
+				nodes.add((JavaNode) child);
+				parents.add(Integer.valueOf(parentIndex));
+				collect((JavaNode) child, index, nodes, parents);
+			}
+		}
+
+		/**
+		 * Rebuilds the recorded nodes below the given root.
+		 *
+		 * @param root the root node, whose document has the recorded contents
+		 */
+		void replay(JavaNode root) {
+			JavaNode[] nodes= new JavaNode[fTypes.length];
+			for (int i= 0; i < nodes.length; i++) {
+				JavaNode parent= fParents[i] < 0 ? root : nodes[fParents[i]];
+				nodes[i]= new JavaNode(parent, fTypes[i], fNames[i], fStarts[i], fLengths[i]);
+				if (fAppendPositions[i] >= 0)
+					nodes[i].setAppendPosition(fAppendPositions[i]);
+			}
+		}
+	}
+
+	private static final class Key {
+
+		private final String fContents;
+		private final String fSource;
+		private final String fCompliance;
+		private final String fPreview;
+		private final int fHashCode;
+
+		Key(String contents, Map<String, String> compilerOptions) {
+			Map<String, String> options= compilerOptions != null ? compilerOptions : JavaCore.getOptions();
+			fContents= contents;
+			fSource= options.get(JavaCore.COMPILER_SOURCE);
+			fCompliance= options.get(JavaCore.COMPILER_COMPLIANCE);
+			fPreview= options.get(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES);
+			fHashCode= Objects.hash(contents, fSource, fCompliance, fPreview);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fHashCode == other.fHashCode
+					&& fContents.equals(other.fContents)
+					&& Objects.equals(fSource, other.fSource)
+					&& Objects.equals(fCompliance, other.fCompliance)
+					&& Objects.equals(fPreview, other.fPreview);
+		}
+	}
+
+	private static final LinkedHashMap<Key, Structure> fgStructures= new LinkedHashMap<>(16, 0.75f, true);
+	private static int fgCharacters;
+
+	private JavaStructureCache() {
+	}
+
+	/**
+	 * Returns the cached structure of the given source.
+	 *
+	 * @param contents the source
+	 * @param compilerOptions the compiler options used to parse the source, or <code>null</code>
+	 *            for the default options
+	 * @return the structure, or <code>null</code> if it is not cached
+	 */
+	static synchronized Structure get(String contents, Map<String, String> compilerOptions) {
+		return fgStructures.get(new Key(contents, compilerOptions));
+	}
+
+	static synchronized boolean contains(String contents, Map<String, String> compilerOptions) {
+		return fgStructures.containsKey(new Key(contents, compilerOptions));
+	}
+
+	/**
+	 * Adds the structure of the given source.
+	 *
+	 * @param contents the source
+	 * @param compilerOptions the compiler options used to parse the source, or <code>null</code>
+	 *            for the default options
+	 * @param structure the structure
+	 */
+	static synchronized void put(String contents, Map<String, String> compilerOptions, Structure structure) {
+		if (contents.length() > MAX_CHARACTERS)
+			return;
+		Structure old= fgStructures.put(new Key(contents, compilerOptions), structure);
+		if (old == null)
+			fgCharacters+= contents.length();
+		for (Iterator<Key> iterator= fgStructures.keySet().iterator(); iterator.hasNext() && (fgStructures.size() > MAX_ENTRIES || fgCharacters > MAX_CHARACTERS);) {
+			fgCharacters-= iterator.next().fContents.length();
+			iterator.remove();
+		}
+	}
+}
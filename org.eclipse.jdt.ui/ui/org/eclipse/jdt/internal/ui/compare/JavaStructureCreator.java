@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,7 +25,11 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFileState;
 import org.eclipse.core.resources.IResource;
 
 import org.eclipse.jface.text.Document;
@@ -35,11 +39,13 @@ import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.ui.services.IDisposable;
 
 import org.eclipse.compare.CompareUI;
+import org.eclipse.compare.HistoryItem;
 import org.eclipse.compare.IEditableContent;
 import org.eclipse.compare.IEditableContentExtension;
 import org.eclipse.compare.IResourceProvider;
 import org.eclipse.compare.ISharedDocumentAdapter;
 import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ResourceNode;
 import org.eclipse.compare.structuremergeviewer.DiffNode;
 import org.eclipse.compare.structuremergeviewer.Differencer;
 import org.eclipse.compare.structuremergeviewer.DocumentRangeNode;
@@ -65,11 +71,18 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.ui.text.IJavaPartitions;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.compare.JavaStructureCache.Structure;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
 
 public class JavaStructureCreator extends StructureCreator {
 
+	/**
+	 * Number of editions whose structures are built in the background when the local history
+	 * of a file is shown.
+	 */
+	private static final int PREBUILT_EDITIONS= 10;
+
 	private Map<String, String> fDefaultCompilerOptions;
 
 	/**
@@ -247,9 +260,32 @@ public class JavaStructureCreator extends StructureCreator {
 	}
 
 	private IStructureComparator createStructureComparator(final Object input, char[] buffer, IDocument doc, ISharedDocumentAdapter adapter, IProgressMonitor monitor) {
-		String contents;
-		Map<String, String> compilerOptions= null;
+		Map<String, String> compilerOptions= getCompilerOptions(input);
+
+		if (doc != null) {
+			boolean isEditable= false;
+			if (input instanceof IEditableContent)
+				isEditable= ((IEditableContent) input).isEditable();
+
+			// we hook into the root node to intercept all node changes
+			JavaNode root= new RootJavaNode(doc, isEditable, input, adapter);
 
+			String contents= doc.get();
+			Structure structure= JavaStructureCache.get(contents, compilerOptions);
+			if (structure != null) {
+				structure.replay(root);
+			} else {
+				if (buffer == null)
+					buffer= contents.toCharArray();
+				buildStructure(root, buffer, compilerOptions, monitor);
+				JavaStructureCache.put(contents, compilerOptions, Structure.record(root));
+			}
+			return root;
+		}
+		return null;
+	}
+
+	private Map<String, String> getCompilerOptions(Object input) {
 		if (input instanceof IResourceProvider) {
 			IResource resource= ((IResourceProvider) input).getResource();
 			if (resource != null) {
@@ -257,39 +293,81 @@ public class JavaStructureCreator extends StructureCreator {
 				if (element != null) {
 					IJavaProject javaProject= element.getJavaProject();
 					if (javaProject != null)
-						compilerOptions= javaProject.getOptions(true);
+						return javaProject.getOptions(true);
 				}
 			}
 		}
-		if (compilerOptions == null)
-			compilerOptions= fDefaultCompilerOptions;
-
-		if (doc != null) {
-			boolean isEditable= false;
-			if (input instanceof IEditableContent)
-				isEditable= ((IEditableContent) input).isEditable();
+		return fDefaultCompilerOptions;
+	}
 
-			// we hook into the root node to intercept all node changes
-			JavaNode root= new RootJavaNode(doc, isEditable, input, adapter);
+	/*
+	 * Parses the buffer and builds its structure below the root. The structure only consists of
+	 * declarations and their source ranges, so neither bindings nor method bodies are needed.
+	 */
+	private static void buildStructure(JavaNode root, char[] buffer, Map<String, String> compilerOptions, IProgressMonitor monitor) {
+		ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		if (compilerOptions != null)
+			parser.setCompilerOptions(compilerOptions);
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setResolveBindings(false);
+		parser.setBindingsRecovery(false);
+		parser.setStatementsRecovery(false);
+		parser.setIgnoreMethodBodies(true);
+		parser.setSource(buffer);
+		parser.setFocalPosition(0);
+		CompilationUnit cu= (CompilationUnit) parser.createAST(monitor);
+		cu.accept(new JavaParseTreeBuilder(root, buffer, true));
+	}
 
-			if (buffer == null) {
-				contents= doc.get();
-				int n= contents.length();
-				buffer= new char[n];
-				contents.getChars(0, n, buffer, 0);
+	/**
+	 * Builds the structures of the file and of its most recent local history editions in the
+	 * background, so that they are cached when the editions are compared.
+	 *
+	 * @param file the file whose local history is shown
+	 */
+	static void prebuildStructures(final IFile file) {
+		Job job= new Job(CompareMessages.JavaStructureCreator_prebuild_job) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				JavaStructureCreator creator= new JavaStructureCreator();
+				ResourceNode target= new ResourceNode(file);
+				creator.prebuildStructure(target, monitor);
+				try {
+					IFileState[] states= file.getHistory(monitor);
+					for (int i= 0; i < states.length && i < PREBUILT_EDITIONS; i++) {
+						if (monitor.isCanceled())
+							return Status.CANCEL_STATUS;
+						creator.prebuildStructure(new HistoryItem(target, states[i]), monitor);
+					}
+				} catch (CoreException e) {
+					// the editions are built when they are compared
+				}
+				return Status.OK_STATUS;
 			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
+	}
 
-			ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
-			if (compilerOptions != null)
-				parser.setCompilerOptions(compilerOptions);
-			parser.setSource(buffer);
-			parser.setFocalPosition(0);
-			CompilationUnit cu= (CompilationUnit) parser.createAST(monitor);
-			cu.accept(new JavaParseTreeBuilder(root, buffer, true));
-
-			return root;
+	private void prebuildStructure(Object input, IProgressMonitor monitor) {
+		if (!(input instanceof IStreamContentAccessor))
+			return;
+		String contents;
+		try {
+			contents= JavaCompareUtilities.readString((IStreamContentAccessor) input);
+		} catch (CoreException e) {
+			// the edition will report the error when it is compared
+			return;
 		}
-		return null;
+		if (contents == null)
+			return;
+		Map<String, String> compilerOptions= getCompilerOptions(input);
+		if (JavaStructureCache.contains(contents, compilerOptions))
+			return;
+		JavaNode root= new JavaNode(new Document(contents));
+		buildStructure(root, contents.toCharArray(), compilerOptions, monitor);
+		JavaStructureCache.put(contents, compilerOptions, Structure.record(root));
 	}
 
 	/**
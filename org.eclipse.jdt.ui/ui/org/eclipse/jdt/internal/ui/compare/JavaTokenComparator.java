@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.compare;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.compare.contentmergeviewer.ITokenComparator;
@@ -29,15 +33,37 @@ import org.eclipse.jdt.internal.corext.dom.TokenScanner;
 
 /**
  * A comparator for Java tokens.
+ * <p>
+ * The hash of every token is computed once, so that most unequal tokens are told apart
+ * without comparing their text. Whether a comparison is too expensive is decided from an
+ * estimate of the differences: tokens that occur exactly once on both sides anchor the two
+ * token sequences (like in a patience diff), and the tokens that the anchors and their equal
+ * neighbors do not cover bound the number of differences the range differencer can find.
+ * </p>
  */
 public class JavaTokenComparator implements ITokenComparator {
 
 	private static final boolean DEBUG= false;
 
+	/**
+	 * Number of token probes up to which a comparison is never aborted. The range differencer
+	 * needs about <code>(n + m) * d</code> probes for <code>n</code> and <code>m</code> tokens
+	 * with <code>d</code> differences.
+	 *
+	 * @since 3.27
+	 */
+	public static final long MAX_WORK= 8000L * 1000L;
+
 	private final String fText;
 	private int fCount;
 	private int[] fStarts;
 	private int[] fLengths;
+	private int[] fHashes;
+
+	/** The comparator of the last estimate */
+	private IRangeComparator fEstimatedOther;
+	/** The estimated number of probes to compare with {@link #fEstimatedOther} */
+	private long fEstimatedWork;
 
 	/**
 	 * Creates a token comparator for the given string.
@@ -82,6 +108,15 @@ public class JavaTokenComparator implements ITokenComparator {
 		if (endPos < length) {
 			recordTokenRange(endPos, length - endPos);
 		}
+		fStarts= Arrays.copyOf(fStarts, fCount);
+		fLengths= Arrays.copyOf(fLengths, fCount);
+		fHashes= new int[fCount];
+		for (int i= 0; i < fCount; i++) {
+			int hash= 0;
+			for (int j= fStarts[i], end= j + fLengths[i]; j < end; j++)
+				hash= 31 * hash + fText.charAt(j);
+			fHashes[i]= hash;
+		}
 	}
 
 	/**
@@ -178,6 +213,8 @@ public class JavaTokenComparator implements ITokenComparator {
 	public boolean rangesEqual(int thisIndex, IRangeComparator other, int otherIndex) {
 		if (other != null && getClass() == other.getClass()) {
 			JavaTokenComparator tc= (JavaTokenComparator) other;	// safe cast
+			if (thisIndex < fCount && otherIndex < tc.fCount && fHashes[thisIndex] != tc.fHashes[otherIndex])
+				return false;
 			int thisLen= getTokenLength(thisIndex);
 			int otherLen= tc.getTokenLength(otherIndex);
 			if (thisLen == otherLen)
@@ -208,6 +245,13 @@ public class JavaTokenComparator implements ITokenComparator {
 		if (length < 100)
 			return false;
 
+		if (other instanceof JavaTokenComparator) {
+			// finishes within the budget even if all estimated differences have to be found
+			if (getEstimatedWork((JavaTokenComparator) other) <= MAX_WORK)
+				return false;
+			return (long) length * maxLength > MAX_WORK;
+		}
+
 		if (maxLength > 800)
 			return true;
 
@@ -216,4 +260,94 @@ public class JavaTokenComparator implements ITokenComparator {
 
 		return true;
 	}
+
+	private long getEstimatedWork(JavaTokenComparator other) {
+		if (fEstimatedOther != other) {
+			int common= countAnchoredTokens(other);
+			long differences= (long) fCount + other.fCount - 2L * common;
+			fEstimatedWork= ((long) fCount + other.fCount) * differences;
+			fEstimatedOther= other;
+		}
+		return fEstimatedWork;
+	}
+
+	/**
+	 * Returns the length of a common subsequence of the tokens of this and the other comparator.
+	 * The subsequence is made of the longest increasing chain of tokens that occur once on both
+	 * sides, and of the equal tokens around each of them.
+	 *
+	 * @param other the other comparator
+	 * @return the number of tokens in the common subsequence
+	 * @since 3.27
+	 */
+	public int countAnchoredTokens(JavaTokenComparator other) {
+		// token hash to the number of occurrences on both sides and the last index in the other comparator
+		Map<Integer, int[]> occurrences= new HashMap<>();
+		for (int i= 0; i < fCount; i++) {
+			occurrences.computeIfAbsent(Integer.valueOf(fHashes[i]), h -> new int[3])[0]++;
+		}
+		for (int j= 0; j < other.fCount; j++) {
+			int[] occurrence= occurrences.get(Integer.valueOf(other.fHashes[j]));
+			if (occurrence != null) {
+				occurrence[1]++;
+				occurrence[2]= j;
+			}
+		}
+		// anchors ordered by their index in this comparator
+		int[] anchors= new int[Math.min(fCount, other.fCount)];
+		int[] otherAnchors= new int[anchors.length];
+		int anchorCount= 0;
+		for (int i= 0; i < fCount; i++) {
+			int[] occurrence= occurrences.get(Integer.valueOf(fHashes[i]));
+			if (occurrence[0] == 1 && occurrence[1] == 1 && rangesEqual(i, other, occurrence[2])) {
+				anchors[anchorCount]= i;
+				otherAnchors[anchorCount++]= occurrence[2];
+			}
+		}
+
+		// longest chain of anchors that is increasing in the other comparator, by patience sorting
+		int[] tails= new int[anchorCount];
+		int[] predecessors= new int[anchorCount];
+		int chainLength= 0;
+		for (int k= 0; k < anchorCount; k++) {
+			int j= otherAnchors[k];
+			int low= 0;
+			int high= chainLength;
+			while (low < high) {
+				int middle= (low + high) >>> 1;
+				if (otherAnchors[tails[middle]] < j)
+					low= middle + 1;
+				else
+					high= middle;
+			}
+			predecessors[k]= low > 0 ? tails[low - 1] : -1;
+			tails[low]= k;
+			if (low == chainLength)
+				chainLength++;
+		}
+
+		// extend the anchors to the equal tokens around them, without crossing other anchors
+		int common= 0;
+		int nextThis= fCount;
+		int nextOther= other.fCount;
+		for (int k= chainLength > 0 ? tails[chainLength - 1] : -1; k >= 0; k= predecessors[k]) {
+			int i= anchors[k];
+			int j= otherAnchors[k];
+			common++;
+			for (int ti= i + 1, oj= j + 1; ti < nextThis && oj < nextOther && rangesEqual(ti, other, oj); ti++, oj++)
+				common++;
+			int ti= i - 1;
+			int oj= j - 1;
+			int previousThis= predecessors[k] >= 0 ? anchors[predecessors[k]] : -1;
+			int previousOther= predecessors[k] >= 0 ? otherAnchors[predecessors[k]] : -1;
+			for (; ti > previousThis && oj > previousOther && rangesEqual(ti, other, oj); ti--, oj--)
+				common++;
+			nextThis= ti + 1;
+			nextOther= oj + 1;
+		}
+		// equal tokens before the first anchor
+		for (int ti= 0, oj= 0; ti < nextThis && oj < nextOther && rangesEqual(ti, other, oj); ti++, oj++)
+			common++;
+		return common;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -86,7 +86,6 @@ import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
-import org.eclipse.jdt.core.search.TypeNameRequestor;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.CollectionsUtil;
@@ -96,6 +95,7 @@ import org.eclipse.jdt.internal.corext.util.Strings;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoRequestorAdapter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.IVMInstallType;
@@ -486,6 +486,12 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 		typeSearchFilter.setMatchEverythingMode(true);
 
 		try {
+			TypeInfoFilter typeInfoFilter= typeSearchFilter.getTypeInfoFilter();
+			if (typeInfoFilter.isWorkspaceScope()) {
+				// the type name index only reports the types matched by the filter
+				TypeNameIndex.getDefault().search(typeInfoFilter, requestor, progressMonitor);
+				return;
+			}
 			engine.searchAllTypeNames(packPattern == null ? null : packPattern.toCharArray(),
 					typeSearchFilter.getPackageFlags(),
 					typePattern.toCharArray(),
@@ -571,17 +577,8 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 		}
 		private void refreshSearchIndices(IProgressMonitor monitor) throws InvocationTargetException {
 			try {
-				new SearchEngine().searchAllTypeNames(
-						null,
-						0,
-						// make sure we search a concrete name. This is faster according to Kent
-						"_______________".toCharArray(), //$NON-NLS-1$
-						SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE,
-						IJavaSearchConstants.ENUM,
-						SearchEngine.createWorkspaceScope(),
-						new TypeNameRequestor() { /* dummy */},
-						IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
-						monitor);
+				// waits for the search indices and fills the type name index for the first query
+				TypeNameIndex.getDefault().update(monitor);
 			} catch (JavaModelException e) {
 				throw new InvocationTargetException(e);
 			}
@@ -951,6 +948,10 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			return fTypeInfoFilter.getSearchScope();
 		}
 
+		public TypeInfoFilter getTypeInfoFilter() {
+			return fTypeInfoFilter;
+		}
+
 		public int getMyTypeFilterVersion() {
 			return fMyTypeFilterVersion;
 		}
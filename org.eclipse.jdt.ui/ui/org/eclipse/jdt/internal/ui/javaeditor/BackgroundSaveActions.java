@@ -0,0 +1,533 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.undo.DocumentUndoManagerRegistry;
+import org.eclipse.text.undo.IDocumentUndoManager;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+import org.eclipse.jdt.ui.JavaUI;
+
+import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.IBackgroundPostSaveListener;
+import org.eclipse.jdt.internal.ui.text.LineComparator;
+
+/**
+ * Runs the save participants that implement {@link IBackgroundPostSaveListener} after a
+ * compilation unit has been saved, without blocking the editor.
+ * <p>
+ * The changes are computed in a job on a private working copy that holds a snapshot of the saved
+ * content. They are applied to the document of the text file buffer in one undoable step:
+ * </p>
+ * <ul>
+ * <li>if the document has not changed since the snapshot, the changes are applied and the buffer
+ * is committed, so that the file contains the result of the save participants,</li>
+ * <li>if the document has changed, but not where the save participants changed it, the changes
+ * are moved over the edits and applied to the dirty document,</li>
+ * <li>otherwise, the changes are computed once more on the current content of the document.</li>
+ * </ul>
+ * <p>
+ * If the editor is closed before the changes have been applied, the save actions keep the buffer
+ * connected until they have written their changes to the file. If the compilation unit is saved
+ * again before, the save actions are canceled and their changed regions are added to the changed
+ * regions of the new save.
+ * </p>
+ *
+ * @since 3.27
+ */
+public final class BackgroundSaveActions implements IDocumentListener {
+
+	/**
+	 * The family of the jobs that run the save participants.
+	 */
+	public static final Object FAMILY= new Object();
+
+	private final ICompilationUnit fUnit;
+	private final ITextFileBuffer fBuffer;
+	private final IDocument fDocument;
+	private final IBackgroundPostSaveListener[] fListeners;
+	private final Job fJob;
+
+	/**
+	 * The edits of the document since the snapshot, each with its offset, length and text length.
+	 */
+	private final List<int[]> fEvents= new ArrayList<>();
+
+	private String fSnapshot;
+	private long fStamp;
+	private IRegion[] fChangedRegions;
+	private boolean fRecomputed;
+	private boolean fConnected;
+	private volatile boolean fDisposed;
+
+	/**
+	 * Creates the save actions for the current content of the given buffer. They are not run
+	 * until {@link #schedule()} is called.
+	 *
+	 * @param unit the saved compilation unit
+	 * @param buffer the text file buffer of the compilation unit
+	 * @param listeners the save participants to run
+	 * @param changedRegions the regions of the lines that have changed since the previous save,
+	 *            or <code>null</code> if no save participant needs them
+	 */
+	BackgroundSaveActions(ICompilationUnit unit, ITextFileBuffer buffer, IBackgroundPostSaveListener[] listeners, IRegion[] changedRegions) {
+		fUnit= unit;
+		fBuffer= buffer;
+		fDocument= buffer.getDocument();
+		fListeners= listeners;
+		fChangedRegions= changedRegions;
+		fJob= new Job(Messages.format(JavaEditorMessages.BackgroundSaveActions_jobName, unit.getElementName())) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				IStatus status;
+				try {
+					status= computeChanges(monitor);
+				} catch (OperationCanceledException ex) {
+					status= Status.CANCEL_STATUS;
+				}
+				if (!status.isOK())
+					dispose();
+				return status;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == FAMILY;
+			}
+		};
+		takeSnapshot();
+		fDocument.addDocumentListener(this);
+	}
+
+	private synchronized void takeSnapshot() {
+		fSnapshot= fDocument.get();
+		fStamp= getModificationStamp();
+		fEvents.clear();
+	}
+
+	private long getModificationStamp() {
+		if (fDocument instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) fDocument).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Schedules the job that computes the changes.
+	 */
+	void schedule() {
+		fJob.schedule();
+	}
+
+	/**
+	 * Cancels the save actions. Changes that have not been applied yet are dropped.
+	 *
+	 * @return the changed regions of the save actions, relative to the current document, if their
+	 *         changes have not been applied yet, or <code>null</code>
+	 */
+	IRegion[] cancel() {
+		IRegion[] changedRegions;
+		synchronized (this) {
+			changedRegions= fDisposed ? null : rebase(fChangedRegions);
+			fDisposed= true;
+		}
+		fJob.cancel();
+		dispose();
+		return changedRegions;
+	}
+
+	/**
+	 * Called before the document provider disconnects from the buffer. If the buffer has no
+	 * unsaved changes, the buffer stays connected until the changes have been applied and written
+	 * to the file. Otherwise, the save actions are canceled, since their changes would not be
+	 * written anyway.
+	 */
+	void disconnect() {
+		if (fBuffer.isDirty()) {
+			cancel();
+			return;
+		}
+
+		synchronized (this) {
+			if (fDisposed)
+				return;
+			try {
+				FileBuffers.getTextFileBufferManager().connect(fBuffer.getLocation(), LocationKind.IFILE, null);
+				fConnected= true;
+				return;
+			} catch (CoreException ex) {
+				JavaPlugin.log(ex);
+			}
+		}
+		cancel();
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		// not interesting
+	}
+
+	@Override
+	public synchronized void documentChanged(DocumentEvent event) {
+		int textLength= event.getText() == null ? 0 : event.getText().length();
+		fEvents.add(new int[] { event.getOffset(), event.getLength(), textLength });
+	}
+
+	private IStatus computeChanges(IProgressMonitor monitor) {
+		String snapshot;
+		IRegion[] changedRegions;
+		synchronized (this) {
+			snapshot= fSnapshot;
+			changedRegions= fChangedRegions;
+		}
+
+		SubMonitor progress= SubMonitor.convert(monitor, fListeners.length + 1);
+		String result;
+		ICompilationUnit copy= null;
+		try {
+			copy= fUnit.getPrimary().getWorkingCopy(new WorkingCopyOwner() {/* private owner */}, progress.split(1));
+			copy.getBuffer().setContents(snapshot);
+			for (IBackgroundPostSaveListener listener : fListeners) {
+				if (fDisposed)
+					return Status.CANCEL_STATUS;
+				try (Instrumentation.Scope scope= Instrumentation.getTimer(Instrumentation.SAVE_PARTICIPANT + listener.getId()).start()) {
+					listener.computeChanges(copy, changedRegions, progress.split(1));
+				} catch (OperationCanceledException ex) {
+					throw ex;
+				} catch (CoreException | RuntimeException ex) {
+					String msg= Messages.format(JavaEditorMessages.CompilationUnitDocumentProvider_error_saveParticipantFailed, new String[] { listener.getName(), ex.toString() });
+					MultiStatus status= new MultiStatus(JavaUI.ID_PLUGIN, IJavaStatusConstants.EDITOR_POST_SAVE_NOTIFICATION, JavaEditorMessages.CompilationUnitDocumentProvider_error_saveParticipantProblem, null);
+					status.add(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IJavaStatusConstants.EDITOR_POST_SAVE_NOTIFICATION, msg, ex));
+					return status;
+				}
+			}
+			result= copy.getSource();
+		} catch (CoreException ex) {
+			return ex.getStatus();
+		} finally {
+			if (copy != null) {
+				try {
+					copy.discardWorkingCopy();
+				} catch (CoreException ex) {
+					// the copy is not used anymore
+				}
+			}
+		}
+
+		if (fDisposed || progress.isCanceled())
+			return Status.CANCEL_STATUS;
+
+		if (result.equals(snapshot)) {
+			dispose();
+			return Status.OK_STATUS;
+		}
+
+		final MultiTextEdit edit= createEdit(snapshot, result);
+		FileBuffers.getTextFileBufferManager().execute(() -> apply(edit));
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Applies the changes to the document, in the synchronization context of the buffer.
+	 *
+	 * @param edit the changes, relative to the snapshot
+	 */
+	private void apply(MultiTextEdit edit) {
+		TextEdit rebased;
+		synchronized (this) {
+			if (fDisposed)
+				return;
+
+			if (fEvents.isEmpty() && fStamp == getModificationStamp()) {
+				rebased= edit;
+			} else {
+				rebased= rebase(edit);
+				if (rebased == null && !fRecomputed) {
+					// compute the changes once more on the current content
+					fRecomputed= true;
+					fChangedRegions= rebase(fChangedRegions);
+					takeSnapshot();
+					fJob.schedule();
+					return;
+				}
+			}
+			fDisposed= true;
+		}
+
+		try {
+			if (rebased != null)
+				applyAndCommit(rebased);
+		} finally {
+			dispose();
+		}
+	}
+
+	private void applyAndCommit(TextEdit rebased) {
+		boolean wasDirty= fBuffer.isDirty();
+		IDocumentUndoManager undoManager= DocumentUndoManagerRegistry.getDocumentUndoManager(fDocument);
+		if (undoManager != null)
+			undoManager.beginCompoundChange();
+		try {
+			rebased.apply(fDocument, TextEdit.NONE);
+		} catch (MalformedTreeException | BadLocationException ex) {
+			JavaPlugin.log(ex);
+			return;
+		} finally {
+			if (undoManager != null)
+				undoManager.endCompoundChange();
+		}
+
+		if (!wasDirty) {
+			try {
+				fBuffer.commit(new NullProgressMonitor(), false);
+			} catch (CoreException ex) {
+				JavaPlugin.log(ex);
+			}
+		}
+	}
+
+	/**
+	 * Stops listening to the document and disconnects from the buffer if the document provider
+	 * has disconnected from it before.
+	 */
+	private void dispose() {
+		boolean connected;
+		synchronized (this) {
+			fDisposed= true;
+			connected= fConnected;
+			fConnected= false;
+		}
+		fDocument.removeDocumentListener(this);
+		if (connected) {
+			final ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+			manager.execute(() -> {
+				try {
+					manager.disconnect(fBuffer.getLocation(), LocationKind.IFILE, null);
+				} catch (CoreException ex) {
+					JavaPlugin.log(ex);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Merges the changed regions of a save with the changed regions of the save actions that the
+	 * save has canceled.
+	 *
+	 * @param regions the changed regions of the save, or <code>null</code>
+	 * @param pending the changed regions of the canceled save actions, or <code>null</code>
+	 * @return the sorted union of the regions, or <code>regions</code> if either is
+	 *         <code>null</code>
+	 */
+	static IRegion[] merge(IRegion[] regions, IRegion[] pending) {
+		if (regions == null || pending == null)
+			return regions;
+
+		List<IRegion> all= new ArrayList<>(Arrays.asList(regions));
+		all.addAll(Arrays.asList(pending));
+		all.sort(Comparator.comparingInt(IRegion::getOffset));
+
+		List<IRegion> result= new ArrayList<>();
+		int offset= -1;
+		int end= -1;
+		for (IRegion region : all) {
+			if (offset != -1 && region.getOffset() <= end) {
+				end= Math.max(end, region.getOffset() + region.getLength());
+			} else {
+				if (offset != -1)
+					result.add(new Region(offset, end - offset));
+				offset= region.getOffset();
+				end= offset + region.getLength();
+			}
+		}
+		if (offset != -1)
+			result.add(new Region(offset, end - offset));
+		return result.toArray(new IRegion[result.size()]);
+	}
+
+	/**
+	 * Moves the replace edits of the given edit over the edits of the document since the
+	 * snapshot.
+	 *
+	 * @param edit the edit relative to the snapshot
+	 * @return the edit relative to the current document, or <code>null</code> if the document has
+	 *         been edited where the edit changes it
+	 */
+	private TextEdit rebase(MultiTextEdit edit) {
+		TextEdit[] children= edit.getChildren();
+		int[] offsets= new int[children.length];
+		for (int i= 0; i < children.length; i++) {
+			offsets[i]= children[i].getOffset();
+		}
+
+		for (int[] event : fEvents) {
+			int eventEnd= event[0] + event[1];
+			int delta= event[2] - event[1];
+			for (int i= 0; i < children.length; i++) {
+				int end= offsets[i] + children[i].getLength();
+				if (eventEnd <= offsets[i]) {
+					offsets[i]+= delta;
+				} else if (event[0] < end || event[0] == offsets[i]) {
+					return null;
+				}
+			}
+		}
+
+		MultiTextEdit result= new MultiTextEdit();
+		for (int i= 0; i < children.length; i++) {
+			result.addChild(new ReplaceEdit(offsets[i], children[i].getLength(), ((ReplaceEdit) children[i]).getText()));
+		}
+		return result;
+	}
+
+	/**
+	 * Moves the given regions of the snapshot over the edits of the document since the snapshot.
+	 * A region that overlaps an edit grows to cover it.
+	 *
+	 * @param regions the regions relative to the snapshot, or <code>null</code>
+	 * @return the regions relative to the current document, or <code>null</code>
+	 */
+	private IRegion[] rebase(IRegion[] regions) {
+		if (regions == null)
+			return null;
+
+		int[][] ranges= new int[regions.length][];
+		for (int i= 0; i < regions.length; i++) {
+			ranges[i]= new int[] { regions[i].getOffset(), regions[i].getOffset() + regions[i].getLength() };
+		}
+
+		for (int[] event : fEvents) {
+			int eventEnd= event[0] + event[1];
+			int delta= event[2] - event[1];
+			for (int[] range : ranges) {
+				if (eventEnd <= range[0]) {
+					range[0]+= delta;
+					range[1]+= delta;
+				} else if (event[0] <= range[1]) {
+					range[0]= Math.min(range[0], event[0]);
+					range[1]= Math.max(range[1], eventEnd) + delta;
+				}
+			}
+		}
+
+		IRegion[] result= new IRegion[ranges.length];
+		for (int i= 0; i < ranges.length; i++) {
+			result[i]= new Region(ranges[i][0], ranges[i][1] - ranges[i][0]);
+		}
+		return result;
+	}
+
+	/**
+	 * Creates an edit that changes the snapshot into the result of the save participants, with
+	 * a replace edit per changed block of lines.
+	 *
+	 * @param snapshot the saved content
+	 * @param result the content changed by the save participants
+	 * @return the edit
+	 */
+	private static MultiTextEdit createEdit(String snapshot, String result) {
+		IDocument left= new Document(snapshot);
+		IDocument right= new Document(result);
+
+		/*
+		 * Do not change the type of those local variables. We use Object
+		 * here in order to prevent loading of the Compare plug-in at load
+		 * time of this class.
+		 */
+		Object leftSide= new LineComparator(left);
+		Object rightSide= new LineComparator(right);
+
+		MultiTextEdit edit= new MultiTextEdit();
+		try {
+			RangeDifference[] differences= RangeDifferencer.findDifferences((IRangeComparator) leftSide, (IRangeComparator) rightSide);
+			for (RangeDifference curr : differences) {
+				if (curr.kind() == RangeDifference.CHANGE) {
+					int offset= getLineOffset(left, curr.leftStart());
+					int length= getLineOffset(left, curr.leftEnd()) - offset;
+					int rightOffset= getLineOffset(right, curr.rightStart());
+					String text= result.substring(rightOffset, getLineOffset(right, curr.rightEnd()));
+					edit.addChild(new ReplaceEdit(offset, length, text));
+				}
+			}
+
+			// lines are compared by their hash and without their delimiters
+			IDocument check= new Document(snapshot);
+			edit.copy().apply(check, TextEdit.NONE);
+			if (check.get().equals(result))
+				return edit;
+		} catch (MalformedTreeException | BadLocationException ex) {
+			// fall back to a single replace edit
+		}
+
+		int prefix= 0;
+		int max= Math.min(snapshot.length(), result.length());
+		while (prefix < max && snapshot.charAt(prefix) == result.charAt(prefix))
+			prefix++;
+		int suffix= 0;
+		while (suffix < max - prefix && snapshot.charAt(snapshot.length() - suffix - 1) == result.charAt(result.length() - suffix - 1))
+			suffix++;
+
+		edit= new MultiTextEdit();
+		edit.addChild(new ReplaceEdit(prefix, snapshot.length() - suffix - prefix, result.substring(prefix, result.length() - suffix)));
+		return edit;
+	}
+
+	private static int getLineOffset(IDocument document, int line) throws BadLocationException {
+		if (line >= document.getNumberOfLines())
+			return document.getLength();
+		return document.getLineOffset(line);
+	}
+}
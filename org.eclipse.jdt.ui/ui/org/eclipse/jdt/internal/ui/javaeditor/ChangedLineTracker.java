@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.IFileBufferListener;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+import org.eclipse.jdt.internal.ui.text.LineComparator;
+
+/**
+ * Tracks the ranges of the document of a text file buffer that have been edited since the buffer
+ * was last saved, so that the changed lines can be computed on save without reading the file
+ * and comparing all of its lines.
+ * <p>
+ * The tracker snapshots the content of the document when it is first edited after a save, and
+ * keeps the edited ranges together with the corresponding ranges of the snapshot. On save, only
+ * the lines around the edited ranges are compared with the snapshot, so an edit that was undone
+ * yields no changed lines. Saving, reverting or reloading the buffer starts a new snapshot.
+ * </p>
+ * <p>
+ * The tracker is invalid, and {@link #getChangedLineRegions(IDocument)} returns
+ * <code>null</code>, if the buffer was dirty when the tracker was created or if there are too
+ * many edited ranges. Clients then have to compare the whole document with the file.
+ * </p>
+ *
+ * @since 3.27
+ */
+public final class ChangedLineTracker implements IDocumentListener, IFileBufferListener {
+
+	/**
+	 * The number of edited ranges above which the tracker gives up.
+	 */
+	private static final int MAX_RANGES= 2000;
+
+	private final ITextFileBuffer fBuffer;
+	private final IDocument fDocument;
+
+	/**
+	 * The edited ranges, sorted and disjoint. Each range holds its start and end offset in the
+	 * document and its start and end offset in the saved content.
+	 */
+	private final List<int[]> fRanges= new ArrayList<>();
+
+	/**
+	 * The content of the document when it was last saved, or <code>null</code> if the document
+	 * has not been edited since.
+	 */
+	private String fSaved;
+	private boolean fValid;
+
+	/**
+	 * Creates a tracker and starts tracking the document of the given buffer.
+	 *
+	 * @param buffer the text file buffer
+	 */
+	public ChangedLineTracker(ITextFileBuffer buffer) {
+		fBuffer= buffer;
+		fDocument= buffer.getDocument();
+		fValid= !buffer.isDirty();
+		fDocument.addDocumentListener(this);
+		FileBuffers.getTextFileBufferManager().addFileBufferListener(this);
+	}
+
+	/**
+	 * Stops tracking the document.
+	 */
+	public void dispose() {
+		FileBuffers.getTextFileBufferManager().removeFileBufferListener(this);
+		fDocument.removeDocumentListener(this);
+	}
+
+	private synchronized void reset() {
+		fRanges.clear();
+		fSaved= null;
+		fValid= true;
+	}
+
+	@Override
+	public synchronized void documentAboutToBeChanged(DocumentEvent event) {
+		if (fValid && fSaved == null)
+			fSaved= fDocument.get();
+	}
+
+	@Override
+	public synchronized void documentChanged(DocumentEvent event) {
+		if (!fValid)
+			return;
+
+		int offset= event.getOffset();
+		int end= offset + event.getLength();
+		int textLength= event.getText() == null ? 0 : event.getText().length();
+		int delta= textLength - event.getLength();
+		if (delta == 0 && textLength == 0)
+			return;
+
+		// find the ranges that overlap or touch the replaced range
+		int first= 0;
+		int shift= 0;
+		while (first < fRanges.size() && fRanges.get(first)[1] < offset) {
+			shift+= getShift(fRanges.get(first));
+			first++;
+		}
+		int last= first;
+		int shiftThrough= shift;
+		while (last < fRanges.size() && fRanges.get(last)[0] <= end) {
+			shiftThrough+= getShift(fRanges.get(last));
+			last++;
+		}
+
+		int[] range;
+		if (first == last) {
+			range= new int[] { offset, end, offset - shift, end - shift };
+			fRanges.add(first, range);
+		} else {
+			int[] firstRange= fRanges.get(first);
+			int[] lastRange= fRanges.get(last - 1);
+			range= new int[4];
+			if (firstRange[0] <= offset) {
+				range[0]= firstRange[0];
+				range[2]= firstRange[2];
+			} else {
+				range[0]= offset;
+				range[2]= offset - shift;
+			}
+			if (lastRange[1] >= end) {
+				range[1]= lastRange[1];
+				range[3]= lastRange[3];
+			} else {
+				range[1]= end;
+				range[3]= end - shiftThrough;
+			}
+			fRanges.subList(first + 1, last).clear();
+			fRanges.set(first, range);
+		}
+		range[1]+= delta;
+
+		for (int i= first + 1; i < fRanges.size(); i++) {
+			int[] following= fRanges.get(i);
+			following[0]+= delta;
+			following[1]+= delta;
+		}
+
+		if (fRanges.size() > MAX_RANGES) {
+			fValid= false;
+			fRanges.clear();
+			fSaved= null;
+		}
+	}
+
+	private static int getShift(int[] range) {
+		return (range[1] - range[0]) - (range[3] - range[2]);
+	}
+
+	/**
+	 * Returns the regions of the lines of the document that have changed since the buffer was last
+	 * saved, with the same contract as {@link EditorUtility#calculateChangedLineRegions}.
+	 *
+	 * @param document the document of the buffer
+	 * @return the regions of the changed lines, or <code>null</code> if the tracker is invalid
+	 * @throws BadLocationException if fetching the line information fails
+	 */
+	public synchronized IRegion[] getChangedLineRegions(IDocument document) throws BadLocationException {
+		if (!fValid || document != fDocument)
+			return null;
+
+		List<int[]> lines= new ArrayList<>();
+		int i= 0;
+		while (i < fRanges.size()) {
+			int[] first= fRanges.get(i);
+			int[] last= first;
+			int startLine= document.getLineOfOffset(first[0]);
+			int windowStart= document.getLineOffset(startLine);
+			int windowEnd= getLineEnd(document, last[1]);
+			// ranges that share a line are compared together
+			while (++i < fRanges.size() && fRanges.get(i)[0] < windowEnd) {
+				last= fRanges.get(i);
+				windowEnd= getLineEnd(document, last[1]);
+			}
+
+			String current= document.get(windowStart, windowEnd - windowStart);
+			String saved= fSaved.substring(first[2] - (first[0] - windowStart), last[3] + (windowEnd - last[1]));
+			if (current.equals(saved))
+				continue;
+
+			addChangedLines(new Document(saved), new Document(current), startLine, lines);
+		}
+
+		List<IRegion> regions= new ArrayList<>(lines.size());
+		for (int[] line : lines) {
+			IRegion startLineRegion= document.getLineInformation(line[0]);
+			if (line[0] == line[1]) {
+				regions.add(startLineRegion);
+			} else {
+				IRegion endLineRegion= document.getLineInformation(line[1]);
+				int startOffset= startLineRegion.getOffset();
+				int endOffset= endLineRegion.getOffset() + endLineRegion.getLength();
+				regions.add(new Region(startOffset, endOffset - startOffset));
+			}
+		}
+		return regions.toArray(new IRegion[regions.size()]);
+	}
+
+	/**
+	 * Returns the end offset of the line at the given offset, including its delimiter.
+	 *
+	 * @param document the document
+	 * @param offset the offset
+	 * @return the end offset of the line
+	 * @throws BadLocationException if the offset is invalid
+	 */
+	private static int getLineEnd(IDocument document, int offset) throws BadLocationException {
+		int line= document.getLineOfOffset(offset);
+		return document.getLineOffset(line) + document.getLineLength(line);
+	}
+
+	/**
+	 * Compares the lines of a window of the saved content with the lines of the corresponding
+	 * window of the document and adds the changed lines, merging successive lines.
+	 *
+	 * @param saved the window of the saved content
+	 * @param current the window of the document
+	 * @param firstLine the line of the document at which the window starts
+	 * @param lines the list of start and end lines to add to
+	 */
+	private static void addChangedLines(IDocument saved, IDocument current, int firstLine, List<int[]> lines) {
+		/*
+		 * Do not change the type of those local variables. We use Object
+		 * here in order to prevent loading of the Compare plug-in at load
+		 * time of this class.
+		 */
+		Object leftSide= new LineComparator(saved);
+		Object rightSide= new LineComparator(current);
+
+		RangeDifference[] differences= RangeDifferencer.findDifferences((IRangeComparator) leftSide, (IRangeComparator) rightSide);
+		for (RangeDifference curr : differences) {
+			if (curr.kind() == RangeDifference.CHANGE && curr.rightLength() > 0) {
+				int startLine= firstLine + curr.rightStart();
+				int endLine= firstLine + curr.rightEnd() - 1;
+				int[] previous= lines.isEmpty() ? null : lines.get(lines.size() - 1);
+				if (previous != null && previous[1] + 1 >= startLine)
+					previous[1]= Math.max(previous[1], endLine);
+				else
+					lines.add(new int[] { startLine, endLine });
+			}
+		}
+	}
+
+	@Override
+	public void dirtyStateChanged(IFileBuffer buffer, boolean isDirty) {
+		if (buffer == fBuffer && !isDirty)
+			reset();
+	}
+
+	@Override
+	public void bufferContentReplaced(IFileBuffer buffer) {
+		if (buffer == fBuffer && !buffer.isDirty())
+			reset();
+	}
+
+	@Override
+	public void bufferCreated(IFileBuffer buffer) {
+		// not interesting
+	}
+
+	@Override
+	public void bufferDisposed(IFileBuffer buffer) {
+		// not interesting
+	}
+
+	@Override
+	public void bufferContentAboutToBeReplaced(IFileBuffer buffer) {
+		// not interesting
+	}
+
+	@Override
+	public void stateChanging(IFileBuffer buffer) {
+		// not interesting
+	}
+
+	@Override
+	public void stateValidationChanged(IFileBuffer buffer, boolean isStateValidated) {
+		// not interesting
+	}
+
+	@Override
+	public void underlyingFileMoved(IFileBuffer buffer, IPath path) {
+		// not interesting
+	}
+
+	@Override
+	public void underlyingFileDeleted(IFileBuffer buffer) {
+		// not interesting
+	}
+
+	@Override
+	public void stateChangeFailed(IFileBuffer buffer) {
+		// not interesting
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -113,6 +113,7 @@ import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.IProblem;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
@@ -125,6 +126,7 @@ import org.eclipse.jdt.ui.text.IJavaPartitions;
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaPluginImages;
+import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.IBackgroundPostSaveListener;
 import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.IPostSaveListener;
 import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.SaveParticipantRegistry;
 import org.eclipse.jdt.internal.ui.text.correction.JavaCorrectionProcessor;
@@ -139,6 +141,16 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 	 */
 	static protected class CompilationUnitInfo extends FileInfo {
 		public ICompilationUnit fCopy;
+		/**
+		 * Tracks the lines that have changed since the last save, or <code>null</code>.
+		 * @since 3.27
+		 */
+		ChangedLineTracker fChangedLineTracker;
+		/**
+		 * The save actions that run in the background after the last save, or <code>null</code>.
+		 * @since 3.27
+		 */
+		BackgroundSaveActions fSaveActions;
 	}
 
 	/**
@@ -1047,6 +1059,9 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 		if (cuInfo.fModel != null)
 			cuInfo.fModel.addAnnotationModelListener(fGlobalAnnotationModelListener);
 
+		if (cuInfo.fTextFileBuffer != null)
+			cuInfo.fChangedLineTracker= new ChangedLineTracker(cuInfo.fTextFileBuffer);
+
 		return cuInfo;
 	}
 
@@ -1271,6 +1286,17 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 
 			if (cuInfo.fModel != null)
 				cuInfo.fModel.removeAnnotationModelListener(fGlobalAnnotationModelListener);
+
+			if (cuInfo.fChangedLineTracker != null) {
+				cuInfo.fChangedLineTracker.dispose();
+				cuInfo.fChangedLineTracker= null;
+			}
+
+			if (cuInfo.fSaveActions != null) {
+				// the save actions keep the buffer connected until they are done
+				cuInfo.fSaveActions.disconnect();
+				cuInfo.fSaveActions= null;
+			}
 		}
 		super.disposeFileInfo(element, info);
 	}
@@ -1359,6 +1385,25 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 		return new NullProgressMonitor();
 	}
 
+	/**
+	 * Returns the regions of the lines that have changed since the last save as tracked while the
+	 * document was edited.
+	 *
+	 * @param info the compilation unit info
+	 * @return the regions of the changed lines, or <code>null</code> if they have not been tracked
+	 * @since 3.27
+	 */
+	private IRegion[] getTrackedChangedLineRegions(CompilationUnitInfo info) {
+		if (info.fChangedLineTracker == null)
+			return null;
+		try {
+			return info.fChangedLineTracker.getChangedLineRegions(info.fTextFileBuffer.getDocument());
+		} catch (BadLocationException ex) {
+			JavaPlugin.log(ex);
+			return null;
+		}
+	}
+
 	protected void commitWorkingCopy(IProgressMonitor monitor, Object element, final CompilationUnitInfo info, boolean overwrite) throws CoreException {
 
 		if (monitor == null)
@@ -1385,6 +1430,13 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 				return;
 			}
 
+			// the changes of pending save actions are computed as part of this save
+			IRegion[] pendingRegions= null;
+			if (info.fSaveActions != null) {
+				pendingRegions= info.fSaveActions.cancel();
+				info.fSaveActions= null;
+			}
+
 			if (fSavePolicy != null)
 				fSavePolicy.preSave(info.fCopy);
 
@@ -1393,11 +1445,26 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
  				fIsAboutToSave= true;
 
 				IPostSaveListener[] listeners= JavaPlugin.getDefault().getSaveParticipantRegistry().getEnabledPostSaveListeners(info.fCopy.getJavaProject().getProject());
+				IBackgroundPostSaveListener[] backgroundListeners= null;
+				if (listeners.length > 0 && SaveParticipantRegistry.isBackgroundSaveEnabled()) {
+					List<IPostSaveListener> syncListeners= new ArrayList<>();
+					List<IBackgroundPostSaveListener> asyncListeners= new ArrayList<>();
+					for (IPostSaveListener listener : listeners) {
+						if (listener instanceof IBackgroundPostSaveListener)
+							asyncListeners.add((IBackgroundPostSaveListener) listener);
+						else
+							syncListeners.add(listener);
+					}
+					if (!asyncListeners.isEmpty()) {
+						backgroundListeners= asyncListeners.toArray(new IBackgroundPostSaveListener[asyncListeners.size()]);
+						listeners= syncListeners.toArray(new IPostSaveListener[syncListeners.size()]);
+					}
+				}
 
 				CoreException changedRegionException= null;
 				boolean needsChangedRegions= false;
 				try {
-					if (listeners.length > 0)
+					if (listeners.length > 0 || backgroundListeners != null)
 						needsChangedRegions= SaveParticipantRegistry.isChangedRegionsRequired(info.fCopy);
 				} catch (CoreException ex) {
 					changedRegionException= ex;
@@ -1406,7 +1473,9 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 				IRegion[] changedRegions= null;
 				if (needsChangedRegions) {
 					try {
-						changedRegions= EditorUtility.calculateChangedLineRegions(info.fTextFileBuffer, getSubProgressMonitor(monitor, 20));
+						changedRegions= getTrackedChangedLineRegions(info);
+						if (changedRegions == null)
+							changedRegions= EditorUtility.calculateChangedLineRegions(info.fTextFileBuffer, getSubProgressMonitor(monitor, 20));
 					} catch (CoreException ex) {
 						changedRegionException= ex;
 					} finally {
@@ -1418,6 +1487,10 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 				info.fCopy.commitWorkingCopy(overwrite || isSynchronized, subMonitor);
 				if (listeners.length > 0)
 					notifyPostSaveListeners(info, changedRegions, listeners, getSubProgressMonitor(monitor, 30));
+				if (backgroundListeners != null && changedRegionException == null) {
+					info.fSaveActions= new BackgroundSaveActions(info.fCopy, info.fTextFileBuffer, backgroundListeners, BackgroundSaveActions.merge(changedRegions, pendingRegions));
+					info.fSaveActions.schedule();
+				}
 
 				if (changedRegionException != null) {
 					throw changedRegionException;
@@ -1639,7 +1712,9 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 						try {
 							long stamp= unit.getResource().getModificationStamp();
 
-							listener.saved(unit, changedRegions, getSubProgressMonitor(monitor, 4));
+							try (Instrumentation.Scope scope= Instrumentation.getTimer(Instrumentation.SAVE_PARTICIPANT + listener.getId()).start()) {
+								listener.saved(unit, changedRegions, getSubProgressMonitor(monitor, 4));
+							}
 
 							if (stamp != unit.getResource().getModificationStamp()) {
 								String msg= Messages.format(JavaEditorMessages.CompilationUnitDocumentProvider_error_saveParticipantSavedFile, participantName);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -70,6 +70,7 @@ final class JavaEditorMessages extends NLS {
 	public static String CompilationUnitDocumentProvider_error_saveParticipantSavedFile;
 	public static String CompilationUnitDocumentProvider_error_saveParticipantFailed;
 	public static String CompilationUnitDocumentProvider_error_outOfSync;
+	public static String BackgroundSaveActions_jobName;
 	public static String CompilationUnitEditor_error_saving_message1;
 	public static String CompilationUnitEditor_error_saving_title1;
 	public static String CompilationUnitEditor_error_saving_editedLines_calculation_message;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jdt.internal.ui.javaeditor;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import org.eclipse.swt.widgets.Display;
@@ -26,8 +27,12 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextInputListener;
+import org.eclipse.jface.text.ITextViewerExtension5;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.source.ISourceViewer;
 
@@ -73,6 +78,17 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		/** The semantic token */
 		private SemanticToken fToken= new SemanticToken();
 
+		/*
+		 * Skips the subtrees whose positions are all handled by the other pass.
+		 */
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			int start= node.getStartPosition();
+			int end= start + node.getLength();
+			if (fInsideRange)
+				return end >= fRangeStart && start < fRangeEnd;
+			return start < fRangeStart || end > fRangeEnd;
+		}
 
 		@Override
 		protected boolean visitLiteral(Expression node) {
@@ -261,16 +277,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 * @param highlighting The highlighting
 		 */
 		private void addPosition(int offset, int length, Highlighting highlighting) {
+			if (!isHandled(offset))
+				return;
 			boolean isExisting= false;
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeIndexAtOffset(offset), n= fRemovedOffsets.length; i < n && fRemovedOffsets[i] == offset; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-				if (position == null)
-					continue;
-				if (position.isEqual(offset, length, highlighting)) {
+				if (!fRetainedPositions.get(i) && position.isEqual(offset, length, highlighting)) {
 					isExisting= true;
-					fRemovedPositions.set(i, null);
-					fNOfRemovedPositions--;
+					fRetainedPositions.set(i);
 					break;
 				}
 			}
@@ -288,15 +302,30 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeIndexAtOffset(offset), n= fRemovedOffsets.length; i < n && fRemovedOffsets[i] < offset + length; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-				if (position != null && position.isContained(offset, length)) {
-					fRemovedPositions.set(i, null);
-					fNOfRemovedPositions--;
-				}
+				if (isHandled(fRemovedOffsets[i]) && position.isContained(offset, length))
+					fRetainedPositions.set(i);
 			}
 		}
+
+		/**
+		 * Returns the index of the first old position with an offset equal or greater than the given offset.
+		 * @param offset the offset
+		 * @return the index
+		 */
+		private int computeIndexAtOffset(int offset) {
+			int i= -1;
+			int j= fRemovedOffsets.length;
+			while (j - i > 1) {
+				int k= (i + j) >> 1;
+				if (fRemovedOffsets[k] >= offset)
+					j= k;
+				else
+					i= k;
+			}
+			return j;
+		}
 	}
 
 	/** Position collector */
@@ -315,10 +344,41 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 	/** Background job's added highlighted positions */
 	private List<Position> fAddedPositions= new ArrayList<>();
-	/** Background job's removed highlighted positions */
+	/** Background job's old highlighted positions, ordered by offset. The ones not retained are removed. */
 	private List<Position> fRemovedPositions= new ArrayList<>();
-	/** Number of removed positions */
-	private int fNOfRemovedPositions;
+	/**
+	 * Offsets of the old positions when reconciling started, searched with binary search
+	 * @since 3.27
+	 */
+	private int[] fRemovedOffsets= new int[0];
+	/**
+	 * Indices of the old positions that are still valid
+	 * @since 3.27
+	 */
+	private final BitSet fRetainedPositions= new BitSet();
+
+	/**
+	 * The range of offsets that is reconciled first, typically the visible part of the document.
+	 * The current pass handles either the offsets inside or outside of it.
+	 * @since 3.27
+	 */
+	private int fRangeStart, fRangeEnd;
+	/**
+	 * <code>true</code> if the current pass handles the offsets inside the range
+	 * @since 3.27
+	 */
+	private boolean fInsideRange;
+
+	/**
+	 * The visible range of the document, updated in the UI thread, or <code>null</code>
+	 * @since 3.27
+	 */
+	private volatile IRegion fVisibleRange;
+	/**
+	 * Keeps track of the visible range
+	 * @since 3.27
+	 */
+	private final IViewportListener fViewportListener= verticalOffset -> updateVisibleRange();
 
 	/** Background job */
 	private Job fJob;
@@ -397,16 +457,17 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 						break;
 					}
 				}
-				reconcilePositions(subtrees);
+				// the visible range first, so that it is up to date as early as possible
+				IRegion visibleRange= fVisibleRange;
+				if (visibleRange != null && (visibleRange.getOffset() > 0 || visibleRange.getOffset() + visibleRange.getLength() < ast.getLength())) {
+					reconcilePositions(subtrees, visibleRange.getOffset(), visibleRange.getOffset() + visibleRange.getLength(), true);
+					if (!fJobPresenter.isCanceled())
+						reconcilePositions(subtrees, visibleRange.getOffset(), visibleRange.getOffset() + visibleRange.getLength(), false);
+				} else {
+					reconcilePositions(subtrees, Integer.MIN_VALUE, Integer.MAX_VALUE, true);
+				}
 			}
 
-			TextPresentation textPresentation= null;
-			if (!fJobPresenter.isCanceled())
-				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
-
-			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
-
 			stopReconcilingPositions();
 		} finally {
 			fJobPresenter= null;
@@ -433,28 +494,53 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private void startReconcilingPositions() {
 		fJobPresenter.addAllPositions(fRemovedPositions);
-		fNOfRemovedPositions= fRemovedPositions.size();
+		int n= fRemovedPositions.size();
+		fRemovedOffsets= new int[n];
+		for (int i= 0; i < n; i++) {
+			fRemovedOffsets[i]= fRemovedPositions.get(i).getOffset();
+		}
+		fRetainedPositions.clear();
 	}
 
 	/**
-	 * Reconcile positions based on the AST subtrees
+	 * Reconcile the positions of one pass based on the AST subtrees and update the presentation.
 	 *
 	 * @param subtrees the AST subtrees
+	 * @param rangeStart the start of the range, inclusive
+	 * @param rangeEnd the end of the range, exclusive
+	 * @param insideRange <code>true</code> to handle the offsets inside the range, <code>false</code> to handle the ones outside
 	 */
-	private void reconcilePositions(ASTNode[] subtrees) {
+	private void reconcilePositions(ASTNode[] subtrees, int rangeStart, int rangeEnd, boolean insideRange) {
 		// FIXME: remove positions not covered by subtrees
-
-
+		fRangeStart= rangeStart;
+		fRangeEnd= rangeEnd;
+		fInsideRange= insideRange;
 
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
-		List<Position> oldPositions= fRemovedPositions;
-		List<Position> newPositions= new ArrayList<>(fNOfRemovedPositions);
-		for (Position current : oldPositions) {
-			if (current != null)
-				newPositions.add(current);
+		List<Position> removedPositions= new ArrayList<>();
+		for (int i= 0, n= fRemovedOffsets.length; i < n; i++) {
+			if (!fRetainedPositions.get(i) && isHandled(fRemovedOffsets[i]))
+				removedPositions.add(fRemovedPositions.get(i));
 		}
-		fRemovedPositions= newPositions;
+
+		TextPresentation textPresentation= null;
+		if (!fJobPresenter.isCanceled())
+			textPresentation= fJobPresenter.createPresentation(fAddedPositions, removedPositions);
+
+		if (!fJobPresenter.isCanceled())
+			updatePresentation(textPresentation, fAddedPositions, removedPositions);
+
+		fAddedPositions.clear();
+	}
+
+	/**
+	 * @param offset an offset
+	 * @return <code>true</code> iff the current pass handles positions at the offset
+	 * @since 3.27
+	 */
+	private boolean isHandled(int offset) {
+		return (offset >= fRangeStart && offset < fRangeEnd) == fInsideRange;
 	}
 
 	/**
@@ -493,10 +579,36 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private void stopReconcilingPositions() {
 		fRemovedPositions.clear();
-		fNOfRemovedPositions= 0;
+		fRemovedOffsets= new int[0];
+		fRetainedPositions.clear();
 		fAddedPositions.clear();
 	}
 
+	/**
+	 * Updates the visible range from the source viewer.
+	 * <p>
+	 * NOTE: Called from the UI thread.
+	 * </p>
+	 * @since 3.27
+	 */
+	private void updateVisibleRange() {
+		ISourceViewer sourceViewer= fSourceViewer;
+		if (sourceViewer == null || sourceViewer.getTextWidget() == null || sourceViewer.getTextWidget().isDisposed()) {
+			fVisibleRange= null;
+			return;
+		}
+		// offsets in the visible document, which differ from the model offsets when code is folded
+		int start= sourceViewer.getTopIndexStartOffset();
+		int end= sourceViewer.getBottomIndexEndOffset();
+		if (start < 0 || end <= start) {
+			fVisibleRange= null;
+		} else if (sourceViewer instanceof ITextViewerExtension5) {
+			fVisibleRange= ((ITextViewerExtension5) sourceViewer).widgetRange2ModelRange(new Region(start, end - start));
+		} else {
+			fVisibleRange= new Region(start + sourceViewer.getVisibleRegion().getOffset(), end - start);
+		}
+	}
+
 	/**
 	 * Install this reconciler on the given editor, presenter and highlightings.
 	 * @param editor the editor
@@ -512,6 +624,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 		fEditor= editor;
 		fSourceViewer= sourceViewer;
+		fSourceViewer.addViewportListener(fViewportListener);
+		updateVisibleRange();
 
 		if (fEditor instanceof CompilationUnitEditor) {
 			((CompilationUnitEditor)fEditor).addReconcileListener(this);
@@ -536,7 +650,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fEditor= null;
 		}
 
+		if (fSourceViewer != null)
+			fSourceViewer.removeViewportListener(fViewportListener);
 		fSourceViewer= null;
+		fVisibleRange= null;
 		fSemanticHighlightings= null;
 		fHighlightings= null;
 		fPresenter= null;
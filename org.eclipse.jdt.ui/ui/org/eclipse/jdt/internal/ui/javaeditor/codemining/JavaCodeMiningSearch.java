@@ -0,0 +1,522 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.search.ui.NewSearchUI;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.FieldReferenceMatch;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.MethodReferenceMatch;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.core.search.TypeReferenceMatch;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
+
+/**
+ * Computes the reference and implementation counts of the code minings of one editor.
+ * <p>
+ * The references of all members are searched with a single search for the disjunction of
+ * their patterns. A match is attributed to a member by the kind of the match and the name
+ * of the member in the matched source. Members that cannot be told apart this way, like
+ * overloaded methods and constructors, are searched separately, and so are all members of a
+ * kind as soon as a match of that kind cannot be attributed. Implementation counts use one
+ * type hierarchy per type.
+ * </p>
+ * <p>
+ * Counts are cached per element until the Java model changes, and at most
+ * {@link #MAX_CONCURRENT_SEARCHES} searches run at the same time over all editors. A reconcile
+ * of a unit that shows code minings only clears the reference counts if the content of the
+ * unit changed, since an edit of a method body can add or remove references but does not change
+ * the type hierarchies that implementation counts come from. A reconcile that changes the
+ * members of the unit clears all counts.
+ * </p>
+ */
+public final class JavaCodeMiningSearch {
+
+	/**
+	 * Maximal number of code mining searches and type hierarchy computations that run at the
+	 * same time.
+	 */
+	static final int MAX_CONCURRENT_SEARCHES= 2;
+
+	private static final Semaphore fgSearchPermits= new Semaphore(MAX_CONCURRENT_SEARCHES, true);
+
+	private static final Map<IJavaElement, Long> fgReferenceCounts= new ConcurrentHashMap<>();
+	private static final Map<IJavaElement, Long> fgImplementationCounts= new ConcurrentHashMap<>();
+
+	/** Units that show code minings, with the number of editors that show them */
+	private static final Map<IJavaElement, Integer> fgMinedUnits= new ConcurrentHashMap<>();
+
+	private static IElementChangedListener fgCacheInvalidator;
+	/** Incremented whenever the cached counts are invalidated */
+	private static final AtomicInteger fgGeneration= new AtomicInteger();
+
+	private static final AtomicLong fgSearchCount= new AtomicLong();
+	private static final AtomicLong fgCacheHitCount= new AtomicLong();
+
+	private final Map<IJavaElement, CompletableFuture<Long>> fReferenceCounts= new LinkedHashMap<>();
+	private final Map<IJavaElement, CompletableFuture<Long>> fImplementationCounts= new LinkedHashMap<>();
+	private final Map<IType, IType[]> fSubtypes= new HashMap<>();
+	/** The cache generation when the counts were started, counts of older generations are not cached */
+	private int fGeneration;
+
+	public JavaCodeMiningSearch() {
+		installCacheInvalidator();
+	}
+
+	private static synchronized void installCacheInvalidator() {
+		if (fgCacheInvalidator != null)
+			return;
+		fgCacheInvalidator= new IElementChangedListener() {
+			@Override
+			public void elementChanged(ElementChangedEvent event) {
+				IJavaElementDelta delta= event.getDelta();
+				if (event.getType() == ElementChangedEvent.POST_RECONCILE && fgMinedUnits.containsKey(delta.getElement())) {
+					if ((delta.getFlags() & IJavaElementDelta.F_CHILDREN) != 0)
+						invalidate(true);
+					else if ((delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0)
+						invalidate(false);
+					return;
+				}
+				if (isContentChange(delta))
+					invalidate(true);
+			}
+		};
+		JavaCore.addElementChangedListener(fgCacheInvalidator, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private static void invalidate(boolean implementations) {
+		fgGeneration.incrementAndGet();
+		fgReferenceCounts.clear();
+		if (implementations)
+			fgImplementationCounts.clear();
+	}
+
+	/**
+	 * Tells that an editor shows the code minings of a unit, so that its reconciles keep the
+	 * cached counts as far as the changes allow.
+	 *
+	 * @param unit the unit
+	 */
+	public static void addMinedUnit(ITypeRoot unit) {
+		fgMinedUnits.merge(unit, Integer.valueOf(1), Integer::sum);
+	}
+
+	/**
+	 * Tells that an editor no longer shows the code minings of a unit.
+	 *
+	 * @param unit the unit passed to {@link #addMinedUnit(ITypeRoot)}
+	 */
+	public static void removeMinedUnit(ITypeRoot unit) {
+		fgMinedUnits.computeIfPresent(unit, (u, count) -> count.intValue() == 1 ? null : Integer.valueOf(count.intValue() - 1));
+	}
+
+	/*
+	 * Working copies that are created or discarded do not change counts.
+	 */
+	private static boolean isContentChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+		if ((delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0)
+			return true;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isContentChange(child))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Requests the reference count of an element.
+	 *
+	 * @param element the element
+	 * @return the future reference count, completed by {@link #run(IProgressMonitor)}
+	 */
+	public CompletableFuture<Long> addReferenceCount(IJavaElement element) {
+		return fReferenceCounts.computeIfAbsent(element, e -> new CompletableFuture<>());
+	}
+
+	/**
+	 * Requests the implementation count of a type or method.
+	 *
+	 * @param element the type or method
+	 * @return the future implementation count, completed by {@link #run(IProgressMonitor)}
+	 */
+	public CompletableFuture<Long> addImplementationCount(IJavaElement element) {
+		return fImplementationCounts.computeIfAbsent(element, e -> new CompletableFuture<>());
+	}
+
+	/**
+	 * Computes all requested counts. The futures of cached counts are completed first. Futures
+	 * that are not completed when the monitor is canceled are canceled.
+	 *
+	 * @param monitor the progress monitor
+	 */
+	public void run(IProgressMonitor monitor) {
+		fGeneration= fgGeneration.get();
+		try {
+			completeCached(fReferenceCounts, fgReferenceCounts);
+			completeCached(fImplementationCounts, fgImplementationCounts);
+			countImplementations(monitor);
+			countReferences(monitor);
+		} catch (OperationCanceledException e) {
+			// canceled, the remaining futures are canceled below
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (CoreException | RuntimeException e) {
+			JavaPlugin.log(e);
+		} finally {
+			for (CompletableFuture<Long> count : fReferenceCounts.values())
+				count.cancel(false);
+			for (CompletableFuture<Long> count : fImplementationCounts.values())
+				count.cancel(false);
+		}
+	}
+
+	private static void completeCached(Map<IJavaElement, CompletableFuture<Long>> counts, Map<IJavaElement, Long> cache) {
+		for (Entry<IJavaElement, CompletableFuture<Long>> entry : counts.entrySet()) {
+			Long count= cache.get(entry.getKey());
+			if (count != null) {
+				fgCacheHitCount.incrementAndGet();
+				entry.getValue().complete(count);
+			}
+		}
+	}
+
+	private void complete(IJavaElement element, CompletableFuture<Long> future, long count, Map<IJavaElement, Long> cache) {
+		Long value= Long.valueOf(count);
+		if (fGeneration == fgGeneration.get())
+			cache.put(element, value);
+		future.complete(value);
+	}
+
+	private void countImplementations(IProgressMonitor monitor) throws CoreException, InterruptedException {
+		for (Entry<IJavaElement, CompletableFuture<Long>> entry : fImplementationCounts.entrySet()) {
+			if (entry.getValue().isDone())
+				continue;
+			checkCanceled(monitor);
+			IJavaElement element= entry.getKey();
+			long count= 0;
+			if (element instanceof IType) {
+				for (IType subtype : getSubtypes((IType) element, monitor)) {
+					if (subtype.getAncestor(IJavaElement.COMPILATION_UNIT) != null)
+						count++;
+				}
+			} else if (element instanceof IMethod) {
+				IMethod method= (IMethod) element;
+				for (IType subtype : getSubtypes(method.getDeclaringType(), monitor)) {
+					if (subtype.getAncestor(IJavaElement.COMPILATION_UNIT) != null && subtype.getMethod(method.getElementName(), method.getParameterTypes()).exists())
+						count++;
+				}
+			}
+			complete(element, entry.getValue(), count, fgImplementationCounts);
+		}
+	}
+
+	private IType[] getSubtypes(IType type, IProgressMonitor monitor) throws JavaModelException, InterruptedException {
+		IType[] subtypes= fSubtypes.get(type);
+		if (subtypes == null) {
+			acquire(monitor);
+			try {
+				subtypes= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+			} finally {
+				fgSearchPermits.release();
+			}
+			fSubtypes.put(type, subtypes);
+		}
+		return subtypes;
+	}
+
+	private void countReferences(IProgressMonitor monitor) throws CoreException, InterruptedException {
+		// members that a match can be attributed to by kind and name
+		Map<String, List<IJavaElement>> byKey= new LinkedHashMap<>();
+		List<IJavaElement> separate= new ArrayList<>();
+		for (Entry<IJavaElement, CompletableFuture<Long>> entry : fReferenceCounts.entrySet()) {
+			if (entry.getValue().isDone())
+				continue;
+			IJavaElement element= entry.getKey();
+			String key= getKey(element);
+			if (key == null)
+				separate.add(element);
+			else
+				byKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(element);
+		}
+		Map<String, IJavaElement> batched= new LinkedHashMap<>();
+		for (Entry<String, List<IJavaElement>> entry : byKey.entrySet()) {
+			if (entry.getValue().size() == 1)
+				batched.put(entry.getKey(), entry.getValue().get(0));
+			else
+				separate.addAll(entry.getValue());
+		}
+		if (batched.size() > 1) {
+			separate.addAll(countBatchedReferences(batched, monitor));
+		} else {
+			separate.addAll(batched.values());
+		}
+		for (IJavaElement element : separate) {
+			checkCanceled(monitor);
+			complete(element, fReferenceCounts.get(element), countReferences(element, monitor), fgReferenceCounts);
+		}
+	}
+
+	/**
+	 * Searches the references of the given members in one pass.
+	 *
+	 * @param batched the members by the keys of their matches
+	 * @param monitor the progress monitor
+	 * @return the members whose references could not be attributed and must be searched separately
+	 * @throws CoreException if the search failed
+	 * @throws InterruptedException if interrupted while waiting for a search permit
+	 */
+	private List<IJavaElement> countBatchedReferences(Map<String, IJavaElement> batched, IProgressMonitor monitor) throws CoreException, InterruptedException {
+		SearchPattern pattern= null;
+		Map<String, IJavaElement> searched= new LinkedHashMap<>();
+		List<IJavaElement> separate= new ArrayList<>();
+		for (Entry<String, IJavaElement> entry : batched.entrySet()) {
+			SearchPattern elementPattern= SearchPattern.createPattern(entry.getValue(), IJavaSearchConstants.REFERENCES);
+			if (elementPattern == null) {
+				complete(entry.getValue(), fReferenceCounts.get(entry.getValue()), 0, fgReferenceCounts);
+				continue;
+			}
+			pattern= pattern == null ? elementPattern : SearchPattern.createOrPattern(pattern, elementPattern);
+			searched.put(entry.getKey(), entry.getValue());
+		}
+		if (pattern == null)
+			return separate;
+
+		Map<IJavaElement, AtomicLong> counts= new HashMap<>();
+		for (IJavaElement element : searched.values())
+			counts.put(element, new AtomicLong());
+		Map<Character, Boolean> unattributedKinds= new HashMap<>();
+		Map<Character, Integer> membersPerKind= new HashMap<>();
+		for (String key : searched.keySet())
+			membersPerKind.merge(Character.valueOf(key.charAt(0)), Integer.valueOf(1), Integer::sum);
+		final boolean ignoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
+
+		search(pattern, searched.values().iterator().next(), new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (!isCounted(match, ignoreInaccurate))
+					return;
+				Character kind= getKind(match);
+				if (kind == null)
+					return;
+				Integer members= membersPerKind.get(kind);
+				if (members == null)
+					return;
+				IJavaElement member= null;
+				if (members.intValue() == 1) {
+					for (Entry<String, IJavaElement> entry : searched.entrySet()) {
+						if (entry.getKey().charAt(0) == kind.charValue())
+							member= entry.getValue();
+					}
+				} else {
+					member= attribute(match, kind.charValue(), searched);
+				}
+				if (member != null)
+					counts.get(member).incrementAndGet();
+				else
+					unattributedKinds.put(kind, Boolean.TRUE);
+			}
+		}, monitor);
+
+		for (Entry<String, IJavaElement> entry : searched.entrySet()) {
+			IJavaElement element= entry.getValue();
+			if (unattributedKinds.containsKey(Character.valueOf(entry.getKey().charAt(0))))
+				separate.add(element);
+			else
+				complete(element, fReferenceCounts.get(element), counts.get(element).get(), fgReferenceCounts);
+		}
+		return separate;
+	}
+
+	/*
+	 * Returns the member whose name occurs in the matched source, or null if there is not exactly one.
+	 * The range of a method reference includes its arguments, so only the source in front of the
+	 * first parenthesis is considered.
+	 */
+	private static IJavaElement attribute(SearchMatch match, char kind, Map<String, IJavaElement> searched) throws JavaModelException {
+		IOpenable openable= ((IJavaElement) match.getElement()).getOpenable();
+		IBuffer buffer= openable != null ? openable.getBuffer() : null;
+		if (buffer == null || match.getLength() == 0 || match.getOffset() + match.getLength() > buffer.getLength())
+			return null;
+		String text= buffer.getText(match.getOffset(), match.getLength());
+		int paren= text.indexOf('(');
+		if (paren != -1)
+			text= text.substring(0, paren);
+		IJavaElement result= null;
+		for (Entry<String, IJavaElement> entry : searched.entrySet()) {
+			if (entry.getKey().charAt(0) == kind && containsIdentifier(text, entry.getValue().getElementName())) {
+				if (result != null)
+					return null;
+				result= entry.getValue();
+			}
+		}
+		return result;
+	}
+
+	private static boolean containsIdentifier(String text, String identifier) {
+		for (int index= text.indexOf(identifier); index != -1; index= text.indexOf(identifier, index + 1)) {
+			int end= index + identifier.length();
+			if ((index == 0 || !Character.isJavaIdentifierPart(text.charAt(index - 1)))
+					&& (end == text.length() || !Character.isJavaIdentifierPart(text.charAt(end))))
+				return true;
+		}
+		return false;
+	}
+
+	/*
+	 * The kind of the matches of a member, followed by its name, or null if the matches of the
+	 * member cannot be attributed by name.
+	 */
+	private static String getKey(IJavaElement element) throws JavaModelException {
+		switch (element.getElementType()) {
+			case IJavaElement.TYPE:
+				return 'T' + element.getElementName();
+			case IJavaElement.FIELD:
+				return 'F' + element.getElementName();
+			case IJavaElement.METHOD:
+				// constructor references like super(..) do not contain the name
+				return ((IMethod) element).isConstructor() ? null : 'M' + element.getElementName();
+			default:
+				return null;
+		}
+	}
+
+	private static Character getKind(SearchMatch match) {
+		if (match instanceof TypeReferenceMatch)
+			return Character.valueOf('T');
+		if (match instanceof FieldReferenceMatch)
+			return Character.valueOf('F');
+		if (match instanceof MethodReferenceMatch)
+			return Character.valueOf('M');
+		return null;
+	}
+
+	private static boolean isCounted(SearchMatch match, boolean ignoreInaccurate) {
+		if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
+			return false;
+		}
+		Object o= match.getElement();
+		if (o instanceof IJavaElement) {
+			IJavaElement e= (IJavaElement) o;
+			return e.getAncestor(IJavaElement.COMPILATION_UNIT) != null || e.getAncestor(IJavaElement.CLASS_FILE) != null;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of references of the given element.
+	 *
+	 * @param element the element
+	 * @param monitor the progress monitor
+	 * @return the number of references
+	 * @throws CoreException if the search failed
+	 * @throws InterruptedException if interrupted while waiting for a search permit
+	 */
+	static long countReferences(IJavaElement element, IProgressMonitor monitor) throws CoreException, InterruptedException {
+		if (element == null) {
+			return 0;
+		}
+		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		if (pattern == null) {
+			return 0;
+		}
+		final AtomicLong count= new AtomicLong(0);
+		final boolean ignoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
+		search(pattern, element, new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (isCounted(match, ignoreInaccurate))
+					count.incrementAndGet();
+			}
+		}, monitor);
+		return count.get();
+	}
+
+	private static void search(SearchPattern pattern, IJavaElement element, SearchRequestor requestor, IProgressMonitor monitor) throws CoreException, InterruptedException {
+		acquire(monitor);
+		try {
+			fgSearchCount.incrementAndGet();
+			new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+					createSearchScope(element), requestor, monitor);
+		} finally {
+			fgSearchPermits.release();
+		}
+	}
+
+	private static IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		return factory.createWorkspaceScope(factory.isInsideJRE(element));
+	}
+
+	private static void acquire(IProgressMonitor monitor) throws InterruptedException {
+		while (!fgSearchPermits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+			checkCanceled(monitor);
+		}
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+	}
+
+	/**
+	 * @return the number of searches run for code minings
+	 */
+	public static long getSearchCount() {
+		return fgSearchCount.get();
+	}
+
+	/**
+	 * @return the number of counts taken from the cache
+	 */
+	public static long getCacheHitCount() {
+		return fgCacheHitCount.get();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 Angelo Zerr and others.
+ * Copyright (c) 2018, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -67,6 +67,9 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 
 	private final boolean editorEnabled;
 
+	/** The unit whose minings this provider shows, registered with {@link JavaCodeMiningSearch} */
+	private ITypeRoot fMinedUnit;
+
 	public JavaElementCodeMiningProvider() {
 		editorEnabled= JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_CODEMINING_ENABLED);
 		showAtLeastOne= editorEnabled && JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_CODEMINING_AT_LEAST_ONE);
@@ -97,10 +100,12 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 			if (unit == null) {
 				return Collections.emptyList();
 			}
+			setMinedUnit(unit);
 			try {
 				IJavaElement[] elements= unit.getChildren();
 				List<ICodeMining> minings= new ArrayList<>(elements.length);
-				collectMinings(unit, textEditor, unit.getChildren(), minings, viewer, monitor);
+				JavaCodeMiningSearch search= new JavaCodeMiningSearch();
+				collectMinings(unit, textEditor, unit.getChildren(), minings, search, viewer, monitor);
 				// interrupt if editor was marked to be reconciled in the meantime
 				if (viewer instanceof ISourceViewerExtension5) {
 					ISourceViewerExtension5 codeMiningViewer= (ISourceViewerExtension5)viewer;
@@ -109,6 +114,10 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 					}
 				}
 				monitor.isCanceled();
+				if (!minings.isEmpty()) {
+					// one search for all minings, their resolution waits for the counts
+					CompletableFuture.runAsync(() -> search.run(monitor));
+				}
 				return minings;
 			} catch (JavaModelException e) {
 				// Should never occur
@@ -117,6 +126,26 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 		});
 	}
 
+	private synchronized void setMinedUnit(ITypeRoot unit) {
+		if (unit.equals(fMinedUnit))
+			return;
+		if (fMinedUnit != null)
+			JavaCodeMiningSearch.removeMinedUnit(fMinedUnit);
+		fMinedUnit= unit;
+		JavaCodeMiningSearch.addMinedUnit(unit);
+	}
+
+	@Override
+	public void dispose() {
+		synchronized (this) {
+			if (fMinedUnit != null) {
+				JavaCodeMiningSearch.removeMinedUnit(fMinedUnit);
+				fMinedUnit= null;
+			}
+		}
+		super.dispose();
+	}
+
 	/**
 	 * Collect java code minings.
 	 *
@@ -124,12 +153,13 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 	 * @param textEditor the Java editor
 	 * @param elements the java elements to track
 	 * @param minings the current list of minings to update
+	 * @param search computes the counts of the minings
 	 * @param viewer the viewer
 	 * @param monitor the monitor
 	 * @throws JavaModelException thrown when java model error
 	 */
 	private void collectMinings(ITypeRoot unit, ITextEditor textEditor, IJavaElement[] elements,
-			List<ICodeMining> minings, ITextViewer viewer, IProgressMonitor monitor) throws JavaModelException {
+			List<ICodeMining> minings, JavaCodeMiningSearch search, ITextViewer viewer, IProgressMonitor monitor) throws JavaModelException {
 
 		// Only Java editor is supported, see bug 541811
 		if(!(textEditor instanceof JavaEditor)) {
@@ -146,7 +176,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				return;
 			}
 			if (element.getElementType() == IJavaElement.TYPE) {
-				collectMinings(unit, textEditor, ((IType) element).getChildren(), minings, viewer, monitor);
+				collectMinings(unit, textEditor, ((IType) element).getChildren(), minings, search, viewer, monitor);
 			} else if ((element.getElementType() != IJavaElement.METHOD)
 					&& (element.getElementType() != IJavaElement.FIELD)) {
 				continue;
@@ -158,7 +188,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 							|| (showReferencesOnFields && (element.getElementType() == IJavaElement.FIELD)) // Show references on fields
 					) {
 						minings.add(new JavaReferenceCodeMining(element, (JavaEditor) textEditor, viewer.getDocument(),
-								this, showAtLeastOne));
+								this, showAtLeastOne, search.addReferenceCount(element)));
 					}
 				} catch (BadLocationException e) {
 					// Should never occur
@@ -178,7 +208,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				if (addMining) {
 					try {
 						minings.add(new JavaImplementationCodeMining(element, (JavaEditor) textEditor, viewer.getDocument(), this,
-								showAtLeastOne));
+								showAtLeastOne, search.addImplementationCount(element)));
 					} catch (BadLocationException e) {
 						// Should never occur
 					}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Angelo Zerr and others.
+ * Copyright (c) 2019, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -65,63 +65,39 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 
 	private Consumer<MouseEvent> action;
 
+	/**
+	 * The implementation count computed for all minings of the editor, or <code>null</code> to
+	 * compute it when the mining is resolved
+	 */
+	private final CompletableFuture<Long> implementationCount;
+
 	public JavaImplementationCodeMining(IJavaElement element, JavaEditor editor, IDocument document, ICodeMiningProvider provider,
 			boolean showImplementationsAtLeastOne) throws JavaModelException, BadLocationException {
+		this(element, editor, document, provider, showImplementationsAtLeastOne, null);
+	}
+
+	JavaImplementationCodeMining(IJavaElement element, JavaEditor editor, IDocument document, ICodeMiningProvider provider,
+			boolean showImplementationsAtLeastOne, CompletableFuture<Long> implementationCount) throws JavaModelException, BadLocationException {
 		super(element, document, provider, null);
 		this.editor= editor;
 		this.showImplementationsAtLeastOne= showImplementationsAtLeastOne;
+		this.implementationCount= implementationCount;
 	}
 
-	@SuppressWarnings("boxing")
 	@Override
 	protected CompletableFuture<Void> doResolve(ITextViewer viewer, IProgressMonitor monitor) {
+		if (implementationCount != null) {
+			return implementationCount.thenAccept(count -> update(count.longValue(), monitor));
+		}
 		return CompletableFuture.runAsync(() -> {
 			try {
 				IJavaElement element= super.getElement();
 				if (element instanceof IType) {
-					// for a type, count types implementing this type and show type hierarchy
-					final long typeImplCount= countTypeImplementations((IType) element, monitor);
-					action= typeImplCount > 0 ? e -> {
-						if (typeImplCount == 1 && (e.stateMask & SWT.CTRL) == SWT.CTRL) {
-							// Ctrl + Click is done, open the referenced element in the Java Editor
-							try {
-								IType javaElement= getTypeImplementation((IType)element, monitor);
-								showJavaElementInEditor(javaElement);
-							} catch (CoreException e1) {
-								// Should never occur
-							}
-						} else {
-							// Otherwise, launch open type hierarchy
-							new OpenTypeHierarchyAction(editor).run(new StructuredSelection(element));
-						}
-					} : null;
-					if (typeImplCount == 0 && showImplementationsAtLeastOne) {
-						super.setLabel(""); //$NON-NLS-1$
-					} else {
-						super.setLabel(MessageFormat.format(JavaCodeMiningMessages.JavaImplementationCodeMining_label, typeImplCount));
-					}
+					// for a type, count types implementing this type
+					update(countTypeImplementations((IType) element, monitor), monitor);
 				} else if (element instanceof IMethod) {
-					// for a method, count declarations in hierarchy and show search->declarations->hierarchy
-					final long methodImplCount= countMethodImplementations((IMethod) element, monitor);
-					action= methodImplCount > 0 ? e -> {
-						if (methodImplCount == 1 && (e.stateMask & SWT.CTRL) == SWT.CTRL) {
-							// Ctrl + Click is done, open the referenced element in the Java Editor
-							try {
-								IMethod javaElement= getMethodImplementation((IMethod)element, monitor);
-								showJavaElementInEditor(javaElement);
-							} catch (CoreException e1) {
-								// Should never occur
-							}
-						} else {
-							// Otherwise, launch find declarations in type hierarchy
-							new FindDeclarationsInHierarchyAction(editor, true).run(element);
-						}
-					} : null;
-					if (methodImplCount == 0 && showImplementationsAtLeastOne) {
-						super.setLabel(""); //$NON-NLS-1$
-					} else {
-						super.setLabel(MessageFormat.format(JavaCodeMiningMessages.JavaImplementationCodeMining_label, methodImplCount));
-					}
+					// for a method, count declarations in hierarchy
+					update(countMethodImplementations((IMethod) element, monitor), monitor);
 				}
 			} catch (CoreException e1) {
 				// Should never occur
@@ -129,6 +105,51 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 		});
 	}
 
+	@SuppressWarnings("boxing")
+	private void update(long implCount, IProgressMonitor monitor) {
+		IJavaElement element= super.getElement();
+		if (element instanceof IType) {
+			// show type hierarchy
+			action= implCount > 0 ? e -> {
+				if (implCount == 1 && (e.stateMask & SWT.CTRL) == SWT.CTRL) {
+					// Ctrl + Click is done, open the referenced element in the Java Editor
+					try {
+						IType javaElement= getTypeImplementation((IType)element, monitor);
+						showJavaElementInEditor(javaElement);
+					} catch (CoreException e1) {
+						// Should never occur
+					}
+				} else {
+					// Otherwise, launch open type hierarchy
+					new OpenTypeHierarchyAction(editor).run(new StructuredSelection(element));
+				}
+			} : null;
+		} else if (element instanceof IMethod) {
+			// show search->declarations->hierarchy
+			action= implCount > 0 ? e -> {
+				if (implCount == 1 && (e.stateMask & SWT.CTRL) == SWT.CTRL) {
+					// Ctrl + Click is done, open the referenced element in the Java Editor
+					try {
+						IMethod javaElement= getMethodImplementation((IMethod)element, monitor);
+						showJavaElementInEditor(javaElement);
+					} catch (CoreException e1) {
+						// Should never occur
+					}
+				} else {
+					// Otherwise, launch find declarations in type hierarchy
+					new FindDeclarationsInHierarchyAction(editor, true).run(element);
+				}
+			} : null;
+		} else {
+			return;
+		}
+		if (implCount == 0 && showImplementationsAtLeastOne) {
+			super.setLabel(""); //$NON-NLS-1$
+		} else {
+			super.setLabel(MessageFormat.format(JavaCodeMiningMessages.JavaImplementationCodeMining_label, implCount));
+		}
+	}
+
 	@Override
 	public Consumer<MouseEvent> getAction() {
 		return action;
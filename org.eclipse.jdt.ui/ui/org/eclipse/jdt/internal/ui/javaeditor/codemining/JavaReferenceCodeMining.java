@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2020 Angelo Zerr and others.
+ * Copyright (c) 2018, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,6 @@ package org.eclipse.jdt.internal.ui.javaeditor.codemining;
 
 import java.text.MessageFormat;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.eclipse.swt.SWT;
@@ -36,8 +35,6 @@ import org.eclipse.ui.IEditorPart;
 
 import org.eclipse.ui.texteditor.ITextEditor;
 
-import org.eclipse.search.ui.NewSearchUI;
-
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -54,7 +51,6 @@ import org.eclipse.jdt.ui.actions.FindReferencesAction;
 
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
-import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
 
 /**
  * Java reference code mining.
@@ -69,102 +65,81 @@ public class JavaReferenceCodeMining extends AbstractJavaElementLineHeaderCodeMi
 
 	private Consumer<MouseEvent> action;
 
+	/**
+	 * The reference count computed for all minings of the editor, or <code>null</code> to search
+	 * the references when the mining is resolved
+	 */
+	private final CompletableFuture<Long> referenceCount;
+
 	public JavaReferenceCodeMining(IJavaElement element, JavaEditor editor, IDocument document,
 			ICodeMiningProvider provider, boolean showReferencesAtLeastOne)
 			throws JavaModelException, BadLocationException {
+		this(element, editor, document, provider, showReferencesAtLeastOne, null);
+	}
+
+	JavaReferenceCodeMining(IJavaElement element, JavaEditor editor, IDocument document,
+			ICodeMiningProvider provider, boolean showReferencesAtLeastOne, CompletableFuture<Long> referenceCount)
+			throws JavaModelException, BadLocationException {
 		super(element, document, provider, null);
 		this.editor= editor;
 		this.showReferencesAtLeastOne= showReferencesAtLeastOne;
+		this.referenceCount= referenceCount;
 	}
 
-	@SuppressWarnings("boxing")
 	@Override
 	protected CompletableFuture<Void> doResolve(ITextViewer viewer, IProgressMonitor monitor) {
+		if (referenceCount != null) {
+			return referenceCount.thenAccept(refCount -> update(refCount.longValue(), monitor));
+		}
 		return CompletableFuture.runAsync(() -> {
 			try {
 				monitor.isCanceled();
-				IJavaElement element= super.getElement();
-				long refCount= countReferences(element, monitor);
+				long refCount= JavaCodeMiningSearch.countReferences(super.getElement(), monitor);
 				monitor.isCanceled();
-				action= refCount > 0 ? e -> {
-					if (refCount == 1 && ((e.stateMask & SWT.CTRL) == SWT.CTRL || (e.stateMask & SWT.COMMAND) == SWT.COMMAND)) {
-						// Ctrl + Click is done, open the referenced element in the Java Editor
-						try {
-							SearchMatch match= getReferenceMatch(element, monitor);
-							IJavaElement javaElement= (IJavaElement) match.getElement();
-							IEditorPart part= EditorUtility.openInEditor(javaElement);
-							if (part != null) {
-								EditorUtility.revealInEditor(part, javaElement);
-								if (part instanceof ITextEditor) {
-									ITextEditor textEditor= (ITextEditor) part;
-									textEditor.selectAndReveal(match.getOffset(), match.getLength());
-								}
-							}
-						} catch (CoreException e1) {
-							// Should never occur
-						}
-					} else {
-						// Otherwise, launch references search
-						new FindReferencesAction(editor).run(element);
-					}
-				} : null;
-				if (refCount == 0 && showReferencesAtLeastOne) {
-					super.setLabel(""); //$NON-NLS-1$
-				} else {
-					super.setLabel(MessageFormat.format(JavaCodeMiningMessages.JavaReferenceCodeMining_label, refCount));
-				}
+				update(refCount, monitor);
 			} catch (CoreException e) {
 				// Should never occur
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
 			}
 		});
 	}
 
-	@Override
-	public Consumer<MouseEvent> getAction() {
-		return action;
-	}
-
-	/**
-	 * Return the number of references for the given java element.
-	 *
-	 * @param element the java element.
-	 * @param monitor the monitor
-	 * @return he number of references for the given java element.
-	 * @throws JavaModelException throws when java error.
-	 * @throws CoreException throws when java error.
-	 */
-	private static long countReferences(IJavaElement element, IProgressMonitor monitor)
-			throws JavaModelException, CoreException {
-		if (element == null) {
-			return 0;
-		}
-		final AtomicLong count= new AtomicLong(0);
-		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
-		if (pattern == null) {
-			return 0;
-		}
-		SearchEngine engine= new SearchEngine();
-		final boolean ignoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
-		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-				createSearchScope(element), new SearchRequestor() {
-
-					@Override
-					public void acceptSearchMatch(SearchMatch match) throws CoreException {
-						if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
-							return;
-						}
-						Object o= match.getElement();
-						if (o instanceof IJavaElement) {
-							IJavaElement e= (IJavaElement)o;
-							if (e.getAncestor(IJavaElement.COMPILATION_UNIT) != null
-									|| e.getAncestor(IJavaElement.CLASS_FILE) != null) {
-								count.incrementAndGet();
-							}
+	@SuppressWarnings("boxing")
+	private void update(long refCount, IProgressMonitor monitor) {
+		IJavaElement element= super.getElement();
+		action= refCount > 0 ? e -> {
+			if (refCount == 1 && ((e.stateMask & SWT.CTRL) == SWT.CTRL || (e.stateMask & SWT.COMMAND) == SWT.COMMAND)) {
+				// Ctrl + Click is done, open the referenced element in the Java Editor
+				try {
+					SearchMatch match= getReferenceMatch(element, monitor);
+					IJavaElement javaElement= (IJavaElement) match.getElement();
+					IEditorPart part= EditorUtility.openInEditor(javaElement);
+					if (part != null) {
+						EditorUtility.revealInEditor(part, javaElement);
+						if (part instanceof ITextEditor) {
+							ITextEditor textEditor= (ITextEditor) part;
+							textEditor.selectAndReveal(match.getOffset(), match.getLength());
 						}
 					}
-				}, monitor);
+				} catch (CoreException e1) {
+					// Should never occur
+				}
+			} else {
+				// Otherwise, launch references search
+				new FindReferencesAction(editor).run(element);
+			}
+		} : null;
+		if (refCount == 0 && showReferencesAtLeastOne) {
+			super.setLabel(""); //$NON-NLS-1$
+		} else {
+			super.setLabel(MessageFormat.format(JavaCodeMiningMessages.JavaReferenceCodeMining_label, refCount));
+		}
+	}
 
-		return count.get();
+	@Override
+	public Consumer<MouseEvent> getAction() {
+		return action;
 	}
 
 	/**
@@ -203,21 +178,6 @@ public class JavaReferenceCodeMining extends AbstractJavaElementLineHeaderCodeMi
 		return matches[0];
 	}
 
-	/**
-	 * Create Java workspace scope.
-	 *
-	 * @param element IJavaElement to search references for
-	 *
-	 * @return the Java workspace scope.
-	 * @throws JavaModelException when java error.
-	 */
-	private static IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
-		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
-		boolean isInsideJRE = factory.isInsideJRE(element);
-		IJavaSearchScope scope= factory.createWorkspaceScope(isInsideJRE);
-		return scope;
-	}
-
 	/**
 	 * Create Java source search scope.
 	 *
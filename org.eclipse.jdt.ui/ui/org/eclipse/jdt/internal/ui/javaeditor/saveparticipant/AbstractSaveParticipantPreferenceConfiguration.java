@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,6 +47,19 @@ public abstract class AbstractSaveParticipantPreferenceConfiguration implements
      */
     public static final String EDITOR_SAVE_PARTICIPANT_PREFIX= "editor_save_participant_";  //$NON-NLS-1$
 
+	/**
+	 * Preference key that controls whether the changes of the save participants that implement
+	 * {@link IBackgroundPostSaveListener} are computed in the background after the compilation unit
+	 * has been saved.
+	 * <p>
+	 * Value is of type <code>Boolean</code>.
+	 * </p>
+	 *
+	 * @see SaveParticipantRegistry#isBackgroundSaveEnabled()
+	 * @since 3.27
+	 */
+	public static final String EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND= "editor_save_participants_in_background"; //$NON-NLS-1$
+
 	private SelectionButtonDialogField fEnableField;
 	private IScopeContext fContext;
 
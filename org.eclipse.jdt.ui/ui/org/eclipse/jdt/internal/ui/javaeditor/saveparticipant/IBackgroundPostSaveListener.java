@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.saveparticipant;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.IRegion;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitDocumentProvider;
+
+/**
+ * A post save listener that can compute its changes in the background.
+ * <p>
+ * If save actions are computed in the background, see
+ * {@link AbstractSaveParticipantPreferenceConfiguration#EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND},
+ * the {@link CompilationUnitDocumentProvider} does not call
+ * {@link #saved(ICompilationUnit, IRegion[], IProgressMonitor)} but
+ * {@link #computeChanges(ICompilationUnit, IRegion[], IProgressMonitor)} in a background job, with
+ * a private working copy that holds the saved content. The document provider then applies the
+ * changes of all background listeners to the document in one step.
+ * </p>
+ *
+ * @since 3.27
+ */
+public interface IBackgroundPostSaveListener extends IPostSaveListener {
+
+	/**
+	 * Changes the given working copy as {@link #saved(ICompilationUnit, IRegion[], IProgressMonitor)}
+	 * would change the saved compilation unit.
+	 * <p>
+	 * The method is called in a background thread. It must neither open dialogs nor touch any
+	 * file, and it must not save, commit or discard the given working copy.
+	 * </p>
+	 *
+	 * @param workingCopy a private working copy of the saved compilation unit, with the saved
+	 *            content
+	 * @param changedRegions the regions where the compilation unit has changed since the last
+	 *            save, or <code>null</code> if {@link #needsChangedRegions(ICompilationUnit)}
+	 *            returned <code>false</code>
+	 * @param monitor the progress monitor for reporting progress
+	 * @throws CoreException if something went wrong, in which case the changes of no listener
+	 *             are applied
+	 */
+	void computeChanges(ICompilationUnit workingCopy, IRegion[] changedRegions, IProgressMonitor monitor) throws CoreException;
+}
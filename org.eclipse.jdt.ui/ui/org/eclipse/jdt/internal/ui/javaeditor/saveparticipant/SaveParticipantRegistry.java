@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2011 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.IScopeContext;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ProjectScope;
@@ -221,4 +222,16 @@ public final class SaveParticipantRegistry {
 		return false;
 	}
 
+	/**
+	 * Tells whether the changes of the enabled post save listeners that implement
+	 * {@link IBackgroundPostSaveListener} are computed in the background.
+	 *
+	 * @return <code>true</code> if save participants run in the background
+	 * @see AbstractSaveParticipantPreferenceConfiguration#EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND
+	 * @since 3.27
+	 */
+	public static boolean isBackgroundSaveEnabled() {
+		return InstanceScope.INSTANCE.getNode(JavaUI.ID_PLUGIN).getBoolean(AbstractSaveParticipantPreferenceConfiguration.EDITOR_SAVE_PARTICIPANTS_IN_BACKGROUND, false);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,13 @@ package org.eclipse.jdt.internal.ui.packageview;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -89,10 +94,20 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	private boolean fShowLibrariesNode;
 	private boolean fFoldPackages;
 
+	/**
+	 * Number of updates from which the viewer does not redraw until all updates have run.
+	 */
+	private static final int BATCH_REDRAW_THRESHOLD= 20;
+
 	private Collection<Runnable> fPendingUpdates;
 
 	private UIJob fUpdateJob;
 
+	/** Number of viewer updates posted, only accessed in the UI thread */
+	private long fPostedUpdateCount;
+	/** Number of viewer updates dropped because other updates subsumed them, only accessed in the UI thread */
+	private long fCollapsedUpdateCount;
+
 	/**
 	 * We use a cache to know whether a package has a single child for the hierarchical representation.
 	 * This avoids looping over all packages for each call to
@@ -205,10 +220,123 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	private void runUpdates(Collection<Runnable> runnables) {
-		Iterator<Runnable> runnableIterator = runnables.iterator();
-		while (runnableIterator.hasNext()){
-			runnableIterator.next().run();
+		List<Runnable> updates= coalesceUpdates(runnables);
+		Control control= fViewer.getControl();
+		boolean batch= updates.size() > BATCH_REDRAW_THRESHOLD && control != null && !control.isDisposed();
+		if (batch)
+			control.setRedraw(false);
+		try {
+			for (Runnable update : updates) {
+				update.run();
+			}
+		} finally {
+			if (batch && !control.isDisposed())
+				control.setRedraw(true);
+		}
+	}
+
+	/**
+	 * Drops the updates that other updates of the same run make redundant. A refresh of an
+	 * element subsumes refreshes, additions and removals below it, because the refresh reads the
+	 * children from the current model. A removal makes the additions of the same element earlier
+	 * in the run redundant, but still runs, since the element may have been in the viewer before.
+	 * The remaining updates keep their order.
+	 *
+	 * @param runnables the updates to run
+	 * @return the updates that are still needed
+	 */
+	private List<Runnable> coalesceUpdates(Collection<Runnable> runnables) {
+		int count= runnables.size();
+		fPostedUpdateCount+= count;
+		if (count < 2)
+			return new ArrayList<>(runnables);
+
+		// refreshed elements, mapped to whether labels are updated
+		Map<Object, Boolean> refreshed= new HashMap<>();
+		Map<Object, List<AddUpdate>> added= new HashMap<>();
+		Set<Runnable> cancelled= Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof RefreshUpdate) {
+				RefreshUpdate refresh= (RefreshUpdate) runnable;
+				for (Object element : refresh.fElements) {
+					if (element != null)
+						refreshed.merge(element, Boolean.valueOf(refresh.fUpdateLabels), (b1, b2) -> Boolean.valueOf(b1.booleanValue() || b2.booleanValue()));
+				}
+			} else if (runnable instanceof AddUpdate) {
+				AddUpdate add= (AddUpdate) runnable;
+				added.computeIfAbsent(add.fElement, e -> new ArrayList<>(1)).add(add);
+			} else if (runnable instanceof RemoveUpdate) {
+				List<AddUpdate> adds= added.remove(((RemoveUpdate) runnable).fElement);
+				if (adds != null)
+					cancelled.addAll(adds);
+			}
+		}
+		if (refreshed.isEmpty() && cancelled.isEmpty())
+			return new ArrayList<>(runnables);
+
+		List<Runnable> result= new ArrayList<>(count);
+		Set<Object> emitted= new HashSet<>();
+		for (Runnable runnable : runnables) {
+			if (cancelled.contains(runnable))
+				continue;
+			if (runnable instanceof RefreshUpdate) {
+				RefreshUpdate refresh= (RefreshUpdate) runnable;
+				List<Object> elements= new ArrayList<>(refresh.fElements.length);
+				boolean updateLabels= refresh.fUpdateLabels;
+				for (Object element : refresh.fElements) {
+					if (element == null) {
+						elements.add(element);
+					} else if (!isBelowRefresh(element, refreshed, refresh.fUpdateLabels) && emitted.add(element)) {
+						elements.add(element);
+						updateLabels|= refreshed.get(element).booleanValue();
+					}
+				}
+				if (elements.size() == refresh.fElements.length && updateLabels == refresh.fUpdateLabels)
+					result.add(refresh);
+				else if (!elements.isEmpty())
+					result.add(new RefreshUpdate(elements.toArray(), updateLabels));
+			} else if (runnable instanceof AddUpdate) {
+				Object parent= ((AddUpdate) runnable).fParent;
+				if (!refreshed.containsKey(parent) && !isBelowRefresh(parent, refreshed, false))
+					result.add(runnable);
+			} else if (runnable instanceof RemoveUpdate) {
+				if (!isBelowRefresh(((RemoveUpdate) runnable).fElement, refreshed, false))
+					result.add(runnable);
+			} else {
+				result.add(runnable);
+			}
+		}
+		fCollapsedUpdateCount+= count - result.size();
+		return result;
+	}
+
+	/*
+	 * Tells whether a refresh of an ancestor of the element covers it.
+	 */
+	private boolean isBelowRefresh(Object element, Map<Object, Boolean> refreshed, boolean updateLabels) {
+		Object parent= getParent(element);
+		for (int depth= 0; parent != null && depth < 100; depth++) {
+			Boolean labels= refreshed.get(parent);
+			if (labels != null && (labels.booleanValue() || !updateLabels))
+				return true;
+			parent= getParent(parent);
 		}
+		return false;
+	}
+
+	/**
+	 * @return the number of viewer updates posted by this provider
+	 */
+	public long getPostedUpdateCount() {
+		return fPostedUpdateCount;
+	}
+
+	/**
+	 * @return the number of posted viewer updates that were dropped because other updates
+	 *         subsumed them
+	 */
+	public long getCollapsedUpdateCount() {
+		return fCollapsedUpdateCount;
 	}
 
 
@@ -949,35 +1077,72 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Object element : toRefresh.toArray()) {
+		runnables.add(new RefreshUpdate(toRefresh.toArray(), updateLabels));
+	}
+
+	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
+		runnables.add(new AddUpdate(parent, element));
+	}
+
+	protected void postRemove(final Object element, Collection<Runnable> runnables) {
+		runnables.add(new RemoveUpdate(element));
+	}
+
+	private final class RefreshUpdate implements Runnable {
+		final Object[] fElements;
+		final boolean fUpdateLabels;
+
+		RefreshUpdate(Object[] elements, boolean updateLabels) {
+			fElements= elements;
+			fUpdateLabels= updateLabels;
+		}
+
+		@Override
+		public void run() {
+			for (Object element : fElements) {
 				if (element == null || fViewer.testFindItems(element).length > 0) {
-					fViewer.refresh(element, updateLabels);
+					fViewer.refresh(element, fUpdateLabels);
 				}
 			}
-		});
+		}
 	}
 
-	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Widget item : fViewer.testFindItems(element)) {
+	private final class AddUpdate implements Runnable {
+		final Object fParent;
+		final Object fElement;
+
+		AddUpdate(Object parent, Object element) {
+			fParent= parent;
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			for (Widget item : fViewer.testFindItems(fElement)) {
 				if (item instanceof TreeItem && !item.isDisposed()) {
 					TreeItem parentItem= ((TreeItem) item).getParentItem();
-					if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
+					if (parentItem != null && !parentItem.isDisposed() && fParent.equals(parentItem.getData())) {
 						return; // no add, element already added (most likely by a refresh)
 					}
 				}
 			}
-			fViewer.add(parent, element);
-		});
+			fViewer.add(fParent, fElement);
+		}
 	}
 
-	protected void postRemove(final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			if (fViewer.testFindItems(element).length > 0) {
-				fViewer.remove(element);
+	private final class RemoveUpdate implements Runnable {
+		final Object fElement;
+
+		RemoveUpdate(Object element) {
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			if (fViewer.testFindItems(fElement).length > 0) {
+				fViewer.remove(fElement);
 			}
-		});
+		}
 	}
 
 	protected void postProjectStateChanged(final Object root, Collection<Runnable> runnables) {
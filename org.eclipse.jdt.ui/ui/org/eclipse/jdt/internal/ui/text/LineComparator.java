@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
@@ -34,7 +31,8 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 public class LineComparator implements IRangeComparator {
 
 	private final IDocument fDocument;
-	private final ArrayList<Integer> fHashes;
+	private final int[] fHashes;
+	private final boolean[] fHashed;
 
     /**
 	 * Create a line comparator for the given document.
@@ -44,8 +42,9 @@ public class LineComparator implements IRangeComparator {
 	public LineComparator(IDocument document) {
 		fDocument= document;
 
-		Integer[] nulls= new Integer[fDocument.getNumberOfLines()];
-		fHashes= new ArrayList<>(Arrays.asList(nulls));
+		int lines= fDocument.getNumberOfLines();
+		fHashes= new int[lines];
+		fHashed= new boolean[lines];
     }
 
 	/*
@@ -62,7 +61,7 @@ public class LineComparator implements IRangeComparator {
     @Override
 	public boolean rangesEqual(int thisIndex, IRangeComparator other, int otherIndex) {
 		try {
-			return getHash(thisIndex).equals(((LineComparator) other).getHash(otherIndex));
+			return getHash(thisIndex) == ((LineComparator) other).getHash(otherIndex);
 		} catch (BadLocationException e) {
 			JavaPlugin.log(e);
 			return false;
@@ -82,16 +81,15 @@ public class LineComparator implements IRangeComparator {
 	 * @return the hash of the line
 	 * @throws BadLocationException if the line number is invalid
 	 */
-	private Integer getHash(int line) throws BadLocationException {
-		Integer hash= fHashes.get(line);
-		if (hash == null) {
+	private int getHash(int line) throws BadLocationException {
+		if (!fHashed[line]) {
 			IRegion lineRegion= fDocument.getLineInformation(line);
 			String lineContents= fDocument.get(lineRegion.getOffset(), lineRegion.getLength());
-			hash= computeDJBHash(lineContents);
-			fHashes.set(line, hash);
+			fHashes[line]= computeDJBHash(lineContents);
+			fHashed[line]= true;
 		}
 
-		return hash;
+		return fHashes[line];
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -51,6 +51,7 @@ import org.eclipse.ltk.core.refactoring.NullChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.JavaUI;
@@ -69,6 +70,8 @@ import org.eclipse.jdt.internal.ui.text.correction.proposals.MarkerResolutionPro
 
 public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassist.IQuickAssistProcessor {
 
+	private static final Instrumentation.Timer QUICK_FIX= Instrumentation.getTimer(Instrumentation.QUICK_FIX);
+
 	private static final String QUICKFIX_PROCESSOR_CONTRIBUTION_ID= "quickFixProcessors"; //$NON-NLS-1$
 	private static final String QUICKASSIST_PROCESSOR_CONTRIBUTION_ID= "quickAssistProcessors"; //$NON-NLS-1$
 
@@ -244,7 +247,10 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		ICompletionProposal[] res= null;
 		if (model != null && context != null && annotations != null) {
 			ArrayList<IJavaCompletionProposal> proposals= new ArrayList<>(10);
-			IStatus status= collectProposals(context, model, annotations, true, !fAssistant.isUpdatedOffset(), proposals);
+			IStatus status;
+			try (Instrumentation.Scope scope= QUICK_FIX.start()) {
+				status= collectProposals(context, model, annotations, true, !fAssistant.isUpdatedOffset(), proposals);
+			}
 			res= proposals.toArray(new ICompletionProposal[proposals.size()]);
 			if (!status.isOK()) {
 				fErrorMessage= status.getMessage();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2012 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,6 +37,7 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.contentassist.IContextInformation;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.text.IJavaPartitions;
@@ -71,6 +72,8 @@ final class CompletionProposalComputerDescriptor {
 	private static final String PARTITION= "partition"; //$NON-NLS-1$
 	/** The extension schema name of the requiresUIThread attribute. */
 	private static final String REQUIRES_UI_THREAD= "requiresUIThread"; //$NON-NLS-1$
+	/** The extension schema name of the concurrent attribute. */
+	private static final String CONCURRENT= "concurrent"; //$NON-NLS-1$
 	/** Set of Java partition types. */
 	private static final Set<String> PARTITION_SET;
 	/** The name of the performance event used to trace extensions. */
@@ -155,7 +158,18 @@ final class CompletionProposalComputerDescriptor {
 	 */
 	private final boolean fRequiresUIThread;
 
+	/**
+	 * Tells whether the contributed processor can compute proposals concurrently with other
+	 * processors.
+	 * @since 3.27
+	 */
+	private final boolean fConcurrent;
 
+	/**
+	 * The timer of the proposal computations.
+	 * @since 3.27
+	 */
+	private final Instrumentation.Timer fTimer;
 
 
 	/**
@@ -175,6 +189,7 @@ final class CompletionProposalComputerDescriptor {
 		fElement= element;
 		IExtension extension= element.getDeclaringExtension();
 		fId= extension.getUniqueIdentifier();
+		fTimer= Instrumentation.getTimer(Instrumentation.CONTENT_ASSIST_COMPUTER + fId);
 		checkNotNull(fId, "id"); //$NON-NLS-1$
 
 		String name= extension.getLabel();
@@ -207,6 +222,7 @@ final class CompletionProposalComputerDescriptor {
 
 		// Not Boolean.parse() to ensure fRequiresUIThread is true if attribute is not set/null
 		fRequiresUIThread = !Boolean.FALSE.toString().equals(element.getAttribute(REQUIRES_UI_THREAD));
+		fConcurrent= !fRequiresUIThread && Boolean.parseBoolean(element.getAttribute(CONCURRENT));
 
 		String categoryId= element.getAttribute(CATEGORY_ID);
 		if (categoryId == null)
@@ -345,7 +361,10 @@ final class CompletionProposalComputerDescriptor {
 
 			try {
 				PerformanceStats stats= startMeter(context, computer);
-				List<ICompletionProposal> proposals= computer.computeCompletionProposals(context, monitor);
+				List<ICompletionProposal> proposals;
+				try (Instrumentation.Scope scope= fTimer.start()) {
+					proposals= computer.computeCompletionProposals(context, monitor);
+				}
 				stopMeter(stats, COMPUTE_COMPLETION_PROPOSALS);
 
 				if (proposals != null) {
@@ -474,6 +493,9 @@ final class CompletionProposalComputerDescriptor {
 			computer.sessionEnded();
 			stopMeter(stats, SESSION_ENDED);
 
+			if (MEASURE_PERFORMANCE && fTimer.getCount() > 0)
+				System.out.println(PERFORMANCE_EVENT + " " + getName() + " latencies: " + fTimer); //$NON-NLS-1$ //$NON-NLS-2$
+
 			return;
 		} catch (InvalidRegistryObjectException x) {
 			status= createExceptionStatus(x);
@@ -616,4 +638,16 @@ final class CompletionProposalComputerDescriptor {
 	public boolean requiresUIThread() {
 		return this.fRequiresUIThread;
 	}
+
+	/**
+	 * Returns whether the described extension can compute proposals concurrently with other
+	 * extensions, as declared by its <code>concurrent</code> flag. Extensions that require the UI
+	 * thread never run concurrently.
+	 *
+	 * @return <code>true</code> if the extension can compute proposals concurrently
+	 * @since 3.27
+	 */
+	public boolean isConcurrent() {
+		return fConcurrent;
+	}
 }
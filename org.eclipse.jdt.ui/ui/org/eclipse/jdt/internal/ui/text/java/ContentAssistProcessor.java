@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.layout.GridData;
@@ -69,6 +70,7 @@ import org.eclipse.ui.keys.IBindingService;
 
 import org.eclipse.ui.texteditor.ITextEditorActionDefinitionIds;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
@@ -115,6 +117,12 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 				return;
 			}
 
+			// a previous session ends before this one starts, even if its computers did not return yet
+			Runnable pendingSessionEnd= fPendingSessionEnd;
+			if (pendingSessionEnd != null) {
+				pendingSessionEnd.run();
+			}
+
 			fIterationGesture= getIterationGesture();
 			KeySequence binding= getIterationBinding();
 
@@ -181,8 +189,28 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 				return;
 			}
 
-			for (CompletionProposalCategory cat : getCategoriesToNotify()) {
-				cat.sessionEnded();
+			// the computers must not end their session while they still compute on the pool
+			Set<CompletionProposalCategory> categories= getCategoriesToNotify();
+			ProposalComputation computation= fComputation;
+			fComputation= null;
+			if (computation != null && !computation.cancelAndWait()) {
+				Display display= Display.getCurrent();
+				Runnable sessionEnd= new Runnable() {
+					@Override
+					public void run() {
+						if (fPendingSessionEnd == this) {
+							fPendingSessionEnd= null;
+							endSessions(categories);
+						}
+					}
+				};
+				fPendingSessionEnd= sessionEnd;
+				computation.whenAllDone(() -> {
+					if (display != null && !display.isDisposed())
+						display.asyncExec(sessionEnd);
+				});
+			} else {
+				endSessions(categories);
 			}
 
 			fSelectedProposal= null;
@@ -201,6 +229,12 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 			}
 		}
 
+		private void endSessions(Set<CompletionProposalCategory> categories) {
+			for (CompletionProposalCategory cat : categories) {
+				cat.sessionEnded();
+			}
+		}
+
 		/*
 		 * @see org.eclipse.jface.text.contentassist.ICompletionListener#selectionChanged(org.eclipse.jface.text.contentassist.ICompletionProposal, boolean)
 		 */
@@ -227,6 +261,8 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	private static final String PREF_WARN_ABOUT_EMPTY_ASSIST_CATEGORY= "EmptyDefaultAssistCategory"; //$NON-NLS-1$
 
+	private static final Instrumentation.Timer CONTENT_ASSIST= Instrumentation.getTimer(Instrumentation.CONTENT_ASSIST);
+
 	private static final Comparator<CompletionProposalCategory> ORDER_COMPARATOR= (d1, d2) -> d1.getSortOrder() - d2.getSortOrder();
 
 	private final List<CompletionProposalCategory> fCategories;
@@ -259,6 +295,37 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	private boolean fNeedsSortingAfterFiltering;
 
+	/**
+	 * The computation of the proposals of the current invocation, whose late proposals are
+	 * shown by refreshing the proposal popup.
+	 *
+	 * @since 3.27
+	 */
+	private volatile ProposalComputation fComputation;
+
+	/**
+	 * Tells whether the proposals are shown again to add the late proposals of
+	 * {@link #fComputation}.
+	 *
+	 * @since 3.27
+	 */
+	private volatile boolean fRefreshing;
+
+	/**
+	 * Tells whether a refresh of the proposal popup is scheduled.
+	 *
+	 * @since 3.27
+	 */
+	private volatile boolean fRefreshScheduled;
+
+	/**
+	 * Ends the session of the computers of the last session once its canceled computers have
+	 * returned, or <code>null</code> if that session has ended. Only accessed in the UI thread.
+	 *
+	 * @since 3.27
+	 */
+	private Runnable fPendingSessionEnd;
+
 
 	public ContentAssistProcessor(ContentAssistant assistant, String partition) {
 		Assert.isNotNull(partition);
@@ -275,40 +342,42 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	@Override
 	public final ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int offset) {
-		long start= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
+		try (Instrumentation.Scope scope= CONTENT_ASSIST.start()) {
+			long start= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
 
-		clearState();
+			clearState();
 
-		IProgressMonitor monitor= createProgressMonitor();
-		monitor.beginTask(JavaTextMessages.ContentAssistProcessor_computing_proposals, fCategories.size() + 1);
+			IProgressMonitor monitor= createProgressMonitor();
+			monitor.beginTask(JavaTextMessages.ContentAssistProcessor_computing_proposals, fCategories.size() + 1);
 
-		ContentAssistInvocationContext context= createContext(viewer, offset);
-		long setup= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
+			ContentAssistInvocationContext context= createContext(viewer, offset);
+			long setup= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
 
-		monitor.subTask(JavaTextMessages.ContentAssistProcessor_collecting_proposals);
-		List<ICompletionProposal> proposals= collectProposals(viewer, offset, monitor, context);
-		long collect= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
+			monitor.subTask(JavaTextMessages.ContentAssistProcessor_collecting_proposals);
+			List<ICompletionProposal> proposals= collectProposals(viewer, offset, monitor, context);
+			long collect= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
 
-		monitor.subTask(JavaTextMessages.ContentAssistProcessor_sorting_proposals);
-		if (fNeedsSortingAfterFiltering) {
-			setContentAssistSorter();
-		} else {
-			proposals= sortProposals(proposals, monitor, context);
-		}
-		fNumberOfComputedResults= proposals.size();
-		long filter= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
+			monitor.subTask(JavaTextMessages.ContentAssistProcessor_sorting_proposals);
+			if (fNeedsSortingAfterFiltering) {
+				setContentAssistSorter();
+			} else {
+				proposals= sortProposals(proposals, monitor, context);
+			}
+			fNumberOfComputedResults= proposals.size();
+			long filter= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
 
-		ICompletionProposal[] result= proposals.toArray(new ICompletionProposal[proposals.size()]);
-		monitor.done();
+			ICompletionProposal[] result= proposals.toArray(new ICompletionProposal[proposals.size()]);
+			monitor.done();
 
-		if (JavaPlugin.DEBUG_RESULT_COLLECTOR) {
-			System.err.println("Code Assist Stats (" + result.length + " proposals)"); //$NON-NLS-1$ //$NON-NLS-2$
-			System.err.println("Code Assist (setup):\t" + (setup - start) ); //$NON-NLS-1$
-			System.err.println("Code Assist (collect):\t" + (collect - setup) ); //$NON-NLS-1$
-			System.err.println("Code Assist (sort):\t" + (filter - collect) ); //$NON-NLS-1$
-		}
+			if (JavaPlugin.DEBUG_RESULT_COLLECTOR) {
+				System.err.println("Code Assist Stats (" + result.length + " proposals)"); //$NON-NLS-1$ //$NON-NLS-2$
+				System.err.println("Code Assist (setup):\t" + (setup - start) ); //$NON-NLS-1$
+				System.err.println("Code Assist (collect):\t" + (collect - setup) ); //$NON-NLS-1$
+				System.err.println("Code Assist (sort):\t" + (filter - collect) ); //$NON-NLS-1$
+			}
 
-		return result;
+			return result;
+		}
 	}
 
 	private void clearState() {
@@ -326,17 +395,36 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 * @return the list of proposals
 	 */
 	private List<ICompletionProposal> collectProposals(ITextViewer viewer, int offset, IProgressMonitor monitor, ContentAssistInvocationContext context) {
-		boolean needsSortingAfterFiltering= false;
-		List<ICompletionProposal> proposals= new ArrayList<>();
-		List<CompletionProposalCategory> providers= getCategories();
-		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
-			proposals.addAll(computed);
-			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
-			if (fErrorMessage == null) {
-				fErrorMessage= cat.getErrorMessage();
+		ProposalComputation computation= fComputation;
+		boolean refreshing= fRefreshing && computation != null;
+		fRefreshing= false;
+		// a refresh after the user typed further filters the proposals of the current computation
+		boolean current= refreshing && computation.isContinuedBy(context);
+		if (!current) {
+			// a refresh keeps the categories of the current iteration
+			List<CompletionProposalCategory> categories= refreshing ? computation.getCategories() : getCategories();
+			if (computation != null) {
+				computation.cancel();
 			}
+			computation= ProposalComputation.start(categories, fPartition, context, monitor);
+			fComputation= computation;
+		}
+
+		// a refresh of the current computation shows the proposals that are ready without waiting
+		// again, and a refresh that had to compute again does not schedule another one
+		if (!current) {
+			computation.await();
+		}
+		if (!computation.isDone() && refreshing == current) {
+			ProposalComputation lateComputation= computation;
+			computation.whenDone(() -> scheduleRefresh(viewer, lateComputation));
 		}
+
+		List<ICompletionProposal> proposals= current && !computation.matches(context)
+				? computation.getProposals(context.getDocument(), context.getInvocationOffset())
+				: computation.getProposals();
+		boolean needsSortingAfterFiltering= computation.needsSortingAfterFiltering();
+		fErrorMessage= computation.getErrorMessage();
 		if (fNeedsSortingAfterFiltering && !needsSortingAfterFiltering) {
 			fAssistant.setSorter(null);
 		}
@@ -344,6 +432,32 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return proposals;
 	}
 
+	/**
+	 * Shows the proposals again once a late computer of the given computation is done, if the
+	 * computation is still the current one of a session. The refresh takes the proposals of the
+	 * computation without computing them again, and filters them if the document was modified in
+	 * the meantime.
+	 *
+	 * @param viewer the text viewer
+	 * @param computation the computation
+	 * @since 3.27
+	 */
+	private void scheduleRefresh(ITextViewer viewer, ProposalComputation computation) {
+		StyledText widget= viewer.getTextWidget();
+		if (fRefreshScheduled || widget == null || widget.isDisposed()) {
+			return;
+		}
+		fRefreshScheduled= true;
+		widget.getDisplay().asyncExec(() -> {
+			fRefreshScheduled= false;
+			// only while a session shows the proposal popup
+			if (fComputation == computation && fCategoryIteration != null && !widget.isDisposed()) {
+				fRefreshing= true;
+				fAssistant.showPossibleCompletions();
+			}
+		});
+	}
+
 	/**
 	 * Filters and sorts the proposals. The passed list may be modified
 	 * and returned, or a new list may be created and returned.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,6 +37,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.core.manipulation.Instrumentation;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
@@ -48,6 +49,8 @@ import org.eclipse.jdt.internal.ui.text.JavaReconciler;
 
 public class JavaReconcilingStrategy implements IReconcilingStrategy, IReconcilingStrategyExtension {
 
+	private static final Instrumentation.Timer RECONCILE= Instrumentation.getTimer(Instrumentation.RECONCILE);
+	private static final Instrumentation.Timer RECONCILE_LISTENERS= Instrumentation.getTimer(Instrumentation.RECONCILE_LISTENERS);
 
 	private ITextEditor fEditor;
 
@@ -91,7 +94,9 @@ public class JavaReconcilingStrategy implements IReconcilingStrategy, IReconcili
 			SafeRunner.run(new ISafeRunnable() {
 				@Override
 				public void run() throws JavaModelException {
-					fAST= reconcile(unit, initialReconcile);
+					try (Instrumentation.Scope scope= RECONCILE.start()) {
+						fAST= reconcile(unit, initialReconcile);
+					}
 				}
 				@Override
 				public void handleException(Throwable ex) {
@@ -225,7 +230,9 @@ public class JavaReconcilingStrategy implements IReconcilingStrategy, IReconcili
 				IProgressMonitor pm= fProgressMonitor;
 				if (pm == null)
 					pm= new NullProgressMonitor();
-				fJavaReconcilingListener.reconciled(fAST, !fNotify, pm);
+				try (Instrumentation.Scope scope= RECONCILE_LISTENERS.start()) {
+					fJavaReconcilingListener.reconciled(fAST, !fNotify, pm);
+				}
 			}
 		} finally {
 			fNotify= true;
@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.contentassist.ICompletionProposalExtension;
+import org.eclipse.jface.text.contentassist.ICompletionProposalExtension2;
+
+import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+
+/**
+ * The computation of the completion proposals of a list of categories for one content assist
+ * invocation.
+ * <p>
+ * The computers that are declared <code>concurrent</code> compute their proposals on a shared
+ * pool of threads, while the other computers compute their proposals one after another in the
+ * calling thread, as before. The caller then waits for the concurrent computers until the
+ * {@link #LATENCY_BUDGET latency budget} of the invocation is spent and shows the proposals that
+ * are ready. The proposals of the computers that finish later are available from the same
+ * computation when the proposals are shown again, also after the user has typed further.
+ * </p>
+ *
+ * @since 3.27
+ */
+final class ProposalComputation {
+
+	/**
+	 * The time in milliseconds after which the proposals that are ready are shown without waiting
+	 * for the remaining concurrent computers.
+	 */
+	private static final long LATENCY_BUDGET= 300;
+
+	/**
+	 * The time in milliseconds to wait for canceled concurrent computers to return.
+	 */
+	private static final long CANCEL_TIMEOUT= 100;
+
+	private static final ExecutorService fgExecutor= Executors.newFixedThreadPool(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)), runnable -> {
+		Thread thread= new Thread(runnable, "Java Content Assist"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * The computation of the proposals of one computer.
+	 */
+	private static final class Task {
+		final CompletionProposalCategory fCategory;
+		final CompletionProposalComputerDescriptor fDescriptor;
+		CompletableFuture<List<ICompletionProposal>> fResult;
+		volatile String fErrorMessage;
+
+		Task(CompletionProposalCategory category, CompletionProposalComputerDescriptor descriptor) {
+			fCategory= category;
+			fDescriptor= descriptor;
+		}
+
+		List<ICompletionProposal> compute(ContentAssistInvocationContext context, IProgressMonitor monitor) {
+			// a descriptor keeps the state of its last computation, which must not interleave
+			synchronized (fDescriptor) {
+				if (monitor.isCanceled())
+					return Collections.emptyList();
+				List<ICompletionProposal> proposals= fDescriptor.computeCompletionProposals(context, monitor);
+				fErrorMessage= fDescriptor.getErrorMessage();
+				return proposals;
+			}
+		}
+	}
+
+	private final List<CompletionProposalCategory> fCategories;
+	private final List<Task> fTasks= new ArrayList<>();
+	private final IProgressMonitor fMonitor= new NullProgressMonitor();
+	private final IDocument fDocument;
+	private final int fOffset;
+	private final long fModificationStamp;
+	private final long fDeadline;
+	private final AtomicBoolean fListening= new AtomicBoolean();
+	private CompletableFuture<Void> fAll;
+
+	private ProposalComputation(List<CompletionProposalCategory> categories, ContentAssistInvocationContext context) {
+		fCategories= categories;
+		fDocument= context.getDocument();
+		fOffset= context.getInvocationOffset();
+		fModificationStamp= getModificationStamp(fDocument);
+		fDeadline= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LATENCY_BUDGET);
+	}
+
+	/**
+	 * Starts the concurrent computers of the given categories and runs the other computers.
+	 *
+	 * @param categories the categories to compute the proposals of
+	 * @param partition the partition type of the invocation offset
+	 * @param context the invocation context
+	 * @param monitor the progress monitor, with one unit of work per category
+	 * @return the computation
+	 */
+	static ProposalComputation start(List<CompletionProposalCategory> categories, String partition, ContentAssistInvocationContext context, IProgressMonitor monitor) {
+		ProposalComputation computation= new ProposalComputation(categories, context);
+		List<CompletableFuture<List<ICompletionProposal>>> concurrent= new ArrayList<>();
+		for (CompletionProposalCategory category : categories) {
+			for (CompletionProposalComputerDescriptor descriptor : category.getProposalComputerDescriptors(partition)) {
+				Task task= new Task(category, descriptor);
+				computation.fTasks.add(task);
+				if (descriptor.isConcurrent()) {
+					task.fResult= CompletableFuture.supplyAsync(() -> task.compute(context, computation.fMonitor), fgExecutor);
+					concurrent.add(task.fResult);
+				}
+			}
+		}
+		computation.fAll= CompletableFuture.allOf(concurrent.toArray(new CompletableFuture<?>[concurrent.size()]));
+
+		int index= 0;
+		for (CompletionProposalCategory category : categories) {
+			SubProgressMonitor categoryMonitor= new SubProgressMonitor(monitor, 1);
+			for (; index < computation.fTasks.size() && computation.fTasks.get(index).fCategory == category; index++) {
+				Task task= computation.fTasks.get(index);
+				if (task.fResult == null)
+					task.fResult= CompletableFuture.completedFuture(task.compute(context, categoryMonitor));
+			}
+			categoryMonitor.done();
+		}
+		return computation;
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * @return the categories whose proposals are computed
+	 */
+	List<CompletionProposalCategory> getCategories() {
+		return fCategories;
+	}
+
+	/**
+	 * Waits for the concurrent computers until the latency budget of the invocation is spent.
+	 */
+	void await() {
+		long remaining= fDeadline - System.nanoTime();
+		try {
+			if (remaining > 0)
+				fAll.get(remaining, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// show the proposals that are ready
+		} catch (ExecutionException e) {
+			// failed computers contribute no proposals
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if all computers are done
+	 */
+	boolean isDone() {
+		return fAll.isDone();
+	}
+
+	/**
+	 * Tells whether this computation was started for the same invocation as the given context,
+	 * i.e. for the same offset in an unmodified document.
+	 *
+	 * @param context the invocation context
+	 * @return <code>true</code> if the proposals of this computation are valid for the context
+	 */
+	boolean matches(ContentAssistInvocationContext context) {
+		return context.getDocument() == fDocument
+				&& context.getInvocationOffset() == fOffset
+				&& isDocumentUnchanged();
+	}
+
+	/**
+	 * Tells whether the document of the invocation is unchanged since this computation was
+	 * started.
+	 *
+	 * @return <code>true</code> if the document was not modified
+	 */
+	private boolean isDocumentUnchanged() {
+		return fModificationStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+				&& getModificationStamp(fDocument) == fModificationStamp;
+	}
+
+	/**
+	 * Tells whether the proposals of this computation can be shown for the given context after
+	 * filtering, i.e. whether the context is in the same document at or after the offset of this
+	 * computation.
+	 *
+	 * @param context the invocation context
+	 * @return <code>true</code> if the proposals can be filtered for the context
+	 * @see #getProposals(IDocument, int)
+	 */
+	boolean isContinuedBy(ContentAssistInvocationContext context) {
+		return context.getDocument() == fDocument && context.getInvocationOffset() >= fOffset;
+	}
+
+	/**
+	 * Returns the proposals of the computers that are done, in the order of the categories.
+	 *
+	 * @return the proposals computed so far
+	 */
+	List<ICompletionProposal> getProposals() {
+		List<ICompletionProposal> proposals= new ArrayList<>();
+		for (Task task : fTasks) {
+			proposals.addAll(getProposals(task));
+		}
+		return proposals;
+	}
+
+	/**
+	 * Returns the proposals of the computers that are done and that are still valid at the given
+	 * offset, like the proposal popup filters them while the user types.
+	 *
+	 * @param document the document
+	 * @param offset the current offset
+	 * @return the valid proposals computed so far
+	 */
+	List<ICompletionProposal> getProposals(IDocument document, int offset) {
+		List<ICompletionProposal> proposals= getProposals();
+		proposals.removeIf(proposal -> !isValid(proposal, document, offset));
+		return proposals;
+	}
+
+	private static boolean isValid(ICompletionProposal proposal, IDocument document, int offset) {
+		if (proposal instanceof ICompletionProposalExtension2)
+			return ((ICompletionProposalExtension2) proposal).validate(document, offset, null);
+		if (proposal instanceof ICompletionProposalExtension)
+			return ((ICompletionProposalExtension) proposal).isValidFor(document, offset);
+		return true;
+	}
+
+	private static List<ICompletionProposal> getProposals(Task task) {
+		if (!task.fResult.isDone() || task.fResult.isCompletedExceptionally())
+			return Collections.emptyList();
+		return task.fResult.join();
+	}
+
+	/**
+	 * @return <code>true</code> if a category whose computers are done and have proposals needs
+	 *         sorting after filtering
+	 */
+	boolean needsSortingAfterFiltering() {
+		for (Task task : fTasks) {
+			if (task.fCategory.isSortingAfterFilteringNeeded() && !getProposals(task).isEmpty())
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the first error message of the computers that are done, or <code>null</code>
+	 */
+	String getErrorMessage() {
+		for (Task task : fTasks) {
+			if (task.fResult.isDone() && task.fErrorMessage != null)
+				return task.fErrorMessage;
+		}
+		return null;
+	}
+
+	/**
+	 * Runs the given runnable each time a computer that is not yet done finishes. Only the first
+	 * runnable passed to a computation is registered.
+	 *
+	 * @param runnable the runnable to run in the thread of the finished computer
+	 */
+	void whenDone(Runnable runnable) {
+		if (!fListening.compareAndSet(false, true))
+			return;
+		for (Task task : fTasks) {
+			if (!task.fResult.isDone())
+				task.fResult.whenComplete((proposals, exception) -> runnable.run());
+		}
+	}
+
+	/**
+	 * Cancels the concurrent computers that are not done.
+	 */
+	void cancel() {
+		fMonitor.setCanceled(true);
+	}
+
+	/**
+	 * Cancels the concurrent computers that are not done and waits a short time for them to
+	 * return. A computer that ignores the cancellation is not waited for any longer.
+	 *
+	 * @return <code>true</code> if the computers of this computation are no longer used
+	 * @see #whenAllDone(Runnable)
+	 */
+	boolean cancelAndWait() {
+		cancel();
+		try {
+			fAll.get(CANCEL_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			return false;
+		} catch (ExecutionException | CancellationException e) {
+			// failed computers contribute no proposals
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return fAll.isDone();
+		}
+		return true;
+	}
+
+	/**
+	 * Runs the given runnable once all concurrent computers have returned.
+	 *
+	 * @param runnable the runnable to run in the thread of the last computer, or in the calling
+	 *            thread if all computers are done
+	 */
+	void whenAllDone(Runnable runnable) {
+		fAll.whenComplete((result, exception) -> runnable.run());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Nicolaj Hoess.
+ * Copyright (c) 2019, 2026 Nicolaj Hoess and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.template.contentassist;
 
+import java.util.Collections;
+
 import org.eclipse.swt.graphics.Point;
 
 import org.eclipse.jface.text.IDocument;
@@ -86,7 +88,8 @@ public class PostfixTemplateEngine extends TemplateEngine {
 		int end= context.getEnd();
 		IRegion region= new Region(start, end - start);
 
-		Template[] templates= JavaPlugin.getDefault().getTemplateStore().getTemplates(getContextType().getId());
+		String prefix= context.isForceEvaluation() ? "" : context.getPrefixKey().toLowerCase(); //$NON-NLS-1$
+		Template[] templates= TemplateIndex.getIndex(JavaPlugin.getDefault().getTemplateStore()).getCandidates(Collections.singleton(getContextType().getId()), prefix, false);
 
 		for (Template template : templates) {
 			if (context.canEvaluate(template)) {
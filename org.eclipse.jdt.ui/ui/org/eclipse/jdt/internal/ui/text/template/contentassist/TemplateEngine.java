@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,10 @@
 package org.eclipse.jdt.internal.ui.text.template.contentassist;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
@@ -36,12 +39,17 @@ import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.templates.GlobalTemplateVariables;
 import org.eclipse.jface.text.templates.Template;
 import org.eclipse.jface.text.templates.TemplateContextType;
+import org.eclipse.jface.text.templates.persistence.TemplateStore;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.template.java.CompilationUnitContext;
 import org.eclipse.jdt.internal.corext.template.java.CompilationUnitContextType;
+import org.eclipse.jdt.internal.corext.template.java.JavaContext;
+import org.eclipse.jdt.internal.corext.template.java.JavaContextCore;
+import org.eclipse.jdt.internal.corext.template.java.JavaDocContext;
 import org.eclipse.jdt.internal.corext.template.java.SWTContextType;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
@@ -152,10 +160,9 @@ public class TemplateEngine {
 		int end= context.getEnd();
 		IRegion region= new Region(start, end - start);
 
-		Template[] templates= JavaPlugin.getDefault().getTemplateStore().getTemplates();
 		boolean needsCheck= !isJava12OrHigherProject(compilationUnit);
 		if (selectedRange.y == 0) {
-			for (Template template : templates) {
+			for (Template template : getCandidates(context)) {
 				if (canEvaluate(context, template, needsCheck)) {
 					fProposals.add(new TemplateProposal(template, context, region, getImage()));
 				}
@@ -168,7 +175,7 @@ public class TemplateEngine {
 
 			boolean multipleLinesSelected= areMultipleLinesSelected(document, selectedRange);
 
-			for (Template template : templates) {
+			for (Template template : getCandidates(context)) {
 				if (canEvaluate(context, template, needsCheck))
 				{
 					Matcher wordSelectionMatcher= $_WORD_SELECTION_PATTERN.matcher(template.getPattern());
@@ -181,6 +188,34 @@ public class TemplateEngine {
 		}
 	}
 
+	/**
+	 * Returns the templates that the given context can evaluate, and maybe some more.
+	 * <p>
+	 * For the Java and Javadoc contexts, these are the templates of the context types the
+	 * context accepts whose names match the key, unless the context accepts any name.
+	 * </p>
+	 *
+	 * @param context the completion context
+	 * @return the templates to evaluate
+	 */
+	private Template[] getCandidates(CompilationUnitContext context) {
+		TemplateStore store= JavaPlugin.getDefault().getTemplateStore();
+		Class<?> contextClass= context.getClass();
+		if (contextClass != JavaContext.class && contextClass != JavaContextCore.class && contextClass != JavaDocContext.class)
+			return store.getTemplates();
+
+		Collection<String> contextTypeIds;
+		String id= context.getContextType().getId();
+		if (context instanceof JavaContextCore && !((JavaContextCore) context).getCompatibleContextTypes().isEmpty()) {
+			contextTypeIds= new HashSet<>(((JavaContextCore) context).getCompatibleContextTypes());
+			contextTypeIds.add(id);
+		} else {
+			contextTypeIds= Collections.singleton(id);
+		}
+		String key= context.isForceEvaluation() ? "" : context.getKey().toLowerCase(); //$NON-NLS-1$
+		return TemplateIndex.getIndex(store).getCandidates(contextTypeIds, key, JavaManipulationPlugin.CODEASSIST_SUBSTRING_MATCH_ENABLED);
+	}
+
 	protected TemplateContextType getContextType() {
 		return fContextType;
 	}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.template.contentassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jface.text.templates.Template;
+import org.eclipse.jface.text.templates.persistence.TemplateStore;
+
+/**
+ * Index of the enabled templates of a template store by context type and by lower case name.
+ * <p>
+ * The template engines ask the index for the templates of the context types of a completion
+ * context whose names match the typed key, and only evaluate those. The index is rebuilt
+ * when the store returns other templates than the ones it was built from, i.e. when templates
+ * have been added, removed, edited, enabled or disabled.
+ * </p>
+ *
+ * @since 3.27
+ */
+public final class TemplateIndex {
+
+	private static final class Entry {
+		final String fName;
+		final Template fTemplate;
+		final int fOrder;
+
+		Entry(Template template, int order) {
+			fName= template.getName().toLowerCase();
+			fTemplate= template;
+			fOrder= order;
+		}
+	}
+
+	private static final Comparator<Entry> NAME_ORDER= Comparator.comparing((Entry entry) -> entry.fName).thenComparingInt(entry -> entry.fOrder);
+
+	private static final Comparator<Entry> STORE_ORDER= Comparator.comparingInt(entry -> entry.fOrder);
+
+	private static TemplateIndex fgIndex;
+
+	private static final AtomicLong fgRebuilds= new AtomicLong();
+	private static final AtomicLong fgLookups= new AtomicLong();
+	private static final AtomicLong fgCandidates= new AtomicLong();
+
+	private final TemplateStore fStore;
+	private final Template[] fTemplates;
+	/** Context type id to the entries of its templates, sorted by name */
+	private final Map<String, Entry[]> fEntries= new HashMap<>();
+
+	private TemplateIndex(TemplateStore store, Template[] templates) {
+		fStore= store;
+		fTemplates= templates;
+		Map<String, List<Entry>> entries= new HashMap<>();
+		for (int i= 0; i < templates.length; i++) {
+			entries.computeIfAbsent(templates[i].getContextTypeId(), id -> new ArrayList<>()).add(new Entry(templates[i], i));
+		}
+		for (Map.Entry<String, List<Entry>> entry : entries.entrySet()) {
+			Entry[] sorted= entry.getValue().toArray(new Entry[entry.getValue().size()]);
+			Arrays.sort(sorted, NAME_ORDER);
+			fEntries.put(entry.getKey(), sorted);
+		}
+	}
+
+	/**
+	 * Returns the index of the enabled templates of the given store.
+	 *
+	 * @param store the template store
+	 * @return the index, rebuilt if the templates of the store have changed
+	 */
+	public static synchronized TemplateIndex getIndex(TemplateStore store) {
+		Template[] templates= store.getTemplates();
+		TemplateIndex index= fgIndex;
+		if (index == null || index.fStore != store || !isSame(index.fTemplates, templates)) {
+			index= new TemplateIndex(store, templates);
+			fgIndex= index;
+			fgRebuilds.incrementAndGet();
+		}
+		return index;
+	}
+
+	private static boolean isSame(Template[] templates, Template[] others) {
+		if (templates.length != others.length)
+			return false;
+		for (int i= 0; i < templates.length; i++) {
+			if (templates[i] != others[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the templates of the given context types whose lower case names start with or
+	 * contain the given key, in the order of the template store.
+	 *
+	 * @param contextTypeIds the ids of the context types
+	 * @param key the lower case key, or the empty string for all templates of the context types
+	 * @param substring <code>true</code> if the names have to contain the key,
+	 *            <code>false</code> if they have to start with it
+	 * @return the candidate templates
+	 */
+	public Template[] getCandidates(Collection<String> contextTypeIds, String key, boolean substring) {
+		List<Entry> candidates= new ArrayList<>();
+		for (String contextTypeId : contextTypeIds) {
+			Entry[] entries= fEntries.get(contextTypeId);
+			if (entries == null)
+				continue;
+			if (substring && !key.isEmpty()) {
+				for (Entry entry : entries) {
+					if (entry.fName.contains(key))
+						candidates.add(entry);
+				}
+			} else {
+				for (int i= lowerBound(entries, key); i < entries.length && entries[i].fName.startsWith(key); i++) {
+					candidates.add(entries[i]);
+				}
+			}
+		}
+		candidates.sort(STORE_ORDER);
+		Template[] result= new Template[candidates.size()];
+		for (int i= 0; i < result.length; i++) {
+			result[i]= candidates.get(i).fTemplate;
+		}
+		fgLookups.incrementAndGet();
+		fgCandidates.addAndGet(result.length);
+		return result;
+	}
+
+	private static int lowerBound(Entry[] entries, String key) {
+		int low= 0;
+		int high= entries.length;
+		while (low < high) {
+			int middle= (low + high) >>> 1;
+			if (entries[middle].fName.compareTo(key) < 0)
+				low= middle + 1;
+			else
+				high= middle;
+		}
+		return low;
+	}
+
+	/**
+	 * @return the number of times an index was built
+	 */
+	public static long getRebuildCount() {
+		return fgRebuilds.get();
+	}
+
+	/**
+	 * @return the number of candidate lookups
+	 */
+	public static long getLookupCount() {
+		return fgLookups.get();
+	}
+
+	/**
+	 * @return the number of candidate templates returned by all lookups, i.e. the number of
+	 *         templates the engines have evaluated
+	 */
+	public static long getCandidateCount() {
+		return fgCandidates.get();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,10 @@ import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitAnnotationModelEven
  * Listens to resource deltas and filters for marker changes of type IMarker.PROBLEM
  * Viewers showing error ticks should register as listener to
  * this type.
+ * <p>
+ * While listeners are registered, the manager also maintains a {@link ProblemSeverityTree}
+ * from the marker deltas, see {@link #getSeverityTree()}.
+ * </p>
  */
 public class ProblemMarkerManager implements IResourceChangeListener, IAnnotationModelListener , IAnnotationModelListenerExtension {
 
@@ -57,14 +61,23 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private static class ProjectErrorVisitor implements IResourceDeltaVisitor {
 
 		private HashSet<IResource> fChangedElements;
+		private final ProblemSeverityTree fSeverityTree;
 
-		public ProjectErrorVisitor(HashSet<IResource> changedElements) {
+		public ProjectErrorVisitor(HashSet<IResource> changedElements, ProblemSeverityTree severityTree) {
 			fChangedElements= changedElements;
+			fSeverityTree= severityTree;
 		}
 
 		@Override
 		public boolean visit(IResourceDelta delta) throws CoreException {
 			IResource res= delta.getResource();
+			if (fSeverityTree != null && res instanceof IProject && delta.getKind() == IResourceDelta.REMOVED) {
+				// moved and renamed projects get no PRE_DELETE event
+				fSeverityTree.removeProject((IProject) res);
+			}
+			if (fSeverityTree != null && (delta.getFlags() & IResourceDelta.MARKERS) != 0) {
+				fSeverityTree.markersChanged(delta);
+			}
 			if (res instanceof IProject && delta.getKind() == IResourceDelta.CHANGED) {
 				IProject project= (IProject) res;
 				if (!project.isAccessible()) {
@@ -109,6 +122,8 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private final Set<IResource> fResourcesWithMarkerChanges= ConcurrentHashMap.newKeySet();
 	private final Set<IResource> fResourcesWithAnnotationChanges= ConcurrentHashMap.newKeySet();
 
+	private final ProblemSeverityTree fSeverityTree= new ProblemSeverityTree(JavaPlugin.getWorkspace().getRoot());
+
 	private final Throttler throttledUpdates= new Throttler(PlatformUI.getWorkbench().getDisplay(), Duration.ofMillis(250), this::runPendingUpdates);
 
 	public ProblemMarkerManager() {
@@ -119,12 +134,19 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	 */
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getType() == IResourceChangeEvent.PRE_CLOSE || event.getType() == IResourceChangeEvent.PRE_DELETE) {
+			IResource resource= event.getResource();
+			if (resource instanceof IProject)
+				fSeverityTree.removeProject((IProject) resource);
+			return;
+		}
+
 		HashSet<IResource> changedElements= new HashSet<>();
 
 		try {
 			IResourceDelta delta= event.getDelta();
 			if (delta != null)
-				delta.accept(new ProjectErrorVisitor(changedElements));
+				delta.accept(new ProjectErrorVisitor(changedElements, fSeverityTree));
 		} catch (CoreException e) {
 			JavaPlugin.log(e.getStatus());
 		}
@@ -174,9 +196,20 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		if (fListeners.isEmpty()) {
 			JavaPlugin.getWorkspace().removeResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().removeGlobalAnnotationModelListener(this);
+			fSeverityTree.clear();
 		}
 	}
 
+	/**
+	 * Returns the aggregated problem marker severities. The tree is only kept up to date while
+	 * this manager has listeners.
+	 *
+	 * @return the severity tree, or <code>null</code> if this manager has no listeners
+	 */
+	public ProblemSeverityTree getSeverityTree() {
+		return fListeners.isEmpty() ? null : fSeverityTree;
+	}
+
 	private void fireChanges() {
 		throttledUpdates.throttledExec();
 	}
@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspaceRoot;
+
+import org.eclipse.jdt.core.IJavaModelMarker;
+
+import org.eclipse.jdt.launching.JavaRuntime;
+
+/**
+ * Maximal problem marker severities of the resources of the workspace, aggregated over the
+ * resource tree.
+ * <p>
+ * For every resource with problem markers in or below it, the tree keeps the number of markers
+ * per severity on the resource itself and in its subtree, so that the maximal severity of a
+ * resource is found without visiting its markers. The counts are maintained from the marker
+ * deltas that {@link ProblemMarkerManager} receives. Projects are read the first time they are
+ * queried, and dropped when they are closed, deleted, moved or renamed.
+ * </p>
+ * <p>
+ * Markers are tracked by their id, so that reading a project and applying deltas that
+ * overlap with what was read gives the same result in any order.
+ * </p>
+ */
+public final class ProblemSeverityTree {
+
+	/** Number of tracked severities: {@link IMarker#SEVERITY_INFO} to {@link IMarker#SEVERITY_ERROR} */
+	private static final int SEVERITIES= IMarker.SEVERITY_ERROR + 1;
+
+	/** Marks build path and JRE container problems in the stored marker values */
+	private static final int BUILDPATH_FLAG= 0x10;
+
+	private static final int SEVERITY_MASK= 0x0F;
+
+	private static final class Node {
+		/** Marker id to severity of the markers on this resource, or <code>null</code> */
+		Map<Long, Integer> fMarkers;
+		final int[] fOwnCounts= new int[SEVERITIES];
+		final int[] fCounts= new int[SEVERITIES];
+		int fBuildpathErrors;
+
+		boolean isEmpty() {
+			for (int count : fCounts) {
+				if (count != 0)
+					return false;
+			}
+			return fBuildpathErrors == 0 && (fMarkers == null || fMarkers.isEmpty());
+		}
+	}
+
+	private final IWorkspaceRoot fRoot;
+	private final Map<IPath, Node> fNodes= new HashMap<>();
+	private final Set<String> fLoadedProjects= new HashSet<>();
+	private boolean fRootLoaded;
+
+	private final AtomicLong fLookups= new AtomicLong();
+	private final AtomicLong fLoads= new AtomicLong();
+	private final AtomicLong fMarkerDeltas= new AtomicLong();
+	private final AtomicLong fDeltaTime= new AtomicLong();
+
+	public ProblemSeverityTree(IWorkspaceRoot root) {
+		fRoot= root;
+	}
+
+	/**
+	 * Returns the maximal severity of the problem markers on the resource.
+	 *
+	 * @param resource the resource
+	 * @param depth {@link IResource#DEPTH_ZERO} for the markers on the resource itself,
+	 *            {@link IResource#DEPTH_INFINITE} to include the markers of all descendants.
+	 *            {@link IResource#DEPTH_ONE} is only supported for files.
+	 * @return the maximal severity, or <code>-1</code> if there are no problem markers
+	 * @throws CoreException if the markers of the project could not be read
+	 */
+	public synchronized int getMaxSeverity(IResource resource, int depth) throws CoreException {
+		fLookups.incrementAndGet();
+		ensureLoaded(resource);
+		Node node= fNodes.get(resource.getFullPath());
+		if (node == null)
+			return -1;
+		int[] counts= depth == IResource.DEPTH_ZERO ? node.fOwnCounts : node.fCounts;
+		for (int severity= SEVERITIES - 1; severity >= 0; severity--) {
+			if (counts[severity] > 0)
+				return severity;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param project the project
+	 * @return <code>true</code> iff the project has a build path or JRE container error
+	 * @throws CoreException if the markers of the project could not be read
+	 */
+	public synchronized boolean hasBuildpathError(IProject project) throws CoreException {
+		fLookups.incrementAndGet();
+		ensureLoaded(project);
+		Node node= fNodes.get(project.getFullPath());
+		return node != null && node.fBuildpathErrors > 0;
+	}
+
+	/**
+	 * Applies the marker changes of a resource delta.
+	 *
+	 * @param delta the delta of a resource with changed markers
+	 */
+	synchronized void markersChanged(IResourceDelta delta) {
+		long start= System.nanoTime();
+		IPath path= delta.getFullPath();
+		if (!isLoaded(path))
+			return;
+		IMarkerDelta[] markerDeltas= delta.getMarkerDeltas();
+		for (IMarkerDelta markerDelta : markerDeltas) {
+			boolean buildpath= isBuildpathMarker(markerDelta);
+			if (!buildpath && !markerDelta.isSubtypeOf(IMarker.PROBLEM))
+				continue;
+			Long id= Long.valueOf(markerDelta.getId());
+			if (markerDelta.getKind() == IResourceDelta.REMOVED) {
+				removeMarker(path, id);
+			} else {
+				IMarker marker= markerDelta.getMarker();
+				if (marker.exists())
+					putMarker(path, id, marker.getAttribute(IMarker.SEVERITY, -1), buildpath);
+				else
+					removeMarker(path, id);
+			}
+		}
+		fMarkerDeltas.addAndGet(markerDeltas.length);
+		fDeltaTime.addAndGet(System.nanoTime() - start);
+	}
+
+	/**
+	 * Forgets the markers of a project. They are read again the next time the project is
+	 * queried.
+	 *
+	 * @param project the closed, deleted or moved project
+	 */
+	synchronized void removeProject(IProject project) {
+		if (!fLoadedProjects.remove(project.getName()))
+			return;
+		IPath projectPath= project.getFullPath();
+		Node node= fNodes.get(projectPath);
+		if (node != null) {
+			int[] counts= node.fCounts.clone();
+			for (int severity= 0; severity < SEVERITIES; severity++) {
+				if (counts[severity] != 0)
+					updateCounts(fRoot.getFullPath(), severity, -counts[severity]);
+			}
+		}
+		for (Iterator<IPath> iterator= fNodes.keySet().iterator(); iterator.hasNext();) {
+			if (projectPath.isPrefixOf(iterator.next()))
+				iterator.remove();
+		}
+	}
+
+	synchronized void clear() {
+		fNodes.clear();
+		fLoadedProjects.clear();
+		fRootLoaded= false;
+	}
+
+	private boolean isLoaded(IPath path) {
+		if (path.segmentCount() == 0)
+			return fRootLoaded;
+		return fLoadedProjects.contains(path.segment(0));
+	}
+
+	private void ensureLoaded(IResource resource) throws CoreException {
+		if (resource.getType() == IResource.ROOT) {
+			for (IProject project : fRoot.getProjects()) {
+				ensureLoaded(project);
+			}
+			if (!fRootLoaded) {
+				load(fRoot, IResource.DEPTH_ZERO);
+				fRootLoaded= true;
+			}
+			return;
+		}
+		IProject project= resource.getProject();
+		if (!project.isAccessible() || fLoadedProjects.contains(project.getName()))
+			return;
+		load(project, IResource.DEPTH_INFINITE);
+		fLoadedProjects.add(project.getName());
+	}
+
+	private void load(IResource resource, int depth) throws CoreException {
+		fLoads.incrementAndGet();
+		for (IMarker marker : resource.findMarkers(IMarker.PROBLEM, true, depth)) {
+			putMarker(marker.getResource().getFullPath(), Long.valueOf(marker.getId()), marker.getAttribute(IMarker.SEVERITY, -1), isBuildpathMarker(marker));
+		}
+		if (resource.getType() == IResource.PROJECT) {
+			for (IMarker marker : resource.findMarkers(JavaRuntime.JRE_CONTAINER_MARKER, true, IResource.DEPTH_ZERO)) {
+				putMarker(resource.getFullPath(), Long.valueOf(marker.getId()), marker.getAttribute(IMarker.SEVERITY, -1), true);
+			}
+		}
+	}
+
+	private static boolean isBuildpathMarker(IMarkerDelta markerDelta) {
+		return markerDelta.isSubtypeOf(IJavaModelMarker.BUILDPATH_PROBLEM_MARKER) || markerDelta.isSubtypeOf(JavaRuntime.JRE_CONTAINER_MARKER);
+	}
+
+	private static boolean isBuildpathMarker(IMarker marker) throws CoreException {
+		return marker.isSubtypeOf(IJavaModelMarker.BUILDPATH_PROBLEM_MARKER) || marker.isSubtypeOf(JavaRuntime.JRE_CONTAINER_MARKER);
+	}
+
+	private void putMarker(IPath path, Long id, int severity, boolean buildpath) {
+		int value= (severity & SEVERITY_MASK) | (buildpath ? BUILDPATH_FLAG : 0);
+		if (severity < 0 || severity >= SEVERITIES)
+			value= SEVERITY_MASK | (buildpath ? BUILDPATH_FLAG : 0);
+		Node node= getNode(path);
+		if (node.fMarkers == null)
+			node.fMarkers= new HashMap<>(4);
+		Integer old= node.fMarkers.put(id, Integer.valueOf(value));
+		if (old != null)
+			updateMarkerCounts(path, node, old.intValue(), -1);
+		updateMarkerCounts(path, node, value, 1);
+	}
+
+	private void removeMarker(IPath path, Long id) {
+		Node node= fNodes.get(path);
+		if (node == null || node.fMarkers == null)
+			return;
+		Integer old= node.fMarkers.remove(id);
+		if (old != null) {
+			updateMarkerCounts(path, node, old.intValue(), -1);
+			if (node.isEmpty())
+				fNodes.remove(path);
+		}
+	}
+
+	private void updateMarkerCounts(IPath path, Node node, int value, int delta) {
+		int severity= value & SEVERITY_MASK;
+		if ((value & BUILDPATH_FLAG) != 0 && severity == IMarker.SEVERITY_ERROR)
+			node.fBuildpathErrors+= delta;
+		if (severity < SEVERITIES) {
+			node.fOwnCounts[severity]+= delta;
+			updateCounts(path, severity, delta);
+		}
+	}
+
+	/*
+	 * Updates the subtree counts of the resource and all its ancestors.
+	 */
+	private void updateCounts(IPath path, int severity, int delta) {
+		for (IPath current= path;; current= current.removeLastSegments(1)) {
+			Node node= getNode(current);
+			node.fCounts[severity]+= delta;
+			if (node.isEmpty())
+				fNodes.remove(current);
+			if (current.segmentCount() == 0)
+				break;
+		}
+	}
+
+	private Node getNode(IPath path) {
+		return fNodes.computeIfAbsent(path, p -> new Node());
+	}
+
+	/**
+	 * @return the number of severity lookups
+	 */
+	public long getLookupCount() {
+		return fLookups.get();
+	}
+
+	/**
+	 * @return the number of times the markers of a project or of the workspace root were read
+	 */
+	public long getLoadCount() {
+		return fLoads.get();
+	}
+
+	/**
+	 * @return the number of marker deltas processed
+	 */
+	public long getMarkerDeltaCount() {
+		return fMarkerDeltas.get();
+	}
+
+	/**
+	 * @return the time spent processing marker deltas, in nanoseconds
+	 */
+	public long getDeltaProcessingTime() {
+		return fDeltaTime.get();
+	}
+}
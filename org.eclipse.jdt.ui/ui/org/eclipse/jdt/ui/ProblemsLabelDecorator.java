@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -81,6 +81,7 @@ import org.eclipse.jdt.internal.ui.JavaPluginImages;
 import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageImageDescriptor;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemSeverityTree;
 
 /**
  * LabelDecorator that decorates an element's image with error and warning overlays that
@@ -583,6 +584,13 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		if (res == null || !res.isAccessible()) {
 			return 0;
 		}
+		ProblemSeverityTree severityTree= getSeverityTree();
+		if (severityTree != null && (depth != IResource.DEPTH_ONE || res.getType() == IResource.FILE)) {
+			if (res instanceof IProject && severityTree.hasBuildpathError((IProject) res)) {
+				return ERRORTICK_BUILDPATH_ERROR;
+			}
+			return convertToTick(severityTree.getMaxSeverity(res, depth));
+		}
 		int severity= -1;
 		if (res instanceof IProject) {
 			severity= res.findMaxProblemSeverity(IJavaModelMarker.BUILDPATH_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
@@ -598,6 +606,14 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		return convertToTick(severity);
 	}
 
+	/**
+	 * @return the aggregated problem severities, or <code>null</code> if they are not maintained
+	 */
+	private static ProblemSeverityTree getSeverityTree() {
+		JavaPlugin plugin= JavaPlugin.getDefault();
+		return plugin != null ? plugin.getProblemMarkerManager().getSeverityTree() : null;
+	}
+
 	private int getErrorTicksFromMarkers(IResource res, int depth, ISourceReference sourceElement) throws CoreException {
 		if (res == null || !res.isAccessible()) {
 			return 0;
@@ -673,6 +689,9 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 
 	private int findMaxProblemSeverity (IResource res, String type, boolean includeSubtypes, int depth) throws CoreException {
 		try {
+			ProblemSeverityTree severityTree= getSeverityTree();
+			if (severityTree != null && IMarker.PROBLEM.equals(type) && includeSubtypes && depth != IResource.DEPTH_ONE)
+				return severityTree.getMaxSeverity(res, depth);
 			return res.findMaxProblemSeverity(type, includeSubtypes, depth);
 		} catch (CoreException e) {
 			if (e.getStatus().getCode() == IResourceStatus.RESOURCE_NOT_FOUND) {
@@ -20,6 +20,8 @@ import org.eclipse.ltk.core.refactoring.tests.history.RefactoringHistoryTests;
 import org.eclipse.ltk.core.refactoring.tests.participants.ParticipantTests;
 import org.eclipse.ltk.core.refactoring.tests.resource.ResourceRefactoringTests;
 import org.eclipse.ltk.core.refactoring.tests.resource.ResourceRefactoringUndoTests;
+import org.eclipse.ltk.core.refactoring.tests.resource.TextFileChangeBulkPerformTests;
+import org.eclipse.ltk.core.refactoring.tests.resource.UndoMemoryBudgetTests;
 import org.eclipse.ltk.core.refactoring.tests.scripting.RefactoringScriptingTests;
 
 @RunWith(Suite.class)
@@ -29,7 +31,11 @@ import org.eclipse.ltk.core.refactoring.tests.scripting.RefactoringScriptingTest
 	RefactoringHistoryTests.class,
 	RefactoringScriptingTests.class,
 	ResourceRefactoringTests.class,
-	ResourceRefactoringUndoTests.class
+	ResourceRefactoringUndoTests.class,
+	TextFileChangeBulkPerformTests.class,
+	UndoMemoryBudgetTests.class,
+	TextChangePreviewTests.class,
+	TextChangeStoreTests.class
 })
 public class AllTests {
 }
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+
+import org.eclipse.ltk.core.refactoring.DocumentChange;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChangeGroup;
+import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
+
+public class TextChangePreviewTests {
+
+	private static final int LINES= 40;
+
+	private static String createContent() {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < LINES; i++) {
+			buf.append("line ").append(i).append(" foo bar\n");
+		}
+		return buf.toString();
+	}
+
+	private static DocumentChange createChange(IDocument document) {
+		DocumentChange change= new DocumentChange("change", document);
+		change.setEdit(new MultiTextEdit());
+		String content= document.get();
+		for (int i= 0; i < LINES; i += 3) {
+			int offset= content.indexOf("foo", content.indexOf("line " + i + " "));
+			TextEdit edit;
+			switch (i % 9) {
+				case 0:
+					edit= new ReplaceEdit(offset, 3, "renamed");
+					break;
+				case 3:
+					edit= new InsertEdit(offset, "new ");
+					break;
+				default:
+					edit= new DeleteEdit(offset, 4);
+					break;
+			}
+			change.addEdit(edit);
+			change.addTextEditGroup(new TextEditGroup("group " + i, edit));
+		}
+		return change;
+	}
+
+	@Test
+	public void testRegionPreviewMatchesFullPreview() throws Exception {
+		IDocument document= new Document(createContent());
+		DocumentChange change= createChange(document);
+		for (TextEditChangeGroup group : change.getTextEditChangeGroups()) {
+			IRegion region= group.getRegion();
+			for (int surroundingLines= 0; surroundingLines <= 3; surroundingLines++) {
+				String expected= computeFullPreview(document, group, region, surroundingLines);
+				String actual= change.getPreviewContent(new TextEditBasedChangeGroup[] { group }, region, true, surroundingLines, new NullProgressMonitor());
+				assertEquals(group.getName() + ", surrounding lines: " + surroundingLines, expected, actual);
+			}
+		}
+	}
+
+	/*
+	 * Same result through the full preview path: keeping the preview edits disables the region-local one.
+	 */
+	private static String computeFullPreview(IDocument document, TextEditChangeGroup group, IRegion region, int surroundingLines) throws Exception {
+		DocumentChange change= createChange(new Document(document.get()));
+		change.setKeepPreviewEdits(true);
+		TextEditChangeGroup same= change.getTextEditChangeGroups()[indexOf(group)];
+		return change.getPreviewContent(new TextEditBasedChangeGroup[] { same }, region, true, surroundingLines, new NullProgressMonitor());
+	}
+
+	private static int indexOf(TextEditChangeGroup group) {
+		TextEditChangeGroup[] groups= ((DocumentChange) group.getTextChange()).getTextEditChangeGroups();
+		for (int i= 0; i < groups.length; i++) {
+			if (groups[i] == group)
+				return i;
+		}
+		return -1;
+	}
+
+	@Test
+	public void testPreviewCache() throws Exception {
+		IDocument document= new Document(createContent());
+		DocumentChange change= createChange(document);
+		String first= change.getPreviewContent(new NullProgressMonitor());
+		assertSame(first, change.getPreviewContent(new NullProgressMonitor()));
+
+		TextEditChangeGroup group= change.getTextEditChangeGroups()[0];
+		group.setEnabled(false);
+		String withoutFirstGroup= change.getPreviewContent(new NullProgressMonitor());
+		assertNotSame(first, withoutFirstGroup);
+		assertEquals(first.length() - "renamed".length() + "foo".length(), withoutFirstGroup.length());
+
+		group.setEnabled(true);
+		document.replace(document.getLength(), 0, "// footer\n");
+		assertEquals(first + "// footer\n", change.getPreviewContent(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testPreviewCacheWithNestedEdits() throws Exception {
+		IDocument document= new Document(createContent());
+		DocumentChange change= new DocumentChange("change", document);
+		change.setEdit(new MultiTextEdit());
+		MultiTextEdit nested= new MultiTextEdit();
+		change.addEdit(nested);
+		nested.addChild(new ReplaceEdit(document.get().indexOf("foo"), 3, "renamed"));
+		String first= change.getPreviewContent(new NullProgressMonitor());
+		assertSame(first, change.getPreviewContent(new NullProgressMonitor()));
+
+		// added below the root without going through the change
+		int offset= document.get().indexOf("bar");
+		nested.addChild(new ReplaceEdit(offset, 3, "baz"));
+		String second= change.getPreviewContent(new NullProgressMonitor());
+		assertEquals(first.replaceFirst("bar", "baz"), second);
+
+		// moved without changing the number of edits
+		nested.moveTree(4);
+		String third= change.getPreviewContent(new NullProgressMonitor());
+		assertNotSame(second, third);
+		assertEquals(second.length(), third.length());
+	}
+}
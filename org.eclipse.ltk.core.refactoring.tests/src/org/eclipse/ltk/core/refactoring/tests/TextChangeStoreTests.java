@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.text.edits.CopySourceEdit;
+import org.eclipse.text.edits.CopyTargetEdit;
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ltk.core.refactoring.DocumentChange;
+import org.eclipse.ltk.core.refactoring.TextChangeStore;
+import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
+
+public class TextChangeStoreTests {
+
+	private static final int CHANGES= 20;
+	private static final int MAX_RESIDENT= 3;
+
+	private static String createContent(int index) {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 10; i++) {
+			buf.append("line ").append(i).append(" of ").append(index).append(" foo bar\n");
+		}
+		return buf.toString();
+	}
+
+	private static DocumentChange createChange(IDocument document) {
+		DocumentChange change= new DocumentChange("change", document);
+		change.setEdit(new MultiTextEdit());
+		String content= document.get();
+		int line= 0;
+		for (int offset= content.indexOf("foo"); offset != -1; offset= content.indexOf("foo", offset + 1), line++) {
+			TextEdit edit;
+			switch (line % 3) {
+				case 0:
+					edit= new ReplaceEdit(offset, 3, "renamed");
+					break;
+				case 1:
+					edit= new InsertEdit(offset, "new ");
+					break;
+				default:
+					edit= new DeleteEdit(offset, 4);
+					break;
+			}
+			change.addEdit(edit);
+			change.addTextEditGroup(new TextEditGroup("group " + line, edit));
+		}
+		return change;
+	}
+
+	@Test
+	public void testStoredChangesAreRestored() throws Exception {
+		TextChangeStore store= new TextChangeStore(MAX_RESIDENT);
+		IDocument[] documents= new IDocument[CHANGES];
+		DocumentChange[] changes= new DocumentChange[CHANGES];
+		String[] expectedPreviews= new String[CHANGES];
+		for (int i= 0; i < CHANGES; i++) {
+			documents[i]= new Document(createContent(i));
+			changes[i]= createChange(documents[i]);
+			expectedPreviews[i]= createChange(new Document(createContent(i))).getPreviewContent(new NullProgressMonitor());
+			store.add(changes[i]);
+		}
+		assertEquals(MAX_RESIDENT, store.getResidentCount());
+		assertEquals(CHANGES - MAX_RESIDENT, store.getStoredCount());
+		assertEquals(CHANGES - MAX_RESIDENT, store.getStoreCount());
+		assertEquals(0, store.getRestoreCount());
+
+		TextEditChangeGroup[] groups= changes[0].getTextEditChangeGroups();
+		assertEquals(1, store.getRestoreCount());
+		assertEquals(10, groups.length);
+		for (TextEditChangeGroup group : groups) {
+			TextEdit[] edits= group.getTextEdits();
+			assertEquals(1, edits.length);
+			assertSame(changes[0].getEdit(), edits[0].getParent());
+		}
+
+		// disabled groups are kept while the change is stored
+		groups[0].setEnabled(false);
+		for (int i= 1; i <= MAX_RESIDENT; i++) {
+			changes[i].getEdit();
+		}
+		assertEquals(MAX_RESIDENT, store.getResidentCount());
+		String withoutFirstGroup= changes[0].getPreviewContent(new NullProgressMonitor());
+		assertEquals(expectedPreviews[0].length() - "renamed".length() + "foo".length(), withoutFirstGroup.length());
+		groups[0].setEnabled(true);
+
+		for (int i= 0; i < CHANGES; i++) {
+			assertEquals(expectedPreviews[i], changes[i].getPreviewContent(new NullProgressMonitor()));
+		}
+		for (int i= 0; i < CHANGES; i++) {
+			changes[i].perform(new NullProgressMonitor());
+			assertEquals(expectedPreviews[i], documents[i].get());
+			assertNull(changes[i].getStore());
+		}
+		assertEquals(0, store.getResidentCount());
+		assertEquals(0, store.getStoredCount());
+	}
+
+	@Test
+	public void testUnsupportedEditsStayInMemory() throws Exception {
+		TextChangeStore store= new TextChangeStore(1);
+		IDocument document= new Document(createContent(0));
+		DocumentChange change= new DocumentChange("change", document);
+		change.setEdit(new MultiTextEdit());
+		CopySourceEdit source= new CopySourceEdit(0, 4);
+		change.addEdit(source);
+		change.addEdit(new CopyTargetEdit(document.getLength(), source));
+		store.add(change);
+		store.add(createChange(new Document(createContent(1))));
+
+		assertEquals(1, store.getResidentCount());
+		assertEquals(0, store.getStoredCount());
+		assertSame(source, change.getEdit().getChildren()[0]);
+		assertNotNull(change.getStore());
+	}
+
+	@Test
+	public void testDisposeReleasesStoredEdits() throws Exception {
+		TextChangeStore store= new TextChangeStore(1);
+		DocumentChange first= createChange(new Document(createContent(0)));
+		DocumentChange second= createChange(new Document(createContent(1)));
+		store.add(first);
+		store.add(second);
+		assertEquals(1, store.getStoredCount());
+
+		first.dispose();
+		assertEquals(0, store.getStoredCount());
+		assertNull(first.getStore());
+	}
+
+	@Test
+	public void testReferencedEditsKeepIdentity() throws Exception {
+		TextChangeStore store= new TextChangeStore(1);
+		DocumentChange first= createChange(new Document(createContent(0)));
+		TextEdit root= first.getEdit();
+		TextEdit edit= root.getChildren()[1];
+		TextEditGroup group= first.getTextEditChangeGroups()[1].getTextEditGroup();
+		store.add(first);
+		store.add(createChange(new Document(createContent(1))));
+		assertEquals(1, store.getStoredCount());
+		assertEquals(0, group.getTextEdits().length);
+
+		assertSame(root, first.getEdit());
+		assertSame(edit, root.getChildren()[1]);
+		assertEquals(1, group.getTextEdits().length);
+		assertSame(edit, group.getTextEdits()[0]);
+	}
+
+	@Test
+	public void testDefinedRegionIsKept() throws Exception {
+		TextChangeStore store= new TextChangeStore(1);
+		IDocument document= new Document(createContent(0));
+		DocumentChange first= new DocumentChange("change", document);
+		first.setEdit(new MultiTextEdit(0, document.getLength()));
+		first.addEdit(new ReplaceEdit(5, 1, "x"));
+		first.addEdit(new MultiTextEdit(10, 4));
+		first.addEdit(new MultiTextEdit());
+		String expected= first.getPreviewContent(new NullProgressMonitor());
+		WeakReference<TextEdit> original= new WeakReference<>(first.getEdit());
+		store.add(first);
+		store.add(createChange(new Document(createContent(1))));
+		assertEquals(1, store.getStoredCount());
+		for (int i= 0; i < 10 && original.get() != null; i++) {
+			System.gc();
+		}
+
+		TextEdit root= first.getEdit();
+		assertEquals(0, root.getOffset());
+		assertEquals(document.getLength(), root.getLength());
+		TextEdit[] children= root.getChildren();
+		assertEquals(3, children.length);
+		assertEquals(0, children[0].getOffset());
+		assertEquals(0, children[0].getLength());
+		assertEquals(10, children[2].getOffset());
+		assertEquals(4, children[2].getLength());
+		assertEquals(expected, first.getPreviewContent(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testRemoveKeepsEditsInMemory() throws Exception {
+		TextChangeStore store= new TextChangeStore(1);
+		DocumentChange first= createChange(new Document(createContent(0)));
+		DocumentChange second= createChange(new Document(createContent(1)));
+		store.add(first);
+		store.add(second);
+		assertEquals(1, store.getStoredCount());
+
+		store.remove(first);
+		assertNull(first.getStore());
+		assertEquals(0, store.getStoredCount());
+		assertEquals(1, store.getResidentCount());
+		assertTrue(first.getEdit().hasChildren());
+		assertEquals(10, first.getTextEditChangeGroups().length);
+		assertEquals(1, first.getTextEditChangeGroups()[0].getTextEdits().length);
+	}
+}
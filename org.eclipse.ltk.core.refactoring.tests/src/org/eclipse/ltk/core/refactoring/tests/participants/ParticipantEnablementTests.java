@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.ParticipantManager;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
+import org.eclipse.ltk.core.refactoring.participants.SharableParticipants;
+import org.eclipse.ltk.internal.core.refactoring.ParticipantDescriptor;
+
+public class ParticipantEnablementTests {
+
+	@Test
+	public void testApplicabilityIsMemoized() throws Exception {
+		ElementRenameProcessor processor= new ElementRenameProcessor(ElementRenameRefactoring.WORKING);
+		// a nature nobody has used yet makes the first lookup evaluate all enablements
+		String[] natures= { "org.eclipse.ltk.core.refactoring.tests.nature" + System.nanoTime() };
+
+		long evaluations= ParticipantDescriptor.getEvaluationCount();
+		long memoized= ParticipantDescriptor.getMemoizedEvaluationCount();
+		RefactoringParticipant[] first= load(processor, natures);
+		long firstEvaluations= ParticipantDescriptor.getEvaluationCount() - evaluations;
+		long firstMemoized= ParticipantDescriptor.getMemoizedEvaluationCount() - memoized;
+
+		evaluations= ParticipantDescriptor.getEvaluationCount();
+		memoized= ParticipantDescriptor.getMemoizedEvaluationCount();
+		RefactoringParticipant[] second= load(processor, natures);
+		long secondEvaluations= ParticipantDescriptor.getEvaluationCount() - evaluations;
+		long secondMemoized= ParticipantDescriptor.getMemoizedEvaluationCount() - memoized;
+
+		assertEquals(first.length, second.length);
+		assertTrue(first.length > 0);
+		assertEquals(0, firstMemoized);
+		// the test participants only test the element type, the second lookup answers them from the memo
+		assertTrue(secondMemoized > 0);
+		assertEquals(firstEvaluations, secondEvaluations + secondMemoized);
+	}
+
+	private static RefactoringParticipant[] load(ElementRenameProcessor processor, String[] natures) {
+		return ParticipantManager.loadRenameParticipants(new RefactoringStatus(), processor, new ElementWorking(), new RenameArguments("test", true), natures, new SharableParticipants());
+	}
+}
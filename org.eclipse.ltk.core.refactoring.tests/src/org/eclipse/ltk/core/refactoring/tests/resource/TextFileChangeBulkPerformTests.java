@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.UndoTextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+
+public class TextFileChangeBulkPerformTests {
+
+	private static final int FILES= 100;
+
+	private SimpleTestProject fProject;
+	private IFile[] fFiles;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		IFolder folder= fProject.createFolder("bulk");
+		fFiles= new IFile[FILES];
+		for (int i= 0; i < FILES; i++) {
+			fFiles[i]= fProject.createFile(folder, "file" + i + ".txt", getContent(i, "old"));
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fProject.delete();
+	}
+
+	private static String getContent(int index, String name) {
+		return "first line " + index + "\nreference to " + name + " here\nlast line\n";
+	}
+
+	private CompositeChange createChange(int failing) {
+		CompositeChange result= new CompositeChange("bulk");
+		for (int i= 0; i < FILES; i++) {
+			TextFileChange change= new TextFileChange("file" + i, fFiles[i]);
+			change.setEdit(new MultiTextEdit());
+			if (i == failing) {
+				// an edit beyond the end of the document cannot be performed
+				change.addEdit(new ReplaceEdit(10000, 1, "x"));
+			} else {
+				change.addEdit(new ReplaceEdit(getContent(i, "old").indexOf("old"), 3, "renamed"));
+			}
+			result.add(change);
+		}
+		result.initializeValidationData(new NullProgressMonitor());
+		return result;
+	}
+
+	@Test
+	public void testPerformAndUndo() throws Exception {
+		PerformChangeOperation operation= new PerformChangeOperation(createChange(-1));
+		ResourcesPlugin.getWorkspace().run(operation, null);
+		assertTrue(operation.changeExecuted());
+		for (int i= 0; i < FILES; i++) {
+			assertEquals(getContent(i, "renamed"), fProject.getContent(fFiles[i]));
+		}
+
+		// same structure as when performing the changes one by one: one undo per file, in reverse order
+		Change undo= operation.getUndoChange();
+		assertTrue(undo instanceof CompositeChange);
+		Change[] children= ((CompositeChange) undo).getChildren();
+		assertEquals(FILES, children.length);
+		for (int i= 0; i < FILES; i++) {
+			assertTrue(children[i] instanceof UndoTextFileChange);
+			assertEquals(fFiles[FILES - 1 - i], children[i].getModifiedElement());
+		}
+
+		PerformChangeOperation undoOperation= new PerformChangeOperation(undo);
+		ResourcesPlugin.getWorkspace().run(undoOperation, null);
+		for (int i= 0; i < FILES; i++) {
+			assertEquals(getContent(i, "old"), fProject.getContent(fFiles[i]));
+		}
+	}
+
+	@Test
+	public void testFailureStopsAtFailingChange() throws Exception {
+		int failing= FILES / 2;
+		PerformChangeOperation operation= new PerformChangeOperation(createChange(failing));
+		try {
+			ResourcesPlugin.getWorkspace().run(operation, null);
+			fail("change must fail");
+		} catch (CoreException e) {
+			// expected
+		}
+		assertTrue(operation.changeExecutionFailed());
+		for (int i= 0; i < FILES; i++) {
+			String expected= i < failing ? getContent(i, "renamed") : getContent(i, "old");
+			assertEquals(expected, fProject.getContent(fFiles[i]));
+		}
+	}
+
+	@Test
+	public void testTwoChangesOnSameFile() throws Exception {
+		CompositeChange composite= new CompositeChange("bulk");
+		for (int i= 0; i < FILES; i++) {
+			// a subclass that does not redefine how edits are performed is part of the run
+			TextFileChange change= new TextFileChange("file" + i, fFiles[i]) {
+			};
+			change.setEdit(new MultiTextEdit());
+			change.addEdit(new ReplaceEdit(getContent(i, "old").indexOf("old"), 3, "renamed"));
+			composite.add(change);
+			if (i == FILES / 2) {
+				TextFileChange second= new TextFileChange("file0 again", fFiles[0]);
+				second.setEdit(new MultiTextEdit());
+				second.addEdit(new InsertEdit(0, "// header\n"));
+				composite.add(second);
+			}
+		}
+		composite.initializeValidationData(new NullProgressMonitor());
+		PerformChangeOperation operation= new PerformChangeOperation(composite);
+		ResourcesPlugin.getWorkspace().run(operation, null);
+		assertTrue(operation.changeExecuted());
+		assertEquals("// header\n" + getContent(0, "renamed"), fProject.getContent(fFiles[0]));
+		for (int i= 1; i < FILES; i++) {
+			assertEquals(getContent(i, "renamed"), fProject.getContent(fFiles[i]));
+		}
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		CompositeChange change= createChange(-1);
+		NullProgressMonitor pm= new NullProgressMonitor();
+		pm.setCanceled(true);
+		try {
+			change.perform(pm);
+			fail("change must be canceled");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		for (int i= 0; i < FILES; i++) {
+			assertEquals(getContent(i, "old"), fProject.getContent(fFiles[i]));
+		}
+	}
+
+	@Test
+	public void testRedefinedPerformIsNotBulk() throws Exception {
+		AtomicInteger performed= new AtomicInteger();
+		CompositeChange composite= new CompositeChange("bulk");
+		for (int i= 0; i < FILES; i++) {
+			// like a change that moves the document update to another thread
+			TextFileChange change= new TextFileChange("file" + i, fFiles[i]) {
+				@Override
+				public Change perform(IProgressMonitor pm) throws CoreException {
+					performed.incrementAndGet();
+					return super.perform(pm);
+				}
+			};
+			change.setEdit(new MultiTextEdit());
+			change.addEdit(new ReplaceEdit(getContent(i, "old").indexOf("old"), 3, "renamed"));
+			composite.add(change);
+		}
+		composite.initializeValidationData(new NullProgressMonitor());
+		PerformChangeOperation operation= new PerformChangeOperation(composite);
+		ResourcesPlugin.getWorkspace().run(operation, null);
+		assertTrue(operation.changeExecuted());
+		assertEquals(FILES, performed.get());
+		for (int i= 0; i < FILES; i++) {
+			assertEquals(getContent(i, "renamed"), fProject.getContent(fFiles[i]));
+		}
+	}
+
+	@Test
+	public void testPositionsBetweenEditsAreKept() throws Exception {
+		CompositeChange composite= createChange(-1);
+		// a second edit far from the first one
+		String content= getContent(0, "old");
+		TextFileChange change= (TextFileChange) composite.getChildren()[0];
+		change.addEdit(new ReplaceEdit(content.indexOf("last"), 4, "final"));
+		composite.initializeValidationData(new NullProgressMonitor());
+
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		IPath path= fFiles[0].getFullPath();
+		manager.connect(path, LocationKind.IFILE, null);
+		try {
+			IDocument document= manager.getTextFileBuffer(path, LocationKind.IFILE).getDocument();
+			Position between= new Position(content.indexOf("here"), "here".length());
+			document.addPosition(between);
+
+			PerformChangeOperation operation= new PerformChangeOperation(composite);
+			ResourcesPlugin.getWorkspace().run(operation, null);
+			assertTrue(operation.changeExecuted());
+
+			String expected= getContent(0, "renamed").replace("last", "final");
+			assertEquals(expected, fProject.getContent(fFiles[0]));
+			assertFalse(between.isDeleted());
+			assertEquals(expected.indexOf("here"), between.getOffset());
+			assertEquals("here".length(), between.getLength());
+		} finally {
+			manager.disconnect(path, LocationKind.IFILE, null);
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringPreferenceConstants;
+import org.eclipse.ltk.internal.core.refactoring.UndoManager2;
+import org.eclipse.ltk.internal.core.refactoring.UndoSpillFile;
+import org.eclipse.ltk.internal.core.refactoring.UndoableOperation2ChangeAdapter;
+
+public class UndoMemoryBudgetTests {
+
+	private static final int FILES= 3;
+	private static final int LINES= 200;
+
+	private SimpleTestProject fProject;
+	private IFile[] fFiles;
+	private UndoManager2 fUndoManager;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		IFolder folder= fProject.createFolder("undo");
+		fFiles= new IFile[FILES];
+		for (int i= 0; i < FILES; i++) {
+			fFiles[i]= fProject.createFile(folder, "file" + i + ".txt", getContent("old"));
+		}
+		fUndoManager= (UndoManager2) RefactoringCore.getUndoManager();
+		fUndoManager.flush();
+		// every entry but the most recent one exceeds this budget
+		setMemoryBudget("1");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		setMemoryBudget(null);
+		fUndoManager.flush();
+		fProject.delete();
+	}
+
+	private static void setMemoryBudget(String value) throws Exception {
+		IEclipsePreferences preferences= InstanceScope.INSTANCE.getNode(RefactoringCore.ID_PLUGIN);
+		if (value == null)
+			preferences.remove(RefactoringPreferenceConstants.PREFERENCE_UNDO_MEMORY_BUDGET);
+		else
+			preferences.put(RefactoringPreferenceConstants.PREFERENCE_UNDO_MEMORY_BUDGET, value);
+		preferences.flush();
+	}
+
+	private static String getContent(String name) {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < LINES; i++) {
+			buf.append("line ").append(i).append(" references ").append(name).append('\n');
+		}
+		return buf.toString();
+	}
+
+	private void rename(IFile file) throws Exception {
+		rename(file, false);
+	}
+
+	/*
+	 * Replaces every "old" by "renamed", or by "<renamed>" using zero-length inserts next to the replace edits.
+	 */
+	private void rename(IFile file, boolean withInserts) throws Exception {
+		String content= getContent("old");
+		TextFileChange change= new TextFileChange(file.getName(), file);
+		change.setEdit(new MultiTextEdit());
+		for (int offset= content.indexOf("old"); offset != -1; offset= content.indexOf("old", offset + 1)) {
+			if (withInserts)
+				change.addEdit(new InsertEdit(offset, "<"));
+			change.addEdit(new ReplaceEdit(offset, 3, "renamed"));
+			if (withInserts)
+				change.addEdit(new InsertEdit(offset + 3, ">"));
+		}
+		change.initializeValidationData(new NullProgressMonitor());
+		PerformChangeOperation operation= new PerformChangeOperation(change);
+		operation.setUndoManager(fUndoManager, "rename " + file.getName());
+		ResourcesPlugin.getWorkspace().run(operation, null);
+		assertTrue(operation.changeExecuted());
+	}
+
+	@Test
+	public void testOlderEntriesAreSpilledAndRestored() throws Exception {
+		for (IFile file : fFiles) {
+			rename(file);
+		}
+		List<UndoableOperation2ChangeAdapter> entries= fUndoManager.getUndoEntries();
+		assertEquals(FILES, entries.size());
+		UndoableOperation2ChangeAdapter mostRecent= entries.get(0);
+		assertTrue(mostRecent.getRetainedSize() > 2 * LINES * "old".length());
+		assertEquals(0, mostRecent.getSpilledSize());
+		for (int i= 1; i < FILES; i++) {
+			UndoableOperation2ChangeAdapter entry= entries.get(i);
+			assertEquals(entry.getLabel(), 0, entry.getRetainedSize());
+			assertTrue(entry.getLabel(), entry.getSpilledSize() > 0);
+		}
+		assertEquals(mostRecent.getRetainedSize(), fUndoManager.getRetainedSize());
+
+		for (int i= FILES - 1; i >= 0; i--) {
+			assertEquals(getContent("renamed"), fProject.getContent(fFiles[i]));
+			fUndoManager.performUndo(null, new NullProgressMonitor());
+			assertEquals(getContent("old"), fProject.getContent(fFiles[i]));
+		}
+		assertTrue(fUndoManager.getUndoEntries().isEmpty());
+
+		// redo works from the in-memory redo changes
+		fUndoManager.performRedo(null, new NullProgressMonitor());
+		assertEquals(getContent("renamed"), fProject.getContent(fFiles[0]));
+	}
+
+	@Test
+	public void testNegativeBudgetDisablesSpilling() throws Exception {
+		setMemoryBudget("-1");
+		for (IFile file : fFiles) {
+			rename(file);
+		}
+		for (UndoableOperation2ChangeAdapter entry : fUndoManager.getUndoEntries()) {
+			assertTrue(entry.getRetainedSize() > 0);
+			assertEquals(0, entry.getSpilledSize());
+		}
+	}
+
+	@Test
+	public void testInsertNextToReplaceAtSameOffset() throws Exception {
+		for (IFile file : fFiles) {
+			rename(file, true);
+		}
+		String renamed= getContent("<renamed>");
+		for (int i= FILES - 1; i >= 0; i--) {
+			assertEquals(renamed, fProject.getContent(fFiles[i]));
+			fUndoManager.performUndo(null, new NullProgressMonitor());
+			assertEquals(getContent("old"), fProject.getContent(fFiles[i]));
+		}
+		fUndoManager.performRedo(null, new NullProgressMonitor());
+		assertEquals(renamed, fProject.getContent(fFiles[0]));
+	}
+
+	@Test
+	public void testCanSpill() throws Exception {
+		// a zero-length edit applied before a replace at the same offset
+		assertTrue(UndoSpillFile.canSpill(new TextEdit[] { new ReplaceEdit(5, 0, "x"), new ReplaceEdit(5, 3, "abc") }));
+		// same edits in the other order: sorting them would swap them
+		assertFalse(UndoSpillFile.canSpill(new TextEdit[] { new ReplaceEdit(5, 3, "abc"), new ReplaceEdit(5, 0, "x") }));
+		// a zero-length edit inside a replace cannot be part of a multi text edit
+		assertFalse(UndoSpillFile.canSpill(new TextEdit[] { new ReplaceEdit(5, 3, "abc"), new ReplaceEdit(6, 0, "x") }));
+		// the order of independent edits does not matter
+		assertTrue(UndoSpillFile.canSpill(new TextEdit[] { new ReplaceEdit(20, 3, "abc"), new ReplaceEdit(5, 0, "x") }));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,10 @@ package org.eclipse.ltk.core.refactoring;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -27,6 +29,8 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
+import org.eclipse.core.resources.IFile;
+
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 
@@ -269,16 +273,29 @@ public class CompositeChange extends Change {
 		pm.setTaskName(RefactoringCoreMessages.CompositeChange_performingChangesTask_name);
 		Change change= null;
 		boolean canceled= false;
+		Map<Change, Object> bulkResults= null;
 		try {
 			for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext();) {
 				change= iter.next();
 				if (canceled && !internalProcessOnCancel(change))
 					continue;
 
+				if (!canceled && (bulkResults == null || bulkResults.isEmpty()))
+					bulkResults= performInBulk(pm);
+
 				if (change.isEnabled()) {
 					Change undoChange= null;
 					try {
-						undoChange= change.perform(new SubProgressMonitor(pm, 1));
+						Object bulkResult= bulkResults != null ? bulkResults.remove(change) : null;
+						if (bulkResult instanceof CoreException) {
+							throw (CoreException) bulkResult;
+						} else if (bulkResult instanceof RuntimeException) {
+							throw (RuntimeException) bulkResult;
+						} else if (bulkResult != null) {
+							undoChange= (Change) bulkResult;
+						} else {
+							undoChange= change.perform(new SubProgressMonitor(pm, 1));
+						}
 					} catch(OperationCanceledException e) {
 						canceled= true;
 						if (!internalContinueOnCancel())
@@ -327,6 +344,28 @@ public class CompositeChange extends Change {
 		}
 	}
 
+	/*
+	 * Performs the run of text file changes at the head of the remaining children in one go,
+	 * if it is long enough. The run ends before the second change on the same file, since
+	 * that change has to see the result of the first one. The children are still disposed
+	 * and removed one by one by the caller, which picks up their undo changes from the
+	 * returned map.
+	 */
+	private Map<Change, Object> performInBulk(IProgressMonitor pm) {
+		int end= 0;
+		HashSet<IFile> files= new HashSet<>();
+		while (end < fChanges.size() && TextFileChangeBulkPerformer.isCandidate(fChanges.get(end))
+				&& files.add(((TextFileChange) fChanges.get(end)).getFile()))
+			end++;
+		if (end < TextFileChangeBulkPerformer.MIN_BULK_SIZE)
+			return null;
+		List<TextFileChange> run= new ArrayList<>(end);
+		for (int i= 0; i < end; i++) {
+			run.add((TextFileChange) fChanges.get(i));
+		}
+		return new TextFileChangeBulkPerformer(run).perform(new SubProgressMonitor(pm, end));
+	}
+
 	private void handleUndos(Change failedChange, List<Change> undos) {
 		if (undos == null) {
 			fUndoUntilException= null;
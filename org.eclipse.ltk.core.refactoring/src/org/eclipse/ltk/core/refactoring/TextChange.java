@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,11 @@
  *******************************************************************************/
 package org.eclipse.ltk.core.refactoring;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.core.runtime.Assert;
@@ -23,8 +26,11 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
 import org.eclipse.text.edits.MalformedTreeException;
 import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 import org.eclipse.text.edits.TextEditCopier;
 import org.eclipse.text.edits.TextEditGroup;
@@ -76,6 +82,82 @@ public abstract class TextChange extends TextEditBasedChange {
 	private TextEdit fEdit;
 	private TextEditCopier fCopier;
 
+	/** The store keeping the edits of this change, or <code>null</code> */
+	private TextChangeStore fStore;
+	/** The position of the edits in the store while they are not in memory, <code>-1</code> otherwise */
+	private long fStoreRecord= -1;
+
+	/**
+	 * The preview of all edits, computed for a given current content and a given state
+	 * of the edit tree. Previews of large files are requested again every time the
+	 * change is selected in the preview page, so the last one is kept.
+	 * <p>
+	 * Clients can change nested edits of the tree without going through this change, so
+	 * the cache remembers every edit of the tree with its region, in pre-order, instead
+	 * of relying on notifications.
+	 * </p>
+	 */
+	private static final class PreviewCache {
+		final String fCurrentContent;
+		final BitSet fEnabledGroups;
+		final int fGroupCount;
+		final TextEdit[] fEdits;
+		final int[] fRegions;
+		final String fPreviewContent;
+		final TextEditCopier fCopier;
+
+		PreviewCache(String currentContent, BitSet enabledGroups, int groupCount, TextEdit root, String previewContent, TextEditCopier copier) {
+			fCurrentContent= currentContent;
+			fEnabledGroups= enabledGroups;
+			fGroupCount= groupCount;
+			List<TextEdit> edits= new ArrayList<>();
+			if (root != null)
+				collectEdits(root, edits);
+			fEdits= edits.toArray(new TextEdit[edits.size()]);
+			fRegions= new int[2 * fEdits.length];
+			for (int i= 0; i < fEdits.length; i++) {
+				fRegions[2 * i]= fEdits[i].getOffset();
+				fRegions[2 * i + 1]= fEdits[i].getLength();
+			}
+			fPreviewContent= previewContent;
+			fCopier= copier;
+		}
+
+		boolean matches(String currentContent, BitSet enabledGroups, int groupCount, TextEdit root) {
+			if (groupCount != fGroupCount || !enabledGroups.equals(fEnabledGroups))
+				return false;
+			if (!(root == null ? fEdits.length == 0 : matches(root, 0) == fEdits.length))
+				return false;
+			return currentContent.equals(fCurrentContent);
+		}
+
+		/**
+		 * Compares the subtree of the given edit with the remembered edits, starting at the given index.
+		 *
+		 * @return the index after the subtree, or <code>-1</code> if the subtree has changed
+		 */
+		private int matches(TextEdit edit, int index) {
+			if (index >= fEdits.length || fEdits[index] != edit || fRegions[2 * index] != edit.getOffset() || fRegions[2 * index + 1] != edit.getLength())
+				return -1;
+			int next= index + 1;
+			for (TextEdit child : edit.getChildren()) {
+				next= matches(child, next);
+				if (next < 0)
+					return -1;
+			}
+			return next;
+		}
+
+		private static void collectEdits(TextEdit edit, List<TextEdit> result) {
+			result.add(edit);
+			for (TextEdit child : edit.getChildren()) {
+				collectEdits(child, result);
+			}
+		}
+	}
+
+	private SoftReference<PreviewCache> fPreviewCache;
+
 	/**
 	 * Creates a new text change with the specified name.  The name is a
 	 * human-readable value that is displayed to users.  The name does not
@@ -102,9 +184,11 @@ public abstract class TextChange extends TextEditBasedChange {
 	 *  can only be set once.
 	 */
 	public void setEdit(TextEdit edit) {
+		aboutToAccessEdits();
 		Assert.isTrue(fEdit == null, "Root edit can only be set once"); //$NON-NLS-1$
 		Assert.isTrue(edit != null);
 		fEdit= edit;
+		fPreviewCache= null;
 	}
 
 	/**
@@ -114,6 +198,7 @@ public abstract class TextChange extends TextEditBasedChange {
 	 *  set
 	 */
 	public TextEdit getEdit() {
+		aboutToAccessEdits();
 		return fEdit;
 	}
 
@@ -138,8 +223,10 @@ public abstract class TextChange extends TextEditBasedChange {
 	 * @param group the text edit change group to add
 	 */
 	public void addTextEditChangeGroup(TextEditChangeGroup group) {
+		aboutToAccessEdits();
 		Assert.isTrue(fEdit != null, "Can only add a description if a root edit exists"); //$NON-NLS-1$
 		addChangeGroup(group);
+		fPreviewCache= null;
 	}
 
 	/**
@@ -167,8 +254,10 @@ public abstract class TextChange extends TextEditBasedChange {
 	 * @since 3.1
 	 */
 	public void addEdit(TextEdit edit) throws MalformedTreeException {
+		aboutToAccessEdits();
 		Assert.isTrue(fEdit != null, "root must exist to add an edit"); //$NON-NLS-1$
 		fEdit.addChild(edit);
+		fPreviewCache= null;
 	}
 
 	//---- Document management -----------------------------------------------
@@ -240,7 +329,10 @@ public abstract class TextChange extends TextEditBasedChange {
 			UndoEdit undo= performEdits(document);
 
 			commit(document, new SubProgressMonitor(pm, 1));
-			return createUndoChange(undo);
+			Change result= createUndoChange(undo);
+			if (fStore != null)
+				fStore.performed(this);
+			return result;
 
 		} catch (BadLocationException e) {
 			throw Changes.asCoreException(e);
@@ -275,7 +367,11 @@ public abstract class TextChange extends TextEditBasedChange {
 			}
 
 			LinkedModeModel.closeAllModels(document);
-			TextEditProcessor processor= createTextEditProcessor(document, TextEdit.CREATE_UNDO, false);
+			TextEditProcessor processor;
+			synchronized (getEditLock()) {
+				processor= createTextEditProcessor(document, TextEdit.CREATE_UNDO, false);
+			}
+			// the processor references the edits, so the store gives them back unchanged if it moves them meanwhile
 			return processor.performEdits();
 
 		} finally {
@@ -398,13 +494,12 @@ public abstract class TextChange extends TextEditBasedChange {
 	 * @throws CoreException if the preview can't be created
 	 */
 	public IDocument getPreviewDocument(IProgressMonitor pm) throws CoreException {
-		PreviewAndRegion result= getPreviewDocument(ALL_EDITS, pm);
-		return result.document;
+		return new Document(getCachedPreviewContent(pm));
 	}
 
 	@Override
 	public String getPreviewContent(IProgressMonitor pm) throws CoreException {
-		return getPreviewDocument(pm).get();
+		return getCachedPreviewContent(pm);
 	}
 
 	/**
@@ -491,18 +586,26 @@ public abstract class TextChange extends TextEditBasedChange {
 	 */
 	@Override
 	public String getPreviewContent(TextEditBasedChangeGroup[] changeGroups, IRegion region, boolean expandRegionToFullLine, int surroundingLines, IProgressMonitor pm) throws CoreException {
-		IRegion currentRegion= getRegion(changeGroups);
-		Assert.isTrue(region.getOffset() <= currentRegion.getOffset() &&
-			currentRegion.getOffset() + currentRegion.getLength() <= region.getOffset() + region.getLength());
-		// Make sure that all edits in the change groups are rooted under the edit the text change stand for.
-		TextEdit root= getEdit();
-		Assert.isNotNull(root, "No root edit"); //$NON-NLS-1$
-		for (TextEditBasedChangeGroup group : changeGroups) {
-			TextEdit[] edits= group.getTextEdits();
-			for (TextEdit edit : edits) {
-				Assert.isTrue(root == edit.getRoot(), "Wrong root edit"); //$NON-NLS-1$
+		IRegion currentRegion;
+		synchronized (getEditLock()) {
+			currentRegion= getRegion(changeGroups);
+			Assert.isTrue(region.getOffset() <= currentRegion.getOffset() &&
+				currentRegion.getOffset() + currentRegion.getLength() <= region.getOffset() + region.getLength());
+			// Make sure that all edits in the change groups are rooted under the edit the text change stand for.
+			TextEdit root= getEdit();
+			Assert.isNotNull(root, "No root edit"); //$NON-NLS-1$
+			for (TextEditBasedChangeGroup group : changeGroups) {
+				TextEdit[] edits= group.getTextEdits();
+				for (TextEdit edit : edits) {
+					Assert.isTrue(root == edit.getRoot(), "Wrong root edit"); //$NON-NLS-1$
+				}
 			}
 		}
+		if (!getKeepPreviewEdits()) {
+			String content= getLocalPreviewContent(changeGroups, region, expandRegionToFullLine, surroundingLines, pm);
+			if (content != null)
+				return content;
+		}
 		PreviewAndRegion result= getPreviewDocument(changeGroups, pm);
 		int delta;
 		if (result.region == null) {	// all edits were delete edits so no new region
@@ -516,24 +619,120 @@ public abstract class TextChange extends TextEditBasedChange {
 
 	//---- private helper methods --------------------------------------------------
 
-	private PreviewAndRegion getPreviewDocument(TextEditBasedChangeGroup[] changes, IProgressMonitor pm) throws CoreException {
-		IDocument document= new Document(getCurrentDocument(pm).get());
-		boolean trackChanges= getKeepPreviewEdits();
-		setKeepPreviewEdits(true);
-		TextEditProcessor processor= changes == ALL_EDITS
-			? createTextEditProcessor(document, TextEdit.NONE, true)
-			: createTextEditProcessor(document, TextEdit.NONE, changes);
+	private String getCachedPreviewContent(IProgressMonitor pm) throws CoreException {
+		String currentContent= getCurrentDocument(pm).get();
+		synchronized (getEditLock()) {
+			aboutToAccessEdits();
+			TextEditBasedChangeGroup[] groups= getChangeGroups();
+			BitSet enabledGroups= new BitSet(groups.length);
+			for (int i= 0; i < groups.length; i++) {
+				if (groups[i].isEnabled())
+					enabledGroups.set(i);
+			}
+			PreviewCache cache= fPreviewCache != null ? fPreviewCache.get() : null;
+			if (cache != null && cache.matches(currentContent, enabledGroups, groups.length, fEdit)) {
+				if (getKeepPreviewEdits())
+					fCopier= cache.fCopier;
+				return cache.fPreviewContent;
+			}
+
+			boolean trackChanges= getKeepPreviewEdits();
+			setKeepPreviewEdits(true);
+			try {
+				PreviewAndRegion result= getPreviewDocument(new Document(currentContent), ALL_EDITS);
+				String previewContent= result.document.get();
+				fPreviewCache= new SoftReference<>(new PreviewCache(currentContent, enabledGroups, groups.length, fEdit, previewContent, fCopier));
+				return previewContent;
+			} finally {
+				setKeepPreviewEdits(trackChanges);
+			}
+		}
+	}
+
+	/**
+	 * Computes the preview of the given change groups by applying their edits to a slice of
+	 * the current document that covers the requested region and its surrounding lines,
+	 * instead of copying the whole edit tree and document.
+	 *
+	 * @return the preview content, or <code>null</code> if the edits of the groups are not
+	 *  simple, non-overlapping replacements and the full preview has to be computed
+	 */
+	private String getLocalPreviewContent(TextEditBasedChangeGroup[] changeGroups, IRegion region, boolean expandRegionToFullLine, int surroundingLines, IProgressMonitor pm) throws CoreException {
+		List<TextEdit> edits= new ArrayList<>();
+		for (TextEditBasedChangeGroup group : changeGroups) {
+			if (!group.isEnabled())
+				return null;
+			for (TextEdit edit : group.getTextEdits()) {
+				if (!(edit instanceof ReplaceEdit || edit instanceof InsertEdit || edit instanceof DeleteEdit) || edit.hasChildren() || edit.isDeleted())
+					return null;
+				edits.add(edit);
+			}
+		}
+		if (edits.isEmpty())
+			return null;
+		edits.sort(Comparator.comparingInt(TextEdit::getOffset));
+		for (int i= 1; i < edits.size(); i++) {
+			TextEdit previous= edits.get(i - 1);
+			// insertions at the same offset depend on their order in the edit tree
+			if (previous.getExclusiveEnd() > edits.get(i).getOffset() || previous.getOffset() == edits.get(i).getOffset())
+				return null;
+		}
+
+		IDocument current= getCurrentDocument(pm);
 		try {
-			processor.performEdits();
-			return new PreviewAndRegion(document, getNewRegion(changes));
+			// one more line than requested on each side, so that clipping the slice gives the same lines
+			int firstLine= Math.max(current.getLineOfOffset(region.getOffset()) - surroundingLines - 1, 0);
+			int lastLine= Math.min(current.getLineOfOffset(region.getOffset() + region.getLength()) + surroundingLines + 1, current.getNumberOfLines() - 1);
+			int sliceOffset= current.getLineOffset(firstLine);
+			IRegion lastLineInfo= current.getLineInformation(lastLine);
+			IDocument slice= new Document(current.get(sliceOffset, lastLineInfo.getOffset() + lastLineInfo.getLength() - sliceOffset));
+
+			MultiTextEdit sliceEdit= new MultiTextEdit();
+			int delta= 0;
+			for (TextEdit edit : edits) {
+				String text;
+				if (edit instanceof ReplaceEdit)
+					text= ((ReplaceEdit) edit).getText();
+				else if (edit instanceof InsertEdit)
+					text= ((InsertEdit) edit).getText();
+				else
+					text= ""; //$NON-NLS-1$
+				sliceEdit.addChild(new ReplaceEdit(edit.getOffset() - sliceOffset, edit.getLength(), text));
+				delta+= text.length() - edit.getLength();
+			}
+			sliceEdit.apply(slice, TextEdit.NONE);
+			return getContent(slice, new Region(region.getOffset() - sliceOffset, region.getLength() + delta), expandRegionToFullLine, surroundingLines);
 		} catch (BadLocationException e) {
-			throw Changes.asCoreException(e);
-		} finally {
-			setKeepPreviewEdits(trackChanges);
+			return null;
+		} catch (MalformedTreeException e) {
+			return null;
+		}
+	}
+
+	private PreviewAndRegion getPreviewDocument(TextEditBasedChangeGroup[] changes, IProgressMonitor pm) throws CoreException {
+		return getPreviewDocument(new Document(getCurrentDocument(pm).get()), changes);
+	}
+
+	private PreviewAndRegion getPreviewDocument(IDocument document, TextEditBasedChangeGroup[] changes) throws CoreException {
+		synchronized (getEditLock()) {
+			boolean trackChanges= getKeepPreviewEdits();
+			setKeepPreviewEdits(true);
+			TextEditProcessor processor= changes == ALL_EDITS
+				? createTextEditProcessor(document, TextEdit.NONE, true)
+				: createTextEditProcessor(document, TextEdit.NONE, changes);
+			try {
+				processor.performEdits();
+				return new PreviewAndRegion(document, getNewRegion(changes));
+			} catch (BadLocationException e) {
+				throw Changes.asCoreException(e);
+			} finally {
+				setKeepPreviewEdits(trackChanges);
+			}
 		}
 	}
 
 	private TextEditProcessor createTextEditProcessor(IDocument document, int flags, boolean preview) {
+		aboutToAccessEdits();
 		if (fEdit == null)
 			return new TextEditProcessor(document, new MultiTextEdit(0,0), flags);
 		List<TextEdit> excludes= new ArrayList<>(0);
@@ -564,6 +763,7 @@ public abstract class TextChange extends TextEditBasedChange {
 	}
 
 	private TextEditProcessor createTextEditProcessor(IDocument document, int flags, TextEditBasedChangeGroup[] changes) {
+		aboutToAccessEdits();
 		if (fEdit == null)
 			return new TextEditProcessor(document, new MultiTextEdit(0,0), flags);
 		List<TextEdit> includes= new ArrayList<>(0);
@@ -588,6 +788,7 @@ public abstract class TextChange extends TextEditBasedChange {
 	}
 
 	private IRegion getRegion(TextEditBasedChangeGroup[] changes) {
+		aboutToAccessEdits();
 		if (changes == ALL_EDITS) {
 			if (fEdit == null)
 				return null;
@@ -631,4 +832,59 @@ public abstract class TextChange extends TextEditBasedChange {
 		if (!keep)
 			fCopier= null;
 	}
+
+	@Override
+	public void dispose() {
+		if (fStore != null)
+			fStore.disposed(this);
+	}
+
+	//---- text change store --------------------------------------------------------
+
+	/*
+	 * The lock to hold while working on the edits, so that the store does not move them to its file meanwhile.
+	 */
+	private Object getEditLock() {
+		TextChangeStore store= fStore;
+		return store != null ? store : this;
+	}
+
+	@Override
+	void aboutToAccessEdits() {
+		TextChangeStore store= fStore;
+		if (store != null)
+			store.accessed(this);
+	}
+
+	/**
+	 * Returns the store that keeps the edits of this change while they are not needed.
+	 *
+	 * @return the store, or <code>null</code> if the edits of this change are always kept in memory
+	 * @since 3.13
+	 */
+	public TextChangeStore getStore() {
+		return fStore;
+	}
+
+	void setStore(TextChangeStore store) {
+		fStore= store;
+	}
+
+	long getStoreRecord() {
+		return fStoreRecord;
+	}
+
+	void setStoreRecord(long record) {
+		fStoreRecord= record;
+	}
+
+	TextEdit getEditInternal() {
+		return fEdit;
+	}
+
+	void setEditInternal(TextEdit edit) {
+		fEdit= edit;
+		fCopier= null;
+		fPreviewCache= null;
+	}
 }
@@ -0,0 +1,451 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.RangeMarker;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+
+/**
+ * A store that keeps the edits of many {@link TextChange}s in a temporary file, so that only
+ * a bounded number of them is held in memory at any time.
+ * <p>
+ * Refactorings that modify a very large number of files add their text changes to a store
+ * as they create them. When more than the given number of changes are in memory, the
+ * changes that have not been accessed for the longest time move their edit trees to the
+ * store. The edits are brought back transparently as soon as they are accessed, e.g. when
+ * the change is shown in the preview or performed. After a stored change has been performed
+ * its edits are released, so that performing a large composite change only needs memory
+ * for the changes currently being performed.
+ * </p>
+ * <p>
+ * Only edit trees consisting of {@link MultiTextEdit}, {@link ReplaceEdit}, {@link InsertEdit},
+ * {@link DeleteEdit} and {@link RangeMarker} whose change groups only refer to edits of the
+ * tree are moved. Other changes, as well as changes that keep their preview edits, stay in
+ * memory. A change gets its original edit objects back as long as a client still references
+ * one of them, so references to its edits stay valid. Only edit trees that nobody references
+ * anymore are re-created from the file. While the edits of a change are stored, the edit
+ * groups of the change are empty.
+ * </p>
+ * <p>
+ * The store is meant to be used by one refactoring at a time, but may be accessed from
+ * several threads. Changes synchronize on their store while they work on their edits, so
+ * that the edits are not moved to the file while they are in use. The temporary file is
+ * deleted once no change keeps its edits in it anymore. Clients that drop a change without
+ * performing or disposing it should {@link #remove(TextChange) remove} it from the store.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed by clients.
+ * </p>
+ *
+ * @since 3.13
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public final class TextChangeStore {
+
+	private static final byte MULTI= 0;
+	private static final byte REPLACE= 1;
+	private static final byte INSERT= 2;
+	private static final byte DELETE= 3;
+	private static final byte RANGE_MARKER= 4;
+
+	/** A record of the file, with the edit tree it was written from */
+	private static final class Record {
+		final int fLength;
+		final WeakReference<TextEdit> fRoot;
+
+		Record(int length, TextEdit root) {
+			fLength= length;
+			fRoot= new WeakReference<>(root);
+		}
+	}
+
+	private final int fMaxResident;
+
+	/** The changes whose edits are in memory, least recently accessed first */
+	private final LinkedHashMap<TextChange, Boolean> fResident= new LinkedHashMap<>(16, 0.75f, true);
+	/** position of live record -> record */
+	private final Map<Long, Record> fRecords= new HashMap<>();
+
+	private File fFile;
+	private RandomAccessFile fAccess;
+
+	private int fStoreCount;
+	private int fRestoreCount;
+
+	/**
+	 * Creates a new store.
+	 *
+	 * @param maxResident the number of changes whose edits are kept in memory, must be positive
+	 */
+	public TextChangeStore(int maxResident) {
+		Assert.isTrue(maxResident > 0);
+		fMaxResident= maxResident;
+	}
+
+	/**
+	 * Adds a change to this store. The change should be complete or nearly complete, since
+	 * adding edits to a stored change brings its edits back into memory.
+	 *
+	 * @param change the change to add, must not belong to another store
+	 */
+	public synchronized void add(TextChange change) {
+		Assert.isTrue(change.getStore() == null || change.getStore() == this);
+		if (change.getStore() == this)
+			return;
+		change.setStore(this);
+		fResident.put(change, Boolean.TRUE);
+		evict();
+	}
+
+	/**
+	 * @return the number of changes of this store whose edits are in memory
+	 */
+	public synchronized int getResidentCount() {
+		return fResident.size();
+	}
+
+	/**
+	 * @return the number of changes whose edits are currently kept in the file of this store
+	 */
+	public synchronized int getStoredCount() {
+		return fRecords.size();
+	}
+
+	/**
+	 * @return how many times edits have been moved to the file of this store
+	 */
+	public synchronized int getStoreCount() {
+		return fStoreCount;
+	}
+
+	/**
+	 * @return how many times edits have been brought back from the file of this store
+	 */
+	public synchronized int getRestoreCount() {
+		return fRestoreCount;
+	}
+
+	/**
+	 * Removes a change from this store. The edits of the change are brought back into memory
+	 * if they are stored, and stay in memory from now on.
+	 *
+	 * @param change the change to remove, must belong to this store
+	 */
+	public synchronized void remove(TextChange change) {
+		Assert.isTrue(change.getStore() == this);
+		long record= change.getStoreRecord();
+		if (record != -1)
+			restore(change, record);
+		fResident.remove(change);
+		change.setStore(null);
+	}
+
+	//---- called by TextChange ---------------------------------------------------------
+
+	synchronized void accessed(TextChange change) {
+		if (change.getStore() != this)
+			return;
+		long record= change.getStoreRecord();
+		if (record != -1)
+			restore(change, record);
+		fResident.put(change, Boolean.TRUE);
+		evict();
+	}
+
+	synchronized void performed(TextChange change) {
+		fResident.remove(change);
+		release(change);
+		change.setEditInternal(null);
+		for (TextEditBasedChangeGroup group : change.getChangeGroupsInternal()) {
+			group.getTextEditGroupInternal().clearTextEdits();
+		}
+		change.setStore(null);
+	}
+
+	synchronized void disposed(TextChange change) {
+		fResident.remove(change);
+		release(change);
+		change.setStore(null);
+	}
+
+	//---- eviction ---------------------------------------------------------------------
+
+	private void evict() {
+		Iterator<TextChange> iter= fResident.keySet().iterator();
+		while (fResident.size() > fMaxResident && iter.hasNext()) {
+			TextChange change= iter.next();
+			iter.remove();
+			// changes that cannot be stored stay in memory, but no longer count as resident
+			store(change);
+		}
+	}
+
+	private boolean store(TextChange change) {
+		TextEdit root= change.getEditInternal();
+		if (root == null || change.getKeepPreviewEdits() || root.isDeleted())
+			return false;
+		List<TextEdit> edits= new ArrayList<>();
+		if (!collect(root, edits))
+			return false;
+		Map<TextEdit, Integer> ids= new IdentityHashMap<>(edits.size());
+		for (int i= 0; i < edits.size(); i++) {
+			ids.put(edits.get(i), Integer.valueOf(i));
+		}
+		TextEditBasedChangeGroup[] groups= change.getChangeGroupsInternal();
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (DataOutputStream out= new DataOutputStream(bytes)) {
+			out.writeInt(edits.size());
+			for (TextEdit edit : edits) {
+				write(out, edit);
+			}
+			out.writeInt(groups.length);
+			for (TextEditBasedChangeGroup group : groups) {
+				TextEdit[] groupEdits= group.getTextEditGroupInternal().getTextEdits();
+				out.writeInt(groupEdits.length);
+				for (TextEdit edit : groupEdits) {
+					Integer id= ids.get(edit);
+					if (id == null)
+						return false;
+					out.writeInt(id.intValue());
+				}
+			}
+		} catch (IOException e) {
+			RefactoringCorePlugin.log(e);
+			return false;
+		}
+		try {
+			RandomAccessFile access= getAccess();
+			long position= access.length();
+			access.seek(position);
+			access.write(bytes.toByteArray());
+			fRecords.put(Long.valueOf(position), new Record(bytes.size(), root));
+			change.setStoreRecord(position);
+		} catch (IOException e) {
+			RefactoringCorePlugin.log(e);
+			return false;
+		}
+		change.setEditInternal(null);
+		for (TextEditBasedChangeGroup group : groups) {
+			group.getTextEditGroupInternal().clearTextEdits();
+		}
+		fStoreCount++;
+		return true;
+	}
+
+	/*
+	 * Collects the edits of the tree in pre-order. Returns false if it contains edits that cannot be stored.
+	 */
+	private static boolean collect(TextEdit edit, List<TextEdit> result) {
+		Class<?> clazz= edit.getClass();
+		if (clazz != MultiTextEdit.class && clazz != ReplaceEdit.class && clazz != InsertEdit.class && clazz != DeleteEdit.class && clazz != RangeMarker.class)
+			return false;
+		result.add(edit);
+		for (TextEdit child : edit.getChildren()) {
+			if (!collect(child, result))
+				return false;
+		}
+		return true;
+	}
+
+	private static void write(DataOutputStream out, TextEdit edit) throws IOException {
+		if (edit instanceof ReplaceEdit) {
+			out.writeByte(REPLACE);
+			writeRegion(out, edit);
+			writeText(out, ((ReplaceEdit) edit).getText());
+		} else if (edit instanceof InsertEdit) {
+			out.writeByte(INSERT);
+			writeRegion(out, edit);
+			writeText(out, ((InsertEdit) edit).getText());
+		} else if (edit instanceof DeleteEdit) {
+			out.writeByte(DELETE);
+			writeRegion(out, edit);
+		} else if (edit instanceof RangeMarker) {
+			out.writeByte(RANGE_MARKER);
+			writeRegion(out, edit);
+		} else {
+			out.writeByte(MULTI);
+			writeRegion(out, edit);
+			out.writeBoolean(isDefined((MultiTextEdit) edit));
+		}
+		out.writeInt(edit.getChildrenSize());
+	}
+
+	/*
+	 * A multi text edit without a region of its own covers its children, or is empty at 0.
+	 * A defined region equal to the one of its children behaves the same when it is performed.
+	 */
+	private static boolean isDefined(MultiTextEdit edit) {
+		TextEdit[] children= edit.getChildren();
+		if (children.length == 0)
+			return edit.getOffset() != 0 || edit.getLength() != 0;
+		return edit.getOffset() != children[0].getOffset() || edit.getExclusiveEnd() != children[children.length - 1].getExclusiveEnd();
+	}
+
+	private static void writeRegion(DataOutputStream out, TextEdit edit) throws IOException {
+		out.writeInt(edit.getOffset());
+		out.writeInt(edit.getLength());
+	}
+
+	private static void writeText(DataOutputStream out, String text) throws IOException {
+		out.writeInt(text.length());
+		out.writeChars(text);
+	}
+
+	private static String readText(DataInputStream in) throws IOException {
+		char[] text= new char[in.readInt()];
+		for (int i= 0; i < text.length; i++) {
+			text[i]= in.readChar();
+		}
+		return new String(text);
+	}
+
+	private void restore(TextChange change, long record) {
+		Record entry= fRecords.get(Long.valueOf(record));
+		Assert.isNotNull(entry);
+		byte[] bytes= new byte[entry.fLength];
+		try {
+			RandomAccessFile access= getAccess();
+			access.seek(record);
+			access.readFully(bytes);
+			try (DataInputStream in= new DataInputStream(new ByteArrayInputStream(bytes))) {
+				TextEdit[] edits= new TextEdit[in.readInt()];
+				int[] next= { 0 };
+				TextEdit root= read(in, edits, next);
+				TextEdit original= entry.fRoot.get();
+				if (original != null) {
+					// still referenced by a client: keep the identity of the edits
+					List<TextEdit> originals= new ArrayList<>(edits.length);
+					collect(original, originals);
+					root= original;
+					edits= originals.toArray(new TextEdit[originals.size()]);
+				}
+				TextEditBasedChangeGroup[] groups= change.getChangeGroupsInternal();
+				int groupCount= in.readInt();
+				Assert.isTrue(groupCount == groups.length);
+				change.setStoreRecord(-1);
+				change.setEditInternal(root);
+				for (TextEditBasedChangeGroup group : groups) {
+					TextEditGroup editGroup= group.getTextEditGroupInternal();
+					int count= in.readInt();
+					for (int i= 0; i < count; i++) {
+						editGroup.addTextEdit(edits[in.readInt()]);
+					}
+				}
+			}
+		} catch (IOException e) {
+			RefactoringCorePlugin.log(e);
+			throw new IllegalStateException("Edits of change '" + change.getName() + "' could not be restored", e); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		releaseRecord(record);
+		fRestoreCount++;
+	}
+
+	private static TextEdit read(DataInputStream in, TextEdit[] edits, int[] next) throws IOException {
+		byte kind= in.readByte();
+		int offset= in.readInt();
+		int length= in.readInt();
+		TextEdit edit;
+		switch (kind) {
+			case REPLACE:
+				edit= new ReplaceEdit(offset, length, readText(in));
+				break;
+			case INSERT:
+				edit= new InsertEdit(offset, readText(in));
+				break;
+			case DELETE:
+				edit= new DeleteEdit(offset, length);
+				break;
+			case RANGE_MARKER:
+				edit= new RangeMarker(offset, length);
+				break;
+			default:
+				edit= in.readBoolean() ? new MultiTextEdit(offset, length) : new MultiTextEdit();
+				break;
+		}
+		int children= in.readInt();
+		edits[next[0]++]= edit;
+		for (int i= 0; i < children; i++) {
+			edit.addChild(read(in, edits, next));
+		}
+		return edit;
+	}
+
+	//---- file management --------------------------------------------------------------
+
+	private void release(TextChange change) {
+		long record= change.getStoreRecord();
+		if (record != -1) {
+			change.setStoreRecord(-1);
+			releaseRecord(record);
+		}
+	}
+
+	private void releaseRecord(long record) {
+		if (fRecords.remove(Long.valueOf(record)) == null)
+			return;
+		if (fRecords.isEmpty())
+			close();
+	}
+
+	private RandomAccessFile getAccess() throws IOException {
+		if (fAccess == null) {
+			RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+			File directory= plugin != null ? plugin.getStateLocation().toFile() : null;
+			fFile= File.createTempFile("changes", ".store", directory); //$NON-NLS-1$ //$NON-NLS-2$
+			fFile.deleteOnExit();
+			fAccess= new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+		}
+		return fAccess;
+	}
+
+	private void close() {
+		if (fAccess != null) {
+			try {
+				fAccess.close();
+			} catch (IOException e) {
+				RefactoringCorePlugin.log(e);
+			}
+			fAccess= null;
+		}
+		if (fFile != null) {
+			fFile.delete();
+			fFile= null;
+		}
+	}
+}
@@ -158,6 +158,7 @@ public abstract class TextEditBasedChange extends Change {
 	 */
 	public void addChangeGroup(TextEditBasedChangeGroup group) {
 		Assert.isTrue(group != null);
+		aboutToAccessEdits();
 		fChangeGroups.add(group);
 		if (fCombiedGroupCategories != null) {
 			fCombiedGroupCategories= GroupCategorySet.union(fCombiedGroupCategories, group.getGroupCategorySet());
@@ -203,9 +204,25 @@ public abstract class TextEditBasedChange extends Change {
 	 * @return the text edit change groups
 	 */
 	public final TextEditBasedChangeGroup[] getChangeGroups() {
+		aboutToAccessEdits();
+		return getChangeGroupsInternal();
+	}
+
+	/*
+	 * Returns the change groups without bringing the edits of the change back into memory.
+	 */
+	final TextEditBasedChangeGroup[] getChangeGroupsInternal() {
 		return fChangeGroups.toArray(new TextEditBasedChangeGroup[fChangeGroups.size()]);
 	}
 
+	/**
+	 * Hook called before the edits of this change or of its change groups are accessed.
+	 * Changes whose edits can be moved out of memory bring them back here.
+	 */
+	void aboutToAccessEdits() {
+		// nothing to do by default
+	}
+
 	String getContent(IDocument document, IRegion region, boolean expandRegionToFullLine, int surroundingLines) throws CoreException {
 		try {
 			if (expandRegionToFullLine) {
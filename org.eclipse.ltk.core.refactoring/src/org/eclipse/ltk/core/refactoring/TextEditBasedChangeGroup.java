@@ -82,6 +82,7 @@ public class TextEditBasedChangeGroup {
 	 *  text edit group
 	 */
 	public IRegion getRegion() {
+		fChange.aboutToAccessEdits();
 		return fTextEditGroup.getRegion();
 	}
 
@@ -91,6 +92,14 @@ public class TextEditBasedChangeGroup {
 	 * @return the underlying text edit group
 	 */
 	public TextEditGroup getTextEditGroup() {
+		fChange.aboutToAccessEdits();
+		return fTextEditGroup;
+	}
+
+	/*
+	 * Returns the text edit group without bringing the edits of the change back into memory.
+	 */
+	TextEditGroup getTextEditGroupInternal() {
 		return fTextEditGroup;
 	}
 
@@ -102,6 +111,7 @@ public class TextEditBasedChangeGroup {
 	 *  text edit group
 	 */
 	public TextEdit[] getTextEdits() {
+		fChange.aboutToAccessEdits();
 		return fTextEditGroup.getTextEdits();
 	}
 
@@ -202,6 +202,7 @@ public class TextFileChange extends TextChange {
 		if (fValidationState != null) {
 			fValidationState.dispose();
 		}
+		super.dispose();
 	}
 
 	@Override
@@ -294,6 +295,14 @@ public class TextFileChange extends TextChange {
 		return result[0];
 	}
 
+	/**
+	 * @return <code>true</code> if the document is acquired and changes to it have to be
+	 *         executed in the synchronization context of its file buffer
+	 */
+	boolean isSynchronizationContextRequested() {
+		return fBuffer != null && fBuffer.isSynchronizationContextRequested();
+	}
+
 	/**
 	 * Is the document currently acquired?
 	 *
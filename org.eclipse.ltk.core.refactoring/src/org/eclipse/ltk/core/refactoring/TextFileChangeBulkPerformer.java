@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.link.LinkedModeModel;
+
+import org.eclipse.ltk.internal.core.refactoring.Changes;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+
+/**
+ * Performs a run of {@link TextFileChange}s of a {@link CompositeChange} in bulk.
+ * <p>
+ * All file buffers are connected first. The edits of files that are not shown in an editor
+ * are then executed concurrently on private copies of their documents, since applying an
+ * edit tree is independent per file. The results are transferred to the real documents as
+ * the individual replacements of the edits, so that positions between them are kept. The
+ * documents are committed and released on the calling thread in the order of the changes, so
+ * that saves happen inside the caller's workspace operation and the undo changes are the
+ * same as the ones of {@link TextChange#perform(IProgressMonitor)}.
+ * </p>
+ * <p>
+ * Subclasses of {@link TextFileChange} qualify as long as they redefine neither
+ * {@link Change#perform(IProgressMonitor)} nor {@link TextChange#performEdits(IDocument)},
+ * since the bulk run replaces both. Their own way of acquiring, committing and releasing the
+ * document is used.
+ * A run must not contain two changes on the same file, see
+ * {@link CompositeChange#perform(IProgressMonitor)}.
+ * </p>
+ */
+final class TextFileChangeBulkPerformer {
+
+	/**
+	 * Minimal number of consecutive changes for which bulk performing pays off.
+	 */
+	static final int MIN_BULK_SIZE= 32;
+
+	private final TextFileChange[] fChanges;
+	private final IDocument[] fDocuments;
+	private final UndoEdit[] fUndoEdits;
+	private final Exception[] fFailures;
+	/**
+	 * The replacements for documents whose edits have been executed on a copy, as long as they
+	 * have not been transferred
+	 */
+	private final UndoEdit[] fRedoEdits;
+	private int fAcquired;
+
+	/**
+	 * @param change a change
+	 * @return <code>true</code> iff the change can be part of a bulk run
+	 */
+	static boolean isCandidate(Change change) {
+		return change instanceof TextFileChange && fgQualifies.get(change.getClass()).booleanValue()
+				&& change.isEnabled() && ((TextFileChange) change).getStore() == null;
+	}
+
+	/**
+	 * Whether a change class performs like {@link TextFileChange}, i.e. does not override
+	 * {@link Change#perform(IProgressMonitor)} or {@link TextChange#performEdits(IDocument)}
+	 * below {@link TextFileChange}. An override may for example change the document in another
+	 * thread.
+	 */
+	private static final ClassValue<Boolean> fgQualifies= new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> current= type; current != TextFileChange.class; current= current.getSuperclass()) {
+				if (declares(current, "perform", IProgressMonitor.class) || declares(current, "performEdits", IDocument.class)) //$NON-NLS-1$ //$NON-NLS-2$
+					return Boolean.FALSE;
+			}
+			return Boolean.TRUE;
+		}
+
+		private boolean declares(Class<?> type, String name, Class<?> parameterType) {
+			try {
+				type.getDeclaredMethod(name, parameterType);
+				return true;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+	};
+
+	TextFileChangeBulkPerformer(List<TextFileChange> changes) {
+		fChanges= changes.toArray(new TextFileChange[changes.size()]);
+		fDocuments= new IDocument[fChanges.length];
+		fUndoEdits= new UndoEdit[fChanges.length];
+		fFailures= new Exception[fChanges.length];
+		fRedoEdits= new UndoEdit[fChanges.length];
+	}
+
+	/**
+	 * Performs the changes. Performing stops at the first change that fails, like it does when
+	 * the changes are performed one by one. The changes after it are left untouched. If the
+	 * monitor is canceled before the edits of a change have been applied, that change fails
+	 * with an {@link OperationCanceledException}.
+	 *
+	 * @param pm the progress monitor, receives one unit per change
+	 * @return a map from each performed change to its undo change, or to the exception that
+	 *         the first failing change threw
+	 */
+	Map<Change, Object> perform(IProgressMonitor pm) {
+		int count= fChanges.length;
+		pm.beginTask("", count * 3); //$NON-NLS-1$
+		Map<Change, Object> result= new IdentityHashMap<>();
+		int failed= count;
+		try {
+			failed= acquireDocuments(pm);
+			failed= Math.min(failed, performEdits(failed, pm));
+			failed= Math.min(failed, commit(failed, pm));
+		} finally {
+			failed= Math.min(failed, releaseDocuments(failed, pm));
+			pm.done();
+		}
+		for (int i= 0; i < failed; i++) {
+			TextFileChange change= fChanges[i];
+			result.put(change, change.createUndoChange(fUndoEdits[i]));
+		}
+		if (failed < count)
+			result.put(fChanges[failed], fFailures[failed]);
+		return result;
+	}
+
+	private int acquireDocuments(IProgressMonitor pm) {
+		for (int i= 0; i < fChanges.length; i++) {
+			if (pm.isCanceled()) {
+				fFailures[i]= new OperationCanceledException();
+				return i;
+			}
+			try {
+				fDocuments[i]= fChanges[i].acquireDocument(new SubProgressMonitor(pm, 1));
+				fAcquired= i + 1;
+			} catch (CoreException | RuntimeException e) {
+				fFailures[i]= e;
+				return i;
+			}
+		}
+		return fChanges.length;
+	}
+
+	private int performEdits(int limit, IProgressMonitor pm) {
+		String[] oldContents= new String[limit];
+		for (int i= 0; i < limit; i++) {
+			if (!fChanges[i].isSynchronizationContextRequested())
+				oldContents[i]= fDocuments[i].get();
+		}
+		IntStream.range(0, limit).parallel().forEach(i -> {
+			if (oldContents[i] == null)
+				return;
+			try {
+				IDocument copy= new Document(oldContents[i]);
+				UndoEdit undo= fChanges[i].performEdits(copy);
+				// undoing on a copy of the result gives the replacements that lead to it
+				fRedoEdits[i]= undo.apply(new Document(copy.get()));
+			} catch (BadLocationException | MalformedTreeException e) {
+				fFailures[i]= Changes.asCoreException(e);
+			} catch (RuntimeException e) {
+				fFailures[i]= e;
+			}
+		});
+
+		// transfer in order; documents shown in an editor are changed here, in the caller's thread
+		for (int i= 0; i < limit; i++) {
+			if (fFailures[i] != null)
+				return i;
+			if (pm.isCanceled()) {
+				fFailures[i]= new OperationCanceledException();
+				return i;
+			}
+			try {
+				if (oldContents[i] == null) {
+					fUndoEdits[i]= fChanges[i].performEdits(fDocuments[i]);
+				} else {
+					fUndoEdits[i]= transfer(fDocuments[i], fRedoEdits[i]);
+					fRedoEdits[i]= null;
+				}
+			} catch (BadLocationException | MalformedTreeException e) {
+				fFailures[i]= Changes.asCoreException(e);
+				return i;
+			} catch (RuntimeException e) {
+				fFailures[i]= e;
+				return i;
+			}
+		}
+		return limit;
+	}
+
+	/*
+	 * Applies the replacements computed on a copy to the real document, like
+	 * TextChange#performEdits(IDocument) applies the edits.
+	 */
+	private static UndoEdit transfer(IDocument document, UndoEdit redo) throws BadLocationException {
+		DocumentRewriteSession session= null;
+		try {
+			if (document instanceof IDocumentExtension4)
+				session= ((IDocumentExtension4) document).startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+			LinkedModeModel.closeAllModels(document);
+			return redo.apply(document);
+		} finally {
+			if (session != null)
+				((IDocumentExtension4) document).stopRewriteSession(session);
+		}
+	}
+
+	private int commit(int limit, IProgressMonitor pm) {
+		for (int i= 0; i < limit; i++) {
+			try {
+				fChanges[i].commit(fDocuments[i], new SubProgressMonitor(pm, 1));
+			} catch (CoreException | RuntimeException e) {
+				fFailures[i]= e;
+				return i;
+			}
+		}
+		return limit;
+	}
+
+	/*
+	 * Releases all acquired documents. Documents after the first failure are rolled back first.
+	 */
+	private int releaseDocuments(int failed, IProgressMonitor pm) {
+		int result= failed;
+		for (int i= 0; i < fAcquired; i++) {
+			if (i > failed && fUndoEdits[i] != null) {
+				try {
+					fUndoEdits[i].apply(fDocuments[i]);
+				} catch (BadLocationException | MalformedTreeException e) {
+					RefactoringCorePlugin.log(e);
+				}
+			}
+			try {
+				fChanges[i].releaseDocument(fDocuments[i], new SubProgressMonitor(pm, 1));
+			} catch (CoreException | RuntimeException e) {
+				if (i < result) {
+					fFailures[i]= e;
+					result= i;
+				}
+			}
+			fDocuments[i]= null;
+		}
+		return result;
+	}
+}
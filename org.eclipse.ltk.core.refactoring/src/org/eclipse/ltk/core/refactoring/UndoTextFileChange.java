@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ltk.core.refactoring;
 
+import java.io.IOException;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -29,6 +31,7 @@ import org.eclipse.core.filebuffers.ITextFileBufferManager;
 import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 import org.eclipse.text.edits.UndoEdit;
 
@@ -39,8 +42,10 @@ import org.eclipse.jface.text.link.LinkedModeModel;
 import org.eclipse.ltk.internal.core.refactoring.BufferValidationState;
 import org.eclipse.ltk.internal.core.refactoring.Changes;
 import org.eclipse.ltk.internal.core.refactoring.ContentStamps;
+import org.eclipse.ltk.internal.core.refactoring.ISpillableChange;
 import org.eclipse.ltk.internal.core.refactoring.Lock;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.UndoSpillFile;
 
 /**
  * A change to perform the reverse change of a {@link TextFileChange}.
@@ -57,7 +62,12 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 public class UndoTextFileChange extends Change {
 
 	private String fName;
-	private UndoEdit fUndo;
+	/** The undo edit, or an equivalent edit read back from the spill file, <code>null</code> while spilled */
+	private TextEdit fUndo;
+	/** Position of the undo edit in the spill file if it has been spilled, <code>-1</code> otherwise */
+	private long fSpillPosition= -1;
+	private long fSpillSize;
+	private long fRetainedSize= -1;
 	private IFile fFile;
 	private ContentStamp fContentStampToRestore;
 	private int fSaveMode;
@@ -65,6 +75,40 @@ public class UndoTextFileChange extends Change {
 	private boolean fDirty;
 	private BufferValidationState fValidationState;
 
+	private final class Spillable implements ISpillableChange {
+		@Override
+		public long getRetainedSize() {
+			synchronized (UndoTextFileChange.this) {
+				if (fUndo == null)
+					return 0;
+				if (fRetainedSize == -1)
+					fRetainedSize= estimateSize(fUndo);
+				return fRetainedSize;
+			}
+		}
+		@Override
+		public long getSpilledSize() {
+			synchronized (UndoTextFileChange.this) {
+				return fSpillSize;
+			}
+		}
+		@Override
+		public long spill(UndoSpillFile file) throws IOException {
+			synchronized (UndoTextFileChange.this) {
+				if (fUndo == null)
+					return 0;
+				TextEdit[] edits= fUndo.getChildren();
+				if (!UndoSpillFile.canSpill(edits))
+					return 0;
+				long released= getRetainedSize();
+				fSpillPosition= file.write(edits);
+				fSpillSize= file.getRecordSize(fSpillPosition);
+				fUndo= null;
+				return released;
+			}
+		}
+	}
+
 	/**
 	 * Create a new undo text file change object.
 	 *
@@ -131,6 +175,13 @@ public class UndoTextFileChange extends Change {
 		return fFile;
 	}
 
+	@Override
+	public <T> T getAdapter(Class<T> adapter) {
+		if (adapter == ISpillableChange.class)
+			return adapter.cast(new Spillable());
+		return super.getAdapter(adapter);
+	}
+
 	@Override
 	public Object[] getAffectedObjects() {
 		Object modifiedElement= getModifiedElement();
@@ -267,18 +318,61 @@ public class UndoTextFileChange extends Change {
 	private UndoEdit doPerformEdits(IDocument document, boolean[] setContentStampSuccess) throws MalformedTreeException, BadLocationException, CoreException {
 		// perform the changes
 		LinkedModeModel.closeAllModels(document);
-		UndoEdit redo= fUndo.apply(document, TextEdit.CREATE_UNDO);
+		UndoEdit redo= getUndoEdit().apply(document, TextEdit.CREATE_UNDO);
 
 		// try to restore the document content stamp
 		setContentStampSuccess[0]= ContentStamps.set(document, fContentStampToRestore);
 		return redo;
 	}
 
+	/*
+	 * Returns the undo edit, reading it back from the spill file if it has been spilled.
+	 */
+	private synchronized TextEdit getUndoEdit() throws CoreException {
+		if (fUndo != null)
+			return fUndo;
+		UndoSpillFile file= UndoSpillFile.getInstance();
+		if (file == null || fSpillPosition == -1)
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "Undo edit is no longer available")); //$NON-NLS-1$
+		try {
+			fUndo= file.read(fSpillPosition);
+		} catch (IOException e) {
+			file.release(fSpillPosition);
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), e.getMessage(), e));
+		} finally {
+			fSpillPosition= -1;
+			fSpillSize= 0;
+		}
+		return fUndo;
+	}
+
+	/*
+	 * Rough estimate of the heap occupied by an undo edit: the edit objects plus their texts.
+	 */
+	private static long estimateSize(TextEdit undo) {
+		long result= 64;
+		for (TextEdit child : undo.getChildren()) {
+			result+= 96;
+			if (child instanceof ReplaceEdit)
+				result+= 2L * ((ReplaceEdit) child).getText().length();
+		}
+		return result;
+	}
+
 	@Override
 	public void dispose() {
 		if (fValidationState != null) {
 			fValidationState.dispose();
 		}
+		synchronized (this) {
+			if (fSpillPosition != -1) {
+				UndoSpillFile file= UndoSpillFile.getInstance();
+				if (file != null)
+					file.release(fSpillPosition);
+				fSpillPosition= -1;
+				fSpillSize= 0;
+			}
+		}
 	}
 
 	private boolean needsSaving() {
@@ -85,6 +85,7 @@ public class ParticipantExtensionPoint {
 			init();
 
 		EvaluationContext evalContext= createEvaluationContext(processor, element, affectedNatures);
+		String signature= createSignature(processor, element, affectedNatures);
 		List<RefactoringParticipant> result= new ArrayList<>();
 		for (Iterator<ParticipantDescriptor> iter= fParticipants.iterator(); iter.hasNext();) {
 			ParticipantDescriptor descriptor= iter.next();
@@ -93,7 +94,7 @@ public class ParticipantExtensionPoint {
 			} else {
 				try {
 					RefactoringStatus filterStatus= new RefactoringStatus();
-					if (descriptor.matches(evalContext, filter, filterStatus)) {
+					if (descriptor.matches(evalContext, signature, filter, filterStatus)) {
 						RefactoringParticipant participant= shared.get(descriptor);
 						if (participant != null) {
 							((ISharableParticipant)participant).addElement(element, arguments);
@@ -169,4 +170,20 @@ public class ParticipantExtensionPoint {
 		result.addVariable("processorIdentifier", processor.getIdentifier()); //$NON-NLS-1$
 		return result;
 	}
+
+	/*
+	 * Identifies the evaluation context as far as type based enablement expressions can tell:
+	 * the type of the element, the set of affected natures and the processor.
+	 */
+	private static String createSignature(RefactoringProcessor processor, Object element, String[] affectedNatures) {
+		String[] natures= affectedNatures.clone();
+		Arrays.sort(natures);
+		StringBuilder buffer= new StringBuilder();
+		buffer.append(element.getClass().getName());
+		buffer.append('|').append(processor.getIdentifier());
+		for (String nature : natures) {
+			buffer.append('|').append(nature);
+		}
+		return buffer.toString();
+	}
 }
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.io.IOException;
+
+/**
+ * Adapter of undo changes whose bulk data can be moved to the {@link UndoSpillFile}. The data
+ * is read back transparently when the change is performed.
+ * <p>
+ * Obtained through {@link org.eclipse.ltk.core.refactoring.Change#getAdapter(Class)}.
+ * </p>
+ */
+public interface ISpillableChange {
+
+	/**
+	 * @return the estimated number of bytes the change retains in memory
+	 */
+	long getRetainedSize();
+
+	/**
+	 * @return the number of bytes the change occupies in the spill file, or <code>0</code> if
+	 *         it has not been spilled
+	 */
+	long getSpilledSize();
+
+	/**
+	 * Moves the bulk data of the change to the given file. Does nothing if the change has
+	 * already been spilled or its data cannot be written.
+	 *
+	 * @param file the spill file
+	 * @return the number of bytes no longer retained in memory
+	 * @throws IOException if writing to the spill file failed
+	 */
+	long spill(UndoSpillFile file) throws IOException;
+}
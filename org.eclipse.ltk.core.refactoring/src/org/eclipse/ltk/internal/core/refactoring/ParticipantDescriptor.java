@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.ltk.internal.core.refactoring;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.eclipse.core.expressions.EvaluationResult;
 import org.eclipse.core.expressions.Expression;
 import org.eclipse.core.expressions.ExpressionConverter;
@@ -34,6 +38,20 @@ public class ParticipantDescriptor {
 	private IConfigurationElement fConfigurationElement;
 	private boolean fEnabled;
 
+	/** The converted enablement expression, <code>null</code> until first used */
+	private Expression fExpression;
+	/** Whether the enablement only depends on the evaluation signature, <code>null</code> until first used */
+	private Boolean fMemoizable;
+	/** evaluation signature -> enablement result */
+	private final Map<String, Boolean> fApplicability= new ConcurrentHashMap<>();
+
+	private static final AtomicLong fgEvaluations= new AtomicLong();
+	private static final AtomicLong fgMemoizedEvaluations= new AtomicLong();
+
+	private static final String VARIABLE_ELEMENT= "element"; //$NON-NLS-1$
+	private static final String VARIABLE_AFFECTED_NATURES= "affectedNatures"; //$NON-NLS-1$
+	private static final String VARIABLE_PROCESSOR_IDENTIFIER= "processorIdentifier"; //$NON-NLS-1$
+
 	private static final String ID= "id"; //$NON-NLS-1$
 	private static final String NAME= "name";  //$NON-NLS-1$
 	private static final String CLASS= "class"; //$NON-NLS-1$
@@ -71,12 +89,30 @@ public class ParticipantDescriptor {
 	}
 
 	public boolean matches(IEvaluationContext context, IParticipantDescriptorFilter filter, RefactoringStatus status) throws CoreException {
-		IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
-		if (elements.length == 0)
+		return matches(context, null, filter, status);
+	}
+
+	/**
+	 * Evaluates the enablement of this participant.
+	 * <p>
+	 * If the enablement expression only tests the type of the element, the affected natures
+	 * and the processor identifier, its result is remembered for the given signature, which
+	 * must identify exactly these three values.
+	 * </p>
+	 *
+	 * @param context the evaluation context
+	 * @param signature the evaluation signature of the context, or <code>null</code> to
+	 *        always evaluate the expression
+	 * @param filter the participant filter, or <code>null</code>
+	 * @param status the status to report filter problems to
+	 * @return whether the participant is enabled for the context
+	 * @throws CoreException if the enablement could not be evaluated
+	 */
+	public boolean matches(IEvaluationContext context, String signature, IParticipantDescriptorFilter filter, RefactoringStatus status) throws CoreException {
+		Expression exp= getExpression();
+		if (exp == null)
 			return false;
-		Assert.isTrue(elements.length == 1);
-		Expression exp= ExpressionConverter.getDefault().perform(elements[0]);
-		if (!convert(exp.evaluate(context)))
+		if (!isEnabledFor(exp, context, signature))
 			return false;
 		if (filter != null && !filter.select(fConfigurationElement, status))
 			return false;
@@ -84,6 +120,97 @@ public class ParticipantDescriptor {
 		return true;
 	}
 
+	private boolean isEnabledFor(Expression exp, IEvaluationContext context, String signature) throws CoreException {
+		if (signature == null || !isMemoizable()) {
+			fgEvaluations.incrementAndGet();
+			return convert(exp.evaluate(context));
+		}
+		Boolean result= fApplicability.get(signature);
+		if (result != null) {
+			fgMemoizedEvaluations.incrementAndGet();
+			return result.booleanValue();
+		}
+		fgEvaluations.incrementAndGet();
+		boolean enabled= convert(exp.evaluate(context));
+		fApplicability.put(signature, Boolean.valueOf(enabled));
+		return enabled;
+	}
+
+	private synchronized Expression getExpression() throws CoreException {
+		if (fExpression == null) {
+			IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
+			if (elements.length == 0)
+				return null;
+			Assert.isTrue(elements.length == 1);
+			fExpression= ExpressionConverter.getDefault().perform(elements[0]);
+		}
+		return fExpression;
+	}
+
+	private synchronized boolean isMemoizable() {
+		if (fMemoizable == null) {
+			IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
+			fMemoizable= Boolean.valueOf(elements.length == 1 && isMemoizable(elements[0], true));
+		}
+		return fMemoizable.booleanValue();
+	}
+
+	/*
+	 * The element may only be tested with 'instanceof', which depends on its type alone.
+	 * The natures and the processor identifier are part of the signature and can be tested
+	 * freely with the value based expressions.
+	 */
+	private static boolean isMemoizable(IConfigurationElement element, boolean elementInScope) {
+		String name= element.getName();
+		boolean inScope= elementInScope;
+		switch (name) {
+			case ExpressionTagNames.ENABLEMENT:
+			case ExpressionTagNames.AND:
+			case ExpressionTagNames.OR:
+			case ExpressionTagNames.NOT:
+				break;
+			case ExpressionTagNames.WITH:
+				String variable= element.getAttribute("variable"); //$NON-NLS-1$
+				if (VARIABLE_ELEMENT.equals(variable))
+					inScope= true;
+				else if (VARIABLE_AFFECTED_NATURES.equals(variable) || VARIABLE_PROCESSOR_IDENTIFIER.equals(variable))
+					inScope= false;
+				else
+					return false;
+				break;
+			case ExpressionTagNames.INSTANCEOF:
+				break;
+			case ExpressionTagNames.EQUALS:
+			case ExpressionTagNames.ITERATE:
+			case ExpressionTagNames.COUNT:
+				if (elementInScope)
+					return false;
+				break;
+			default:
+				return false;
+		}
+		for (IConfigurationElement child : element.getChildren()) {
+			if (!isMemoizable(child, inScope))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of enablement expressions evaluated by all participant descriptors
+	 */
+	public static long getEvaluationCount() {
+		return fgEvaluations.get();
+	}
+
+	/**
+	 * @return the number of enablement results served from the applicability memo of all
+	 *         participant descriptors
+	 */
+	public static long getMemoizedEvaluationCount() {
+		return fgMemoizedEvaluations.get();
+	}
+
 	public RefactoringParticipant createParticipant() throws CoreException {
 		return (RefactoringParticipant)fConfigurationElement.createExecutableExtension(CLASS);
 	}
@@ -133,6 +133,7 @@ public class RefactoringCorePlugin extends Plugin {
 		}
 		if (fgUndoManager != null)
 			fgUndoManager.shutdown();
+		UndoSpillFile.shutdown();
 		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
 		service.disconnect();
 		if (fRefactoringHistoryListener != null)
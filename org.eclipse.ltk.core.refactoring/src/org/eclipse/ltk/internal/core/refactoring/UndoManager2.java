@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.ltk.internal.core.refactoring;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.operations.IOperationHistory;
 import org.eclipse.core.commands.operations.IOperationHistoryListener;
@@ -27,6 +30,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
@@ -38,6 +42,11 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 
 public class UndoManager2 implements IUndoManager {
 
+	/**
+	 * Default memory budget of the undo history in bytes
+	 */
+	public static final long DEFAULT_MEMORY_BUDGET= 64L * 1024 * 1024;
+
 	private class OperationHistoryListener implements IOperationHistoryListener {
 		@Override
 		public void historyNotification(OperationHistoryEvent event) {
@@ -177,6 +186,7 @@ public class UndoManager2 implements IUndoManager {
 			operation.setLabel(name);
 			fOperationHistory.add(fActiveOperation);
 			fActiveOperation= null;
+			enforceMemoryBudget();
 		}
 	}
 
@@ -236,6 +246,7 @@ public class UndoManager2 implements IUndoManager {
 		} catch (ExecutionException e) {
 			handleException(e);
 		}
+		enforceMemoryBudget();
 	}
 
 	private UndoableOperation2ChangeAdapter getUnwrappedOperation(IUndoableOperation operation) {
@@ -273,6 +284,70 @@ public class UndoManager2 implements IUndoManager {
 		// nothing to do since we have a shared undo manager anyways.
 	}
 
+	//---- memory budget -------------------------------------------------------
+
+	/**
+	 * Returns the memory budget of the refactoring undo history.
+	 *
+	 * @return the budget in bytes, or a negative value if the history is never spilled
+	 * @see RefactoringPreferenceConstants#PREFERENCE_UNDO_MEMORY_BUDGET
+	 */
+	public long getMemoryBudget() {
+		return Platform.getPreferencesService().getLong(RefactoringCorePlugin.getPluginId(), RefactoringPreferenceConstants.PREFERENCE_UNDO_MEMORY_BUDGET, DEFAULT_MEMORY_BUDGET, null);
+	}
+
+	/**
+	 * Returns the refactoring entries of the undo history, most recent first. Each entry
+	 * reports the memory it retains and the size it occupies in the spill file.
+	 *
+	 * @return the undo entries
+	 * @see UndoableOperation2ChangeAdapter#getRetainedSize()
+	 * @see UndoableOperation2ChangeAdapter#getSpilledSize()
+	 */
+	public List<UndoableOperation2ChangeAdapter> getUndoEntries() {
+		IUndoableOperation[] history= fOperationHistory.getUndoHistory(RefactoringCorePlugin.getUndoContext());
+		List<UndoableOperation2ChangeAdapter> result= new ArrayList<>(history.length);
+		for (int i= history.length - 1; i >= 0; i--) {
+			UndoableOperation2ChangeAdapter operation= getUnwrappedOperation(history[i]);
+			if (operation != null)
+				result.add(operation);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the estimated number of bytes retained by the undo history
+	 */
+	public long getRetainedSize() {
+		long result= 0;
+		for (UndoableOperation2ChangeAdapter entry : getUndoEntries()) {
+			result+= entry.getRetainedSize();
+		}
+		return result;
+	}
+
+	/**
+	 * Spills the oldest undo changes until the history fits into the memory budget. The most
+	 * recent change always stays in memory, since it is the one that is undone next.
+	 */
+	private void enforceMemoryBudget() {
+		long budget= getMemoryBudget();
+		if (budget < 0)
+			return;
+		List<UndoableOperation2ChangeAdapter> entries= getUndoEntries();
+		long retained= 0;
+		for (int i= 0; i < entries.size(); i++) {
+			UndoableOperation2ChangeAdapter entry= entries.get(i);
+			retained+= entry.getRetainedSize();
+			if (retained > budget && i > 0) {
+				UndoSpillFile file= UndoSpillFile.getInstance();
+				if (file == null)
+					return;
+				retained-= entry.spill(file);
+			}
+		}
+	}
+
 	private void handleException(ExecutionException e) throws CoreException {
 		Throwable cause= e.getCause();
 		if (cause instanceof CoreException) {
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Workspace local file that holds the edits of undo changes which have been moved out of
+ * memory by the {@link UndoManager2}.
+ * <p>
+ * Records are appended and read back by their position. The file is truncated as soon as
+ * no record is referenced anymore, which is the normal state after the undo history has
+ * been flushed or all spilled changes have been undone.
+ * </p>
+ * <p>
+ * The children of an undo edit are written in their original order, but a multi text edit
+ * sorts its children by offset when they are added. Only undo edits that survive this with
+ * the same result can be spilled, see {@link #canSpill(TextEdit[])}.
+ * </p>
+ */
+public final class UndoSpillFile {
+
+	private static final String FILE_NAME= "undo.spill"; //$NON-NLS-1$
+
+	private static UndoSpillFile fgInstance;
+
+	private final File fFile;
+	private RandomAccessFile fAccess;
+	/** position of live record -> record length */
+	private final Map<Long, Integer> fRecords= new HashMap<>();
+
+	/**
+	 * @return the spill file of the workspace, or <code>null</code> if the plug-in has no
+	 *         state location
+	 */
+	public static synchronized UndoSpillFile getInstance() {
+		if (fgInstance == null) {
+			RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+			if (plugin == null)
+				return null;
+			IPath location= plugin.getStateLocation();
+			fgInstance= new UndoSpillFile(location.append(FILE_NAME).toFile());
+		}
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance == null)
+			return;
+		fgInstance.close();
+		fgInstance= null;
+	}
+
+	UndoSpillFile(File file) {
+		fFile= file;
+	}
+
+	/**
+	 * Tells whether the given children of an undo edit can be written and read back as an
+	 * equivalent multi text edit. That is the case if they are replace edits without children
+	 * and sorting them by offset keeps the relative order of every two edits whose order
+	 * matters, i.e. of a zero-length edit and an edit that starts or ends at its offset.
+	 *
+	 * @param edits the children of an undo edit
+	 * @return <code>true</code> iff the edits can be passed to {@link #write(TextEdit[])}
+	 */
+	public static boolean canSpill(TextEdit[] edits) {
+		for (TextEdit edit : edits) {
+			if (!(edit instanceof ReplaceEdit) || edit.hasChildren())
+				return false;
+		}
+		ReplaceEdit[] copies= new ReplaceEdit[edits.length];
+		Map<TextEdit, Integer> indexes= new IdentityHashMap<>();
+		for (int i= 0; i < edits.length; i++) {
+			ReplaceEdit replace= (ReplaceEdit) edits[i];
+			copies[i]= new ReplaceEdit(replace.getOffset(), replace.getLength(), replace.getText());
+			indexes.put(copies[i], Integer.valueOf(i));
+		}
+		TextEdit[] sorted;
+		try {
+			sorted= createMultiTextEdit(copies).getChildren();
+		} catch (MalformedTreeException e) {
+			return false;
+		}
+		for (int i= 0; i < sorted.length; i++) {
+			TextEdit first= sorted[i];
+			for (int j= i + 1; j < sorted.length && sorted[j].getOffset() <= first.getExclusiveEnd(); j++) {
+				TextEdit second= sorted[j];
+				if ((first.getLength() == 0 || second.getLength() == 0) && indexes.get(first).intValue() > indexes.get(second).intValue())
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static MultiTextEdit createMultiTextEdit(ReplaceEdit[] edits) {
+		MultiTextEdit result= new MultiTextEdit();
+		for (ReplaceEdit edit : edits) {
+			result.addChild(edit);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the given replace edits.
+	 *
+	 * @param edits the flat list of edits to write, as children of an undo edit, which must
+	 *            satisfy {@link #canSpill(TextEdit[])}
+	 * @return the position of the record
+	 * @throws IOException if the record could not be written
+	 */
+	public synchronized long write(TextEdit[] edits) throws IOException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (DataOutputStream out= new DataOutputStream(bytes)) {
+			out.writeInt(edits.length);
+			for (TextEdit edit : edits) {
+				ReplaceEdit replace= (ReplaceEdit) edit;
+				out.writeInt(replace.getOffset());
+				out.writeInt(replace.getLength());
+				String text= replace.getText();
+				out.writeInt(text.length());
+				out.writeChars(text);
+			}
+		}
+		RandomAccessFile access= getAccess();
+		long position= access.length();
+		access.seek(position);
+		access.write(bytes.toByteArray());
+		fRecords.put(Long.valueOf(position), Integer.valueOf(bytes.size()));
+		return position;
+	}
+
+	/**
+	 * Reads the edits of a record and releases it.
+	 *
+	 * @param position the position returned by {@link #write(TextEdit[])}
+	 * @return a multi text edit that has the same effect as the undo edit the record was
+	 *         written from
+	 * @throws IOException if the record could not be read
+	 */
+	public synchronized TextEdit read(long position) throws IOException {
+		Integer recordLength= fRecords.get(Long.valueOf(position));
+		if (recordLength == null)
+			throw new IOException("Unknown undo record: " + position); //$NON-NLS-1$
+		byte[] bytes= new byte[recordLength.intValue()];
+		RandomAccessFile access= getAccess();
+		access.seek(position);
+		access.readFully(bytes);
+		ReplaceEdit[] edits;
+		try (DataInputStream in= new DataInputStream(new ByteArrayInputStream(bytes))) {
+			edits= new ReplaceEdit[in.readInt()];
+			for (int i= 0; i < edits.length; i++) {
+				int offset= in.readInt();
+				int length= in.readInt();
+				char[] text= new char[in.readInt()];
+				for (int j= 0; j < text.length; j++) {
+					text[j]= in.readChar();
+				}
+				edits[i]= new ReplaceEdit(offset, length, new String(text));
+			}
+		}
+		release(position);
+		try {
+			return createMultiTextEdit(edits);
+		} catch (MalformedTreeException e) {
+			throw new IOException("Corrupt undo record: " + position, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Releases a record that will not be read anymore.
+	 *
+	 * @param position the position of the record
+	 */
+	public synchronized void release(long position) {
+		if (fRecords.remove(Long.valueOf(position)) == null)
+			return;
+		if (fRecords.isEmpty())
+			close();
+	}
+
+	/**
+	 * @param position the position of a record
+	 * @return the number of bytes the record occupies, or <code>0</code> if it is not live
+	 */
+	public synchronized long getRecordSize(long position) {
+		Integer length= fRecords.get(Long.valueOf(position));
+		return length == null ? 0 : length.intValue();
+	}
+
+	/**
+	 * @return the number of bytes occupied by live records
+	 */
+	public synchronized long getSize() {
+		long result= 0;
+		for (Integer length : fRecords.values()) {
+			result+= length.intValue();
+		}
+		return result;
+	}
+
+	private RandomAccessFile getAccess() throws IOException {
+		if (fAccess == null) {
+			fFile.getParentFile().mkdirs();
+			fAccess= new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+			fAccess.setLength(0);
+		}
+		return fAccess;
+	}
+
+	private void close() {
+		fRecords.clear();
+		if (fAccess != null) {
+			try {
+				fAccess.close();
+			} catch (IOException e) {
+				RefactoringCorePlugin.log(e);
+			}
+			fAccess= null;
+		}
+		fFile.delete();
+	}
+}
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.ltk.internal.core.refactoring;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +39,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.ChangeDescriptor;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.IValidationCheckResultQuery;
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
@@ -45,6 +47,11 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 
 public class UndoableOperation2ChangeAdapter implements IUndoableOperation, IAdvancedUndoableOperation, ISchedulableOperation  {
 
+	/**
+	 * Estimated heap size of a change that is not spillable, e.g. a resource change
+	 */
+	private static final long CHANGE_OVERHEAD= 128;
+
 	private String fLabel;
 	private String fDescription;
 	private Change fExecuteChange;
@@ -394,6 +401,84 @@ public class UndoableOperation2ChangeAdapter implements IUndoableOperation, IAdv
 		fActiveChange= null;
 	}
 
+	//---- memory accounting ----------------------------------------------
+
+	/**
+	 * Returns the estimated number of bytes the active change retains in memory. Changes that
+	 * cannot be spilled are counted with a fixed overhead.
+	 *
+	 * @return the retained size in bytes
+	 */
+	public long getRetainedSize() {
+		Change change= fActiveChange;
+		if (change == null)
+			return 0;
+		long result= 0;
+		List<ISpillableChange> spillables= new ArrayList<>();
+		int others= collectSpillables(change, spillables);
+		for (ISpillableChange spillable : spillables) {
+			result+= spillable.getRetainedSize();
+		}
+		return result + others * CHANGE_OVERHEAD;
+	}
+
+	/**
+	 * @return the number of bytes the active change occupies in the spill file
+	 */
+	public long getSpilledSize() {
+		Change change= fActiveChange;
+		if (change == null)
+			return 0;
+		long result= 0;
+		List<ISpillableChange> spillables= new ArrayList<>();
+		collectSpillables(change, spillables);
+		for (ISpillableChange spillable : spillables) {
+			result+= spillable.getSpilledSize();
+		}
+		return result;
+	}
+
+	/**
+	 * Spills the undo change to the given file. Redo changes are kept in memory.
+	 *
+	 * @param file the spill file
+	 * @return the number of bytes no longer retained in memory
+	 */
+	long spill(UndoSpillFile file) {
+		Change change= fUndoChange;
+		if (change == null || change != fActiveChange)
+			return 0;
+		long result= 0;
+		List<ISpillableChange> spillables= new ArrayList<>();
+		collectSpillables(change, spillables);
+		try {
+			for (ISpillableChange spillable : spillables) {
+				result+= spillable.spill(file);
+			}
+		} catch (IOException e) {
+			RefactoringCorePlugin.log(e);
+		}
+		return result;
+	}
+
+	/*
+	 * Returns the number of leaf changes that are not spillable.
+	 */
+	private static int collectSpillables(Change change, List<ISpillableChange> result) {
+		if (change instanceof CompositeChange) {
+			int others= 0;
+			for (Change child : ((CompositeChange) change).getChildren()) {
+				others+= collectSpillables(child, result);
+			}
+			return others;
+		}
+		ISpillableChange spillable= change.getAdapter(ISpillableChange.class);
+		if (spillable == null)
+			return 1;
+		result.add(spillable);
+		return 0;
+	}
+
 	@Override
 	public ISchedulingRule getSchedulingRule() {
 		return ResourcesPlugin.getWorkspace().getRoot();